@@ -8,10 +8,12 @@
  */
 package org.chocosolver.memory;
 
+import org.chocosolver.memory.copying.EnvironmentCopying;
 import org.chocosolver.memory.trailing.EnvironmentTrailing;
 import org.chocosolver.memory.trailing.trail.*;
 import org.chocosolver.memory.trailing.trail.chunck.*;
 import org.chocosolver.memory.trailing.trail.flatten.*;
+import org.chocosolver.memory.trailing.trail.unsafe.*;
 
 /**
  * <p>
@@ -39,6 +41,12 @@ public class EnvironmentBuilder {
      */
     private double loadfactor = EnvironmentTrailing.LOADFACTOR;
 
+    /**
+     * The ratio of modified objects in a page from which the page is copied,
+     * only relevant for {@link #buildCopying()}.
+     */
+    private double copyratio = EnvironmentCopying.RATIO;
+
     /**
      * Trail to consider to manage doubles
      */
@@ -92,6 +100,17 @@ public class EnvironmentBuilder {
         return this;
     }
 
+    /**
+     * The ratio of objects of a page modified in a world from which the page is copied on world push,
+     * only relevant for {@link #buildCopying()}.
+     * A value of 0 copies any modified page, a value greater than 1 never copies.
+     * @param ratio the ratio
+     * @return {@code this}
+     */
+    public EnvironmentBuilder setCopyRatio(double ratio){
+        copyratio = ratio;
+        return this;
+    }
 
     /**
      * Set the int trail.
@@ -177,6 +196,15 @@ public class EnvironmentBuilder {
         return env;
     }
 
+    /**
+     * Build an environment which copies densely modified pages of stored primitives on world push
+     * and trails the other ones. Declared trails are ignored.
+     * @return the resulting environment
+     */
+    public EnvironmentCopying buildCopying(){
+        return new EnvironmentCopying(worldsize, worldnumber, loadfactor, copyratio);
+    }
+
     /**
      * Build a chunk environment
      * @return {@code this}
@@ -202,4 +230,19 @@ public class EnvironmentBuilder {
         setTrail(new OperationTrail(worldsize, worldnumber, loadfactor));
         return this;
     }
+
+    /**
+     * Build an environment whose primitive trails store former values and time stamps off-heap.
+     * Such trails do not weigh on the garbage collector and are resized without copy when possible.
+     * The operation trail remains on-heap.
+     * @return {@code this}
+     */
+    public EnvironmentBuilder fromUnsafe(){
+        setTrail(new UnsafeBoolTrail(worldsize, worldnumber, loadfactor));
+        setTrail(new UnsafeIntTrail(worldsize, worldnumber, loadfactor));
+        setTrail(new UnsafeDoubleTrail(worldsize, worldnumber, loadfactor));
+        setTrail(new UnsafeLongTrail(worldsize, worldnumber, loadfactor));
+        setTrail(new OperationTrail(worldsize, worldnumber, loadfactor));
+        return this;
+    }
 }
\ No newline at end of file
@@ -141,6 +141,24 @@ public interface IEnvironment  {
      */
     IStateIntVector makeIntVector(int size, int initialValue);
 
+    /**
+     * Factory pattern: new IStateIntArray objects are created by the environment
+     *
+     * @param size         the number of cells in the array
+     * @param initialValue the common initial value for all cells
+     * @return an array of backtrackable ints
+     */
+    IStateIntArray makeIntArray(int size, int initialValue);
+
+    /**
+     * Factory pattern: new IStateLongArray objects are created by the environment
+     *
+     * @param size         the number of cells in the array
+     * @param initialValue the common initial value for all cells
+     * @return an array of backtrackable longs
+     */
+    IStateLongArray makeLongArray(int size, long initialValue);
+
 
     /**
      * Factory pattern: new IStateDoubleVector objects are created by the environment
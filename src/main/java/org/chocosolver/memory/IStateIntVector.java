@@ -12,6 +12,7 @@ package org.chocosolver.memory;
 
 /**
  * Describes an search vector with states (describing some history of the data structure).
+ * Elements are stored in an {@link IStateIntArray}, so that only modified elements are saved on backtrack.
  */
 public abstract class IStateIntVector  {
 
@@ -23,7 +24,7 @@ public abstract class IStateIntVector  {
     /**
      * Contains the elements of the vector.
      */
-    protected int[] elementData;
+    protected IStateIntArray elementData;
 
     /**
      * A backtrackable search with the size of the vector.
@@ -44,10 +45,7 @@ public abstract class IStateIntVector  {
             initialCapacity = initialSize;
 
         this.environment = env;
-        this.elementData = new int[initialCapacity];
-        for (int i = 0; i < initialSize; i++) {
-            this.elementData[i] = initialValue;
-        }
+        this.elementData = env.makeIntArray(initialCapacity, initialValue);
         this.size = env.makeInt(initialSize);
     }
 
@@ -60,8 +58,8 @@ public abstract class IStateIntVector  {
             initialCapacity = initialSize;
 
         this.environment = env;
-        this.elementData = new int[initialCapacity];
-        System.arraycopy(entries, 0, this.elementData, 0, initialSize);
+        this.elementData = env.makeIntArray(initialCapacity, 0);
+        System.arraycopy(entries, 0, this.elementData.values, 0, initialSize);
         this.size = env.makeInt(initialSize);
     }
 
@@ -74,7 +72,12 @@ public abstract class IStateIntVector  {
      *
      * @param i The search to add.
      */
-    public abstract void add(int i);
+    public void add(int i) {
+        int newsize = size.get() + 1;
+        elementData.ensureCapacity(newsize);
+        size.set(newsize);
+        elementData.set(newsize - 1, i);
+    }
 
     /**
      * access an element without any bound check
@@ -84,14 +87,19 @@ public abstract class IStateIntVector  {
      */
     public int quickGet(int index) {
         assert rangeCheck(index);
-        return elementData[index];
+        return elementData.get(index);
     }
 
     /**
      * Assigns a new value <code>val</code> to the element <code>index</code> and returns
      * the old value
      */
-    public abstract int set(int index, int val);
+    public int set(int index, int val) {
+        if (rangeCheck(index)) {
+            return quickSet(index, val);
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size.get());
+    }
 
     /**
      * Assigns a new value val to the element indexth and return the old value without bound check
@@ -100,5 +108,10 @@ public abstract class IStateIntVector  {
      * @param val   the new value
      * @return the old value
      */
-    public abstract int quickSet(int index, int val);
+    public int quickSet(int index, int val) {
+        assert rangeCheck(index);
+        final int oldValue = elementData.get(index);
+        elementData.set(index, val);
+        return oldValue;
+    }
 }
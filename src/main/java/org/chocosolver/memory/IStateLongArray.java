@@ -0,0 +1,153 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+import java.util.Arrays;
+
+/**
+ * An abstract class for arrays of backtrackable longs.
+ * <p>
+ * Contrary to an array of {@link IStateLong}, values and world stamps are stored in two flat arrays,
+ * and only the modified cells are saved on backtrack.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public abstract class IStateLongArray {
+
+    /**
+     * The current environment.
+     */
+    protected final IEnvironment environment;
+    /**
+     * Current values
+     */
+    protected long[] values;
+    /**
+     * World stamps, the world index of the last update for each cell
+     */
+    protected int[] worldStamps;
+    /**
+     * Value of the cells added when increasing the capacity
+     */
+    private final long initialValue;
+
+    /**
+     * Create an array of backtrackable longs.
+     *
+     * @param env          the current environment
+     * @param size         the number of cells
+     * @param initialValue the common initial value of all the cells
+     */
+    public IStateLongArray(IEnvironment env, int size, long initialValue) {
+        this.environment = env;
+        this.initialValue = initialValue;
+        this.values = new long[size];
+        this.worldStamps = new int[size];
+        init(0, size);
+    }
+
+    private void init(int from, int to) {
+        if (initialValue != 0L) {
+            Arrays.fill(values, from, to, initialValue);
+        }
+        // when a fake history is needed, initial values are considered to have been set in the ROOT world
+        int w = environment.fakeHistoryNeeded() ? 0 : environment.getWorldIndex();
+        if (w != 0) {
+            Arrays.fill(worldStamps, from, to, w);
+        }
+    }
+
+    /**
+     * @return the number of cells of this array
+     */
+    public final int length() {
+        return values.length;
+    }
+
+    /**
+     * @param index index of a cell
+     * @return the current value of the cell in position <i>index</i>
+     */
+    public final long get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Modifies the value of a cell and stores if needed the former value on the trailing stack.
+     *
+     * @param index index of a cell
+     * @param value the new value
+     */
+    public final void set(int index, long value) {
+        final long oldValue = values[index];
+        if (value != oldValue) {
+            final int wi = environment.getWorldIndex();
+            final int oldStamp = worldStamps[index];
+            if (oldStamp < wi) {
+                savePreviousState(index, oldValue, oldStamp);
+                worldStamps[index] = wi;
+            }
+            values[index] = value;
+        }
+    }
+
+    /**
+     * Store the previous state of a cell, to be restored on backtrack.
+     *
+     * @param index    index of a cell
+     * @param oldValue its previous value
+     * @param oldStamp its previous world stamp
+     */
+    protected abstract void savePreviousState(int index, long oldValue, int oldStamp);
+
+    /**
+     * Modifies the value of a cell without storing the former value on the trailing stack.
+     *
+     * @param index  index of a cell
+     * @param value  the new value
+     * @param wstamp the stamp of the world in which the update is performed
+     */
+    public final void _set(int index, long value, int wstamp) {
+        values[index] = value;
+        worldStamps[index] = wstamp;
+    }
+
+    /**
+     * Override the world stamp of a cell
+     *
+     * @param index      index of a cell
+     * @param aTimeStamp the new world stamp
+     */
+    public final void overrideTimeStamp(int index, int aTimeStamp) {
+        worldStamps[index] = aTimeStamp;
+    }
+
+    /**
+     * Checks if the capacity is great enough, else the capacity is extended.
+     * New cells are set to the initial value.
+     *
+     * @param minCapacity the necessary capacity.
+     */
+    public final void ensureCapacity(int minCapacity) {
+        int oldCapacity = values.length;
+        if (minCapacity > oldCapacity) {
+            int newCapacity = Math.max(minCapacity, (oldCapacity * 3) / 2 + 1);
+            values = Arrays.copyOf(values, newCapacity);
+            worldStamps = Arrays.copyOf(worldStamps, newCapacity);
+            init(oldCapacity, newCapacity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,421 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStorage;
+
+import java.util.Arrays;
+
+/**
+ * A storage for {@link CopiedBool} which mixes copying and trailing.
+ * <p>
+ * Objects are grouped in pages of {@link EnvironmentCopying#PAGE_SIZE} consecutive objects.
+ * On world push, a page is copied as a whole when the number of objects modified in it during
+ * the last world exceeds a given ratio of its size; modifications of a copied page are then free.
+ * The other pages are trailed: the former value of an object is saved on its first modification in a world.
+ * On world pop, trailed values are restored then copied pages are written back.
+ * On world commit, the pages copied in the committed world are either dropped, when they were already copied in the
+ * world below, or turned into trailed values.
+ * <p>
+ * Only the pages modified during the last world are visited on world push.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class BoolPageStore implements IStorage {
+
+    /**
+     * Load factor
+     */
+    private final double loadfactor;
+
+    /**
+     * Minimal number of modified objects in a page, during the last world, to copy it on world push
+     */
+    private final int threshold;
+
+    /**
+     * Objects managed by this store, in order of creation.
+     */
+    private CopiedBool[] objects;
+
+    /**
+     * Number of objects managed by this store
+     */
+    private int size;
+
+    /**
+     * For each page, the highest world in which the page has been copied, -1 if none.
+     */
+    private int[] copyWorld;
+
+    /**
+     * For each page, the number of objects modified since the last world push.
+     */
+    private int[] writes;
+
+    /**
+     * Pages modified since the last world push, that is, whose {@link #writes} is positive.
+     */
+    private int[] dirtyPages;
+
+    /**
+     * Number of pages in {@link #dirtyPages}.
+     */
+    private int nbDirty;
+
+    /**
+     * Stack of copied pages.
+     */
+    private int[] copiedPages;
+
+    /**
+     * For each copied page, the previous value of {@link #copyWorld}.
+     */
+    private int[] copiedPrevWorlds;
+
+    /**
+     * For each copied page, the number of objects copied.
+     */
+    private int[] copiedLengths;
+
+    /**
+     * Copied values, {@link EnvironmentCopying#PAGE_SIZE} slots per copied page.
+     */
+    private boolean[] copiedValues;
+
+    /**
+     * Copied time stamps, {@link EnvironmentCopying#PAGE_SIZE} slots per copied page.
+     */
+    private int[] copiedStamps;
+
+    /**
+     * Number of copied pages.
+     */
+    private int nbCopies;
+
+    /**
+     * A stack of pointers to copied pages (for each start of a world).
+     */
+    private int[] worldStartCopies;
+
+    /**
+     * Stack of trailed objects.
+     */
+    private CopiedBool[] variableStack;
+
+    /**
+     * Stack of values (former values that need be restored upon backtracking).
+     */
+    private boolean[] valueStack;
+
+    /**
+     * Stack of timestamps indicating the world where the former value
+     * had been written.
+     */
+    private int[] stampStack;
+
+    /**
+     * Points the level of the last entry.
+     */
+    private int currentLevel;
+
+    /**
+     * A stack of pointers (for each start of a world).
+     */
+    private int[] worldStartLevels;
+
+    /**
+     * Current world index
+     */
+    private int currentWorld;
+
+    /**
+     * Constructs a store with predefined size.
+     *
+     * @param nUpdates   maximal number of updates that will be stored
+     * @param nWorlds    maximal number of worlds that will be stored
+     * @param loadfactor load factor for structures
+     * @param ratio      ratio of modified objects in a page from which the page is copied
+     */
+    public BoolPageStore(int nUpdates, int nWorlds, double loadfactor, double ratio) {
+        this.loadfactor = loadfactor;
+        this.threshold = Math.max(1, (int) Math.ceil(ratio * EnvironmentCopying.PAGE_SIZE));
+        objects = new CopiedBool[EnvironmentCopying.PAGE_SIZE];
+        copyWorld = new int[1];
+        copyWorld[0] = -1;
+        writes = new int[1];
+        dirtyPages = new int[1];
+        int nPages = Math.max(1, nUpdates >>> EnvironmentCopying.PAGE_BITS);
+        copiedPages = new int[nPages];
+        copiedPrevWorlds = new int[nPages];
+        copiedLengths = new int[nPages];
+        copiedValues = new boolean[nPages << EnvironmentCopying.PAGE_BITS];
+        copiedStamps = new int[nPages << EnvironmentCopying.PAGE_BITS];
+        worldStartCopies = new int[nWorlds];
+        variableStack = new CopiedBool[nUpdates];
+        valueStack = new boolean[nUpdates];
+        stampStack = new int[nUpdates];
+        worldStartLevels = new int[nWorlds];
+    }
+
+    /**
+     * Declare a new object in this store.
+     *
+     * @param v the object
+     */
+    void register(CopiedBool v) {
+        if (size == objects.length) {
+            final CopiedBool[] tmp = new CopiedBool[(int) (size * loadfactor)];
+            System.arraycopy(objects, 0, tmp, 0, size);
+            objects = tmp;
+        }
+        final int p = size >>> EnvironmentCopying.PAGE_BITS;
+        if (p == copyWorld.length) {
+            final int n = (int) (p * loadfactor) + 1;
+            final int[] tmp1 = new int[n];
+            System.arraycopy(copyWorld, 0, tmp1, 0, p);
+            Arrays.fill(tmp1, p, n, -1);
+            copyWorld = tmp1;
+            final int[] tmp2 = new int[n];
+            System.arraycopy(writes, 0, tmp2, 0, p);
+            writes = tmp2;
+            final int[] tmp3 = new int[n];
+            System.arraycopy(dirtyPages, 0, tmp3, 0, nbDirty);
+            dirtyPages = tmp3;
+        }
+        v.index = size;
+        objects[size++] = v;
+    }
+
+    /**
+     * Moving up to the next world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPush(int worldIndex) {
+        currentWorld = worldIndex;
+        worldStartLevels[worldIndex] = currentLevel;
+        worldStartCopies[worldIndex] = nbCopies;
+        if (worldIndex == worldStartLevels.length - 1) {
+            resizeWorldCapacity((int) (worldStartLevels.length * loadfactor));
+        }
+        for (int i = 0; i < nbDirty; i++) {
+            final int p = dirtyPages[i];
+            if (writes[p] >= threshold) {
+                copyPage(p, worldIndex);
+            }
+            writes[p] = 0;
+        }
+        nbDirty = 0;
+    }
+
+    private void copyPage(int p, int worldIndex) {
+        if (nbCopies == copiedPages.length) {
+            resizeCopyCapacity();
+        }
+        final int from = p << EnvironmentCopying.PAGE_BITS;
+        final int len = Math.min(EnvironmentCopying.PAGE_SIZE, size - from);
+        final int offset = nbCopies << EnvironmentCopying.PAGE_BITS;
+        for (int i = 0; i < len; i++) {
+            final CopiedBool v = objects[from + i];
+            copiedValues[offset + i] = v.get();
+            copiedStamps[offset + i] = v.getTimeStamp();
+        }
+        copiedPages[nbCopies] = p;
+        copiedPrevWorlds[nbCopies] = copyWorld[p];
+        copiedLengths[nbCopies] = len;
+        copyWorld[p] = worldIndex;
+        nbCopies++;
+    }
+
+    /**
+     * Moving down to the previous world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex];
+        while (currentLevel > wsl) {
+            currentLevel--;
+            variableStack[currentLevel]._set(valueStack[currentLevel], stampStack[currentLevel]);
+        }
+        final int wsc = worldStartCopies[worldIndex];
+        while (nbCopies > wsc) {
+            nbCopies--;
+            final int p = copiedPages[nbCopies];
+            final int from = p << EnvironmentCopying.PAGE_BITS;
+            final int offset = nbCopies << EnvironmentCopying.PAGE_BITS;
+            for (int i = copiedLengths[nbCopies] - 1; i >= 0; i--) {
+                objects[from + i]._set(copiedValues[offset + i], copiedStamps[offset + i]);
+            }
+            copyWorld[p] = copiedPrevWorlds[nbCopies];
+        }
+        currentWorld = worldIndex - 1;
+    }
+
+    /**
+     * Comits a world: merging it with the previous one.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldCommit(int worldIndex) {
+        final int prevWorld = worldIndex - 1;
+        // first, the trailed values, as in a trail
+        final int startLevel = worldStartLevels[worldIndex];
+        int writeIdx = startLevel;
+        for (int level = startLevel; level < currentLevel; level++) {
+            final CopiedBool var = variableStack[level];
+            final boolean val = valueStack[level];
+            final int stamp = stampStack[level];
+            var.overrideTimeStamp(prevWorld);
+            if (stamp != prevWorld) {
+                if (writeIdx != level) {
+                    valueStack[writeIdx] = val;
+                    variableStack[writeIdx] = var;
+                    stampStack[writeIdx] = stamp;
+                }
+                writeIdx++;
+            }  //else: the value to restore is already saved in prevWorld, or in a copy of prevWorld
+        }
+        currentLevel = writeIdx;
+        // then, the pages copied in the committed world
+        final int wsc = worldStartCopies[worldIndex];
+        while (nbCopies > wsc) {
+            nbCopies--;
+            final int p = copiedPages[nbCopies];
+            final int from = p << EnvironmentCopying.PAGE_BITS;
+            final int offset = nbCopies << EnvironmentCopying.PAGE_BITS;
+            // when the page was also copied in prevWorld, the copy of prevWorld is the one to restore
+            final boolean trailed = copiedPrevWorlds[nbCopies] != prevWorld;
+            for (int i = copiedLengths[nbCopies] - 1; i >= 0; i--) {
+                final CopiedBool var = objects[from + i];
+                if (var.getTimeStamp() == worldIndex) {
+                    final int stamp = copiedStamps[offset + i];
+                    // a value modified in prevWorld is already trailed in prevWorld
+                    if (trailed && stamp != prevWorld) {
+                        trail(var, copiedValues[offset + i], stamp);
+                    }
+                    var.overrideTimeStamp(prevWorld);
+                }
+            }
+            copyWorld[p] = copiedPrevWorlds[nbCopies];
+        }
+        currentWorld = prevWorld;
+    }
+
+    /**
+     * Reacts when a CopiedBool is modified for the first time in the current world:
+     * count the modification and, when its page was not copied, push the former value & timestamp
+     * on the stacks.
+     */
+    void savePreviousState(CopiedBool v, boolean oldValue, int oldStamp) {
+        final int p = v.index >>> EnvironmentCopying.PAGE_BITS;
+        if (writes[p]++ == 0) {
+            dirtyPages[nbDirty++] = p;
+        }
+        if (copyWorld[p] != currentWorld) {
+            trail(v, oldValue, oldStamp);
+        }
+    }
+
+    private void trail(CopiedBool v, boolean oldValue, int oldStamp) {
+        valueStack[currentLevel] = oldValue;
+        variableStack[currentLevel] = v;
+        stampStack[currentLevel] = oldStamp;
+        currentLevel++;
+        if (currentLevel == variableStack.length) {
+            resizeUpdateCapacity();
+        }
+    }
+
+    void buildFakeHistory(CopiedBool v, boolean initValue, int olderStamp) {
+        // from world 0 to fromStamp (excluded), create a fake history based on initValue
+        // first save the current state on the top of the stack
+        trail(v, initValue, olderStamp - 1);
+        // second: ensures capacities
+        while (currentLevel + olderStamp > variableStack.length) {
+            resizeUpdateCapacity();
+        }
+        int i1, f, s = currentLevel;
+        for (int w = olderStamp; w > 1; w--) {
+            f = worldStartLevels[w];
+            i1 = f + w - 1;
+            s -= f;
+            System.arraycopy(variableStack, f, variableStack, i1, s);
+            System.arraycopy(valueStack, f, valueStack, i1, s);
+            System.arraycopy(stampStack, f, stampStack, i1, s);
+            variableStack[i1 - 1] = v;
+            valueStack[i1 - 1] = initValue;
+            stampStack[i1 - 1] = w - 2;
+            worldStartLevels[w] += w - 1;
+            currentLevel++;
+            s = f;
+        }
+    }
+
+    /**
+     * @return the number of pages currently copied
+     */
+    public int getNbCopiedPages() {
+        return nbCopies;
+    }
+
+    /**
+     * @return the current size of the trail
+     */
+    public int getSize() {
+        return currentLevel;
+    }
+
+    private void resizeUpdateCapacity() {
+        final int newCapacity = (int) (variableStack.length * loadfactor);
+        final CopiedBool[] tmp1 = new CopiedBool[newCapacity];
+        System.arraycopy(variableStack, 0, tmp1, 0, variableStack.length);
+        variableStack = tmp1;
+        final boolean[] tmp2 = new boolean[newCapacity];
+        System.arraycopy(valueStack, 0, tmp2, 0, valueStack.length);
+        valueStack = tmp2;
+        final int[] tmp3 = new int[newCapacity];
+        System.arraycopy(stampStack, 0, tmp3, 0, stampStack.length);
+        stampStack = tmp3;
+    }
+
+    private void resizeCopyCapacity() {
+        final int newCapacity = (int) (copiedPages.length * loadfactor) + 1;
+        final int[] tmp1 = new int[newCapacity];
+        System.arraycopy(copiedPages, 0, tmp1, 0, nbCopies);
+        copiedPages = tmp1;
+        final int[] tmp2 = new int[newCapacity];
+        System.arraycopy(copiedPrevWorlds, 0, tmp2, 0, nbCopies);
+        copiedPrevWorlds = tmp2;
+        final int[] tmp3 = new int[newCapacity];
+        System.arraycopy(copiedLengths, 0, tmp3, 0, nbCopies);
+        copiedLengths = tmp3;
+        final boolean[] tmp4 = new boolean[newCapacity << EnvironmentCopying.PAGE_BITS];
+        System.arraycopy(copiedValues, 0, tmp4, 0, nbCopies << EnvironmentCopying.PAGE_BITS);
+        copiedValues = tmp4;
+        final int[] tmp5 = new int[newCapacity << EnvironmentCopying.PAGE_BITS];
+        System.arraycopy(copiedStamps, 0, tmp5, 0, nbCopies << EnvironmentCopying.PAGE_BITS);
+        copiedStamps = tmp5;
+    }
+
+    private void resizeWorldCapacity(int newWorldCapacity) {
+        final int[] tmp = new int[newWorldCapacity];
+        System.arraycopy(worldStartLevels, 0, tmp, 0, worldStartLevels.length);
+        worldStartLevels = tmp;
+        final int[] tmp2 = new int[newWorldCapacity];
+        System.arraycopy(worldStartCopies, 0, tmp2, 0, worldStartCopies.length);
+        worldStartCopies = tmp2;
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateBool;
+
+/**
+ * A backtrackable boolean managed by a {@link BoolPageStore}.
+ * Depending on how often its page is modified, its former value is either copied on world push
+ * or trailed on first modification in a world.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class CopiedBool extends IStateBool {
+
+    /**
+     * The store which manages this object
+     */
+    private final BoolPageStore store;
+
+    /**
+     * Index of this object in its store
+     */
+    int index;
+
+    /**
+     * Constructs a stored boolean with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public CopiedBool(final EnvironmentCopying env, final boolean i) {
+        super(env, i);
+        store = env.getBoolStore();
+        store.register(this);
+        if (env.fakeHistoryNeeded()) {
+            store.buildFakeHistory(this, i, timeStamp);
+        }
+    }
+
+    /**
+     * Modifies the value and stores if needed the former value.
+     */
+    @Override
+    public final void set(final boolean y) {
+        if (y != currentValue) {
+            final int wi = environment.getWorldIndex();
+            if (this.timeStamp < wi) {
+                store.savePreviousState(this, currentValue, timeStamp);
+                timeStamp = wi;
+            }
+            currentValue = y;
+        }
+    }
+
+    /**
+     * @return the world stamp of the last modification
+     */
+    final int getTimeStamp() {
+        return timeStamp;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateDoubleVector;
+
+/**
+ * A backtrackable vector of doubles for {@link EnvironmentCopying}.
+ * Former values are saved in a {@link CopiedDoubleVectorTrail}.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class CopiedDoubleVector extends IStateDoubleVector {
+
+    /**
+     * Contains time stamps for all entries (the world index of the last update for each entry)
+     */
+    private int[] worldStamps;
+
+    /**
+     * The trail which stores the former values of the elements
+     */
+    private final CopiedDoubleVectorTrail myTrail;
+
+    /**
+     * Constructs a stored vector with an initial size, and initial values.
+     *
+     * @param env          The current environment.
+     * @param initialSize  The initial size.
+     * @param initialValue The initial common value.
+     */
+    public CopiedDoubleVector(EnvironmentCopying env, int initialSize, double initialValue) {
+        super(env, initialSize, initialValue);
+        this.worldStamps = new int[elementData.length];
+        this.myTrail = env.getDoubleVectorTrail();
+        int w = env.getWorldIndex();
+        for (int i = 0; i < initialSize; i++) {
+            this.worldStamps[i] = w;
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int oldCapacity = elementData.length;
+        if (minCapacity > oldCapacity) {
+            int newCapacity = Math.max(minCapacity, (oldCapacity * 3) / 2 + 1);
+            double[] oldData = elementData;
+            int[] oldStamps = worldStamps;
+            elementData = new double[newCapacity];
+            worldStamps = new int[newCapacity];
+            System.arraycopy(oldData, 0, elementData, 0, size.get());
+            System.arraycopy(oldStamps, 0, worldStamps, 0, size.get());
+        }
+    }
+
+    /**
+     * Adds a new value at the end of the vector.
+     *
+     * @param i the value to add.
+     */
+    public void add(double i) {
+        int newsize = size.get() + 1;
+        ensureCapacity(newsize);
+        size.set(newsize);
+        elementData[newsize - 1] = i;
+        worldStamps[newsize - 1] = environment.getWorldIndex();
+    }
+
+    /**
+     * Assigns a new value <code>val</code> to the element <code>index</code> and returns the old value.
+     */
+    public double set(int index, double val) {
+        if (rangeCheck(index)) {
+            return quickSet(index, val);
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size.get());
+    }
+
+    @Override
+    public double quickSet(int index, double val) {
+        assert (rangeCheck(index));
+        final double oldValue = elementData[index];
+        if (val != oldValue) {
+            final int oldStamp = worldStamps[index];
+            final int wi = environment.getWorldIndex();
+            if (oldStamp < wi) {
+                myTrail.savePreviousState(this, index, oldValue, oldStamp);
+                worldStamps[index] = wi;
+            }
+            elementData[index] = val;
+        }
+        return oldValue;
+    }
+
+    /**
+     * Modifies the value of an element without storing the former value.
+     *
+     * @param index  index of an element
+     * @param val    the new value
+     * @param stamp  the stamp of the world in which the update is performed
+     */
+    void _set(int index, double val, int stamp) {
+        elementData[index] = val;
+        worldStamps[index] = stamp;
+    }
+
+    /**
+     * Override the world stamp of an element
+     *
+     * @param index      index of an element
+     * @param aTimeStamp the new world stamp
+     */
+    void overrideTimeStamp(int index, int aTimeStamp) {
+        worldStamps[index] = aTimeStamp;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateIntArray;
+import org.chocosolver.memory.trailing.trail.StoredIntArrayTrail;
+
+/**
+ * A class implementing arrays of backtrackable ints for {@link EnvironmentCopying}.
+ * Former values of the modified cells are saved in a {@link org.chocosolver.memory.trailing.trail.StoredIntArrayTrail}.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class CopiedIntArray extends IStateIntArray {
+
+    /**
+     * The trail which stores the former values of the cells
+     */
+    private final StoredIntArrayTrail myTrail;
+
+    /**
+     * Constructs an array of copied ints.
+     *
+     * @param env          the current environment
+     * @param size         the number of cells
+     * @param initialValue the common initial value of all the cells
+     */
+    public CopiedIntArray(EnvironmentCopying env, int size, int initialValue) {
+        super(env, size, initialValue);
+        myTrail = env.getIntArrayTrail();
+    }
+
+    @Override
+    protected void savePreviousState(int index, int oldValue, int oldStamp) {
+        myTrail.savePreviousState(this, index, oldValue, oldStamp);
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateLongArray;
+import org.chocosolver.memory.trailing.trail.StoredLongArrayTrail;
+
+/**
+ * A class implementing arrays of backtrackable longs for {@link EnvironmentCopying}.
+ * Former values of the modified cells are saved in a {@link org.chocosolver.memory.trailing.trail.StoredLongArrayTrail}.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class CopiedLongArray extends IStateLongArray {
+
+    /**
+     * The trail which stores the former values of the cells
+     */
+    private final StoredLongArrayTrail myTrail;
+
+    /**
+     * Constructs an array of copied longs.
+     *
+     * @param env          the current environment
+     * @param size         the number of cells
+     * @param initialValue the common initial value of all the cells
+     */
+    public CopiedLongArray(EnvironmentCopying env, int size, long initialValue) {
+        super(env, size, initialValue);
+        myTrail = env.getLongArrayTrail();
+    }
+
+    @Override
+    protected void savePreviousState(int index, long oldValue, int oldStamp) {
+        myTrail.savePreviousState(this, index, oldValue, oldStamp);
+    }
+}
@@ -0,0 +1,246 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.*;
+import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.memory.trailing.trail.StoredIntArrayTrail;
+import org.chocosolver.memory.trailing.trail.StoredLongArrayTrail;
+import org.chocosolver.memory.trailing.trail.flatten.OperationTrail;
+
+/**
+ * An environment which mixes copying and trailing.
+ * <p>
+ * Stored primitives are grouped in pages. On world push, pages that were densely modified during the last world
+ * are copied as a whole, the other ones are trailed. Copying pays off when most of the state is modified
+ * between two choice points, which is the case of small dense models, and makes backtracking cost independent
+ * of the number of modifications.
+ * <p>
+ * Build it with {@link EnvironmentBuilder#buildCopying()}.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class EnvironmentCopying extends AbstractEnvironment {
+
+    /**
+     * Log2 of the number of objects per page
+     */
+    public static final int PAGE_BITS = 6;
+
+    /**
+     * Number of objects per page
+     */
+    public static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    /**
+     * Default ratio of objects of a page modified in a world from which the page is copied
+     */
+    public static final double RATIO = .5;
+
+    private final IntPageStore intStore;
+    private final LongPageStore longStore;
+    private final BoolPageStore boolStore;
+    private final DoublePageStore doubleStore;
+    private final StoredIntArrayTrail intArrayTrail;
+    private final StoredLongArrayTrail longArrayTrail;
+    private final CopiedDoubleVectorTrail doubleVectorTrail;
+    private final OperationTrail operationTrail;
+
+    /**
+     * Contains all the {@link IStorage} of this environment.
+     */
+    private final IStorage[] stores;
+
+    /**
+     * Create a copying environment.
+     *
+     * @param nUpdates   initial number of updates that can be trailed
+     * @param nWorlds    initial number of worlds
+     * @param loadfactor load factor for structures
+     * @param ratio      ratio of objects of a page modified in a world from which the page is copied,
+     *                   a value greater than 1 disables copying
+     */
+    public EnvironmentCopying(int nUpdates, int nWorlds, double loadfactor, double ratio) {
+        intStore = new IntPageStore(nUpdates, nWorlds, loadfactor, ratio);
+        longStore = new LongPageStore(nUpdates, nWorlds, loadfactor, ratio);
+        boolStore = new BoolPageStore(nUpdates, nWorlds, loadfactor, ratio);
+        doubleStore = new DoublePageStore(nUpdates, nWorlds, loadfactor, ratio);
+        intArrayTrail = new StoredIntArrayTrail(nUpdates, nWorlds, loadfactor);
+        longArrayTrail = new StoredLongArrayTrail(nUpdates, nWorlds, loadfactor);
+        doubleVectorTrail = new CopiedDoubleVectorTrail(nUpdates, nWorlds, loadfactor);
+        operationTrail = new OperationTrail(nUpdates, nWorlds, loadfactor);
+        stores = new IStorage[]{intStore, longStore, boolStore, doubleStore,
+                intArrayTrail, longArrayTrail, doubleVectorTrail, operationTrail};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldPush() {
+        timestamp++;
+        final int wi = currentWorld + 1;
+        for (int i = 0; i < stores.length; i++) {
+            stores[i].worldPush(wi);
+        }
+        currentWorld++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldPop() {
+        timestamp++;
+        final int wi = currentWorld;
+        for (int i = stores.length - 1; i >= 0; i--) {
+            stores[i].worldPop(wi);
+        }
+        currentWorld--;
+        assert currentWorld >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldCommit() {
+        if (currentWorld == 0) {
+            throw new IllegalStateException("Commit in world 0?");
+        }
+        final int wi = currentWorld;
+        for (int i = stores.length - 1; i >= 0; i--) {
+            stores[i].worldCommit(wi);
+        }
+        currentWorld--;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateInt makeInt() {
+        return makeInt(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateInt makeInt(final int initialValue) {
+        return new CopiedInt(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateBool makeBool(final boolean initialValue) {
+        return new CopiedBool(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateIntVector makeIntVector(final int size, final int initialValue) {
+        return new CopiedIntVector(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateIntArray makeIntArray(final int size, final int initialValue) {
+        return new CopiedIntArray(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLongArray makeLongArray(final int size, final long initialValue) {
+        return new CopiedLongArray(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDoubleVector makeDoubleVector(final int size, final double initialValue) {
+        return new CopiedDoubleVector(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDouble makeFloat() {
+        return makeFloat(Double.NaN);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDouble makeFloat(final double initialValue) {
+        return new CopiedDouble(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLong makeLong() {
+        return makeLong(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLong makeLong(final long init) {
+        return new CopiedLong(this, init);
+    }
+
+    @Override
+    public void save(IOperation operation) {
+        operationTrail.savePreviousState(operation);
+    }
+
+    public IntPageStore getIntStore() {
+        return intStore;
+    }
+
+    public LongPageStore getLongStore() {
+        return longStore;
+    }
+
+    public BoolPageStore getBoolStore() {
+        return boolStore;
+    }
+
+    public DoublePageStore getDoubleStore() {
+        return doubleStore;
+    }
+
+    public StoredIntArrayTrail getIntArrayTrail() {
+        return intArrayTrail;
+    }
+
+    public StoredLongArrayTrail getLongArrayTrail() {
+        return longArrayTrail;
+    }
+
+    public CopiedDoubleVectorTrail getDoubleVectorTrail() {
+        return doubleVectorTrail;
+    }
+}
@@ -47,7 +47,8 @@ public class EnvironmentTrailing extends AbstractEnvironment {
     private IStoredLongTrail longTrail;
     private IStoredDoubleTrail doubleTrail;
     private IOperationTrail operationTrail;
-    private StoredIntVectorTrail intVectorTrail;
+    private StoredIntArrayTrail intArrayTrail;
+    private StoredLongArrayTrail longArrayTrail;
     private StoredDoubleVectorTrail doubleVectorTrail;
 
     /**
@@ -97,7 +98,7 @@ public class EnvironmentTrailing extends AbstractEnvironment {
             throw new IllegalStateException("Commit in world 0?");
         }
         final int wi = currentWorld;
-        for (int i = trailSize; i >= 0; i--) {
+        for (int i = trailSize - 1; i >= 0; i--) {
             trails[i].worldCommit(wi);
         }
         currentWorld--;
@@ -135,6 +136,22 @@ public class EnvironmentTrailing extends AbstractEnvironment {
         return new StoredIntVector(this, size, initialValue);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateIntArray makeIntArray(final int size, final int initialValue) {
+        return new StoredIntArray(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLongArray makeLongArray(final int size, final long initialValue) {
+        return new StoredLongArray(this, size, initialValue);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -263,19 +280,27 @@ public class EnvironmentTrailing extends AbstractEnvironment {
         return operationTrail;
     }
 
-    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
-    // SPECIFIC DATA STRUCTURES                                                                                       //
-    // NOTE: this data structures should not be used...
-    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    public StoredIntArrayTrail getIntArrayTrail() {
+        if (intArrayTrail == null) {
+            increaseTrail();
+            trails[trailSize++] = intArrayTrail = new StoredIntArrayTrail(NBUPATES, NBWORLDS, LOADFACTOR);
+        }
+        return intArrayTrail;
+    }
 
-    public StoredIntVectorTrail getIntVectorTrail() {
-        if (intVectorTrail == null) {
+    public StoredLongArrayTrail getLongArrayTrail() {
+        if (longArrayTrail == null) {
             increaseTrail();
-            trails[trailSize++] = intVectorTrail = new StoredIntVectorTrail(this, NBUPATES, NBWORLDS, LOADFACTOR);
+            trails[trailSize++] = longArrayTrail = new StoredLongArrayTrail(NBUPATES, NBWORLDS, LOADFACTOR);
         }
-        return intVectorTrail;
+        return longArrayTrail;
     }
 
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // SPECIFIC DATA STRUCTURES                                                                                       //
+    // NOTE: this data structures should not be used...
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
     public StoredDoubleVectorTrail getDoubleVectorTrail() {
         if (doubleVectorTrail == null) {
             increaseTrail();
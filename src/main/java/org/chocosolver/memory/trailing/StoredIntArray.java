@@ -0,0 +1,43 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing;
+
+import org.chocosolver.memory.IStateIntArray;
+import org.chocosolver.memory.trailing.trail.StoredIntArrayTrail;
+
+/**
+ * A class implementing arrays of backtrackable ints.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class StoredIntArray extends IStateIntArray {
+
+    private final StoredIntArrayTrail myTrail;
+
+    /**
+     * Constructs an array of stored ints.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     *
+     * @param env          the current environment
+     * @param size         the number of cells
+     * @param initialValue the common initial value of all the cells
+     */
+    public StoredIntArray(EnvironmentTrailing env, int size, int initialValue) {
+        super(env, size, initialValue);
+        this.myTrail = env.getIntArrayTrail();
+    }
+
+    @Override
+    protected void savePreviousState(int index, int oldValue, int oldStamp) {
+        myTrail.savePreviousState(this, index, oldValue, oldStamp);
+    }
+}
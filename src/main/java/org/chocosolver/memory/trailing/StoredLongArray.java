@@ -0,0 +1,43 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing;
+
+import org.chocosolver.memory.IStateLongArray;
+import org.chocosolver.memory.trailing.trail.StoredLongArrayTrail;
+
+/**
+ * A class implementing arrays of backtrackable longs.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class StoredLongArray extends IStateLongArray {
+
+    private final StoredLongArrayTrail myTrail;
+
+    /**
+     * Constructs an array of stored longs.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     *
+     * @param env          the current environment
+     * @param size         the number of cells
+     * @param initialValue the common initial value of all the cells
+     */
+    public StoredLongArray(EnvironmentTrailing env, int size, long initialValue) {
+        super(env, size, initialValue);
+        this.myTrail = env.getLongArrayTrail();
+    }
+
+    @Override
+    protected void savePreviousState(int index, long oldValue, int oldStamp) {
+        myTrail.savePreviousState(this, index, oldValue, oldStamp);
+    }
+}
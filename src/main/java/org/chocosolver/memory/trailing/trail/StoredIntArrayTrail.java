@@ -0,0 +1,167 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing.trail;
+
+import org.chocosolver.memory.IStateIntArray;
+import org.chocosolver.memory.IStorage;
+
+import java.util.Arrays;
+
+/**
+ * Implements a trail with the history of all the cells of stored int arrays.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class StoredIntArrayTrail implements IStorage {
+
+    /**
+     * Load factor
+     */
+    private final double loadfactor;
+
+    /**
+     * Stack of arrays.
+     */
+    private IStateIntArray[] arrayStack;
+
+    /**
+     * Stack of indices of the modified cells.
+     */
+    private int[] indexStack;
+
+    /**
+     * Stack of values (former values that need be restored upon backtracking).
+     */
+    private int[] valueStack;
+
+    /**
+     * Stack of timestamps indicating the world where the former value had been written.
+     */
+    private int[] stampStack;
+
+    /**
+     * Points the level of the last entry.
+     */
+    private int currentLevel;
+
+    /**
+     * A stack of pointers (for each start of a world).
+     */
+    private int[] worldStartLevels;
+
+    /**
+     * Constructs a trail with predefined size.
+     *
+     * @param nUpdates   maximal number of updates that will be stored
+     * @param nWorlds    maximal number of worlds that will be stored
+     * @param loadfactor load factor for structures
+     */
+    public StoredIntArrayTrail(int nUpdates, int nWorlds, double loadfactor) {
+        currentLevel = 0;
+        arrayStack = new IStateIntArray[nUpdates];
+        indexStack = new int[nUpdates];
+        valueStack = new int[nUpdates];
+        stampStack = new int[nUpdates];
+        worldStartLevels = new int[nWorlds];
+        this.loadfactor = loadfactor;
+    }
+
+    /**
+     * Moving up to the next world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPush(int worldIndex) {
+        worldStartLevels[worldIndex] = currentLevel;
+        if (worldIndex == worldStartLevels.length - 1) {
+            resizeWorldCapacity((int) (worldStartLevels.length * loadfactor));
+        }
+    }
+
+    /**
+     * Moving down to the previous world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex];
+        while (currentLevel > wsl) {
+            currentLevel--;
+            arrayStack[currentLevel]._set(indexStack[currentLevel], valueStack[currentLevel], stampStack[currentLevel]);
+        }
+    }
+
+    /**
+     * Comits a world: merging it with the previous one.
+     */
+    @Override
+    public void worldCommit(int worldIndex) {
+        // principle:
+        //   currentLevel decreases to end of previous world
+        //   updates of the committed world are scanned:
+        //     if their stamp is the previous one (merged with the current one) -> remove the update (garbage collecting this position for the next update)
+        //     otherwise update the worldStamp
+        final int startLevel = worldStartLevels[worldIndex];
+        final int prevWorld = worldIndex - 1;
+        int writeIdx = startLevel;
+        for (int level = startLevel; level < currentLevel; level++) {
+            final IStateIntArray var = arrayStack[level];
+            final int idx = indexStack[level];
+            final int val = valueStack[level];
+            final int stamp = stampStack[level];
+            var.overrideTimeStamp(idx, prevWorld);// update the stamp of the cell (current stamp refers to a world that no longer exists)
+            if (stamp != prevWorld) {
+                // shift the update if needed
+                if (writeIdx != level) {
+                    valueStack[writeIdx] = val;
+                    indexStack[writeIdx] = idx;
+                    arrayStack[writeIdx] = var;
+                    stampStack[writeIdx] = stamp;
+                }
+                writeIdx++;
+            }  //else:writeIdx is not incremented and the update will be discarded (since a good one is in prevWorld)
+        }
+        currentLevel = writeIdx;
+    }
+
+    /**
+     * Reacts when a cell of a stored int array is modified: push the former value on the stack.
+     *
+     * @param array    the modified array
+     * @param index    index of the modified cell
+     * @param oldValue former value
+     * @param oldStamp the stamp of the world in which the former value was written
+     */
+    public void savePreviousState(IStateIntArray array, int index, int oldValue, int oldStamp) {
+        arrayStack[currentLevel] = array;
+        indexStack[currentLevel] = index;
+        valueStack[currentLevel] = oldValue;
+        stampStack[currentLevel] = oldStamp;
+        currentLevel++;
+        if (currentLevel == arrayStack.length) {
+            resizeUpdateCapacity();
+        }
+    }
+
+    private void resizeUpdateCapacity() {
+        final int newCapacity = (int) (arrayStack.length * loadfactor);
+        arrayStack = Arrays.copyOf(arrayStack, newCapacity);
+        indexStack = Arrays.copyOf(indexStack, newCapacity);
+        valueStack = Arrays.copyOf(valueStack, newCapacity);
+        stampStack = Arrays.copyOf(stampStack, newCapacity);
+    }
+
+    private void resizeWorldCapacity(int newWorldCapacity) {
+        worldStartLevels = Arrays.copyOf(worldStartLevels, newWorldCapacity);
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing.trail.unsafe;
+
+import org.chocosolver.memory.trailing.StoredDouble;
+import org.chocosolver.memory.trailing.trail.IStoredDoubleTrail;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+
+/**
+ * A trail which stores former values and time stamps out of the heap.
+ * Only the references to the stored objects are kept in a java array.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 13/05/13
+ */
+public class UnsafeDoubleTrail implements IStoredDoubleTrail {
+
+    private final Unsafe unsafe;
+
+    public static final int SIZEOF_DATA = Unsafe.ARRAY_DOUBLE_INDEX_SCALE;
+
+    public static final int SIZEOF_INT = Unsafe.ARRAY_INT_INDEX_SCALE;
+
+    /**
+     * load factor
+     */
+    private final double loadfactor;
+
+    /**
+     * Stack of backtrackable search variables.
+     */
+    private StoredDouble[] variableStack;
+
+
+    /**
+     * Address of the stack of values (former values that need be restored upon backtracking).
+     */
+    private long valueStack;
+
+
+    /**
+     * Address of the stack of timestamps indicating the world where the former value
+     * had been written.
+     */
+    private long stampStack;
+
+
+    /**
+     * Points the level of the last entry.
+     */
+    private int currentLevel;
+
+
+    /**
+     * A stack of pointers (for each start of a world).
+     */
+    private int[] worldStartLevels;
+
+
+    /**
+     * Constructs a trail with predefined size.
+     *
+     * @param nUpdates maximal number of updates that will be stored
+     * @param nWorlds  maximal number of worlds that will be stored
+     * @param loadfactor load factor for structures
+     */
+    public UnsafeDoubleTrail(int nUpdates, int nWorlds, double loadfactor) {
+        unsafe = getTheUnsafe();
+        currentLevel = 0;
+        variableStack = new StoredDouble[nUpdates];
+        valueStack = unsafe.allocateMemory((long) nUpdates * SIZEOF_DATA);
+        stampStack = unsafe.allocateMemory((long) nUpdates * SIZEOF_INT);
+        worldStartLevels = new int[nWorlds];
+        this.loadfactor = loadfactor;
+    }
+
+    /**
+     * @return the instance of {@link Unsafe}
+     * @throws UnsupportedOperationException if the JVM does not give access to it
+     */
+    public static Unsafe getTheUnsafe() {
+        try {
+            Field theUnsafe = Unsafe.class.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return (Unsafe) theUnsafe.get(null);
+        } catch (Exception e) {
+            throw new UnsupportedOperationException("Off-heap trails are not supported by this JVM", e);
+        }
+    }
+
+    /**
+     * Moving up to the next world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPush(int worldIndex) {
+        worldStartLevels[worldIndex] = currentLevel;
+        if (worldIndex == worldStartLevels.length - 1) {
+            resizeWorldCapacity((int) (worldStartLevels.length * loadfactor));
+        }
+    }
+
+
+    /**
+     * Moving down to the previous world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex];
+        while (currentLevel > wsl) {
+            currentLevel--;
+            final StoredDouble v = variableStack[currentLevel];
+            v._set(unsafe.getDouble(null, valueStack + (long) currentLevel * SIZEOF_DATA),
+                    unsafe.getInt(stampStack + (long) currentLevel * SIZEOF_INT));
+            variableStack[currentLevel] = null;
+        }
+    }
+
+
+    /**
+     * Returns the current size of the stack.
+     */
+    public int getSize() {
+        return currentLevel;
+    }
+
+
+    /**
+     * Comits a world: merging it with the previous one.
+     */
+    @Override
+    public void worldCommit(int worldIndex) {
+        // same principle as the flatten trail, see StoredDoubleTrail#worldCommit(int)
+        final int startLevel = worldStartLevels[worldIndex];
+        final int prevWorld = worldIndex - 1;
+        int writeIdx = startLevel;
+        for (int level = startLevel; level < currentLevel; level++) {
+            final StoredDouble var = variableStack[level];
+            final double val = unsafe.getDouble(null, valueStack + (long) level * SIZEOF_DATA);
+            final int stamp = unsafe.getInt(stampStack + (long) level * SIZEOF_INT);
+            var.overrideTimeStamp(prevWorld);
+            if (stamp != prevWorld) {
+                if (writeIdx != level) {
+                    unsafe.putDouble(null, valueStack + (long) writeIdx * SIZEOF_DATA, val);
+                    variableStack[writeIdx] = var;
+                    unsafe.putInt(stampStack + (long) writeIdx * SIZEOF_INT, stamp);
+                }
+                writeIdx++;
+            }
+        }
+        for (int level = writeIdx; level < currentLevel; level++) {
+            variableStack[level] = null;
+        }
+        currentLevel = writeIdx;
+    }
+
+
+    /**
+     * Reacts when a StoredDouble is modified: push the former value & timestamp
+     * on the stacks.
+     */
+    @Override
+    public void savePreviousState(StoredDouble v, double oldValue, int oldStamp) {
+        unsafe.putDouble(null, valueStack + (long) currentLevel * SIZEOF_DATA, oldValue);
+        variableStack[currentLevel] = v;
+        unsafe.putInt(stampStack + (long) currentLevel * SIZEOF_INT, oldStamp);
+        currentLevel++;
+        if (currentLevel == variableStack.length) {
+            resizeUpdateCapacity();
+        }
+    }
+
+    @Override
+    public void buildFakeHistory(StoredDouble v, double initValue, int olderStamp) {
+        // from world 0 to fromStamp (excluded), create a fake history based on initValue
+        // kind a copy of the current elements
+        // first save the current state on the top of the stack
+        savePreviousState(v, initValue, olderStamp - 1);
+        // second: ensures capacities
+        while (currentLevel + olderStamp > variableStack.length) {
+            resizeUpdateCapacity();
+        }
+        int i1, f, s = currentLevel;
+        for (int w = olderStamp; w > 1; w--) {
+            f = worldStartLevels[w];
+            i1 = f + w - 1;
+            s -= f;
+            System.arraycopy(variableStack, f, variableStack, i1, s);
+            unsafe.copyMemory(valueStack + (long) f * SIZEOF_DATA, valueStack + (long) i1 * SIZEOF_DATA, (long) SIZEOF_DATA * s);
+            unsafe.copyMemory(stampStack + (long) f * SIZEOF_INT, stampStack + (long) i1 * SIZEOF_INT, (long) SIZEOF_INT * s);
+            i1--;
+            variableStack[i1] = v;
+            unsafe.putDouble(null, valueStack + (long) i1 * SIZEOF_DATA, initValue);
+            unsafe.putInt(stampStack + (long) i1 * SIZEOF_INT, w - 2);
+            worldStartLevels[w] += w - 1;
+            currentLevel++;
+            s = f;
+        }
+    }
+
+
+    private void resizeUpdateCapacity() {
+        final int oldCapacity = variableStack.length;
+        final int newCapacity = (int) (oldCapacity * loadfactor);
+        // first, copy the stack of variables
+        final StoredDouble[] tmp1 = new StoredDouble[newCapacity];
+        System.arraycopy(variableStack, 0, tmp1, 0, oldCapacity);
+        variableStack = tmp1;
+        // then, extend the stack of former values, no copy needed when the block can be grown in place
+        valueStack = unsafe.reallocateMemory(valueStack, (long) newCapacity * SIZEOF_DATA);
+        // then, extend the stack of world stamps
+        stampStack = unsafe.reallocateMemory(stampStack, (long) newCapacity * SIZEOF_INT);
+    }
+
+    private void resizeWorldCapacity(int newWorldCapacity) {
+        final int[] tmp = new int[newWorldCapacity];
+        System.arraycopy(worldStartLevels, 0, tmp, 0, worldStartLevels.length);
+        worldStartLevels = tmp;
+    }
+
+    /**
+     * Release the off-heap memory held by this trail.
+     * The trail cannot be used anymore after a call to this method.
+     */
+    public void free() {
+        if (valueStack != 0) {
+            unsafe.freeMemory(valueStack);
+            unsafe.freeMemory(stampStack);
+            valueStack = stampStack = 0;
+        }
+    }
+
+    @Override
+    protected void finalize() throws Throwable {
+        super.finalize();
+        free();
+    }
+}
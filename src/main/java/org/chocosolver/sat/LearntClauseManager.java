@@ -0,0 +1,172 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.sat;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Settings;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Manages the learnt clauses of a {@link SatSolver} embedded in a propagator.
+ * <p>
+ * Each deletable learnt clause is scored by its LBD (literal block distance),
+ * the number of distinct blocks of its literals, provided by the propagator.
+ * Propagators approximate it by the number of distinct variables of the clause,
+ * since the decision level of the literals is not known.
+ * On restart, if there are more deletable learnt clauses than a limit,
+ * the worst half of them (the ones with the greatest LBD, the oldest first) is deleted,
+ * except the ones whose LBD is small enough, and the limit increases.
+ * Clauses learnt as not deletable, like no-goods from solutions, are never deleted.
+ * <p>
+ * Limits are defined in {@link Settings}.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+final class LearntClauseManager implements IMonitorRestart {
+
+    /**
+     * The SAT solver
+     */
+    private final SatSolver sat;
+
+    /**
+     * The solver to plug this in and to update measures
+     */
+    private final Solver solver;
+
+    /**
+     * LBD of each deletable learnt clause, some of them may have been detached from {@link #sat} since
+     */
+    private Map<SatSolver.Clause, Integer> lbds = new IdentityHashMap<>();
+
+    /**
+     * Number of deletable learnt clauses which triggers a reduction
+     */
+    private double limit;
+
+    /**
+     * Factor applied to {@link #limit} after each reduction
+     */
+    private final double growth;
+
+    /**
+     * Clauses with a LBD less than or equal to this are never deleted
+     */
+    private final int protectedLBD;
+
+    /**
+     * Set to <i>true</i> once plugged in {@link #solver}
+     */
+    private boolean plugged;
+
+    /**
+     * Create a manager for the learnt clauses of <i>sat</i>
+     *
+     * @param sat   a SAT solver
+     * @param model the model which declares the propagator embedding <i>sat</i>
+     */
+    LearntClauseManager(SatSolver sat, Model model) {
+        Settings settings = model.getSettings();
+        this.sat = sat;
+        this.solver = model.getSolver();
+        this.limit = settings.getMaxLearntClauses();
+        this.growth = settings.getLearntClausesGrowth();
+        this.protectedLBD = settings.getLearntClausesProtectedLBD();
+    }
+
+    /**
+     * Learn a clause.
+     *
+     * @param lits      literals of the clause
+     * @param deletable set to <i>false</i> if the clause must be kept
+     * @param lbd       literal block distance of the clause
+     */
+    void learn(int[] lits, boolean deletable, int lbd) {
+        int n = sat.nLearnt();
+        sat.learnClause(lits);
+        solver.getMeasures().incLearntClauseCount();
+        // unit clauses are not stored
+        if (deletable && sat.nLearnt() > n && limit > 0 && limit < Integer.MAX_VALUE) {
+            lbds.put(sat.learnts.get(sat.nLearnt() - 1), lbd);
+            if (!plugged) {
+                plugged = true;
+                solver.plugMonitor(this);
+            }
+        }
+    }
+
+    /**
+     * Inform this that <i>subsumed</i> is about to be detached since <i>clause</i> subsumes it.
+     * If <i>subsumed</i> must be kept, so must <i>clause</i>, otherwise deleting <i>clause</i> would lose both.
+     *
+     * @param clause   a learnt clause
+     * @param subsumed a learnt clause subsumed by <i>clause</i>
+     */
+    void subsume(SatSolver.Clause clause, SatSolver.Clause subsumed) {
+        if (!lbds.containsKey(subsumed)) {
+            lbds.remove(clause);
+        }
+    }
+
+    @Override
+    public void afterRestart() {
+        if (lbds.size() > limit) {
+            reduce();
+        }
+    }
+
+    /**
+     * Delete the worst half of the deletable learnt clauses.
+     */
+    void reduce() {
+        ArrayList<SatSolver.Clause> learnts = sat.learnts;
+        Map<SatSolver.Clause, Integer> alive = new IdentityHashMap<>();
+        // positions of candidates in learnts, and their LBD
+        int[] pos = new int[learnts.size()];
+        int[] lbd = new int[learnts.size()];
+        int n = 0;
+        for (int i = 0; i < learnts.size(); i++) {
+            Integer l = lbds.get(learnts.get(i));
+            if (l != null) {
+                alive.put(learnts.get(i), l);
+                if (l > protectedLBD) {
+                    pos[n] = i;
+                    lbd[n++] = l;
+                }
+            }
+        }
+        // the greatest LBD first, then the oldest, sort is stable
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> Integer.compare(lbd[j], lbd[i]));
+        int nbDeleted = n / 2;
+        int[] deleted = new int[nbDeleted];
+        for (int i = 0; i < nbDeleted; i++) {
+            deleted[i] = pos[order[i]];
+            alive.remove(learnts.get(deleted[i]));
+        }
+        // detach from the last position, so that the positions of the remaining ones are valid
+        Arrays.sort(deleted);
+        for (int i = nbDeleted - 1; i >= 0; i--) {
+            sat.detachLearnt(deleted[i]);
+        }
+        lbds = alive;
+        limit *= growth;
+        solver.getMeasures().incDeletedClauseCount(nbDeleted);
+    }
+}
@@ -22,9 +22,12 @@ import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 
 import static org.chocosolver.sat.SatSolver.*;
 
@@ -39,7 +42,7 @@ import static org.chocosolver.sat.SatSolver.*;
 public class PropNogoods extends Propagator<IntVar> {
 
     /**
-     * No entry value for {@link #lit2val}, {@link #lit2pos} and {@link #var2pos}.
+     * No entry value for {@link #lit2val}, {@link #lit2pos}, {@link #var2pos}, {@link #pos2dense} and {@link #sparse}.
      */
     private static final int NO_ENTRY = Integer.MAX_VALUE;
 
@@ -52,21 +55,64 @@ public class PropNogoods extends Propagator<IntVar> {
      * Frontier between "= value" (below) and "<= value" (above)
      */
     private static final long FRONTIER = BITOP - Integer.MAX_VALUE;
+
     /**
-     * The underlying SAT solver
+     * Literals of a variable whose initial domain spans at most this number of values
+     * are indexed in an array, the other ones in {@link #sparse}.
      */
-    private SatSolver sat_;
+    private static final int DENSE_SPAN = 1024;
 
     /**
-     * Binds couple (variable-value) to a unique literal
+     * Number of literals of a variable from which they are indexed in an array,
+     * the first ones are indexed in {@link #sparse}, which is cheaper for variables with few literals.
+     */
+    private static final int DENSE_THRESHOLD = 3;
+    /**
+     * The underlying SAT solver
      */
-    private TLongIntHashMap[] vv2lit;
+    private SatSolver sat_;
 
     /**
      * Binds variable ({@link Variable#getId()} to a unique position
      */
     private int[] var2pos;
 
+    /**
+     * Binds position of a variable to its literals (in no particular order),
+     * only the first {@link #pos2size}[pos] ones are relevant.
+     */
+    private int[][] pos2lits;
+
+    /**
+     * Binds position of a variable to its number of literals
+     */
+    private int[] pos2size;
+
+    /**
+     * Binds position of a variable to the smallest value indexed in {@link #pos2dense}
+     */
+    private int[] pos2offset;
+
+    /**
+     * Binds position of a variable to the number of values indexed in {@link #pos2dense},
+     * 0 if the domain of the variable is too large.
+     */
+    private int[] pos2span;
+
+    /**
+     * Binds position of a variable with a small domain to its literals, indexed by value:
+     * "= value" is at 2 * (value - offset), "<= value" at 2 * (value - offset) + 1.
+     * <i>null</i> if the domain of the variable is too large
+     * or until the variable has {@link #DENSE_THRESHOLD} literals.
+     */
+    private int[][] pos2dense;
+
+    /**
+     * Binds couple (position-value) to a unique literal, when not in {@link #pos2dense},
+     * see {@link #key(int, long)}
+     */
+    private TLongIntHashMap sparse;
+
     /**
      * Binds literal to variable
      */
@@ -115,6 +161,16 @@ public class PropNogoods extends Propagator<IntVar> {
      */
     private boolean initialized = false;
 
+    /**
+     * Informed of each learnt clause, may be <i>null</i>
+     */
+    private Consumer<int[]> learntListener;
+
+    /**
+     * Reduces the learnt clause database
+     */
+    private LearntClauseManager learnt_;
+
     /**
      * Create a (unique) propagator for no-goods recording and propagation.
      *
@@ -125,7 +181,12 @@ public class PropNogoods extends Propagator<IntVar> {
         this.vars = new IntVar[0];// erase model.ONE from the variable scope
 
         int k = 16;
-        this.vv2lit = new TLongIntHashMap[k];//new TIntObjectHashMap<>(16, .5f, NO_ENTRY);
+        this.pos2lits = new int[k][];
+        this.pos2size = new int[k];
+        this.pos2offset = new int[k];
+        this.pos2span = new int[k];
+        this.pos2dense = new int[k][];
+        this.sparse = new TLongIntHashMap(16, .5f, NO_ENTRY, NO_ENTRY);
         this.lit2val = new long[k];//new TIntIntHashMap(16, .5f, NO_ENTRY, NO_ENTRY);
         Arrays.fill(lit2val, NO_ENTRY);
         this.lit2pos = new int[k];//new TIntIntHashMap(16, .5f, NO_ENTRY, NO_ENTRY);
@@ -134,6 +195,7 @@ public class PropNogoods extends Propagator<IntVar> {
         Arrays.fill(var2pos, NO_ENTRY);
         //TODO: one satsolver per model...
         sat_ = new SatSolver();
+        learnt_ = new LearntClauseManager(sat_, model);
         early_deductions_ = new TIntArrayList();
         sat_trail_ = model.getEnvironment().makeInt();
         test_eq = new BitSet();
@@ -167,22 +229,24 @@ public class PropNogoods extends Propagator<IntVar> {
     }
 
     private void doVariableBound(IntVar var) throws ContradictionException {
-        TLongIntHashMap map;
-        for (long k : (map = vv2lit[var.getId()]).keys()) {
+        int pos = var2pos[var.getId()];
+        for (int i = 0; i < pos2size[pos]; i++) {
+            int l = pos2lits[pos][i];
+            long k = lit2val[l];
             int value = ivalue(k);
             if (iseq(k)) {
                 if (var.contains(value)) {
                     if (var.isInstantiated()) {
-                        VariableBound(map.get(k), true);
+                        VariableBound(l, true);
                     }
                 } else {
-                    VariableBound(map.get(k), false);
+                    VariableBound(l, false);
                 }
             } else {
                 if (var.getUB() <= value) {
-                    VariableBound(map.get(k), true);
+                    VariableBound(l, true);
                 } else if (var.getLB() > value) {
-                    VariableBound(map.get(k), false);
+                    VariableBound(l, false);
                 }
             }
         }
@@ -330,23 +394,11 @@ public class PropNogoods extends Propagator<IntVar> {
     public int Literal(IntVar ivar, int value, boolean eq) {
         // TODO: deal with BoolVar
         int vid = ivar.getId();
-        int var;
-        TLongIntHashMap map;
-        if (vid >= vv2lit.length) {
-            TLongIntHashMap[] tmp = vv2lit;
-            vv2lit = new TLongIntHashMap[vid + 1];
-            System.arraycopy(tmp, 0, vv2lit, 0, tmp.length);
-
-            int[] tmpi = var2pos;
-            var2pos = new int[vid + 1];
-            System.arraycopy(tmpi, 0, var2pos, 0, tmpi.length);
-            Arrays.fill(var2pos, tmpi.length, vid + 1, NO_ENTRY);
-        }
-        if ((map = vv2lit[vid]) == null) {
-            map = new TLongIntHashMap(16, .5f, NO_ENTRY, NO_ENTRY);
-            vv2lit[vid] = map;
+        if (vid >= var2pos.length) {
+            int size = var2pos.length;
+            var2pos = Arrays.copyOf(var2pos, Math.max(vid + 1, size * 3 / 2 + 1));
+            Arrays.fill(var2pos, size, var2pos.length, NO_ENTRY);
         }
-
         int pos;
         if ((pos = var2pos[vid]) == NO_ENTRY) {
             if(initialized) {
@@ -357,30 +409,125 @@ public class PropNogoods extends Propagator<IntVar> {
                 pos = add_var.size() - 1;
             }
             var2pos[vid] = pos;
+            declarePosition(pos, ivar);
         }
         long lvalue = eq ? value : leq(value);
-        if ((var = map.get(lvalue)) == NO_ENTRY) {
+        int var = lookup(pos, lvalue);
+        if (var == NO_ENTRY) {
             var = sat_.newVariable();
-            map.put(lvalue, var);
             if (var >= lit2pos.length) {
-                int[] itmp = lit2pos;
-                lit2pos = new int[var + 1];
-                System.arraycopy(itmp, 0, lit2pos, 0, itmp.length);
-                Arrays.fill(lit2pos, itmp.length, var + 1, NO_ENTRY);
-
-                long[] ltmp = lit2val;
-                lit2val = new long[var + 1];
-                System.arraycopy(ltmp, 0, lit2val, 0, ltmp.length);
-                Arrays.fill(lit2val, ltmp.length, var + 1, NO_ENTRY);
+                int size = lit2pos.length;
+                int nsize = Math.max(var + 1, size * 3 / 2 + 1);
+                lit2pos = Arrays.copyOf(lit2pos, nsize);
+                Arrays.fill(lit2pos, size, nsize, NO_ENTRY);
+                lit2val = Arrays.copyOf(lit2val, nsize);
+                Arrays.fill(lit2val, size, nsize, NO_ENTRY);
             }
-
-
             lit2pos[var] = pos;
             lit2val[var] = lvalue;
+            int idx = denseIndex(pos, value, eq);
+            if (idx > -1) {
+                pos2dense[pos][idx] = var;
+            } else {
+                sparse.put(key(pos, lvalue), var);
+            }
+            int n = pos2size[pos];
+            if (n == pos2lits[pos].length) {
+                pos2lits[pos] = Arrays.copyOf(pos2lits[pos], n * 2);
+            }
+            pos2lits[pos][n] = var;
+            pos2size[pos] = n + 1;
+            if (n + 1 == DENSE_THRESHOLD && pos2span[pos] > 0) {
+                densify(pos);
+            }
         }
         return makeLiteral(var, true);
     }
 
+    /**
+     * Prepare the indexation of the literals of the variable at position <i>pos</i>.
+     *
+     * @param pos  position of the variable
+     * @param ivar the variable
+     */
+    private void declarePosition(int pos, IntVar ivar) {
+        if (pos >= pos2size.length) {
+            int nsize = Math.max(pos + 1, pos2size.length * 3 / 2 + 1);
+            pos2lits = Arrays.copyOf(pos2lits, nsize);
+            pos2size = Arrays.copyOf(pos2size, nsize);
+            pos2offset = Arrays.copyOf(pos2offset, nsize);
+            pos2span = Arrays.copyOf(pos2span, nsize);
+            pos2dense = Arrays.copyOf(pos2dense, nsize);
+        }
+        pos2lits[pos] = new int[4];
+        pos2size[pos] = 0;
+        pos2dense[pos] = null;
+        long span = (long) ivar.getUB() - ivar.getLB() + 1;
+        pos2offset[pos] = ivar.getLB();
+        pos2span[pos] = span <= DENSE_SPAN ? (int) span : 0;
+    }
+
+    /**
+     * Index the literals of the variable at position <i>pos</i> in an array,
+     * the ones out of its initial domain stay in {@link #sparse}.
+     *
+     * @param pos position of a variable with a small domain
+     */
+    private void densify(int pos) {
+        int[] dense = new int[pos2span[pos] * 2];
+        Arrays.fill(dense, NO_ENTRY);
+        pos2dense[pos] = dense;
+        for (int i = 0; i < pos2size[pos]; i++) {
+            int var = pos2lits[pos][i];
+            long lvalue = lit2val[var];
+            int idx = denseIndex(pos, ivalue(lvalue), iseq(lvalue));
+            if (idx > -1) {
+                dense[idx] = var;
+                sparse.remove(key(pos, lvalue));
+            }
+        }
+    }
+
+    /**
+     * @param pos   position of a variable
+     * @param value a value
+     * @param eq    <tt>true</tt> for "=", <tt>false</tt> for "<="
+     * @return the index of the literal in {@link #pos2dense}[pos], or -1 if it is not indexed there.
+     */
+    private int denseIndex(int pos, int value, boolean eq) {
+        int[] dense = pos2dense[pos];
+        if (dense != null) {
+            long idx = 2L * ((long) value - pos2offset[pos]) + (eq ? 0 : 1);
+            if (idx >= 0 && idx < dense.length) {
+                return (int) idx;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param pos    position of a variable
+     * @param lvalue a value, with "=" or "<=" information encoded into it
+     * @return the SAT variable of the literal, or {@link #NO_ENTRY} if it does not exist
+     */
+    private int lookup(int pos, long lvalue) {
+        boolean eq = iseq(lvalue);
+        int idx = denseIndex(pos, ivalue(lvalue), eq);
+        if (idx > -1) {
+            return pos2dense[pos][idx];
+        }
+        return sparse.get(key(pos, lvalue));
+    }
+
+    /**
+     * @param pos    position of a variable
+     * @param lvalue a value, with "=" or "<=" information encoded into it
+     * @return a unique key for the couple, the lowest 34 bits store <i>lvalue</i>
+     */
+    private static long key(int pos, long lvalue) {
+        return ((long) pos << 34) | (lvalue - Integer.MIN_VALUE);
+    }
+
     /**
      * var points a clause variable whom value is now to be val.
      *
@@ -526,12 +673,28 @@ public class PropNogoods extends Propagator<IntVar> {
     }
 
     /**
-     * Add learnt clause to no-goods store
+     * Add learnt clause to no-goods store, this clause is never deleted.
      *
      * @param lits clause
      */
     public void addLearnt(int... lits) {
-        sat_.learnClause(lits);
+        addLearnt(false, lits);
+    }
+
+    /**
+     * Add learnt clause to no-goods store.
+     * A deletable clause may be deleted on restart when there are too many learnt clauses,
+     * depending on its literal block distance, here the number of integer variables it refers to
+     * (see {@link org.chocosolver.solver.Settings#getMaxLearntClauses()}).
+     *
+     * @param deletable set to <tt>true</tt> if the clause is redundant and can be deleted
+     * @param lits      clause
+     */
+    public void addLearnt(boolean deletable, int... lits) {
+        if (learntListener != null) {
+            learntListener.accept(lits);
+        }
+        learnt_.learn(lits, deletable, deletable ? lbd(lits) : 0);
         // early deductions of learnt clause may lead to incorrect behavior on backtrack
         // since early deduction is not backtrackable.
         forcePropagationOnBacktrack(); // issue#327
@@ -551,6 +714,7 @@ public class PropNogoods extends Propagator<IntVar> {
                         s -= test_eq.get(prev._g(i)) ? 1 : 0;
                     }
                     if (s == 0) { // then last dominates prev
+                        learnt_.subsume(last, prev);
                         sat_.detachLearnt(c);
                     }
                 }
@@ -558,6 +722,60 @@ public class PropNogoods extends Propagator<IntVar> {
         }
     }
 
+    /**
+     * @param lits a clause
+     * @return the number of distinct integer variables the literals of the clause refer to
+     */
+    private int lbd(int[] lits) {
+        int[] pos = new int[lits.length];
+        for (int i = 0; i < lits.length; i++) {
+            pos[i] = lit2pos[var(lits[i])];
+        }
+        Arrays.sort(pos);
+        int n = pos.length > 0 ? 1 : 0;
+        for (int i = 1; i < pos.length; i++) {
+            if (pos[i] != pos[i - 1]) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Set a listener informed of each clause learnt through {@link #addLearnt(int...)}.
+     * The listener must not modify the clause.
+     *
+     * @param listener a listener, or <i>null</i> to remove the current one
+     */
+    public void setLearntListener(Consumer<int[]> listener) {
+        this.learntListener = listener;
+    }
+
+    /**
+     * @param lit a literal
+     * @return the integer variable the literal refers to
+     */
+    public IntVar getIntVar(int lit) {
+        int pos = lit2pos[var(lit)];
+        return initialized ? vars[pos] : add_var.get(pos);
+    }
+
+    /**
+     * @param lit a literal
+     * @return the value the literal refers to
+     */
+    public int getValue(int lit) {
+        return ivalue(lit2val[var(lit)]);
+    }
+
+    /**
+     * @param lit a literal
+     * @return <tt>true</tt> if the literal encodes '=', <tt>false</tt> if it encodes '&le;'.
+     */
+    public boolean isEqLiteral(int lit) {
+        return iseq(lit2val[var(lit)]);
+    }
+
     private void storeEarlyDeductions() {
         for (int i = 0; i < sat_.touched_variables_.size(); ++i) {
             int lit = sat_.touched_variables_.get(i);
@@ -594,7 +812,7 @@ public class PropNogoods extends Propagator<IntVar> {
         // but the clauses and implications may be lost (cf. propagate)
 
         // get the index of the variable in the sat solver
-        int var = vv2lit[ivar.getId()].get(ivalue);
+        int var = lookup(var2pos[ivar.getId()], ivalue);
         boolean new_value = true;
         if (!ivar.contains(ivalue)) {
             new_value = false;
@@ -722,4 +940,89 @@ public class PropNogoods extends Propagator<IntVar> {
             return avar.getLB() > ivalue(aval) || avar.getUB() <= ivalue(aval);
         }
     }
+
+    /**
+     * Explain a modification of <i>ivar</i> made by this propagator, at the literal level.
+     * The literal made true by the modification is retrieved (see {@link #doReduce(int)}),
+     * then a clause, or an implication, which contains it and whose other literals are all false is looked for.
+     * Contrary to {@link #why(RuleStore, IntVar, IEventType, int)}, the state of the literals is not read
+     * from the current domains but given by <i>isFalse</i>, so that a modification can be explained
+     * once the search has gone further.
+     *
+     * @param ivar    the modified variable
+     * @param evt     the modification
+     * @param value   the value of the modification, as stored in the event store
+     * @param isFalse tells whether a literal was false when the modification was made
+     * @return the other literals of the clause, an empty array if the literal is a root fact,
+     * or <i>null</i> if no such clause is found
+     */
+    public int[] reason(IntVar ivar, IEventType evt, int value, IntPredicate isFalse) {
+        int vid = ivar.getId();
+        if (vid >= var2pos.length || var2pos[vid] == NO_ENTRY) {
+            return null;
+        }
+        int pos = var2pos[vid];
+        int var;
+        boolean sign;
+        if (evt == IntEventType.REMOVE) {
+            var = lookup(pos, value);
+            sign = false;
+        } else if (evt == IntEventType.INSTANTIATE) {
+            var = lookup(pos, value);
+            sign = true;
+        } else if (evt == IntEventType.DECUPP) {
+            var = lookup(pos, leq(value));
+            sign = true;
+        } else if (evt == IntEventType.INCLOW) {
+            var = lookup(pos, leq(value - 1));
+            sign = false;
+        } else {
+            return null;
+        }
+        if (var == NO_ENTRY) {
+            return null;
+        }
+        int lit = makeLiteral(var, sign);
+        if (early_deductions_.contains(lit)) {
+            return new int[0];
+        }
+        // A. binary clauses, (lit or l) is stored as: not(lit) implies l
+        TIntList implies = sat_.implies_.get(negated(lit));
+        if (implies != null) {
+            for (int i = 0; i < implies.size(); i++) {
+                if (isFalse.test(implies.get(i))) {
+                    return new int[]{implies.get(i)};
+                }
+            }
+        }
+        // B. clauses and learnt clauses
+        int[] others = reason(lit, sat_.clauses, isFalse);
+        if (others == null) {
+            others = reason(lit, sat_.learnts, isFalse);
+        }
+        return others;
+    }
+
+    private static int[] reason(int lit, ArrayList<SatSolver.Clause> clauses, IntPredicate isFalse) {
+        for (int k = clauses.size() - 1; k >= 0; k--) {
+            SatSolver.Clause cl = clauses.get(k);
+            int p = cl.pos(lit);
+            if (p > -1) {
+                int d = cl.size() - 1;
+                while (d >= 0 && (d == p || isFalse.test(cl._g(d)))) {
+                    d--;
+                }
+                if (d < 0) {
+                    int[] others = new int[cl.size() - 1];
+                    for (int i = 0, j = 0; i < cl.size(); i++) {
+                        if (i != p) {
+                            others[j++] = cl._g(i);
+                        }
+                    }
+                    return others;
+                }
+            }
+        }
+        return null;
+    }
 }
@@ -12,6 +12,7 @@ import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.map.hash.TObjectIntHashMap;
+import gnu.trove.set.hash.TIntHashSet;
 import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Propagator;
@@ -42,6 +43,11 @@ public class PropSat extends Propagator<BoolVar> {
      */
     private SatSolver sat_;
 
+    /**
+     * Reduces the learnt clause database
+     */
+    private LearntClauseManager learnt_;
+
     /**
      * Map between BoolVar and its literal
      */
@@ -84,6 +90,7 @@ public class PropSat extends Propagator<BoolVar> {
 
         this.indices_ = new TObjectIntHashMap<>(16,.5f, -1);
         sat_ = new SatSolver();
+        learnt_ = new LearntClauseManager(sat_, model);
         early_deductions_ = new TIntArrayList();
         sat_trail_ = model.getEnvironment().makeInt();
         add_var = new ArrayList<>(16);
@@ -288,12 +295,33 @@ public class PropSat extends Propagator<BoolVar> {
     }
 
     /**
-     * Add learnt clause to SAT solver
+     * Add learnt clause to SAT solver, this clause is never deleted.
      *
      * @param lits clause
      */
     public void addLearnt(int... lits) {
-        sat_.learnClause(lits);
+        addLearnt(false, lits);
+    }
+
+    /**
+     * Add learnt clause to SAT solver.
+     * A deletable clause may be deleted on restart when there are too many learnt clauses,
+     * depending on its literal block distance, here the number of variables it refers to
+     * (see {@link org.chocosolver.solver.Settings#getMaxLearntClauses()}).
+     *
+     * @param deletable set to <tt>true</tt> if the clause is redundant and can be deleted
+     * @param lits      clause
+     */
+    public void addLearnt(boolean deletable, int... lits) {
+        int lbd = 0;
+        if (deletable) {
+            TIntHashSet distinct = new TIntHashSet(lits.length);
+            for (int l : lits) {
+                distinct.add(var(l));
+            }
+            lbd = distinct.size();
+        }
+        learnt_.learn(lits, deletable, lbd);
         forcePropagationOnBacktrack(); // issue#327
         // early deductions of learnt clause may lead to incorrect behavior on backtrack
         // since early deduction is not backtrackable.
@@ -44,6 +44,8 @@ public class DefaultSettings implements Settings {
 
     private int maxDomSizeForEnumerated = 32_768;
 
+    private IntPredicate enableSparseSetDomain = i -> false;
+
     private int minCardForSumDecomposition = 1024;
 
     private boolean enableTableSubstitution = true;
@@ -62,10 +64,16 @@ public class DefaultSettings implements Settings {
 
     private boolean debugPropagation = false;
 
+    private boolean profilePropagation = false;
+
+    private boolean enableCompactEventStore = false;
+
     private boolean enableDecompositionOfBooleanSum = false;
 
     private IntPredicate enableIncrementalityOnBoolSum = i -> i > 10;
 
+    private IntPredicate enableIncrementalityOnSum = i -> false;
+
     private boolean cloneVariableArrayInPropagator = true;
 
     private boolean enableACOnTernarySum = false;
@@ -78,6 +86,12 @@ public class DefaultSettings implements Settings {
 
     private boolean checkDeclaredConstraints = false;
 
+    private int maxLearntClauses = Integer.MAX_VALUE;
+
+    private double learntClausesGrowth = 1.1d;
+
+    private int learntClausesProtectedLBD = 2;
+
     private Function<Model, Solver> initSolver = Solver::new;
 
 
@@ -130,6 +144,17 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public boolean enableSparseSetDomain(int size) {
+        return enableSparseSetDomain.test(size);
+    }
+
+    @Override
+    public DefaultSettings setEnableSparseSetDomain(IntPredicate enableSparseSetDomain) {
+        this.enableSparseSetDomain = enableSparseSetDomain;
+        return this;
+    }
+
     @Override
     public int getMinCardForSumDecomposition() {
         return minCardForSumDecomposition;
@@ -229,6 +254,28 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public boolean profilePropagation() {
+        return profilePropagation;
+    }
+
+    @Override
+    public DefaultSettings setProfilePropagation(boolean profilePropagation) {
+        this.profilePropagation = profilePropagation;
+        return this;
+    }
+
+    @Override
+    public boolean enableCompactEventStore() {
+        return enableCompactEventStore;
+    }
+
+    @Override
+    public DefaultSettings setEnableCompactEventStore(boolean enableCompactEventStore) {
+        this.enableCompactEventStore = enableCompactEventStore;
+        return this;
+    }
+
     @Override
     public boolean enableDecompositionOfBooleanSum() {
         return enableDecompositionOfBooleanSum;
@@ -251,6 +298,17 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public boolean enableIncrementalityOnSum(int nbvars) {
+        return enableIncrementalityOnSum.test(nbvars);
+    }
+
+    @Override
+    public DefaultSettings setEnableIncrementalityOnSum(IntPredicate enableIncrementalityOnSum) {
+        this.enableIncrementalityOnSum = enableIncrementalityOnSum;
+        return this;
+    }
+
     @Override
     public boolean cloneVariableArrayInPropagator() {
         return cloneVariableArrayInPropagator;
@@ -317,6 +375,39 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public int getMaxLearntClauses() {
+        return maxLearntClauses;
+    }
+
+    @Override
+    public DefaultSettings setMaxLearntClauses(int maxLearntClauses) {
+        this.maxLearntClauses = maxLearntClauses;
+        return this;
+    }
+
+    @Override
+    public double getLearntClausesGrowth() {
+        return learntClausesGrowth;
+    }
+
+    @Override
+    public DefaultSettings setLearntClausesGrowth(double growth) {
+        this.learntClausesGrowth = growth;
+        return this;
+    }
+
+    @Override
+    public int getLearntClausesProtectedLBD() {
+        return learntClausesProtectedLBD;
+    }
+
+    @Override
+    public DefaultSettings setLearntClausesProtectedLBD(int lbd) {
+        this.learntClausesProtectedLBD = lbd;
+        return this;
+    }
+
     @Override
     public Solver initSolver(Model model) {
         return initSolver.apply(model);
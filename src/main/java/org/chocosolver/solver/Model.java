@@ -865,18 +865,25 @@ public class Model implements IModel {
 
     /**
      * Posts constraints <code>cs</code> temporary, that is, they will be unposted upon backtrack.
+     * The unposting is recorded in the environment before the first propagation of <code>cs</code>,
+     * so it also occurs when this propagation fails.
+     * The propagation engine is not reinitialized: the propagators are added to it, and removed from it on backtrack,
+     * in constant amortized time.
      *
      * @param cs a set of constraints to add
      * @throws ContradictionException if the addition of constraints <code>cs</code> detects inconsistency.
      * @throws SolverException        if a constraint is posted twice, posted although reified or reified twice.
      */
     public void postTemp(Constraint... cs) throws ContradictionException {
+        if (getSolver().getEngine() == NoPropagationEngine.SINGLETON || !getSolver().getEngine().isInitialized()) {
+            throw new SolverException("Try to post a temporary constraint while the resolution has not begun.\n" +
+                    "A call to Model.post(Constraint) is more appropriate.");
+        }
         for (Constraint c : cs) {
             _post(false, c);
-            if (getSolver().getEngine() == NoPropagationEngine.SINGLETON || !getSolver().getEngine().isInitialized()) {
-                throw new SolverException("Try to post a temporary constraint while the resolution has not begun.\n" +
-                        "A call to Model.post(Constraint) is more appropriate.");
-            }
+            getEnvironment().save(() -> unpost(c));
+        }
+        for (Constraint c : cs) {
             for (Propagator propagator : c.getPropagators()) {
                 if (settings.debugPropagation()) {
                     IPropagationEngine.Trace.printFirstPropagation(propagator);
@@ -888,6 +895,8 @@ public class Model implements IModel {
 
     /**
      * Remove permanently the constraint <code>c</code> from the constraint network.
+     * A constraint which is not posted, for instance because it has already been removed, is ignored,
+     * so that the unposting of a temporary constraint (see {@link #postTemp(Constraint...)}) can be saved twice.
      *
      * @param constraints the constraints to remove
      * @throws SolverException if a constraint is unknown from the model
@@ -895,6 +904,9 @@ public class Model implements IModel {
     public void unpost(Constraint... constraints) throws SolverException {
         if (constraints != null) {
             for (Constraint c : constraints) {
+                if (c.getStatus() == Constraint.Status.FREE) {
+                    continue;
+                }
                 // 1. look for the constraint c
                 int idx = c.getCidxInModel();
                 c.declareAs(Constraint.Status.FREE, -1);
@@ -0,0 +1,392 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.loop.move.MoveBinaryDFS;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.criteria.Criterion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>
+ *     An Embarrassingly Parallel Search (EPS) helper, with work stealing.
+ * </p>
+ * <p>
+ *     Unlike {@link ParallelPortfolio}, the models run in parallel do not compete on the same search tree:
+ *     the search tree of the problem is split into sub-problems, each of them being explored by exactly one model.
+ *     A sub-problem is defined by a prefix of decisions, applied from the root node.
+ *     Initially, only the root node is available.
+ *     A busy model gives away the topmost open right branch of its own sub-tree
+ *     as long as too few sub-problems are waiting (see {@link #setSplitThreshold(int)}),
+ *     so the search tree is first decomposed and then long-running sub-trees are split again on demand.
+ *     Each model takes the next waiting sub-problem as soon as it has completed its current one.
+ * </p>
+ * <p>
+ *     Models are expected to be the same, built in the same order: decisions are exchanged on the basis of variable IDs.
+ *     Since a model can not be cloned, populating the models is not managed by this class,
+ *     a dedicated method should be called for each of them.
+ *     Each model must explore its sub-trees in a depth-first way (the default {@link MoveBinaryDFS}):
+ *     restarts, LNS, LDS or HBFS are not supported.
+ *     Only decisions on integer variables, based on
+ *     {@link org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory} operators, can be given away.
+ * </p>
+ * <p>
+ *     When dealing with an optimization problem, the objective variable has to be declared eagerly with
+ *     {@link Model#setObjective(boolean, Variable)} and cut on the objective variable's value is propagated
+ *     to all models on solution, like in a {@link ParallelPortfolio}.
+ * </p>
+ * <p>
+ *     The resolution can only be run once.
+ *     Example of use.
+ *
+ * <pre>
+ * <code>ParallelEPS eps = new ParallelEPS();
+ * int n = 4; // number of models to use
+ * for (int i = 0; i < n; i++) {
+ *      eps.addModel(modeller());
+ * }
+ * List&lt;Solution&gt; solutions = eps.findAllSolutions();
+ * </code>
+ * </pre>
+ *
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class ParallelEPS {
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////       VARIABLES       //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** List of {@link Model}s to be executed in parallel. */
+    private final List<Model> models;
+
+    /** Number of waiting sub-problems per model under which busy models split their sub-tree */
+    private int splitThreshold = 2;
+
+    /** The pool of sub-problems, created on resolution */
+    private SubproblemPool pool;
+
+    /** The workers, one per model */
+    private final List<SubproblemPool.Worker> workers;
+
+    private final AtomicBoolean terminated = new AtomicBoolean(false);
+
+    /** Set to <tt>true</tt> when all solutions are enumerated */
+    private boolean enumerate;
+
+    /** The best solution found so far, <tt>null</tt> when enumerating solutions */
+    private Solution best;
+
+    /** Point to (one of) the model(s) which found the best solution */
+    private Model finder;
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////      CONSTRUCTOR      //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a new ParallelEPS.
+     * This class stores the models to be executed in parallel in a {@link ArrayList} initially empty.
+     */
+    public ParallelEPS() {
+        this.models = new ArrayList<>();
+        this.workers = new ArrayList<>();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////          API          //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds a model to the list of models to run in parallel.
+     * All models must be populated the same way, before the resolution starts.
+     * @param model a model to add
+     */
+    public void addModel(Model model){
+        this.models.add(model);
+    }
+
+    /**
+     * Busy models split their sub-tree as long as less than <i>nbSubproblems</i> times the number of models
+     * sub-problems are waiting (2 by default).
+     * A greater value gives a better load balancing but more decisions are recomputed.
+     * @param nbSubproblems number of waiting sub-problems per model
+     */
+    public void setSplitThreshold(int nbSubproblems){
+        if (nbSubproblems < 1) {
+            throw new SolverException("ParallelEPS.setSplitThreshold(...) expects a positive value");
+        }
+        this.splitThreshold = nbSubproblems;
+    }
+
+    /**
+     * Run the resolution in parallel:
+     * <ul>
+     *     <li>a satisfaction problem is solved as soon as one model finds a solution,</li>
+     *     <li>an optimization problem is solved once the optimal solution is found and proven.</li>
+     * </ul>
+     * @return <code>true</code> if and only if at least one solution has been found.
+     * @see #getBestSolution()
+     */
+    public boolean solve() {
+        enumerate = false;
+        prepare();
+        run(null);
+        return best != null;
+    }
+
+    /**
+     * Enumerate all solutions of the problem in parallel.
+     * The objective, if any, is cleared first.
+     * The order of the solutions is not deterministic.
+     * @return the list of all solutions
+     */
+    public List<Solution> findAllSolutions() {
+        return streamSolutions().collect(Collectors.toList());
+    }
+
+    /**
+     * Enumerate all solutions of the problem in parallel, and stream them as soon as they are found.
+     * The objective, if any, is cleared first.
+     * The order of the solutions is not deterministic.
+     * <p>
+     * The resolution runs in background: closing the stream stops it.
+     * </p>
+     * @return a stream of solutions
+     */
+    public Stream<Solution> streamSolutions() {
+        enumerate = true;
+        models.forEach(Model::clearObjective);
+        prepare();
+        BlockingQueue<Solution> solutions = new LinkedBlockingQueue<>();
+        // marks the end of the resolution
+        Solution end = new Solution(models.get(0));
+        AtomicReference<SolverException> failure = new AtomicReference<>();
+        Thread runner = new Thread(() -> {
+            try {
+                run(solutions::add);
+            } catch (SolverException e) {
+                failure.set(e);
+            } finally {
+                solutions.add(end);
+            }
+        });
+        runner.setDaemon(true);
+        runner.start();
+        Spliterator<Solution> it = new Spliterator<Solution>() {
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Solution> action) {
+                try {
+                    Solution s = solutions.take();
+                    if (s != end) {
+                        action.accept(s);
+                        return true;
+                    }
+                    if (failure.get() != null) {
+                        throw failure.get();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stop();
+                }
+                return false;
+            }
+
+            @Override
+            public Spliterator<Solution> trySplit() {
+                return null;
+            }
+
+            @Override
+            public long estimateSize() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public int characteristics() {
+                return Spliterator.NONNULL | Spliterator.DISTINCT;
+            }
+        };
+        return StreamSupport.stream(it, false).onClose(this::stop);
+    }
+
+    /**
+     * @return the best solution found, or the first one for a satisfaction problem, <tt>null</tt> if none.
+     */
+    public Solution getBestSolution() {
+        return best;
+    }
+
+    /**
+     * @return the first model which finds the best solution, <tt>null</tt> if none.
+     */
+    public Model getBestModel(){
+        return finder;
+    }
+
+    /**
+     * @return the total number of solutions found by the models
+     */
+    public long getSolutionCount() {
+        return models.stream().mapToLong(m -> m.getSolver().getSolutionCount()).sum();
+    }
+
+    /**
+     * @return the number of sub-problems created so far, including the root node
+     */
+    public long getNbSubproblems() {
+        return pool == null ? 0 : pool.getNbCreated();
+    }
+
+    /**
+     * @return the (mutable!) list of models used in this ParallelEPS
+     */
+    public List<Model> getModels(){
+        return models;
+    }
+
+    /**
+     * Stop the resolution as soon as possible.
+     */
+    public void stop() {
+        terminated.set(true);
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void run(Consumer<Solution> sink) {
+        ExecutorService executor = Executors.newFixedThreadPool(models.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < models.size(); i++) {
+                int wid = i;
+                futures.add(executor.submit(() -> work(wid, sink)));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+        } catch (ExecutionException e) {
+            stop();
+            throw new SolverException("ParallelEPS: a model failed during resolution, " + e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void work(int wid, Consumer<Solution> sink) {
+        Model m = models.get(wid);
+        try {
+            if (sink == null && m.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
+                if (m.getSolver().solve()) {
+                    stop();
+                }
+            } else {
+                while (m.getSolver().solve()) {
+                    if (sink != null) {
+                        sink.accept(new Solution(m).record());
+                    }
+                }
+            }
+        } finally {
+            workers.get(wid).leave();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void prepare(){
+        if (pool != null) {
+            throw new SolverException("The resolution of a ParallelEPS can only be run once.");
+        }
+        check();
+        pool = new SubproblemPool(splitThreshold * models.size());
+        for (Model m : models) {
+            Solver s = m.getSolver();
+            s.addStopCriterion((Criterion) terminated::get);
+            s.plugMonitor((IMonitorSolution) () -> updateFromSolution(m));
+            workers.add(pool.plug(m));
+        }
+    }
+
+    private synchronized void updateFromSolution(Model m){
+        if (enumerate) {
+            return;
+        }
+        if (m.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
+            if (best == null) {
+                finder = m;
+                best = new Solution(m).record();
+            }
+        } else {
+            int val = ((IntVar) m.getObjective()).getValue();
+            boolean max = m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE;
+            if (best == null || (max ? val > best.getIntVal((IntVar) m.getObjective())
+                    : val < best.getIntVal((IntVar) m.getObjective()))) {
+                finder = m;
+                best = new Solution(m).record();
+                if (max) {
+                    models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestLB(val));
+                } else {
+                    models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestUB(val));
+                }
+            }
+        }
+    }
+
+    private void check(){
+        if (models.size() == 0) {
+            throw new SolverException("No model found in the ParallelEPS.");
+        }
+        for (Model m : models) {
+            if (m.getSolver().getMove().getClass() != MoveBinaryDFS.class) {
+                throw new SolverException("ParallelEPS only deals with depth-first search, " +
+                        "restarts, LNS, LDS, DDS and HBFS are not supported.");
+            }
+        }
+        if (models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+            Variable objective = models.get(0).getObjective();
+            if (objective == null) {
+                throw new UnsupportedOperationException("No objective has been defined");
+            }
+            if ((objective.getTypeAndKind() & Variable.REAL) != 0) {
+                throw new UnsupportedOperationException("ParallelEPS cannot deal with " +
+                        "real variable objective optimization problems");
+            }
+        }
+    }
+}
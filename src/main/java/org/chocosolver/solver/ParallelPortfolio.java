@@ -65,7 +65,11 @@ import static org.chocosolver.solver.search.strategy.Search.setVarSearch;
  *
  * </p>
  * <p>
- *     Note that the similarity of the models declared is not required.
+ *     Optionally, models can also share the no-goods they learn, see {@link #setCooperative(int, int, int)}.
+ * </p>
+ * <p>
+ *     Note that the similarity of the models declared is not required, except when models cooperate:
+ *     no-goods are then exchanged on the basis of variable IDs, so models have to be built the same way.
  *     However, when dealing with an optimization problem, keep in mind that the cut on the objective variable's value
  *     is propagated among all models, so different objectives may lead to wrong results.
  * </p>
@@ -119,6 +123,9 @@ public class ParallelPortfolio {
     /** Point to (one of) the solver(s) which found a solution */
     private Model finder;
 
+    /** Exchange buffer for no-goods when models cooperate, <i>null</i> otherwise */
+    private PortfolioExchange exchange;
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////      CONSTRUCTOR      //////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -172,6 +179,52 @@ public class ParallelPortfolio {
         this.models.add(model);
     }
 
+    /**
+     * <p>
+     * Make the models of the portfolio cooperate: the no-goods they learn (on restart, or by explanations)
+     * with at most <i>maxSize</i> literals are shared through a lock-free buffer,
+     * which is polled by each model on restart and every <i>period</i> backtracks.
+     * On optimization problems, the best objective value found so far is also shared, and read by each model
+     * on restart and on backtrack, instead of being pushed into every model on solution.
+     * Models are expected to be built the same way, since no-goods are exchanged on the basis of variable IDs.
+     * </p>
+     * <p>
+     * Must be called before the first call to {@link #solve()}.
+     * </p>
+     * @param maxSize maximum number of literals of a shared no-good
+     * @param period number of backtracks between two polls of the buffer
+     * @param capacity number of no-goods kept in the buffer, the oldest ones are dropped first
+     */
+    public void setCooperative(int maxSize, int period, int capacity){
+        if (isPrepared) {
+            throw new SolverException("ParallelPortfolio.setCooperative(...) must be called before solve()");
+        }
+        this.exchange = new PortfolioExchange(capacity, maxSize, period);
+    }
+
+    /**
+     * Make the models of the portfolio cooperate, sharing no-goods of at most 8 literals,
+     * see {@link #setCooperative(int, int, int)}.
+     */
+    public void setCooperative(){
+        setCooperative(8, 1000, 4096);
+    }
+
+    /**
+     * @return the number of no-goods shared among models so far, 0 if models do not cooperate.
+     */
+    public long getNbSharedNogoods(){
+        return exchange == null ? 0 : exchange.getNbPublished();
+    }
+
+    /**
+     * @return the number of times a model tightened its objective with a value found by another model,
+     * 0 if models do not cooperate.
+     */
+    public long getNbSharedBounds(){
+        return exchange == null ? 0 : exchange.getNbImportedBounds();
+    }
+
     /**
      * Run the solve() instruction of every model of the portfolio in parallel.
      *
@@ -255,10 +308,14 @@ public class ParallelPortfolio {
         for(int i=0;i<models.size();i++){
             Solver s = models.get(i).getSolver();
             s.addStopCriterion((Criterion) () -> getSolverTerminated().get());
-            s.plugMonitor((IMonitorSolution) () -> {updateFromSolution(s.getModel());});
             if(searchAutoConf){
                 configureModel(i);
             }
+            if(exchange != null){
+                // publishes the objective value before updateFromSolution(...) reads it
+                exchange.plug(models.get(i), i);
+            }
+            s.plugMonitor((IMonitorSolution) () -> {updateFromSolution(s.getModel());});
         }
     }
 
@@ -274,7 +331,13 @@ public class ParallelPortfolio {
             }else if(m.getResolutionPolicy()==ResolutionPolicy.MINIMIZE){
                 assert solverVal>=bestVal:solverVal+"<"+bestVal;
             }
-            if(solverVal == bestVal){
+            if(exchange != null){
+                // the other models read the bound from the exchange
+                if(solverVal == bestVal && exchange.isBest(m, solverVal)){
+                    getSolutionFound().set(true);
+                    finder = m;
+                }
+            }else if(solverVal == bestVal){
                 getSolutionFound().set(true);
                 finder = m;
                 if (m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE) {
@@ -0,0 +1,342 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.chocosolver.sat.PropNogoods;
+import org.chocosolver.sat.SatSolver;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.loop.monitors.IMonitorUpBranch;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ * A lock-free buffer to exchange no-goods and objective bounds between the models of a {@link ParallelPortfolio}.
+ * </p>
+ * <p>
+ * Each clause learnt by the no-good store of a model (for instance on restart, see
+ * {@link org.chocosolver.solver.search.loop.monitors.NogoodFromRestarts}) is translated into a model-independent
+ * form, based on variable IDs, and published in a bounded ring buffer.
+ * The other models poll the buffer on restart and periodically on backtrack, and learn the clauses they do not know yet.
+ * Only clauses with at most {@link #maxSize} literals are shared.
+ * Since no-goods learnt from decisions contain one literal per decision level, their size is also their LBD.
+ * </p>
+ * <p>
+ * On optimization problems, each solution of a model is published in a single atomic value, which only improves.
+ * The other models read it on restart and on backtrack, and tighten their own objective bound with it.
+ * </p>
+ * <p>
+ * The models are expected to be built the same way, so that variable IDs match.
+ * A clause which refers to a variable unknown by a model is ignored by that model.
+ * When the buffer is full, the oldest entries are overwritten, possibly before being read by all the models.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+final class PortfolioExchange {
+
+    /**
+     * Flag of a literal which encodes "=" (otherwise "&le;")
+     */
+    private static final int EQ = 1;
+
+    /**
+     * Flag of a positive literal
+     */
+    private static final int POS = 2;
+
+    /**
+     * The ring buffer
+     */
+    private final AtomicReferenceArray<Entry> buffer;
+
+    /**
+     * Number of entries ever published
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Maximum number of literals in a shared clause
+     */
+    private final int maxSize;
+
+    /**
+     * Number of backtracks between two polls
+     */
+    private final int period;
+
+    /**
+     * Best objective value found by the models, stored as a score (the value when maximizing, its opposite when
+     * minimizing), {@link Long#MIN_VALUE} if none
+     */
+    private final AtomicLong bound = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Number of objective values published so far, that is, which improved {@link #bound}
+     */
+    private final AtomicLong nbBounds = new AtomicLong();
+
+    /**
+     * Number of times a model tightened its objective with a value found by another model
+     */
+    private final AtomicLong nbImportedBounds = new AtomicLong();
+
+    /**
+     * Create an exchange buffer
+     *
+     * @param capacity number of entries in the ring buffer
+     * @param maxSize  maximum number of literals in a shared clause
+     * @param period   number of backtracks between two polls
+     */
+    PortfolioExchange(int capacity, int maxSize, int period) {
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.maxSize = maxSize;
+        this.period = period;
+    }
+
+    /**
+     * Plug the exchange in <i>model</i>.
+     * Must be called before the resolution starts, since it posts the no-good store of the model.
+     *
+     * @param model a model of the portfolio
+     * @param wid   the model index in the portfolio
+     */
+    void plug(Model model, int wid) {
+        Worker worker = new Worker(model, wid);
+        worker.png.setLearntListener(worker::publish);
+        model.getSolver().plugMonitor(worker);
+    }
+
+    /**
+     * @return the number of no-goods published so far
+     */
+    long getNbPublished() {
+        return head.get();
+    }
+
+    /**
+     * @return the number of objective values published so far
+     */
+    long getNbPublishedBounds() {
+        return nbBounds.get();
+    }
+
+    /**
+     * @return the number of times a model tightened its objective with a value found by another model
+     */
+    long getNbImportedBounds() {
+        return nbImportedBounds.get();
+    }
+
+    /**
+     * @param model a model of the portfolio, solving an optimization problem
+     * @param value an objective value
+     * @return <i>true</i> if <i>value</i> is at least as good as the best objective value published so far
+     */
+    boolean isBest(Model model, int value) {
+        return score(model, value) >= bound.get();
+    }
+
+    private static long score(Model model, int value) {
+        return model.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE ? value : -(long) value;
+    }
+
+    /**
+     * A published clause.
+     */
+    private static final class Entry {
+        /**
+         * Position in the sequence of published entries
+         */
+        final long seq;
+        /**
+         * Index of the publishing model
+         */
+        final int source;
+        /**
+         * Triplets (variable ID, value, flags)
+         */
+        final int[] lits;
+
+        Entry(long seq, int source, int[] lits) {
+            this.seq = seq;
+            this.source = source;
+            this.lits = lits;
+        }
+    }
+
+    /**
+     * The part of the exchange attached to one model; only accessed by the thread which solves that model.
+     */
+    private final class Worker implements IMonitorRestart, IMonitorUpBranch, IMonitorSolution {
+
+        final Model model;
+        final int wid;
+        final PropNogoods png;
+        /**
+         * Maps variable ID to integer variable, lazily updated
+         */
+        final TIntObjectHashMap<IntVar> vars = new TIntObjectHashMap<>();
+        /**
+         * Number of variables in {@link #vars}
+         */
+        int nbVars;
+        /**
+         * Next entry to read
+         */
+        long cursor;
+        /**
+         * Number of backtracks since the last poll
+         */
+        int ticks;
+        /**
+         * Set to <i>true</i> when learning imported clauses, not to publish them again
+         */
+        boolean importing;
+        /**
+         * Set to <i>true</i> when the model solves an optimization problem
+         */
+        final boolean optimizing;
+        /**
+         * Best objective score known by this model, found or imported
+         */
+        long known = Long.MIN_VALUE;
+
+        Worker(Model model, int wid) {
+            this.model = model;
+            this.wid = wid;
+            this.png = model.getNogoodStore().getPropNogoods();
+            this.optimizing = model.getResolutionPolicy() != ResolutionPolicy.SATISFACTION;
+        }
+
+        void publish(int[] lits) {
+            if (importing || lits.length > maxSize) {
+                return;
+            }
+            int[] tlits = new int[lits.length * 3];
+            for (int i = 0, j = 0; i < lits.length; i++) {
+                tlits[j++] = png.getIntVar(lits[i]).getId();
+                tlits[j++] = png.getValue(lits[i]);
+                tlits[j++] = (png.isEqLiteral(lits[i]) ? EQ : 0) | (SatSolver.sign(lits[i]) ? POS : 0);
+            }
+            long seq = head.getAndIncrement();
+            buffer.set((int) (seq % buffer.length()), new Entry(seq, wid, tlits));
+        }
+
+        void publishBound() {
+            long score = score(model, ((IntVar) model.getObjective()).getValue());
+            if (score > known) {
+                known = score;
+            }
+            long cur = bound.get();
+            while (score > cur) {
+                if (bound.compareAndSet(cur, score)) {
+                    nbBounds.incrementAndGet();
+                    break;
+                }
+                cur = bound.get();
+            }
+        }
+
+        void pollBound() {
+            long cur = bound.get();
+            if (cur > known) {
+                known = cur;
+                if (model.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE) {
+                    model.getSolver().getObjectiveManager().updateBestLB((int) cur);
+                } else {
+                    model.getSolver().getObjectiveManager().updateBestUB((int) -cur);
+                }
+                nbImportedBounds.incrementAndGet();
+            }
+        }
+
+        void poll() {
+            long last = head.get();
+            if (cursor < last - buffer.length()) {
+                // overwritten entries are lost
+                cursor = last - buffer.length();
+            }
+            importing = true;
+            try {
+                while (cursor < last) {
+                    Entry e = buffer.get((int) (cursor % buffer.length()));
+                    if (e == null || e.seq < cursor) {
+                        break; // not published yet, retry on next poll
+                    }
+                    if (e.seq == cursor && e.source != wid) {
+                        learn(e.lits);
+                    }
+                    cursor++;
+                }
+            } finally {
+                importing = false;
+            }
+        }
+
+        private void learn(int[] tlits) {
+            int[] lits = new int[tlits.length / 3];
+            for (int i = 0, j = 0; i < lits.length; i++) {
+                IntVar var = lookup(tlits[j++]);
+                if (var == null) {
+                    return;
+                }
+                int lit = png.Literal(var, tlits[j++], (tlits[j] & EQ) != 0);
+                lits[i] = (tlits[j++] & POS) != 0 ? lit : SatSolver.negated(lit);
+            }
+            png.addLearnt(true, lits);
+        }
+
+        private IntVar lookup(int id) {
+            if (nbVars < model.getNbVars()) {
+                Variable[] all = model.getVars();
+                for (int i = nbVars; i < all.length; i++) {
+                    if ((all[i].getTypeAndKind() & Variable.INT) != 0) {
+                        vars.put(all[i].getId(), (IntVar) all[i]);
+                    }
+                }
+                nbVars = all.length;
+            }
+            return vars.get(id);
+        }
+
+        @Override
+        public void onSolution() {
+            if (optimizing) {
+                publishBound();
+            }
+        }
+
+        @Override
+        public void afterRestart() {
+            if (optimizing) {
+                pollBound();
+            }
+            poll();
+        }
+
+        @Override
+        public void afterUpBranch() {
+            // reading the bound is cheap, unlike learning no-goods
+            if (optimizing) {
+                pollBound();
+            }
+            if (++ticks >= period) {
+                ticks = 0;
+                poll();
+            }
+        }
+    }
+}
@@ -96,6 +96,22 @@ public interface Settings  {
      */
     Settings setMaxDomSizeForEnumerated(int maxDomSizeForEnumerated);
 
+    /**
+     * @param size initial number of values of an enumerated integer variable
+     * @return {@code true} if the domain of the variable is a sparse set,
+     * {@code false} (default value) if it is a bitset.
+     * Sparse sets add less entries to the trail on value removals but are slower to iterate.
+     */
+    boolean enableSparseSetDomain(int size);
+
+    /**
+     * Define the predicate to choose sparse set domains for enumerated integer variables,
+     * based on their initial number of values
+     * @param enableSparseSetDomain predicate to pick sparse set domains, for instance {@code i -> i >= 100}
+     * @return the current instance
+     */
+    Settings setEnableSparseSetDomain(IntPredicate enableSparseSetDomain);
+
     /**
      * @return minimum number of cardinality threshold to a sum constraint to be decomposed
      */
@@ -220,6 +236,40 @@ public interface Settings  {
      */
     Settings setDebugPropagation(boolean debugPropagation);
 
+    /**
+     * @return {@code true} if statistics on propagators (calls, time, failures and modifications) are recorded
+     */
+    boolean profilePropagation();
+
+    /**
+     * When this setting returns {@code true}, the propagation engine records, for each propagator,
+     * the number of calls, the time spent, the number of failures and the number of domain modifications.
+     * Statistics are then available through {@link org.chocosolver.solver.propagation.IPropagationEngine#getProfiler()}.
+     * This slows down the overall process.
+     *
+     * Note that this parameter is read once at propagation engine creation and set in a final variable.
+     * @param profilePropagation {@code true} to record statistics on propagators
+     * @return the current instance
+     */
+    Settings setProfilePropagation(boolean profilePropagation);
+
+    /**
+     * @return {@code true} if events are recorded in a compact store when explanations are enabled
+     */
+    boolean enableCompactEventStore();
+
+    /**
+     * When this setting returns {@code true}, the explanation engine records the events in a
+     * {@link org.chocosolver.solver.explanations.PackedEventStore}, which packs each event in a few primitives,
+     * instead of a {@link org.chocosolver.solver.explanations.ArrayEventStore}.
+     * This reduces the memory footprint of explanations, at the cost of a slightly slower access to the events.
+     *
+     * Note that this parameter is read once at explanation engine creation and set in a final variable.
+     * @param enableCompactEventStore {@code true} to record events in a compact store
+     * @return the current instance
+     */
+    Settings setEnableCompactEventStore(boolean enableCompactEventStore);
+
     /**
      * @return {@code true} if boolean sum should be decomposed into an equality constraint and an arithmetic constraint,
      * {@code false}if a single constraint should be used instead.
@@ -246,6 +296,22 @@ public interface Settings  {
      */
     Settings setEnableIncrementalityOnBoolSum(IntPredicate enableIncrementalityOnBoolSum);
 
+    /**
+     * @param nbvars number of variables in the constraint
+     * @return {@code true} if the incrementality is enabled on integer sum and scalar product,
+     * based on the number of variables involved.
+     */
+    boolean enableIncrementalityOnSum(int nbvars);
+
+    /**
+     * Define the predicate to choose incremental sum or scalar product, based on number variables declared.
+     * Such a propagator maintains its bounds with <i>long</i> arithmetic, on each bound modification,
+     * which pays off on large sums (default: never).
+     * @param enableIncrementalityOnSum predicate to pick declare sum
+     * @return the current instance
+     */
+    Settings setEnableIncrementalityOnSum(IntPredicate enableIncrementalityOnSum);
+
     /**
      * @return true if all propagators should clone the input variable array instead of simply referencing it.
      */
@@ -329,6 +395,46 @@ public interface Settings  {
      */
     Settings setCheckDeclaredConstraints(boolean checkDeclaredConstraints);
 
+    /**
+     * @return the number of deletable learnt clauses a SAT solver embedded in a propagator can store
+     * before the worst half of them is deleted, on restart.
+     * Default is {@link Integer#MAX_VALUE}, or 0, which never deletes learnt clauses.
+     */
+    int getMaxLearntClauses();
+
+    /**
+     * Define the number of deletable learnt clauses which triggers a reduction of the clause database.
+     * @param maxLearntClauses maximum number of deletable learnt clauses,
+     *                         0 or {@link Integer#MAX_VALUE} to disable reduction
+     * @return the current instance
+     */
+    Settings setMaxLearntClauses(int maxLearntClauses);
+
+    /**
+     * @return the factor applied to the maximum number of learnt clauses after each reduction of the
+     * clause database (default is 1.1).
+     */
+    double getLearntClausesGrowth();
+
+    /**
+     * Define the factor applied to the maximum number of learnt clauses after each reduction.
+     * @param growth a factor greater than or equal to 1
+     * @return the current instance
+     */
+    Settings setLearntClausesGrowth(double growth);
+
+    /**
+     * @return the literal block distance under which a learnt clause is never deleted (default is 2).
+     */
+    int getLearntClausesProtectedLBD();
+
+    /**
+     * Define the literal block distance under which a learnt clause is never deleted.
+     * @param lbd a literal block distance
+     * @return the current instance
+     */
+    Settings setLearntClausesProtectedLBD(int lbd);
+
     /**
      * This method is called in {@link Model#Model(IEnvironment, String, Settings)} to create the
      * solver to associate with a model.
@@ -8,8 +8,6 @@
  */
 package org.chocosolver.solver;
 
-import gnu.trove.map.hash.TIntIntHashMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
@@ -18,12 +16,18 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.RealVar;
 import org.chocosolver.solver.variables.SetVar;
 import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.objects.IntMap;
 
 import java.util.Arrays;
 
 /**
  * Class which stores the value of each variable in a solution
  * <br/>
+ * Values are stored in dense arrays, one per kind of variables, indexed by the position of the variables
+ * in the variables to store.
+ * Solutions recorded by a {@link SolutionPool} share this indexation and
+ * the values of integer variables may be delta-encoded against a previous solution.
+ * <br/>
  *
  * @author Jean-Guillaume Fages
  * @author Charles Prud'homme
@@ -35,18 +39,26 @@ public class Solution implements ICause {
     // VARIABLES
     //***********************************************************************************
 
-    /** No entry value for maps */
+    /** No entry value for integer variables, out of the bounds of any integer variable */
     private static final int NO_ENTRY = Integer.MAX_VALUE;
 
     // SOLUTION
     /** Set to <tt>true</tt> when this object is empty */
     private boolean empty;
-    /** Maps of value for integer variable (id - value) */
-    private TIntIntHashMap intmap;
-    /** Maps of value for real variable (id - value) */
-    private TIntObjectHashMap<double[]> realmap;
-    /** Maps of value for set variable (id - values) */
-    private TIntObjectHashMap<int[]> setmap;
+    /** Indexation of the variables to store, possibly shared with other solutions */
+    private Layout layout;
+    /** Values of integer variables, {@link #NO_ENTRY} if not instantiated */
+    private int[] ints;
+    /** Set to <tt>true</tt> when {@link #ints} is shared with other solutions, and thus cannot be modified */
+    private boolean shared;
+    /** When not null, {@link #ints} is the value of another solution and these slots have different values */
+    private int[] dslots;
+    /** Values of the slots in {@link #dslots} */
+    private int[] dvals;
+    /** Bounds of real variables, NaN if not instantiated */
+    private double[] reals;
+    /** Values of set variables, null if not instantiated */
+    private int[][] sets;
 
     // INPUT
     /** Model to store */
@@ -73,6 +85,15 @@ public class Solution implements ICause {
         this.model = model;
     }
 
+    /**
+     * Create an empty solution object which stores the same variables as <i>solution</i>.
+     * @param solution a solution
+     */
+    private Solution(Solution solution) {
+        this(solution.model, solution.varsToStore);
+        this.layout = solution.layout;
+    }
+
     //***********************************************************************************
     // METHODS
     //***********************************************************************************
@@ -83,55 +104,51 @@ public class Solution implements ICause {
      * @return this object
      */
     public Solution record() {
+        return record(null);
+    }
+
+    /**
+     * Records the current solution of the solver, like {@link #record()},
+     * but stores the values of integer variables in <i>buffer</i> when it has the right size.
+     * @param buffer an array to store the values of integer variables in, may be <tt>null</tt>
+     * @return this object
+     */
+    Solution record(int[] buffer) {
         empty = false;
         boolean warn = false;
-        if (varsToStore.length == 0) {
-            varsToStore = model.getVars();
-        }
+        Layout l = layout();
         assert varsToStore.length > 0;
-        if (intmap != null) {
-            intmap.clear();
-        }
-        if (realmap != null) {
-            realmap.clear();
-        }
-        if (setmap != null) {
-            setmap.clear();
+        if (l.nbInts == 0) {
+            ints = null;
+        } else if (buffer != null && buffer.length == l.nbInts) {
+            ints = buffer;
+        } else {
+            ints = new int[l.nbInts];
         }
-        for (Variable var : varsToStore) {
-            if ((var.getTypeAndKind() & Variable.TYPE) != Variable.CSTE) {
+        reals = l.nbReals > 0 ? new double[2 * l.nbReals] : null;
+        sets = l.nbSets > 0 ? new int[l.nbSets][] : null;
+        shared = false;
+        dslots = dvals = null;
+        for (int i = 0; i < varsToStore.length; i++) {
+            Variable var = varsToStore[i];
+            int slot = l.slots[i];
+            if (slot > -1) {
                 int kind = var.getTypeAndKind() & Variable.KIND;
-                if (var.isInstantiated()) {
-                    switch (kind) {
-                        case Variable.INT:
-                        case Variable.BOOL:
-                            if (intmap == null) {
-                                intmap = new TIntIntHashMap(16, .5f, Solution.NO_ENTRY, Solution.NO_ENTRY);
-                            }
-                            IntVar v = (IntVar) var;
-                            intmap.put(v.getId(), v.getValue());
-                            break;
-                        case Variable.REAL:
-                            if (realmap == null) {
-                                realmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-                            }
-                            RealVar r = (RealVar) var;
-                            realmap.put(r.getId(), new double[]{r.getLB(), r.getUB()});
-                            break;
-                        case Variable.SET:
-                            if (setmap == null) {
-                                setmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-                            }
-                            SetVar s = (SetVar) var;
-                            setmap.put(s.getId(), s.getValue().toArray());
-                            break;
-                        default:
-                            // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
-                            // that should then be stored externally to this object
-                            break;
-                    }
-                } else {
-                    warn = true;
+                boolean inst = var.isInstantiated();
+                warn |= !inst;
+                switch (kind) {
+                    case Variable.INT:
+                    case Variable.BOOL:
+                        ints[slot] = inst ? ((IntVar) var).getValue() : NO_ENTRY;
+                        break;
+                    case Variable.REAL:
+                        RealVar r = (RealVar) var;
+                        reals[2 * slot] = inst ? r.getLB() : Double.NaN;
+                        reals[2 * slot + 1] = inst ? r.getUB() : Double.NaN;
+                        break;
+                    case Variable.SET:
+                        sets[slot] = inst ? ((SetVar) var).getValue().toArray() : null;
+                        break;
                 }
             }
         }
@@ -154,16 +171,16 @@ public class Solution implements ICause {
                     case Variable.INT:
                     case Variable.BOOL:
                         IntVar v = (IntVar) var;
-                        st.append(v.getName()).append("=").append(intmap.get(v.getId())).append(", ");
+                        st.append(v.getName()).append("=").append(intAt(layout.slot(v))).append(", ");
                         break;
                     case Variable.REAL:
                         RealVar r = (RealVar) var;
-                        double[] bounds = realmap.get(r.getId());
-                        st.append(r.getName()).append("=[").append(bounds[0]).append(",").append(bounds[1]).append("], ");
+                        int slot = layout.slot(r);
+                        st.append(r.getName()).append("=[").append(reals[2 * slot]).append(",").append(reals[2 * slot + 1]).append("], ");
                         break;
                     case Variable.SET:
                         SetVar s = (SetVar) var;
-                        st.append(s.getName()).append("=").append(Arrays.toString(setmap.get(s.getId()))).append(", ");
+                        st.append(s.getName()).append("=").append(Arrays.toString(sets[layout.slot(s)])).append(", ");
                         break;
                     default:
                         // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
@@ -176,14 +193,34 @@ public class Solution implements ICause {
     }
 
     public Solution copySolution() {
-        Solution ret = new Solution(model, varsToStore);
+        Solution ret = new Solution(this);
         ret.empty = empty;
-        ret.intmap = new TIntIntHashMap(intmap);
-        ret.realmap = new TIntObjectHashMap<>(realmap);
-        ret.setmap = new TIntObjectHashMap<>(setmap);
+        // integer values are shared, and copied on write
+        shared = ints != null;
+        ret.shared = shared;
+        ret.ints = ints;
+        ret.dslots = dslots;
+        ret.dvals = dvals;
+        ret.reals = reals == null ? null : reals.clone();
+        ret.sets = sets == null ? null : sets.clone();
         return ret;
     }
 
+    /**
+     * @return an empty solution which stores the same variables as this, and shares its indexation
+     */
+    Solution emptyCopy() {
+        layout();
+        return new Solution(this);
+    }
+
+    /**
+     * @return the number of integer variables stored by this solution
+     */
+    int nbInts() {
+        return layout().nbInts;
+    }
+
     /**
      * Get the value of variable v in this solution.
      * If <i>v</i> was not instantiated during solution recording, calling this method will throw an exception.
@@ -196,8 +233,10 @@ public class Solution implements ICause {
         if (empty) {
             throw new SolverException("Cannot access value of " + v + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (intmap != null && intmap.containsKey(v.getId())) {
-            return intmap.get(v.getId());
+        int slot = layout.slot(v);
+        int value = slot > -1 && ints != null ? intAt(slot) : NO_ENTRY;
+        if (value != NO_ENTRY) {
+            return value;
         } else {
             if ((v.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
                 return v.getValue();
@@ -214,11 +253,17 @@ public class Solution implements ICause {
      * @param val its value
      */
     public void setIntVal(IntVar var, int val) {
-        empty = false;
-        if (intmap == null) {
-            intmap = new TIntIntHashMap(16, .5f, Solution.NO_ENTRY, Solution.NO_ENTRY);
+        int slot = slotToSet(var);
+        if (ints == null) {
+            ints = new int[layout.nbInts];
+            Arrays.fill(ints, NO_ENTRY);
+        } else if (dslots != null) {
+            decode();
+        } else if (shared) {
+            ints = ints.clone();
+            shared = false;
         }
-        intmap.put(var.getId(), val);
+        ints[slot] = val;
     }
 
     /**
@@ -233,8 +278,9 @@ public class Solution implements ICause {
         if (empty) {
             throw new SolverException("Cannot access value of " + s + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (setmap != null && setmap.containsKey(s.getId())) {
-            return setmap.get(s.getId());
+        int slot = layout.slot(s);
+        if (slot > -1 && sets != null && sets[slot] != null) {
+            return sets[slot];
         } else if ((s.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
             return s.getValue().toArray();
         } else {
@@ -249,11 +295,11 @@ public class Solution implements ICause {
      * @param val its value
      */
     public void setSetVal(SetVar var, int[] val) {
-        empty = false;
-        if (setmap == null) {
-            setmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
+        int slot = slotToSet(var);
+        if (sets == null) {
+            sets = new int[layout.nbSets][];
         }
-        setmap.put(var.getId(), val);
+        sets[slot] = val;
     }
 
     /**
@@ -268,8 +314,9 @@ public class Solution implements ICause {
         if (empty) {
             throw new SolverException("Cannot access value of " + r + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (realmap != null && realmap.containsKey(r.getId())) {
-            return realmap.get(r.getId());
+        int slot = layout.slot(r);
+        if (slot > -1 && reals != null && !Double.isNaN(reals[2 * slot])) {
+            return new double[]{reals[2 * slot], reals[2 * slot + 1]};
         } else {
             if ((r.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
                 return new double[]{r.getLB(), r.getUB()};
@@ -286,14 +333,16 @@ public class Solution implements ICause {
      * @param val its value
      */
     public void setRealBounds(RealVar var, double[] val) {
-        empty = false;
-        if (realmap == null) {
-            realmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-        }
         if (val.length != 2) {
             throw new SolverException("wrong array size");
         }
-        realmap.put(var.getId(), val);
+        int slot = slotToSet(var);
+        if (reals == null) {
+            reals = new double[2 * layout.nbReals];
+            Arrays.fill(reals, Double.NaN);
+        }
+        reals[2 * slot] = val[0];
+        reals[2 * slot + 1] = val[1];
     }
 
     /**
@@ -348,16 +397,16 @@ public class Solution implements ICause {
                     case Variable.INT:
                     case Variable.BOOL:
                         IntVar v = (IntVar) var;
-                        v.instantiateTo(intmap.get(v.getId()), this);
+                        v.instantiateTo(getIntVal(v), this);
                         break;
                     case Variable.REAL:
                         RealVar r = (RealVar) var;
-                        double[] bounds = realmap.get(r.getId());
+                        double[] bounds = getRealBounds(r);
                         r.updateBounds(bounds[0], bounds[1], this);
                         break;
                     case Variable.SET:
                         SetVar s = (SetVar) var;
-                        s.instantiateTo(setmap.get(s.getId()), this);
+                        s.instantiateTo(getSetVal(s), this);
                         break;
                     default:
                         // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
@@ -368,4 +417,156 @@ public class Solution implements ICause {
         }
         model.getSolver().propagate();
     }
+
+    /**
+     * Encode the values of integer variables as differences with <i>key</i>,
+     * the values of integer variables in another solution, if it saves enough memory.
+     *
+     * @param key values of integer variables of another solution storing the same variables
+     * @return <tt>true</tt> if this solution is now delta-encoded against <i>key</i>
+     */
+    boolean encodeAgainst(int[] key) {
+        if (ints == null || dslots != null || key == ints || key.length != ints.length) {
+            return false;
+        }
+        int n = ints.length;
+        int d = 0;
+        for (int i = 0; i < n && 4 * d < n; i++) {
+            if (ints[i] != key[i]) {
+                d++;
+            }
+        }
+        // a difference costs two integers, at least half of the memory must be saved
+        if (4 * d >= n) {
+            return false;
+        }
+        dslots = new int[d];
+        dvals = new int[d];
+        for (int i = 0, k = 0; k < d; i++) {
+            if (ints[i] != key[i]) {
+                dslots[k] = i;
+                dvals[k++] = ints[i];
+            }
+        }
+        ints = key;
+        shared = true;
+        return true;
+    }
+
+    /**
+     * @return the values of integer variables of this solution, which should not be modified,
+     * or <tt>null</tt> if they are delta-encoded or not recorded
+     */
+    int[] key() {
+        if (ints == null || dslots != null) {
+            return null;
+        }
+        shared = true;
+        return ints;
+    }
+
+    /**
+     * @param vars integer variables
+     * @param other a solution which stores <i>vars</i>
+     * @return the number of variables of <i>vars</i> which have a different value in this and in <i>other</i>
+     */
+    int distance(IntVar[] vars, Solution other) {
+        int d = 0;
+        for (IntVar var : vars) {
+            if (getIntVal(var) != other.getIntVal(var)) {
+                d++;
+            }
+        }
+        return d;
+    }
+
+    private int intAt(int slot) {
+        if (ints == null) {
+            return NO_ENTRY;
+        }
+        if (dslots != null) {
+            int k = Arrays.binarySearch(dslots, slot);
+            if (k >= 0) {
+                return dvals[k];
+            }
+        }
+        return ints[slot];
+    }
+
+    private void decode() {
+        int[] values = ints.clone();
+        for (int k = 0; k < dslots.length; k++) {
+            values[dslots[k]] = dvals[k];
+        }
+        ints = values;
+        shared = false;
+        dslots = dvals = null;
+    }
+
+    private Layout layout() {
+        if (layout == null) {
+            if (varsToStore.length == 0) {
+                varsToStore = model.getVars();
+            }
+            layout = new Layout(varsToStore);
+        }
+        return layout;
+    }
+
+    private int slotToSet(Variable var) {
+        empty = false;
+        int slot = layout().slot(var);
+        if (slot == -1) {
+            throw new SolverException("Cannot set value of " + var + ": This variable has not been declared to be recorded in the Solution object (see Solution constructor).");
+        }
+        return slot;
+    }
+
+    /**
+     * Indexation of the variables to store: each of them is given a slot in the array of its kind.
+     */
+    private static final class Layout {
+        /** Maps variable ID to position in the variables to store */
+        private final IntMap positions;
+        /** Slot of each variable to store, -1 if not stored */
+        private final int[] slots;
+        /** Number of stored integer, real and set variables */
+        private int nbInts, nbReals, nbSets;
+
+        private Layout(Variable[] vars) {
+            positions = new IntMap(vars.length * 3 / 2 + 1, -1);
+            slots = new int[vars.length];
+            for (int i = 0; i < vars.length; i++) {
+                Variable var = vars[i];
+                slots[i] = -1;
+                if ((var.getTypeAndKind() & Variable.TYPE) != Variable.CSTE) {
+                    switch (var.getTypeAndKind() & Variable.KIND) {
+                        case Variable.INT:
+                        case Variable.BOOL:
+                            slots[i] = nbInts++;
+                            break;
+                        case Variable.REAL:
+                            slots[i] = nbReals++;
+                            break;
+                        case Variable.SET:
+                            slots[i] = nbSets++;
+                            break;
+                        default:
+                            // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
+                            // that should then be stored externally to this object
+                            break;
+                    }
+                }
+                positions.put(var.getId(), i);
+            }
+        }
+
+        /**
+         * @return the slot of <i>var</i>, -1 if it is not stored
+         */
+        private int slot(Variable var) {
+            int p = positions.get(var.getId());
+            return p > -1 ? slots[p] : -1;
+        }
+    }
 }
@@ -0,0 +1,330 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A pool of solutions with a bounded capacity.
+ * <p>
+ * Solutions share the indexation of the stored variables and the values of integer variables are
+ * delta-encoded against a previously recorded solution when they differ from it on few variables,
+ * which is the common case when solutions are enumerated by a depth-first search.
+ * The indexation is built on the first solution, and built again when variables are added to the model.
+ * <p>
+ * Once the capacity is reached, a solution is evicted on each new one, depending on the policy of the pool:
+ * <ul>
+ * <li>{@link #all(Model)}: no capacity, all solutions are kept,</li>
+ * <li>{@link #best(Model, int, IntVar, boolean)}: the <i>k</i> best solutions wrt an objective are kept,</li>
+ * <li>{@link #diverse(Model, int, IntVar...)}: <i>k</i> solutions far from each other are kept,
+ * the distance between two solutions being the number of variables with a different value.</li>
+ * </ul>
+ * This object must be used as follows:
+ * <pre>
+ *     {@code
+ *     SolutionPool pool = SolutionPool.best(model, 10, obj, true);
+ *     model.getSolver().plugMonitor(pool);
+ *     while(model.getSolver().solve());
+ *     List<Solution> solutions = pool.getSolutions();
+ *     }
+ * </pre>
+ * or, equivalently, with {@link Solver#findAllSolutions(SolutionPool, org.chocosolver.util.criteria.Criterion...)}.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class SolutionPool implements IMonitorSolution {
+
+    /**
+     * Eviction policies
+     */
+    private static final int ALL = 0, BEST = 1, DIVERSE = 2;
+
+    /**
+     * Eviction policy of this pool
+     */
+    private final int policy;
+
+    /**
+     * Maximum number of solutions stored
+     */
+    private final int capacity;
+
+    /**
+     * Model whose solutions are stored
+     */
+    private final Model model;
+
+    /**
+     * Empty solution, to share the indexation of the variables, built on the first solution
+     */
+    private Solution template;
+
+    /**
+     * Number of variables in the model when {@link #template} was built
+     */
+    private int nbVars;
+
+    /**
+     * Array to record the values of integer variables in, reused as long as solutions are delta-encoded
+     */
+    private int[] buffer;
+
+    /**
+     * Solutions in the pool, best first for {@link #BEST}
+     */
+    private final ArrayList<Solution> solutions = new ArrayList<>();
+
+    /**
+     * Objective variable, for {@link #BEST}
+     */
+    private IntVar objective;
+
+    /**
+     * Set to <tt>true</tt> when the objective is maximized
+     */
+    private boolean maximize;
+
+    /**
+     * Objective value of each solution, for {@link #BEST}
+     */
+    private TIntArrayList values;
+
+    /**
+     * Variables to compute distances on, for {@link #DIVERSE}
+     */
+    private IntVar[] vars;
+
+    /**
+     * Pairwise distances between solutions, for {@link #DIVERSE}
+     */
+    private int[][] distances;
+
+    /**
+     * Values of integer variables against which solutions are delta-encoded
+     */
+    private int[] key;
+
+    /**
+     * Number of solutions offered to the pool
+     */
+    private long nbOffered;
+
+    private SolutionPool(Model model, int policy, int capacity) {
+        if (capacity < 1) {
+            throw new SolverException("The capacity of a solution pool must be positive");
+        }
+        this.model = model;
+        this.policy = policy;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Create a pool which stores all the solutions of <i>model</i>, in order.
+     *
+     * @param model a model
+     * @return a new solution pool
+     */
+    public static SolutionPool all(Model model) {
+        return new SolutionPool(model, ALL, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a pool which stores the <i>k</i> best solutions of <i>model</i> wrt <i>objective</i>.
+     * In case of equality, the oldest solutions are preferred.
+     *
+     * @param model     a model
+     * @param k         capacity of the pool
+     * @param objective the objective variable
+     * @param maximize  set to <tt>true</tt> to keep the greatest values of <i>objective</i>
+     * @return a new solution pool
+     */
+    public static SolutionPool best(Model model, int k, IntVar objective, boolean maximize) {
+        SolutionPool pool = new SolutionPool(model, BEST, k);
+        pool.objective = objective;
+        pool.maximize = maximize;
+        pool.values = new TIntArrayList();
+        return pool;
+    }
+
+    /**
+     * Create a pool which stores <i>k</i> diverse solutions of <i>model</i>.
+     * When the pool is full, among the new solution and the solutions in the pool,
+     * the one closest to another one is evicted.
+     * Ties are broken by the sum of the distances, then in favor of the solutions already in the pool.
+     * Each new solution takes O(<i>k</i>.<i>n</i> + <i>k</i><sup>2</sup>), where <i>n</i> is the number of variables.
+     *
+     * @param model a model
+     * @param k     capacity of the pool
+     * @param vars  variables on which the distance is computed, all integer variables of <i>model</i> if empty
+     * @return a new solution pool
+     */
+    public static SolutionPool diverse(Model model, int k, IntVar... vars) {
+        SolutionPool pool = new SolutionPool(model, DIVERSE, k);
+        pool.vars = vars.length > 0 ? vars : model.retrieveIntVars(true);
+        pool.distances = new int[k][k];
+        return pool;
+    }
+
+    @Override
+    public void onSolution() {
+        nbOffered++;
+        switch (policy) {
+            case BEST:
+                offerBest();
+                break;
+            case DIVERSE:
+                offerDiverse();
+                break;
+            default:
+                solutions.add(record());
+                break;
+        }
+    }
+
+    /**
+     * @return the solutions in the pool, in order of arrival but for a pool of best solutions,
+     * where the best solution comes first
+     */
+    public List<Solution> getSolutions() {
+        return Collections.unmodifiableList(solutions);
+    }
+
+    /**
+     * @return the number of solutions in the pool
+     */
+    public int size() {
+        return solutions.size();
+    }
+
+    /**
+     * @return the maximum number of solutions in the pool
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of solutions offered to the pool so far, including the evicted ones
+     */
+    public long getNbOffered() {
+        return nbOffered;
+    }
+
+    /**
+     * Remove all solutions from the pool
+     */
+    public void clear() {
+        solutions.clear();
+        if (values != null) {
+            values.resetQuick();
+        }
+        key = null;
+    }
+
+    private Solution record() {
+        if (template == null || nbVars != model.getNbVars()) {
+            // variables may have been added since the previous solution
+            nbVars = model.getNbVars();
+            template = new Solution(model).emptyCopy();
+            buffer = null;
+            key = null;
+        }
+        if (buffer == null && template.nbInts() > 0) {
+            buffer = new int[template.nbInts()];
+        }
+        Solution solution = template.emptyCopy().record(buffer);
+        if (key == null || !solution.encodeAgainst(key)) {
+            // too many differences, this solution is the new reference and keeps the buffer
+            key = solution.key();
+            buffer = null;
+        }
+        return solution;
+    }
+
+    private void offerBest() {
+        int value = objective.getValue();
+        int n = solutions.size();
+        if (n == capacity && !better(value, values.getQuick(n - 1))) {
+            return;
+        }
+        // first position with a worse value
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (better(value, values.getQuick(mid))) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        if (n == capacity) {
+            solutions.remove(n - 1);
+            values.removeAt(n - 1);
+        }
+        solutions.add(lo, record());
+        values.insert(lo, value);
+    }
+
+    private boolean better(int v1, int v2) {
+        return maximize ? v1 > v2 : v1 < v2;
+    }
+
+    private void offerDiverse() {
+        Solution solution = record();
+        int n = solutions.size();
+        if (n < capacity) {
+            for (int i = 0; i < n; i++) {
+                distances[i][n] = distances[n][i] = solution.distance(vars, solutions.get(i));
+            }
+            solutions.add(solution);
+            return;
+        }
+        int[] dc = new int[n];
+        int minc = Integer.MAX_VALUE;
+        long sumc = 0;
+        for (int i = 0; i < n; i++) {
+            dc[i] = solution.distance(vars, solutions.get(i));
+            minc = Math.min(minc, dc[i]);
+            sumc += dc[i];
+        }
+        // the candidate is evicted unless a solution of the pool is strictly closer to the others
+        int evict = -1;
+        int mine = minc;
+        long sume = sumc;
+        for (int j = 0; j < n; j++) {
+            int min = dc[j];
+            long sum = dc[j];
+            for (int i = 0; i < n; i++) {
+                if (i != j) {
+                    min = Math.min(min, distances[j][i]);
+                    sum += distances[j][i];
+                }
+            }
+            if (min < mine || min == mine && sum < sume) {
+                evict = j;
+                mine = min;
+                sume = sum;
+            }
+        }
+        if (evict > -1) {
+            solutions.set(evict, solution);
+            for (int i = 0; i < n; i++) {
+                distances[evict][i] = distances[i][evict] = i == evict ? 0 : dc[i];
+            }
+        }
+    }
+}
@@ -1063,6 +1063,16 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         return getMeasures().getRestartCount();
     }
 
+    @Override
+    public long getLearntClauseCount() {
+        return getMeasures().getLearntClauseCount();
+    }
+
+    @Override
+    public long getDeletedClauseCount() {
+        return getMeasures().getDeletedClauseCount();
+    }
+
     @Override
     public long getSolutionCount() {
         return getMeasures().getSolutionCount();
@@ -0,0 +1,378 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.move.Move;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * The pool of sub-problems shared by the workers of a {@link ParallelEPS}.
+ * </p>
+ * <p>
+ * A sub-problem is a prefix of a decision path, stored in a model-independent form:
+ * triplets (variable ID, value, operator) where the operator is one of "=", "&ne;", "&le;" and "&ge;".
+ * Initially, the pool only contains the root node, that is, an empty prefix.
+ * A worker explores its sub-problem in a depth-first way and,
+ * as long as the pool holds less sub-problems than a given threshold,
+ * it gives away the topmost open right branch of its own sub-tree.
+ * </p>
+ * <p>
+ * The resolution ends when the pool is empty and no worker is busy, or when the pool is closed.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+final class SubproblemPool {
+
+    /**
+     * Operator codes, an operator and its opposite only differ by the lowest bit
+     */
+    private static final int EQ = 0, NEQ = 1, LEQ = 2, GEQ = 3;
+
+    /**
+     * Waiting sub-problems, the oldest ones (presumably the largest ones) are taken first
+     */
+    private final ArrayDeque<int[]> queue = new ArrayDeque<>();
+
+    /**
+     * Busy workers give away sub-problems while the queue holds less than <i>threshold</i> of them
+     */
+    private final int threshold;
+
+    /**
+     * Number of workers currently exploring a sub-problem
+     */
+    private int nbBusy;
+
+    /**
+     * Number of sub-problems ever created
+     */
+    private long nbCreated;
+
+    /**
+     * Set to <i>true</i> to stop distributing sub-problems
+     */
+    private boolean closed;
+
+    /**
+     * Set to <i>true</i> when busy workers are asked to split their sub-tree, read without lock
+     */
+    private volatile boolean hungry;
+
+    /**
+     * Create a pool which initially contains the root node
+     *
+     * @param threshold minimum number of waiting sub-problems before busy workers stop splitting their sub-tree
+     */
+    SubproblemPool(int threshold) {
+        this.threshold = threshold;
+        offer(new int[0]);
+    }
+
+    /**
+     * Plug a worker in <i>model</i>, which encapsulates the current move of its solver.
+     *
+     * @param model a model
+     * @return the worker
+     */
+    Worker plug(Model model) {
+        Solver solver = model.getSolver();
+        Worker worker = new Worker(solver.getMove());
+        solver.setMove(worker);
+        return worker;
+    }
+
+    /**
+     * @return the number of sub-problems created so far, including the root node
+     */
+    synchronized long getNbCreated() {
+        return nbCreated;
+    }
+
+    /**
+     * Stop distributing sub-problems and wake up idle workers.
+     */
+    synchronized void close() {
+        closed = true;
+        hungry = false;
+        notifyAll();
+    }
+
+    private synchronized void offer(int[] sub) {
+        queue.addLast(sub);
+        nbCreated++;
+        hungry = !closed && queue.size() < threshold;
+        notifyAll();
+    }
+
+    /**
+     * Wait for a sub-problem.
+     *
+     * @param wasBusy set to <i>true</i> if the caller has just completed a sub-problem
+     * @return a sub-problem or <i>null</i> if the resolution is over
+     */
+    private synchronized int[] take(boolean wasBusy) {
+        if (wasBusy) {
+            nbBusy--;
+        }
+        try {
+            while (!closed && queue.isEmpty() && nbBusy > 0) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+        if (closed || queue.isEmpty()) {
+            // no more work: wake up the other idle workers
+            notifyAll();
+            return null;
+        }
+        nbBusy++;
+        int[] sub = queue.pollFirst();
+        hungry = !closed && queue.size() < threshold;
+        return sub;
+    }
+
+    private synchronized void leave(boolean wasBusy) {
+        if (wasBusy) {
+            nbBusy--;
+        }
+        notifyAll();
+    }
+
+    private static int code(DecisionOperator<IntVar> op) {
+        if (op == DecisionOperatorFactory.makeIntEq()) {
+            return EQ;
+        } else if (op == DecisionOperatorFactory.makeIntNeq()) {
+            return NEQ;
+        } else if (op == DecisionOperatorFactory.makeIntSplit()) {
+            return LEQ;
+        } else if (op == DecisionOperatorFactory.makeIntReverseSplit()) {
+            return GEQ;
+        }
+        return -1;
+    }
+
+    private static DecisionOperator<IntVar> operator(int code) {
+        switch (code) {
+            case EQ:
+                return DecisionOperatorFactory.makeIntEq();
+            case NEQ:
+                return DecisionOperatorFactory.makeIntNeq();
+            case LEQ:
+                return DecisionOperatorFactory.makeIntSplit();
+            case GEQ:
+                return DecisionOperatorFactory.makeIntReverseSplit();
+            default:
+                throw new SolverException("Unknown decision operator code " + code);
+        }
+    }
+
+    /**
+     * The move of a worker: it replays the prefix of its current sub-problem, explores the sub-tree with
+     * the encapsulated move, gives away open right branches on demand and then takes another sub-problem.
+     * Only accessed by the thread which solves the worker's model.
+     */
+    final class Worker implements Move {
+
+        /**
+         * The encapsulated move
+         */
+        private Move move;
+        /**
+         * Current sub-problem
+         */
+        private int[] prefix;
+        /**
+         * Set to <i>true</i> when the prefix of the current sub-problem has to be replayed
+         */
+        private boolean fresh;
+        /**
+         * Set to <i>true</i> when exploring a sub-problem
+         */
+        private boolean busy;
+        /**
+         * Maps variable ID to integer variable, lazily updated
+         */
+        private final TIntObjectHashMap<IntVar> vars = new TIntObjectHashMap<>();
+        /**
+         * Number of variables in {@link #vars}
+         */
+        private int nbVars;
+        /**
+         * To build sub-problems
+         */
+        private final TIntArrayList buffer = new TIntArrayList();
+
+        private Worker(Move move) {
+            this.move = move;
+        }
+
+        @Override
+        public boolean init() {
+            if (!move.init()) {
+                return false;
+            }
+            return next();
+        }
+
+        /**
+         * Take the next sub-problem
+         *
+         * @return <i>false</i> if there is no more sub-problem to explore
+         */
+        private boolean next() {
+            prefix = take(busy);
+            busy = fresh = prefix != null;
+            return busy;
+        }
+
+        /**
+         * Declare that the worker does not explore sub-problems anymore.
+         * Must be called once the resolution of its model ends.
+         */
+        void leave() {
+            SubproblemPool.this.leave(busy);
+            busy = false;
+        }
+
+        @Override
+        public boolean extend(Solver solver) {
+            if (fresh) {
+                fresh = false;
+                if (prefix.length > 0) {
+                    DecisionPath dp = solver.getDecisionPath();
+                    for (int i = 0; i < prefix.length; i += 3) {
+                        IntDecision d = dp.makeIntDecision(lookup(solver.getModel(), prefix[i]),
+                                operator(prefix[i + 2]), prefix[i + 1]);
+                        d.setRefutable(false);
+                        dp.pushDecision(d);
+                    }
+                    solver.getEnvironment().worldPush();
+                    return true;
+                }
+            }
+            if (hungry) {
+                split(solver.getDecisionPath());
+            }
+            return move.extend(solver);
+        }
+
+        @Override
+        public boolean repair(Solver solver) {
+            boolean repair = move.repair(solver);
+            if (!repair && next()) {
+                // the sub-tree is exhausted, the next sub-problem starts from the root node
+                solver.restart();
+                repair = true;
+            }
+            return repair;
+        }
+
+        /**
+         * Give away the topmost open right branch of the current decision path, if any.
+         * The corresponding decision is then made not refutable.
+         *
+         * @param dp the decision path
+         */
+        @SuppressWarnings("unchecked")
+        private void split(DecisionPath dp) {
+            buffer.resetQuick();
+            for (int i = 1; i < dp.size(); i++) {
+                Decision d = dp.getDecision(i);
+                if (!(d instanceof IntDecision)) {
+                    return;
+                }
+                IntDecision id = (IntDecision) d;
+                int op = code(id.getDecOp());
+                if (op < 0) {
+                    return;
+                }
+                int value = id.getDecisionValue();
+                boolean open = id.hasNext();
+                // a decision on its right branch or the one given away: its refutation is stored
+                if (open || id.triesLeft() == 0 && id.getArity() == 2) {
+                    value += op == LEQ ? 1 : op == GEQ ? -1 : 0;
+                    op ^= 1;
+                }
+                buffer.add(id.getDecisionVariable().getId());
+                buffer.add(value);
+                buffer.add(op);
+                if (open) {
+                    id.setRefutable(false);
+                    offer(buffer.toArray());
+                    return;
+                }
+            }
+        }
+
+        private IntVar lookup(Model model, int id) {
+            if (nbVars < model.getNbVars()) {
+                Variable[] all = model.getVars();
+                for (int i = nbVars; i < all.length; i++) {
+                    if ((all[i].getTypeAndKind() & Variable.INT) != 0) {
+                        vars.put(all[i].getId(), (IntVar) all[i]);
+                    }
+                }
+                nbVars = all.length;
+            }
+            IntVar var = vars.get(id);
+            if (var == null) {
+                throw new SolverException("Unknown variable ID " + id + ": models of a ParallelEPS must be built the same way");
+            }
+            return var;
+        }
+
+        @Override
+        public void setTopDecisionPosition(int position) {
+            move.setTopDecisionPosition(position);
+        }
+
+        @Override
+        public <V extends Variable> AbstractStrategy<V> getStrategy() {
+            return move.getStrategy();
+        }
+
+        @Override
+        public <V extends Variable> void setStrategy(AbstractStrategy<V> aStrategy) {
+            move.setStrategy(aStrategy);
+        }
+
+        @Override
+        public List<Move> getChildMoves() {
+            return Collections.singletonList(move);
+        }
+
+        @Override
+        public void setChildMoves(List<Move> someMoves) {
+            if (someMoves.size() == 1) {
+                this.move = someMoves.get(0);
+            } else {
+                throw new UnsupportedOperationException("Only one child move can be attached to it.");
+            }
+        }
+    }
+}
@@ -150,6 +150,8 @@ public class ConstraintsName {
 
     public static final String CUMULATIVE = "CUMULATIVE";
 
+    public static final String DISJUNCTIVE = "DISJUNCTIVE";
+
     public static final String GCC = "GCC";
 
     public static final String NOGOODCONSTRAINT = "NOGOODCONSTRAINT";
@@ -170,6 +172,8 @@ public class ConstraintsName {
 
     public static final String SETCARD = "SETCARD";
 
+    public static final String PARETO = "PARETO";
+
 
 
 }
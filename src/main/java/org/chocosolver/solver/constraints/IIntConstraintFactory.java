@@ -37,6 +37,7 @@ import org.chocosolver.solver.constraints.extension.nary.PropLargeGACSTRPos;
 import org.chocosolver.solver.constraints.extension.nary.PropLargeMDDC;
 import org.chocosolver.solver.constraints.extension.nary.PropTableStr2;
 import org.chocosolver.solver.constraints.nary.PropDiffN;
+import org.chocosolver.solver.constraints.nary.PropDiffNIntervalTree;
 import org.chocosolver.solver.constraints.nary.PropIntValuePrecedeChain;
 import org.chocosolver.solver.constraints.nary.PropKLoops;
 import org.chocosolver.solver.constraints.nary.PropKnapsack;
@@ -67,6 +68,7 @@ import org.chocosolver.solver.constraints.nary.circuit.PropSubcircuitDominatorFi
 import org.chocosolver.solver.constraints.nary.count.PropCountVar;
 import org.chocosolver.solver.constraints.nary.count.PropCount_AC;
 import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.constraints.nary.disjunctive.PropDisjunctive;
 import org.chocosolver.solver.constraints.nary.element.PropElementV_fast;
 import org.chocosolver.solver.constraints.nary.globalcardinality.GlobalCardinality;
 import org.chocosolver.solver.constraints.nary.lex.PropLex;
@@ -1093,6 +1095,41 @@ public interface IIntConstraintFactory extends ISelf<Model> {
 		return new Cumulative(tasks, heights, capacity, incremental, filters);
 	}
 
+	/**
+	 * Creates a disjunctive constraint (also known as unary resource): Enforces that tasks do not overlap,
+	 * that is, at most one task is processed at each point in time.
+	 * It is equivalent to a cumulative constraint with unit heights and a capacity of one,
+	 * but filters with O(n log n) algorithms: overload checking, detectable precedences,
+	 * not-first/not-last and edge-finding.
+	 *
+	 * Task duration should be >= 0
+	 * Discards tasks whose duration is equal to zero
+	 *
+	 * @param tasks Task objects containing start, duration and end variables
+	 * @return a disjunctive constraint
+	 */
+	default Constraint disjunctive(Task[] tasks) {
+		int nbUseFull = 0;
+		for (Task task : tasks) {
+			if (task.getDuration().getUB() > 0) {
+				nbUseFull++;
+			}
+		}
+		// remove tasks that have no impact on the resource
+		if (nbUseFull < tasks.length) {
+			if (nbUseFull == 0) return _me().trueConstraint();
+			Task[] T2 = new Task[nbUseFull];
+			int idx = 0;
+			for (Task task : tasks) {
+				if (task.getDuration().getUB() > 0) {
+					T2[idx++] = task;
+				}
+			}
+			tasks = T2;
+		}
+		return new Constraint(ConstraintsName.DISJUNCTIVE, new PropDisjunctive(tasks));
+	}
+
 	/**
 	 * Creates a diffN constraint. Constrains each rectangle<sub>i</sub>, given by their origins X<sub>i</sub>,Y<sub>i</sub>
 	 * and sizes width<sub>i</sub>,height<sub>i</sub>, to be non-overlapping.
@@ -1148,6 +1185,28 @@ public interface IIntConstraintFactory extends ISelf<Model> {
 		}
 	}
 
+	/**
+	 * Creates a k-dimensional diffN constraint. Constrains each box<sub>i</sub>, given by its origin
+	 * origins[d][i] and its length lengths[d][i] in each dimension d, to be non-overlapping.
+	 *
+	 * Unlike {@link #diffN(IntVar[], IntVar[], IntVar[], IntVar[], boolean)}, the boxes that may overlap
+	 * are not stored but found with an interval treap over the first dimension: the ranges covered by the boxes
+	 * are stored in a randomized balanced search tree where each node maintains the largest end of its subtree,
+	 * and only the ranges of the modified boxes are moved. This makes the memory linear in the number of boxes.
+	 * This is advised for a large number of boxes.
+	 *
+	 * @param origins origins[d][i] is the coordinate of the box i in dimension d
+	 * @param lengths lengths[d][i] is the size of the box i in dimension d (each length should be >= 0)
+	 * @return a non-overlapping constraint
+	 */
+	default Constraint diffN(IntVar[][] origins, IntVar[][] lengths) {
+		return new Constraint(
+				ConstraintsName.DIFFN,
+				new PropDiffNIntervalTree(origins, lengths),
+				new PropDiffNIntervalTree(origins, lengths)
+		);
+	}
+
 	/**
 	 * Creates a element constraint: value = table[index-offset]
 	 * where table is an array of variables.
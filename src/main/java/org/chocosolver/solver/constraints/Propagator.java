@@ -147,6 +147,11 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
      */
     private int[] vindices;
 
+    /**
+     * Index of this propagator within the propagation engine, -1 if not registered.
+     */
+    private int engineIdx = -1;
+
     /**
      * Creates a new propagator to filter the domains of vars.
      * <p>
@@ -597,6 +602,23 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
         vindices[idx] = val;
     }
 
+    /**
+     * @return the index of the propagator within the propagation engine, -1 if not registered
+     */
+    public final int getEngineIdx() {
+        return engineIdx;
+    }
+
+    /**
+     * Set the index of the propagator within the propagation engine.
+     * This method should not be called by the user.
+     *
+     * @param idx new index, -1 to unregister the propagator
+     */
+    public final void setEngineIdx(int idx) {
+        this.engineIdx = idx;
+    }
+
     /**
      * @return the number of variables involved in <code>this</code>.
      */
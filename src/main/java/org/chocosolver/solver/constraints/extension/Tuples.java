@@ -37,6 +37,10 @@ public class Tuples {
 	private int[] ranges;
 	private boolean allowStar;
 	private int star;
+	/**
+	 * Changes every time the tuples are modified
+	 */
+	private int stamp;
 
 	//***********************************************************************************
 	// CONSTRUCTOR
@@ -89,6 +93,7 @@ public class Tuples {
 	public void setUniversalValue(int star){
 		this.star = star;
 		this.allowStar = true;
+		this.stamp++;
 	}
 
 	/**
@@ -156,6 +161,7 @@ public class Tuples {
 			throw new SolverException("The given tuple does not match the arity: " + arity);
 		}
 		tuples.add(tuple.clone());
+		stamp++;
 		for (int i = 0; i < arity; i++) {
 			ranges[i] = Math.min(ranges[i], tuple[i]);
 			ranges[i + arity] = Math.max(ranges[i + arity], tuple[i]);
@@ -244,6 +250,15 @@ public class Tuples {
 
 	public void sort() {
 		tuples.sort(new TupleComparator());
+		stamp++;
+	}
+
+	/**
+	 * @return a stamp which changes every time these tuples are modified,
+	 * to detect out-of-date data computed from them.
+	 */
+	public int getStamp() {
+		return stamp;
 	}
 
 	private static class TupleComparator implements Comparator<int[]> {
@@ -0,0 +1,216 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.extension.nary;
+
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Immutable supports of a table for {@link PropCompactTable}.
+ * <p>
+ * The support of a value <i>v</i> of the <i>i</i>th variable is the set of tuples, stored as a bitset,
+ * whose <i>i</i>th element is <i>v</i>.
+ * A support is stored either as a dense array of words or, when it is worth it,
+ * as the list of its non-zero words together with their index.
+ * Supports are built in two passes over the tuples, whatever the size of the domains is.
+ * <p>
+ * Supports only depend on the tuples and on the bounds of the variables,
+ * so they are cached and shared among constraints, possibly from different models, based on the same {@link Tuples}
+ * instance and on variables with the same bounds.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class CompactSupports {
+
+    /**
+     * Supports already computed, per tuples
+     */
+    private static final Map<Tuples, List<CompactSupports>> CACHE = new WeakHashMap<>();
+
+    /**
+     * Number of words of a (dense) support
+     */
+    final int nbWords;
+
+    /**
+     * Lower bound of each variable
+     */
+    final int[] offset;
+
+    /**
+     * Upper bound of each variable
+     */
+    private final int[] ub;
+
+    /**
+     * Words of the support of each value of each variable, the non-zero ones when sparse
+     */
+    final long[][][] words;
+
+    /**
+     * Indices of the words of the support of each value of each variable, <i>null</i> when dense
+     */
+    final int[][][] indices;
+
+    /**
+     * Stamp of the tuples when the supports were computed
+     */
+    private final int stamp;
+
+    /**
+     * Set to <i>true</i> if universal values in tuples are supports of any value
+     */
+    private final boolean star;
+
+    private CompactSupports(Tuples tuples, int[] lb, int[] ub, boolean star) {
+        int n = lb.length;
+        int nt = tuples.nbTuples();
+        this.nbWords = nt / 64 + (nt % 64 == 0 ? 0 : 1);
+        this.offset = lb;
+        this.ub = ub;
+        this.stamp = tuples.getStamp();
+        this.star = star;
+        this.words = new long[n][][];
+        this.indices = new int[n][][];
+        boolean universal = star && tuples.allowUniversalValue();
+        int starValue = universal ? tuples.getStarValue() : 0;
+        // 1. count the non-zero words of each support
+        int[][] counts = new int[n][];
+        int[][] last = new int[n][];
+        for (int i = 0; i < n; i++) {
+            counts[i] = new int[ub[i] - lb[i] + 1];
+            last[i] = new int[ub[i] - lb[i] + 1];
+            Arrays.fill(last[i], -1);
+        }
+        for (int t = 0; t < nt; t++) {
+            int[] tuple = tuples.get(t);
+            int w = t >>> 6;
+            for (int i = 0; i < n; i++) {
+                int v = tuple[i];
+                if (universal && v == starValue) {
+                    for (int k = 0; k < counts[i].length; k++) {
+                        if (last[i][k] != w) {
+                            counts[i][k]++;
+                            last[i][k] = w;
+                        }
+                    }
+                } else if (lb[i] <= v && v <= ub[i] && last[i][v - lb[i]] != w) {
+                    counts[i][v - lb[i]]++;
+                    last[i][v - lb[i]] = w;
+                }
+            }
+        }
+        // 2. allocate each support, sparse ones are smaller than 2/3 of a dense one
+        for (int i = 0; i < n; i++) {
+            int d = counts[i].length;
+            words[i] = new long[d][];
+            indices[i] = new int[d][];
+            for (int k = 0; k < d; k++) {
+                if (3 * counts[i][k] < 2 * nbWords) {
+                    words[i][k] = new long[counts[i][k]];
+                    indices[i][k] = new int[counts[i][k]];
+                    counts[i][k] = 0; // from now on, number of words filled
+                } else {
+                    words[i][k] = new long[nbWords];
+                }
+            }
+        }
+        // 3. fill the supports
+        for (int t = 0; t < nt; t++) {
+            int[] tuple = tuples.get(t);
+            for (int i = 0; i < n; i++) {
+                int v = tuple[i];
+                if (universal && v == starValue) {
+                    for (int k = 0; k < counts[i].length; k++) {
+                        set(i, k, t, counts[i]);
+                    }
+                } else if (lb[i] <= v && v <= ub[i]) {
+                    set(i, v - lb[i], t, counts[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the tuple <i>t</i> to the support of the <i>k</i>th value of the <i>i</i>th variable
+     */
+    private void set(int i, int k, int t, int[] filled) {
+        int w = t >>> 6;
+        long bit = 1L << (63 - (t & 63));
+        if (indices[i][k] == null) {
+            words[i][k][w] |= bit;
+        } else {
+            int p = filled[k];
+            if (p == 0 || indices[i][k][p - 1] != w) {
+                indices[i][k][p] = w;
+                filled[k] = ++p;
+            }
+            words[i][k][p - 1] |= bit;
+        }
+    }
+
+    /**
+     * Get the supports of <i>tuples</i> for <i>vars</i>, from the cache if they have already been computed.
+     *
+     * @param vars   scope of the table
+     * @param tuples feasible tuples
+     * @param star   set to <i>true</i> if universal values are supports of any value,
+     *               otherwise they are considered as regular values
+     * @return the supports
+     */
+    public static CompactSupports of(IntVar[] vars, Tuples tuples, boolean star) {
+        int[] lb = new int[vars.length];
+        int[] ub = new int[vars.length];
+        for (int i = 0; i < vars.length; i++) {
+            lb[i] = vars[i].getLB();
+            ub[i] = vars[i].getUB();
+        }
+        synchronized (CACHE) {
+            List<CompactSupports> cached = CACHE.computeIfAbsent(tuples, k -> new ArrayList<>());
+            cached.removeIf(s -> s.stamp != tuples.getStamp());
+            for (CompactSupports s : cached) {
+                if (s.star == star && Arrays.equals(s.offset, lb) && Arrays.equals(s.ub, ub)) {
+                    return s;
+                }
+            }
+            CompactSupports s = new CompactSupports(tuples, lb, ub, star);
+            cached.add(s);
+            return s;
+        }
+    }
+
+    /**
+     * @param i index of a variable
+     * @param v a value of the <i>i</i>th variable
+     * @return <i>true</i> if the support of <i>v</i> is stored as a dense array of words
+     */
+    public boolean isDense(int i, int v) {
+        return indices[i][v - offset[i]] == null;
+    }
+
+    /**
+     * @return the number of words stored, over all supports
+     */
+    public long getNbStoredWords() {
+        long nb = 0;
+        for (long[][] w : words) {
+            for (long[] ww : w) {
+                nb += ww.length;
+            }
+        }
+        return nb;
+    }
+}
@@ -10,7 +10,7 @@ package org.chocosolver.solver.constraints.extension.nary;
 
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.memory.IStateInt;
-import org.chocosolver.memory.IStateLong;
+import org.chocosolver.memory.IStateLongArray;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.extension.Tuples;
@@ -38,7 +38,7 @@ public class PropCompactTable extends Propagator<IntVar> {
 
     protected RSparseBitSet currTable;
     protected Tuples tuples; // only for checker
-    protected long[][][] supports;
+    protected CompactSupports supports;
     protected int[][] residues;
     protected int[] offset;
     protected IIntDeltaMonitor[] monitors;
@@ -81,44 +81,41 @@ public class PropCompactTable extends Propagator<IntVar> {
             }
             @Override
             public void execute(int i) throws ContradictionException {
-                currTable.addToMask((supports[var][i - off]));
+                currTable.addToMask(supports.words[var][i - off], supports.indices[var][i - off]);
             }
         };
     }
 
     protected void computeSupports(Tuples tuples) {
         int n = vars.length;
-        offset = new int[n];
-        supports = new long[n][][];
+        supports = CompactSupports.of(vars, tuples, false);
+        offset = supports.offset;
         residues = new int[n][];
-		for (int i = 0; i < n; i++) {
-            int lb = vars[i].getLB();
-            int ub = vars[i].getUB();
-            offset[i] = lb;
-            supports[i] = new long[ub - lb + 1][currTable.words.length];
-            residues[i] = new int[ub - lb + 1];
+        for (int i = 0; i < n; i++) {
+            residues[i] = new int[vars[i].getUB() - vars[i].getLB() + 1];
         }
-		long[] tmp;
-		for (int i = 0; i < n; i++) {
-			int lb = vars[i].getLB();
-			int ub = vars[i].getUB();
-			offset[i] = lb;
-			for (int v=lb ; v<=ub; v=vars[i].nextValue(v)) {
-				tmp = supports[i][v - lb];
-				int wI = 0;
-				int bI = 63;
-				for (int ti = 0; ti < tuples.nbTuples(); ti++) {
-					if (tuples.get(ti)[i] == v) {
-						tmp[wI] |= 1L << (bI);
-					}
-					bI--;
-					if (bI < 0) {
-						bI = 63;
-						wI++;
-					}
-				}
-			}
-		}
+    }
+
+    /**
+     * Check whether the value <i>v</i> of the <i>i</i>th variable is still supported by a tuple of the current table.
+     * @param i index of a variable
+     * @param v a value of the variable
+     * @return <i>true</i> if <i>v</i> is supported
+     */
+    protected final boolean isSupported(int i, int v) {
+        int k = v - offset[i];
+        long[] w = supports.words[i][k];
+        int[] ix = supports.indices[i][k];
+        int r = residues[i][k];
+        if (r < w.length && (currTable.words.get(ix == null ? r : ix[r]) & w[r]) != 0L) {
+            return true;
+        }
+        r = currTable.intersectIndex(w, ix);
+        if (r == -1) {
+            return false;
+        }
+        residues[i][k] = r;
+        return true;
     }
 
     //***********************************************************************************
@@ -132,7 +129,7 @@ public class PropCompactTable extends Propagator<IntVar> {
                 currTable.clearMask();
                 int ub = vars[i].getUB();
                 for (int v=vars[i].getLB(); v<=ub; v=vars[i].nextValue(v)) {
-                    currTable.addToMask(supports[i][v - offset[i]]);
+                    currTable.addToMask(supports.words[i][v - offset[i]], supports.indices[i][v - offset[i]]);
                 }
                 currTable.intersectWithMask();
             }
@@ -153,7 +150,7 @@ public class PropCompactTable extends Propagator<IntVar> {
         } else {
             int ub = vars[vIdx].getUB();
             for (int v=vars[vIdx].getLB(); v<=ub; v=vars[vIdx].nextValue(v)) {
-                currTable.addToMask(supports[vIdx][v - offset[vIdx]]);
+                currTable.addToMask(supports.words[vIdx][v - offset[vIdx]], supports.indices[vIdx][v - offset[vIdx]]);
             }
         }
         currTable.intersectWithMask();
@@ -181,33 +178,17 @@ public class PropCompactTable extends Propagator<IntVar> {
 		int lb = vars[i].getLB();
 		int ub = vars[i].getUB();
 		for (int v=lb;v<=ub;v++) {
-			int index = residues[i][v - offset[i]];
-			if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
-				index = currTable.intersectIndex(supports[i][v - offset[i]]);
-				if (index == -1) {
-					lb ++;
-				} else {
-					residues[i][v - offset[i]] = index;
-					break;
-				}
-			}else{
+			if (isSupported(i, v)) {
 				break;
 			}
+			lb ++;
 		}
 		vars[i].updateLowerBound(lb, this);
 		for (int v=ub;v>=ub;v--) {
-			int index = residues[i][v - offset[i]];
-			if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
-				index = currTable.intersectIndex(supports[i][v - offset[i]]);
-				if (index == -1) {
-					ub --;
-				} else {
-					residues[i][v - offset[i]] = index;
-					break;
-				}
-			}else{
+			if (isSupported(i, v)) {
 				break;
 			}
+			ub --;
 		}
 		vars[i].updateUpperBound(ub, this);
 	}
@@ -215,14 +196,8 @@ public class PropCompactTable extends Propagator<IntVar> {
 	private void enumFilter(int i) throws ContradictionException {
 	    int ub = vars[i].getUB();
 		for (int v=vars[i].getLB(); v<=ub; v=vars[i].nextValue(v)) {
-			int index = residues[i][v - offset[i]];
-			if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
-				index = currTable.intersectIndex(supports[i][v - offset[i]]);
-				if (index == -1) {
-					vars[i].removeValue(v, this);
-				} else {
-					residues[i][v - offset[i]] = index;
-				}
+			if (!isSupported(i, v)) {
+				vars[i].removeValue(v, this);
 			}
 		}
 	}
@@ -238,7 +213,7 @@ public class PropCompactTable extends Propagator<IntVar> {
    	//***********************************************************************************
 
     protected class RSparseBitSet {
-        protected IStateLong[] words;
+        protected IStateLongArray words;
         private int[] index;
         private IStateInt limit;
         private long[] mask;
@@ -249,10 +224,9 @@ public class PropCompactTable extends Propagator<IntVar> {
             index = new int[nw];
             mask = new long[nw];
             limit = environment.makeInt(nw - 1);
-            words = new IStateLong[nw];
+            words = environment.makeLongArray(nw, -1L);
             for (int i = 0; i < nw; i++) {
                 index[i] = i;
-                words[i] = environment.makeLong(-1L);
             }
         }
 
@@ -274,19 +248,26 @@ public class PropCompactTable extends Propagator<IntVar> {
             }
         }
 
-		protected void addToMask(long[] wordsToAdd) {
-            for (int i = limit.get(); i >= 0; i--) {
-                int offset = index[i];
-                mask[offset] = mask[offset] | wordsToAdd[offset];
+		protected void addToMask(long[] wordsToAdd, int[] indices) {
+            if (indices == null) {
+                for (int i = limit.get(); i >= 0; i--) {
+                    int offset = index[i];
+                    mask[offset] = mask[offset] | wordsToAdd[offset];
+                }
+            } else {
+                // words out of the current table may be set, but they are never read
+                for (int i = wordsToAdd.length - 1; i >= 0; i--) {
+                    mask[indices[i]] |= wordsToAdd[i];
+                }
             }
         }
 
 		private void intersectWithMask() {
             for (int i = limit.get(); i >= 0; i--) {
                 int offset = index[i];
-                long w = words[offset].get() & mask[offset];
-                if (words[offset].get() != w) {
-                    words[offset].set(w);
+                long w = words.get(offset) & mask[offset];
+                if (words.get(offset) != w) {
+                    words.set(offset, w);
                     if (w == 0L) {
                         index[i] = index[limit.get()];
                         index[limit.get()] = offset;
@@ -296,11 +277,22 @@ public class PropCompactTable extends Propagator<IntVar> {
             }
         }
 
-		private int intersectIndex(long[] m) {
-            for (int i = limit.get(); i >= 0; i--) {
-                int offset = index[i];
-                if ((words[offset].get() & m[offset]) != 0L) {
-                    return offset;
+		/**
+		 * @return the position, in <i>m</i>, of a word which intersects the current table, -1 if none
+		 */
+		private int intersectIndex(long[] m, int[] indices) {
+            if (indices == null) {
+                for (int i = limit.get(); i >= 0; i--) {
+                    int offset = index[i];
+                    if ((words.get(offset) & m[offset]) != 0L) {
+                        return offset;
+                    }
+                }
+            } else {
+                for (int i = m.length - 1; i >= 0; i--) {
+                    if ((words.get(indices[i]) & m[i]) != 0L) {
+                        return i;
+                    }
                 }
             }
             return -1;
@@ -29,7 +29,7 @@ public class PropCompactTableStar extends PropCompactTable {
    	// VARIABLES
    	//***********************************************************************************
 
-    private long[][][] inc_supports;
+    private CompactSupports inc_supports;
 
     //***********************************************************************************
    	// CONSTRUCTOR
@@ -62,47 +62,15 @@ public class PropCompactTableStar extends PropCompactTable {
             @Override
             public void execute(int i) throws ContradictionException {
                 // main reason we re-wrote the class
-                currTable.addToMask((inc_supports[var][i - off]));
+                currTable.addToMask(inc_supports.words[var][i - off], inc_supports.indices[var][i - off]);
             }
         };
     }
 
     protected void computeSupports(Tuples tuples) {
-        int n = vars.length;
-        offset = new int[n];
-        supports = new long[n][][];
-        inc_supports = new long[n][][];
-        residues = new int[n][];
-        for (int i = 0; i < n; i++) {
-            int lb = vars[i].getLB();
-            int ub = vars[i].getUB();
-            offset[i] = lb;
-            supports[i] = new long[ub - lb + 1][currTable.words.length];
-            inc_supports[i] = new long[ub - lb + 1][currTable.words.length];
-            residues[i] = new int[ub - lb + 1];
-            for (int v=lb ; v<=ub; v=vars[i].nextValue(v)) {
-                long[] tmp = supports[i][v - lb];
-                long[] inc_tmp = inc_supports[i][v - lb];
-                int wI = 0;
-                int bI = 63;
-                for (int ti = 0; ti < tuples.nbTuples(); ti++) {
-                    int val = tuples.get(ti)[i];
-                    long index = 1L << bI;
-                    if (val == v) {
-                        // main reason we re-wrote the class
-                        inc_tmp[wI] |= index;
-                        tmp[wI] |= index;
-                    }else if(val == tuples.getStarValue()){
-                        // main reason we re-wrote the class
-                        tmp[wI] |= index;
-                    }
-                    bI--;
-                    if (bI < 0) {
-                        bI = 63;
-                        wI++;
-                    }
-                }
-            }
-        }
+        super.computeSupports(tuples);
+        // main reason we re-wrote the class
+        supports = CompactSupports.of(vars, tuples, true);
+        inc_supports = CompactSupports.of(vars, tuples, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,247 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A dynamic set of half-open intervals [lo, hi), one per element in [0, n), stored in a treap.
+ * <br/>
+ * Elements are ordered by (lo, element) and each node maintains the largest <i>hi</i> of its subtree,
+ * so that the intervals overlapping a given interval are enumerated in O((k+1).log(n)) expected time,
+ * where k is the number of intervals reported.
+ * Adding, moving or removing an interval takes O(log(n)) expected time.
+ * The memory is linear in the number of elements.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class IntervalTreap {
+
+    /**
+     * No element
+     */
+    private static final int NIL = -1;
+
+    /**
+     * Lower bound of the interval of each element
+     */
+    private final long[] lo;
+    /**
+     * Upper bound (exclusive) of the interval of each element
+     */
+    private final long[] hi;
+    /**
+     * Largest upper bound in the subtree rooted in each element
+     */
+    private final long[] max;
+    /**
+     * Left child of each element
+     */
+    private final int[] left;
+    /**
+     * Right child of each element
+     */
+    private final int[] right;
+    /**
+     * Heap priority of each element
+     */
+    private final int[] prio;
+    /**
+     * Indicates whether or not an element is in the treap
+     */
+    private final boolean[] in;
+    /**
+     * Root of the treap
+     */
+    private int root;
+    /**
+     * Number of elements in the treap
+     */
+    private int size;
+    /**
+     * Output of {@link #split(int, long, int)}
+     */
+    private int sl, sr;
+
+    /**
+     * Create an empty treap
+     *
+     * @param n    elements are in [0, n)
+     * @param seed seed for the priorities
+     */
+    public IntervalTreap(int n, long seed) {
+        this.lo = new long[n];
+        this.hi = new long[n];
+        this.max = new long[n];
+        this.left = new int[n];
+        this.right = new int[n];
+        this.prio = new int[n];
+        this.in = new boolean[n];
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++) {
+            prio[i] = random.nextInt();
+        }
+        Arrays.fill(left, NIL);
+        Arrays.fill(right, NIL);
+        this.root = NIL;
+    }
+
+    /**
+     * @return the number of intervals stored
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i an element
+     * @return <tt>true</tt> if an interval is stored for <i>i</i>
+     */
+    public boolean contains(int i) {
+        return in[i];
+    }
+
+    /**
+     * @param i an element in the treap
+     * @return the lower bound of the interval of <i>i</i>
+     */
+    public long lo(int i) {
+        return lo[i];
+    }
+
+    /**
+     * @param i an element in the treap
+     * @return the upper bound (exclusive) of the interval of <i>i</i>
+     */
+    public long hi(int i) {
+        return hi[i];
+    }
+
+    /**
+     * Store [<i>l</i>, <i>h</i>) as the interval of <i>i</i>, replacing the previous one, if any.
+     *
+     * @param i an element
+     * @param l lower bound of the interval
+     * @param h upper bound (exclusive) of the interval
+     */
+    public void set(int i, long l, long h) {
+        if (in[i]) {
+            remove(i);
+        }
+        lo[i] = l;
+        hi[i] = h;
+        max[i] = h;
+        left[i] = right[i] = NIL;
+        split(root, l, i);
+        int r = sr;
+        root = merge(merge(sl, i), r);
+        in[i] = true;
+        size++;
+    }
+
+    /**
+     * Remove the interval of <i>i</i>, if any.
+     *
+     * @param i an element
+     */
+    public void remove(int i) {
+        if (in[i]) {
+            split(root, lo[i], i);
+            int l = sl;
+            // i is the smallest element of the right part
+            split(sr, lo[i], i + 1);
+            root = merge(l, sr);
+            left[i] = right[i] = NIL;
+            in[i] = false;
+            size--;
+        }
+    }
+
+    /**
+     * Store in <i>out</i> the elements whose interval overlaps [<i>from</i>, <i>to</i>),
+     * that is, the elements <i>i</i> such that lo(i) &lt; to and hi(i) &gt; from.
+     *
+     * @param from lower bound of the query
+     * @param to   upper bound (exclusive) of the query
+     * @param out  output array, of size n at least
+     * @return the number of elements stored in <i>out</i>
+     */
+    public int overlapping(long from, long to, int[] out) {
+        return collect(root, from, to, out, 0);
+    }
+
+    private int collect(int t, long from, long to, int[] out, int c) {
+        while (t != NIL && max[t] > from) {
+            c = collect(left[t], from, to, out, c);
+            if (lo[t] >= to) {
+                // so are all the elements of the right subtree
+                break;
+            }
+            if (hi[t] > from) {
+                out[c++] = t;
+            }
+            t = right[t];
+        }
+        return c;
+    }
+
+    /**
+     * Split the treap rooted in <i>t</i> in {@link #sl}, the elements smaller than (<i>l</i>, <i>e</i>),
+     * and {@link #sr}, the other ones.
+     */
+    private void split(int t, long l, int e) {
+        if (t == NIL) {
+            sl = sr = NIL;
+        } else if (lo[t] < l || lo[t] == l && t < e) {
+            split(right[t], l, e);
+            right[t] = sl;
+            pull(t);
+            sl = t;
+        } else {
+            split(left[t], l, e);
+            left[t] = sr;
+            pull(t);
+            sr = t;
+        }
+    }
+
+    /**
+     * Merge two treaps, the elements of <i>a</i> being smaller than the ones of <i>b</i>
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (prio[a] > prio[b]) {
+            right[a] = merge(right[a], b);
+            pull(a);
+            return a;
+        } else {
+            left[b] = merge(a, left[b]);
+            pull(b);
+            return b;
+        }
+    }
+
+    private void pull(int t) {
+        long m = hi[t];
+        if (left[t] != NIL && max[left[t]] > m) {
+            m = max[left[t]];
+        }
+        if (right[t] != NIL && max[right[t]] > m) {
+            m = max[right[t]];
+        }
+        max[t] = m;
+    }
+}
@@ -0,0 +1,362 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.objects.setDataStructures.SetFactory;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.Arrays;
+
+/**
+ * Non-overlapping constraint between k-dimensional boxes, with a memory linear in the number of boxes.
+ * <br/>
+ * Unlike {@link PropDiffN}, the boxes that may overlap are not stored in a graph:
+ * the range [o.LB, o.UB + l.UB) covered by each box in the first dimension is stored in an {@link IntervalTreap},
+ * and the boxes that may overlap a given box are the ones whose range overlaps its range.
+ * Only the ranges of the modified boxes are moved in the treap.
+ * Since domains are restored silently on backtrack, the boxes moved in the treap are logged,
+ * and the ones moved in a world that has been popped since are moved back on the next call.
+ * In between, a range stored in the treap may only be larger than the actual one, which is safe.
+ * <br/>
+ * For each modified box, checks the energy of its neighbourhood and,
+ * for each neighbour whose compulsory part overlaps its compulsory part in all dimensions but one,
+ * separates the two boxes in that dimension.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class PropDiffNIntervalTree extends Propagator<IntVar> {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    /**
+     * Number of boxes
+     */
+    private final int n;
+    /**
+     * Number of dimensions
+     */
+    private final int k;
+    /**
+     * Range covered by each box in the first dimension
+     */
+    private final IntervalTreap ranges;
+    /**
+     * Boxes moved in {@link #ranges}, in chronological order
+     */
+    private int[] log;
+    /**
+     * Size of {@link #log}, restored on backtrack
+     */
+    private final IStateInt logSize;
+    /**
+     * Size of {@link #log} at the end of the last call
+     */
+    private int lastLogSize;
+    /**
+     * Boxes which may overlap the box being filtered
+     */
+    private final int[] candidates;
+    /**
+     * Boxes modified since the last call
+     */
+    private final ISet boxesToCompute;
+    private long timestamp;
+    /**
+     * Bounding box of a box and its neighbours
+     */
+    private final long[] lbs, ubs;
+
+    //***********************************************************************************
+    // CONSTRUCTOR
+    //***********************************************************************************
+
+    /**
+     * Non-overlapping boxes
+     *
+     * @param origins origins[d][i] is the origin of the box i in the dimension d
+     * @param lengths lengths[d][i] is the length of the box i in the dimension d
+     */
+    public PropDiffNIntervalTree(IntVar[][] origins, IntVar[][] lengths) {
+        super(ArrayUtils.append(ArrayUtils.flatten(origins), ArrayUtils.flatten(lengths)), PropagatorPriority.LINEAR, true);
+        this.k = origins.length;
+        this.n = origins[0].length;
+        if (k == 0 || lengths.length != k) {
+            throw new SolverException("PropDiffNIntervalTree origins and lengths do not have the same number of dimensions");
+        }
+        for (int d = 0; d < k; d++) {
+            if (origins[d].length != n || lengths[d].length != n) {
+                throw new SolverException("PropDiffNIntervalTree variable arrays do not have same size");
+            }
+        }
+        this.ranges = new IntervalTreap(n, 0);
+        this.log = new int[n];
+        this.logSize = model.getEnvironment().makeInt(0);
+        this.candidates = new int[n];
+        this.boxesToCompute = SetFactory.makeBipartiteSet(0);
+        this.lbs = new long[k];
+        this.ubs = new long[k];
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    private IntVar o(int d, int i) {
+        return vars[d * n + i];
+    }
+
+    private IntVar l(int d, int i) {
+        return vars[(k + d) * n + i];
+    }
+
+    @Override
+    public int getPropagationConditions(int idx) {
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public void propagate(int varIdx, int mask) throws ContradictionException {
+        if (timestamp != model.getEnvironment().getTimeStamp()) {
+            timestamp = model.getEnvironment().getTimeStamp();
+            boxesToCompute.clear();
+        }
+        boxesToCompute.add(varIdx % n);
+        forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            boxesToCompute.clear();
+            for (int i = 0; i < n; i++) {
+                boxesToCompute.add(i);
+            }
+        }
+        synchronize();
+        ISetIterator iter = boxesToCompute.iterator();
+        while (iter.hasNext()) {
+            move(iter.nextInt());
+        }
+        iter = boxesToCompute.iterator();
+        while (iter.hasNext()) {
+            filterFromBox(iter.nextInt());
+        }
+        boxesToCompute.clear();
+    }
+
+    /**
+     * Move back in the treap the boxes moved in a world that has been popped since the last call,
+     * their actual range may be larger than the stored one.
+     * Must be called before any call to {@link #move(int)}.
+     */
+    private void synchronize() {
+        int size = logSize.get();
+        if (size < lastLogSize) {
+            // entries are read before being overwritten
+            for (int p = size; p < lastLogSize; p++) {
+                int i = log[p];
+                ranges.set(i, o(0, i).getLB(), (long) o(0, i).getUB() + l(0, i).getUB());
+                log[size++] = i;
+            }
+            logSize.set(size);
+        }
+        lastLogSize = size;
+    }
+
+    /**
+     * Update the range of box <i>i</i> in the treap, if it has changed
+     */
+    private void move(int i) {
+        int lo = o(0, i).getLB();
+        long hi = (long) o(0, i).getUB() + l(0, i).getUB();
+        if (!ranges.contains(i) || ranges.lo(i) != lo || ranges.hi(i) != hi) {
+            ranges.set(i, lo, hi);
+            int size = logSize.get();
+            if (size == log.length) {
+                log = Arrays.copyOf(log, size * 3 / 2 + 1);
+            }
+            log[size++] = i;
+            logSize.set(size);
+            lastLogSize = size;
+        }
+    }
+
+    private boolean mayOverlap(int i, int j) {
+        for (int d = 0; d < k; d++) {
+            if (o(d, i).getLB() >= o(d, j).getUB() + l(d, j).getUB()
+                    || o(d, j).getLB() >= o(d, i).getUB() + l(d, i).getUB()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected void filterFromBox(int i) throws ContradictionException {
+        for (int d = 0; d < k; d++) {
+            lbs[d] = o(d, i).getLB();
+            ubs[d] = (long) o(d, i).getUB() + l(d, i).getUB();
+        }
+        long volume = minVolume(i);
+        int c = ranges.overlapping(lbs[0], ubs[0], candidates);
+        for (int p = 0; p < c; p++) {
+            int j = candidates[p];
+            if (j == i || !mayOverlap(i, j)) {
+                continue;
+            }
+            // check energy
+            for (int d = 0; d < k; d++) {
+                lbs[d] = Math.min(lbs[d], o(d, j).getLB());
+                ubs[d] = Math.max(ubs[d], (long) o(d, j).getUB() + l(d, j).getUB());
+            }
+            volume = sat(volume + minVolume(j));
+            long space = 1;
+            for (int d = 0; d < k; d++) {
+                space = mul(space, ubs[d] - lbs[d]);
+            }
+            if (volume > space) {
+                fails();
+            }
+            // compulsory part based filtering
+            int free = -1;
+            for (int d = 0; d < k && free != -2; d++) {
+                if (!doOverlap(i, j, d)) {
+                    free = free == -1 ? d : -2;
+                }
+            }
+            if (free == -1) {
+                fails();
+            } else if (free >= 0 && filter(i, j, free)) {
+                // candidates are already computed, the treap can be modified
+                move(i);
+                move(j);
+            }
+        }
+    }
+
+    /**
+     * @return <tt>true</tt> if the compulsory parts of boxes <i>i</i> and <i>j</i> overlap in dimension <i>d</i>
+     */
+    private boolean doOverlap(int i, int j, int d) {
+        int S_i = o(d, i).getUB();
+        int e_i = o(d, i).getLB() + l(d, i).getLB();
+        int S_j = o(d, j).getUB();
+        int e_j = o(d, j).getLB() + l(d, j).getLB();
+        return S_i < e_i && S_j < e_j && S_j < e_i && S_i < e_j;
+    }
+
+    /**
+     * Boxes <i>i</i> and <i>j</i> must be separated in dimension <i>d</i>
+     * @return <tt>true</tt> if a domain has been modified
+     */
+    private boolean filter(int i, int j, int d) throws ContradictionException {
+        boolean change = false;
+        int S_i = o(d, i).getUB();
+        int e_i = o(d, i).getLB() + l(d, i).getLB();
+        int S_j = o(d, j).getUB();
+        int e_j = o(d, j).getLB() + l(d, j).getLB();
+        if (e_j > S_i) {
+            // j cannot be before i
+            change = o(d, j).updateLowerBound(e_i, this);
+            change |= o(d, i).updateUpperBound(S_j - l(d, i).getLB(), this);
+            change |= l(d, i).updateUpperBound(S_j - o(d, i).getLB(), this);
+        }
+        if (e_i > S_j) {
+            // i cannot be before j
+            change |= o(d, i).updateLowerBound(e_j, this);
+            change |= o(d, j).updateUpperBound(S_i - l(d, j).getLB(), this);
+            change |= l(d, j).updateUpperBound(S_i - o(d, j).getLB(), this);
+        }
+        return change;
+    }
+
+    private long minVolume(int i) {
+        long v = 1;
+        for (int d = 0; d < k; d++) {
+            v = mul(v, l(d, i).getLB());
+        }
+        return v;
+    }
+
+    /**
+     * Product of two non-negative values, saturated to {@link Long#MAX_VALUE}
+     */
+    private static long mul(long a, long b) {
+        long r = a * b;
+        return a != 0 && r / a != b ? Long.MAX_VALUE : r;
+    }
+
+    private static long sat(long v) {
+        return v < 0 ? Long.MAX_VALUE : v;
+    }
+
+    @Override
+    public ESat isEntailed() {
+        synchronize();
+        for (int i = 0; i < n; i++) {
+            move(i);
+        }
+        for (int i = 0; i < n; i++) {
+            if (boxInstantiated(i)) {
+                int c = ranges.overlapping(o(0, i).getLB(), (long) o(0, i).getUB() + l(0, i).getUB(), candidates);
+                for (int p = 0; p < c; p++) {
+                    int j = candidates[p];
+                    if (j != i && boxInstantiated(j) && mayOverlap(i, j) && minVolume(i) > 0 && minVolume(j) > 0) {
+                        return ESat.FALSE;
+                    }
+                }
+            }
+        }
+        if (isCompletelyInstantiated()) {
+            return ESat.TRUE;
+        }
+        return ESat.UNDEFINED;
+    }
+
+    private boolean boxInstantiated(int i) {
+        for (int d = 0; d < k; d++) {
+            if (!o(d, i).isInstantiated() || !l(d, i).isInstantiated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("DIFFN(");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(",");
+            sb.append("[");
+            for (int d = 0; d < k; d++) {
+                sb.append(o(d, i).toString()).append(",");
+            }
+            for (int d = 0; d < k; d++) {
+                if (d > 0) sb.append(",");
+                sb.append(l(d, i).toString());
+            }
+            sb.append("]");
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import java.util.Arrays;
+
+/**
+ * Resource profile made of compulsory parts, maintained incrementally.
+ * <br/>
+ * The profile is stored as a sorted list of events (a point in time and a height variation), in arrays.
+ * Adding or removing a compulsory part only updates two events, each one is found in O(log n)
+ * but inserting or deleting a date shifts the following ones, so an update costs O(n) in the worst case,
+ * n being the number of events. Shifts are done with {@link System#arraycopy}, which is fast for the profile
+ * sizes a cumulative constraint deals with, and a query has to rescan the profile anyway:
+ * the heights and the cumulated energies of the segments are recomputed lazily, in O(n), on the next query.
+ * Once up to date, the height at a point in time or the energy over a time window is computed in O(log n).
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class CompulsoryProfile {
+
+    /**
+     * Dates of the events, sorted
+     */
+    private int[] times;
+    /**
+     * Height variation at each date
+     */
+    private long[] deltas;
+    /**
+     * Number of compulsory parts starting or ending at each date
+     */
+    private int[] refs;
+    /**
+     * Height of the segment [times[k], times[k+1])
+     */
+    private long[] heights;
+    /**
+     * Energy of the profile before times[k]
+     */
+    private long[] energies;
+    /**
+     * Number of events
+     */
+    private int size;
+    /**
+     * Maximum height of the profile
+     */
+    private long max;
+    /**
+     * Set to <tt>true</tt> when heights and energies have to be recomputed
+     */
+    private boolean dirty;
+
+    /**
+     * Create an empty profile
+     *
+     * @param n expected number of compulsory parts
+     */
+    public CompulsoryProfile(int n) {
+        int c = Math.max(2 * n, 8);
+        this.times = new int[c];
+        this.deltas = new long[c];
+        this.refs = new int[c];
+        this.heights = new long[c];
+        this.energies = new long[c];
+    }
+
+    /**
+     * Add the compulsory part [<i>from</i>, <i>to</i>) of height <i>h</i>
+     *
+     * @param from start of the compulsory part, included
+     * @param to   end of the compulsory part, excluded
+     * @param h    height of the compulsory part
+     */
+    public void add(int from, int to, int h) {
+        if (from < to && h > 0) {
+            event(from, h, 1);
+            event(to, -h, 1);
+        }
+    }
+
+    /**
+     * Remove the compulsory part [<i>from</i>, <i>to</i>) of height <i>h</i>, previously added
+     *
+     * @param from start of the compulsory part, included
+     * @param to   end of the compulsory part, excluded
+     * @param h    height of the compulsory part
+     */
+    public void remove(int from, int to, int h) {
+        if (from < to && h > 0) {
+            event(from, -h, -1);
+            event(to, h, -1);
+        }
+    }
+
+    private void event(int t, long dh, int dr) {
+        int k = Arrays.binarySearch(times, 0, size, t);
+        if (k >= 0) {
+            deltas[k] += dh;
+            refs[k] += dr;
+            if (refs[k] == 0) {
+                assert deltas[k] == 0;
+                System.arraycopy(times, k + 1, times, k, size - k - 1);
+                System.arraycopy(deltas, k + 1, deltas, k, size - k - 1);
+                System.arraycopy(refs, k + 1, refs, k, size - k - 1);
+                size--;
+            }
+        } else {
+            assert dr > 0;
+            k = -k - 1;
+            if (size == times.length) {
+                int c = size * 3 / 2 + 1;
+                times = Arrays.copyOf(times, c);
+                deltas = Arrays.copyOf(deltas, c);
+                refs = Arrays.copyOf(refs, c);
+                heights = new long[c];
+                energies = new long[c];
+            }
+            System.arraycopy(times, k, times, k + 1, size - k);
+            System.arraycopy(deltas, k, deltas, k + 1, size - k);
+            System.arraycopy(refs, k, refs, k + 1, size - k);
+            times[k] = t;
+            deltas[k] = dh;
+            refs[k] = dr;
+            size++;
+        }
+        dirty = true;
+    }
+
+    private void update() {
+        if (dirty) {
+            long h = 0, en = 0;
+            max = 0;
+            for (int k = 0; k < size; k++) {
+                if (k > 0) {
+                    en += h * (times[k] - times[k - 1]);
+                }
+                energies[k] = en;
+                h += deltas[k];
+                heights[k] = h;
+                max = Math.max(max, h);
+            }
+            dirty = false;
+        }
+    }
+
+    /**
+     * @return the number of segments of the profile
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param k index of a segment
+     * @return the start of the segment <i>k</i>
+     */
+    public int start(int k) {
+        return times[k];
+    }
+
+    /**
+     * @param k index of a segment
+     * @return the end of the segment <i>k</i>, {@link Integer#MAX_VALUE} for the last one
+     */
+    public int end(int k) {
+        return k + 1 < size ? times[k + 1] : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @param k index of a segment
+     * @return the height of the segment <i>k</i>
+     */
+    public long height(int k) {
+        update();
+        return heights[k];
+    }
+
+    /**
+     * @param t a point in time
+     * @return the index of the segment containing <i>t</i>, -1 if <i>t</i> is before the first segment
+     */
+    public int segment(int t) {
+        int k = Arrays.binarySearch(times, 0, size, t);
+        return k >= 0 ? k : -k - 2;
+    }
+
+    /**
+     * @return the maximum height of the profile
+     */
+    public long getMaxHeight() {
+        update();
+        return max;
+    }
+
+    /**
+     * @param a start of the time window, included
+     * @param b end of the time window, excluded
+     * @return the energy of the profile over [<i>a</i>, <i>b</i>)
+     */
+    public long energy(int a, int b) {
+        return energyBefore(b) - energyBefore(a);
+    }
+
+    /**
+     * @param t a point in time
+     * @return the energy of the profile before <i>t</i>
+     */
+    public long energyBefore(int t) {
+        update();
+        int k = segment(t);
+        return k < 0 ? 0 : energies[k] + heights[k] * (t - times[k]);
+    }
+}
@@ -153,6 +153,16 @@ public class Cumulative extends Constraint {
 				return new DisjunctiveTaskIntervalFilter(n,cause);
 			}
 		},
+		/**
+		 * time-table and timetable-edge-finding algorithms
+		 * based on a compulsory-part profile maintained incrementally (and restored upon backtrack)
+		 * not idempotent
+		 */
+		TIMETABLE_EDGE_FINDING {
+			public CumulFilter make(int n, Propagator<IntVar> cause){
+				return new TTEFCumulFilter(n,cause);
+			}
+		},
 		/**
 		 * Combines above filters as a black-box
 		 * not idempotent
@@ -0,0 +1,319 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.sort.ArraySort;
+
+/**
+ * Time-table and timetable-edge-finding filtering, based on an incremental compulsory-part profile.
+ * <br/>
+ * The compulsory parts are stored in a {@link CompulsoryProfile} shared by all calls:
+ * on each call, only the tasks whose compulsory part changed are re-inserted,
+ * and each modification is undone on backtrack.
+ * Each insertion or removal costs O(n) in the worst case, since the events of the profile are kept in sorted arrays,
+ * so that updating the profile costs O(k.n) for k modified tasks, instead of O(n.log(n)) for building it again.
+ * <br/>
+ * Timetable-edge-finding follows "Vilím, P.: Timetable Edge Finding Filtering Algorithm for Discrete Cumulative
+ * Resources, CPAIOR 2011" and "Schutt, A., Feydy, T., Stuckey, P.J.: Explaining Time-Table-Edge-Finding Propagation
+ * for the Cumulative Resource Constraint, CPAIOR 2013":
+ * the energy of a window is the energy of the profile plus the energy of the free parts of the tasks inside the window.
+ * It runs in O(n<sup>2</sup>), each window being checked against the task of the largest free energy in it.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class TTEFCumulFilter extends CumulFilter {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final IEnvironment environment;
+	private final CompulsoryProfile profile;
+	/**
+	 * Compulsory part of each task, as stored in the profile
+	 */
+	private int[] from, to, height;
+	/**
+	 * Data of the active tasks, possibly mirrored
+	 */
+	private int[] est, lct, p, hei, lstR, ectR, nest;
+	/**
+	 * Energy of the profile before the est and before the lct of each active task, possibly mirrored,
+	 * and energy of the free part of each active task
+	 */
+	private long[] ttEst, ttLct, free;
+	private int[] byEst, byLct;
+	private ArraySort sorter;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	public TTEFCumulFilter(int n, Propagator<IntVar> cause) {
+		super(n, cause);
+		this.environment = cause.getModel().getEnvironment();
+		this.profile = new CompulsoryProfile(n);
+		this.from = new int[n];
+		this.to = new int[n];
+		this.height = new int[n];
+		this.est = new int[n];
+		this.lct = new int[n];
+		this.p = new int[n];
+		this.hei = new int[n];
+		this.lstR = new int[n];
+		this.ectR = new int[n];
+		this.nest = new int[n];
+		this.ttEst = new long[n];
+		this.ttLct = new long[n];
+		this.free = new long[n];
+		this.byEst = new int[n];
+		this.byLct = new int[n];
+		this.sorter = new ArraySort(n, false, true);
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	@Override
+	public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks) throws ContradictionException {
+		sync(s, d, e, h, tasks);
+		capa.updateLowerBound((int) Math.min(profile.getMaxHeight(), Integer.MAX_VALUE), aCause);
+		int capaMax = capa.getUB();
+		// time-table
+		ISetIterator tIter = tasks.iterator();
+		while (tIter.hasNext()) {
+			int i = tIter.nextInt();
+			if (d[i].getLB() > 0 && h[i].getLB() > 0) {
+				if (h[i].getLB() > capaMax) {
+					aCause.fails();
+				}
+				pushStart(i, s[i], d[i].getLB(), h[i].getLB(), capaMax);
+				pushEnd(i, e[i], d[i].getLB(), h[i].getLB(), capaMax);
+			}
+		}
+		// timetable-edge-finding, on both sides
+		for (int m = 0; m < 2; m++) {
+			boolean mirror = m == 1;
+			sync(s, d, e, h, tasks);
+			int nb = load(s, d, e, h, tasks, mirror);
+			edgeFinding(nb, capaMax);
+			for (int k = 0; k < nb; k++) {
+				int i = byEst[k];
+				if (nest[i] > est[i]) {
+					if (mirror) {
+						e[i].updateUpperBound(-nest[i], aCause);
+					} else {
+						s[i].updateLowerBound(nest[i], aCause);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Re-insert into the profile the compulsory parts of the tasks that changed
+	 */
+	private void sync(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, ISet tasks) {
+		ISetIterator tIter = tasks.iterator();
+		while (tIter.hasNext()) {
+			int i = tIter.nextInt();
+			int f = s[i].getUB();
+			int t = e[i].getLB();
+			int hh = d[i].getLB() > 0 ? h[i].getLB() : 0;
+			if (f >= t || hh == 0) {
+				f = t = hh = 0;
+			}
+			if (f != from[i] || t != to[i] || hh != height[i]) {
+				environment.save(new Restore(i, from[i], to[i], height[i]));
+				set(i, f, t, hh);
+			}
+		}
+	}
+
+	private void set(int i, int f, int t, int hh) {
+		profile.remove(from[i], to[i], height[i]);
+		from[i] = f;
+		to[i] = t;
+		height[i] = hh;
+		profile.add(f, t, hh);
+	}
+
+	/**
+	 * Push the start of task <i>i</i> after the segments of the profile where it does not fit
+	 */
+	private void pushStart(int i, IntVar start, int dlb, int hlb, int capaMax) throws ContradictionException {
+		int t = start.getLB();
+		int lst = start.getUB();
+		int k = Math.max(profile.segment(t), 0);
+		while (k < profile.size() && t <= lst && profile.start(k) < t + dlb) {
+			if (overloaded(i, k, hlb, capaMax)) {
+				t = profile.end(k);
+			}
+			k++;
+		}
+		start.updateLowerBound(t, aCause);
+	}
+
+	/**
+	 * Push the end of task <i>i</i> before the segments of the profile where it does not fit
+	 */
+	private void pushEnd(int i, IntVar end, int dlb, int hlb, int capaMax) throws ContradictionException {
+		int t = end.getUB();
+		int ect = end.getLB();
+		int k = profile.segment(t - 1);
+		while (k >= 0 && t >= ect && profile.end(k) > t - dlb) {
+			if (overloaded(i, k, hlb, capaMax)) {
+				t = profile.start(k);
+			}
+			k--;
+		}
+		end.updateUpperBound(t, aCause);
+	}
+
+	private boolean overloaded(int i, int k, int hlb, int capaMax) {
+		long hk = profile.height(k);
+		if (profile.start(k) >= from[i] && profile.start(k) < to[i]) {
+			hk -= height[i];
+		}
+		return hk + hlb > capaMax;
+	}
+
+	/**
+	 * Load the tasks with a free part (the energy of the other ones is in the profile), mirrored or not
+	 *
+	 * @return the number of tasks loaded
+	 */
+	private int load(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, ISet tasks, boolean mirror) {
+		int nb = 0;
+		ISetIterator tIter = tasks.iterator();
+		while (tIter.hasNext()) {
+			int i = tIter.nextInt();
+			if (d[i].getLB() > 0 && h[i].getLB() > 0) {
+				p[i] = d[i].getLB();
+				hei[i] = h[i].getLB();
+				if (mirror) {
+					est[i] = -e[i].getUB();
+					lct[i] = -s[i].getLB();
+					lstR[i] = -e[i].getLB();
+					ectR[i] = -s[i].getUB();
+				} else {
+					est[i] = s[i].getLB();
+					lct[i] = e[i].getUB();
+					lstR[i] = s[i].getUB();
+					ectR[i] = e[i].getLB();
+				}
+				free[i] = (long) hei[i] * (p[i] - cpLength(lstR[i], ectR[i], est[i], lct[i]));
+				if (free[i] == 0) {
+					continue;
+				}
+				nest[i] = est[i];
+				ttEst[i] = energyBefore(est[i], mirror);
+				ttLct[i] = energyBefore(lct[i], mirror);
+				byEst[nb] = i;
+				byLct[nb++] = i;
+			}
+		}
+		sorter.sort(byEst, nb, (i1, i2) -> Integer.compare(est[i1], est[i2]));
+		sorter.sort(byLct, nb, (i1, i2) -> Integer.compare(lct[i1], lct[i2]));
+		return nb;
+	}
+
+	/**
+	 * Energy of the profile before <i>t</i>, possibly mirrored
+	 */
+	private long energyBefore(int t, boolean mirror) {
+		return mirror ? -profile.energyBefore(-t) : profile.energyBefore(t);
+	}
+
+	private static int cpLength(int lst, int ect, int a, int b) {
+		return Math.max(0, Math.min(b, ect) - Math.max(a, lst));
+	}
+
+	/**
+	 * Timetable-edge-finding: for each window [a, b), with <i>a</i> an earliest starting time and <i>b</i> a latest
+	 * completion time, checks that the energy of the window fits, and that the task
+	 * starting after <i>a</i>, ending after <i>b</i> and of largest free energy in the window can start at its
+	 * earliest starting time.
+	 */
+	private void edgeFinding(int nb, int capaMax) throws ContradictionException {
+		int top = nb - 1;
+		for (int ie = nb - 1; ie >= 0; ie--) {
+			int b = lct[byLct[ie]];
+			long ttb = ttLct[byLct[ie]];
+			if (ie < nb - 1 && b == lct[byLct[ie + 1]]) {
+				continue;
+			}
+			// tasks starting after b are not concerned by the windows ending at b
+			while (top >= 0 && est[byEst[top]] >= b) {
+				top--;
+			}
+			long en = 0;
+			int best = -1;
+			long bestReq = 0;
+			for (int ib = top; ib >= 0; ib--) {
+				int j = byEst[ib];
+				if (lct[j] <= b) {
+					// free energy of a task inside the window
+					en += free[j];
+				} else {
+					// free energy of a task starting at its est, in the window
+					long req = (long) hei[j] * (Math.max(0, Math.min(b, est[j] + p[j]) - est[j])
+							- cpLength(lstR[j], ectR[j], est[j], b));
+					if (req > bestReq) {
+						best = j;
+						bestReq = req;
+					}
+				}
+				int a = est[j];
+				if (ib > 0 && est[byEst[ib - 1]] == a) {
+					continue;
+				}
+				long avail = (long) capaMax * (b - a) - en - (ttb - ttEst[j]);
+				if (avail < 0) {
+					aCause.fails();
+				}
+				if (best >= 0 && avail < bestReq) {
+					long bound = b - cpLength(lstR[best], ectR[best], a, b) - avail / hei[best];
+					if (bound > nest[best]) {
+						nest[best] = (int) bound;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Restores the compulsory part of a task on backtrack
+	 */
+	private final class Restore implements IOperation {
+
+		private final int i, f, t, hh;
+
+		Restore(int i, int f, int t, int hh) {
+			this.i = i;
+			this.f = f;
+			this.t = t;
+			this.hh = hh;
+		}
+
+		@Override
+		public void undo() {
+			set(i, f, t, hh);
+		}
+	}
+}
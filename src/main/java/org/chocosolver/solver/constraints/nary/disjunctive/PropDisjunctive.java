@@ -0,0 +1,331 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.disjunctive;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.Arrays;
+
+/**
+ * Disjunctive (unary resource) propagator: tasks cannot overlap.
+ * <br/>
+ * Based on a {@link ThetaLambdaTree}, it applies in O(n log n) each of the following rules,
+ * in both directions (the latest completion times being handled on the mirrored problem):
+ * overload checking, detectable precedences, not-first/not-last and edge-finding.
+ * See "Vilím, P.: O(n log n) Filtering Algorithms for Unary Resource Constraint, CPAIOR 2004".
+ * <br/>
+ * The minimal duration of a task is considered. A task whose minimal duration is zero is ignored until
+ * its duration is known to be positive.
+ * The propagator loops until none of the rules filters anymore.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class PropDisjunctive extends Propagator<IntVar> {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final int n;
+    private final IntVar[] s, d, e;
+    /**
+     * Earliest starting time, latest completion time and duration of each task, possibly mirrored
+     */
+    private final int[] est, lct, p;
+    /**
+     * New earliest starting time and new latest completion time of each task
+     */
+    private final int[] nest, nlct;
+    /**
+     * Tasks sorted by increasing est, lct, ect and lst.
+     * Kept from one call to another, since they are mostly sorted already.
+     */
+    private final int[][] byEst, byLct, byEct, byLst;
+    /**
+     * Rank of each task in {@link #byEst}
+     */
+    private final int[] rank;
+    private final ThetaLambdaTree tree;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    /**
+     * Disjunctive propagator
+     *
+     * @param tasks tasks that cannot overlap
+     */
+    public PropDisjunctive(Task[] tasks) {
+        super(extract(tasks), PropagatorPriority.LINEAR, false);
+        this.n = tasks.length;
+        this.s = Arrays.copyOfRange(vars, 0, n);
+        this.d = Arrays.copyOfRange(vars, n, 2 * n);
+        this.e = Arrays.copyOfRange(vars, 2 * n, 3 * n);
+        this.est = new int[n];
+        this.lct = new int[n];
+        this.p = new int[n];
+        this.nest = new int[n];
+        this.nlct = new int[n];
+        this.byEst = new int[2][n];
+        this.byLct = new int[2][n];
+        this.byEct = new int[2][n];
+        this.byLst = new int[2][n];
+        for (int m = 0; m < 2; m++) {
+            for (int i = 0; i < n; i++) {
+                byEst[m][i] = byLct[m][i] = byEct[m][i] = byLst[m][i] = i;
+            }
+        }
+        this.rank = new int[n];
+        this.tree = new ThetaLambdaTree(n);
+    }
+
+    private static IntVar[] extract(Task[] tasks) {
+        int n = tasks.length;
+        IntVar[] starts = new IntVar[n];
+        IntVar[] durations = new IntVar[n];
+        IntVar[] ends = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = tasks[i].getStart();
+            durations[i] = tasks[i].getDuration();
+            ends[i] = tasks[i].getEnd();
+        }
+        return ArrayUtils.append(starts, durations, ends);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            for (int i = 0; i < n; i++) {
+                d[i].updateLowerBound(0, this);
+                s[i].updateBounds(e[i].getLB() - d[i].getUB(), e[i].getUB() - d[i].getLB(), this);
+                e[i].updateBounds(s[i].getLB() + d[i].getLB(), s[i].getUB() + d[i].getUB(), this);
+            }
+        }
+        boolean again;
+        do {
+            again = false;
+            for (int m = 0; m < 2; m++) {
+                boolean mirror = m == 1;
+                load(mirror);
+                edgeFinding(mirror);
+                again |= apply(mirror);
+                load(mirror);
+                detectablePrecedences(mirror);
+                again |= apply(mirror);
+                load(mirror);
+                notLast(mirror);
+                again |= apply(mirror);
+            }
+        } while (again);
+    }
+
+    /**
+     * Read the bounds of the tasks, mirrored or not, and sort the tasks accordingly
+     */
+    private void load(boolean mirror) {
+        for (int i = 0; i < n; i++) {
+            p[i] = d[i].getLB();
+            if (mirror) {
+                est[i] = -e[i].getUB();
+                lct[i] = -s[i].getLB();
+            } else {
+                est[i] = s[i].getLB();
+                lct[i] = e[i].getUB();
+            }
+            nest[i] = est[i];
+            nlct[i] = lct[i];
+        }
+        int m = mirror ? 1 : 0;
+        sort(byEst[m], est, null, 1);
+        sort(byLct[m], lct, null, 1);
+        sort(byEct[m], est, p, 1);
+        sort(byLst[m], lct, p, -1);
+        int[] order = byEst[m];
+        for (int k = 0; k < n; k++) {
+            rank[order[k]] = k;
+        }
+    }
+
+    /**
+     * Insertion sort of <i>order</i> wrt increasing <i>a[i] + sign * b[i]</i>
+     * (or <i>a[i]</i> when <i>b</i> is null).
+     * Runs in linear time when the order is almost preserved.
+     */
+    private static void sort(int[] order, int[] a, int[] b, int sign) {
+        for (int k = 1; k < order.length; k++) {
+            int t = order[k];
+            long key = b == null ? a[t] : (long) a[t] + sign * b[t];
+            int j = k - 1;
+            while (j >= 0 && (b == null ? a[order[j]] : (long) a[order[j]] + sign * b[order[j]]) > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = t;
+        }
+    }
+
+    /**
+     * Overload checking and edge-finding: if ECT(&Theta; &cup; {i}) > LCT(&Theta;) then i ends after &Theta;.
+     */
+    private void edgeFinding(boolean mirror) throws ContradictionException {
+        int[] order = byLct[mirror ? 1 : 0];
+        tree.clear();
+        for (int i = 0; i < n; i++) {
+            if (p[i] > 0) {
+                tree.addToTheta(rank[i], est[i], p[i]);
+            }
+        }
+        int[] byRank = byEst[mirror ? 1 : 0];
+        for (int k = n - 1; k >= 0; k--) {
+            int j = order[k];
+            if (p[j] == 0) {
+                continue;
+            }
+            // overload checking
+            if (tree.getEct() > lct[j]) {
+                fails();
+            }
+            // edge-finding
+            while (tree.getEctBar() > lct[j]) {
+                int r = tree.getResponsible();
+                assert r >= 0;
+                int i = byRank[r];
+                nest[i] = (int) Math.max(nest[i], tree.getEct());
+                tree.remove(r);
+            }
+            tree.moveToLambda(rank[j]);
+        }
+    }
+
+    /**
+     * Detectable precedences: if EST(i) + p(i) > LCT(j) - p(j) then j precedes i.
+     */
+    private void detectablePrecedences(boolean mirror) {
+        int m = mirror ? 1 : 0;
+        int[] order = byEct[m];
+        int[] queue = byLst[m];
+        tree.clear();
+        int q = 0;
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            if (p[i] == 0) {
+                continue;
+            }
+            int ecti = est[i] + p[i];
+            while (q < n && ecti > lct[queue[q]] - p[queue[q]]) {
+                int j = queue[q++];
+                if (p[j] > 0) {
+                    tree.addToTheta(rank[j], est[j], p[j]);
+                }
+            }
+            // the tree holds the tasks j with p(j) > 0 and LST(j) < ECT(i), so it holds i iff LST(i) < ECT(i):
+            // i is removed to get ECT(Theta \ {i}), then put back under the same condition
+            tree.remove(rank[i]);
+            long ect = tree.getEct();
+            if (ect > nest[i]) {
+                nest[i] = (int) ect;
+            }
+            if (lct[i] - p[i] < ecti) {
+                tree.addToTheta(rank[i], est[i], p[i]);
+            }
+        }
+    }
+
+    /**
+     * Not-last: if ECT(&Theta; \ {i}) > LCT(i) - p(i) then i ends before the latest starting time of &Theta; \ {i}.
+     * Applied to the mirrored problem, this is the not-first rule.
+     */
+    private void notLast(boolean mirror) {
+        int m = mirror ? 1 : 0;
+        int[] order = byLct[m];
+        int[] queue = byLst[m];
+        tree.clear();
+        int q = 0;
+        int j = -1;
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            if (p[i] == 0) {
+                continue;
+            }
+            while (q < n && lct[i] > lct[queue[q]] - p[queue[q]]) {
+                int t = queue[q++];
+                if (p[t] > 0) {
+                    tree.addToTheta(rank[t], est[t], p[t]);
+                    j = t;
+                }
+            }
+            // i is in the tree, since lst(i) < lct(i)
+            tree.remove(rank[i]);
+            if (tree.getEct() > lct[i] - p[i]) {
+                nlct[i] = Math.min(nlct[i], lct[j] - p[j]);
+            }
+            tree.addToTheta(rank[i], est[i], p[i]);
+        }
+    }
+
+    /**
+     * Apply the new bounds to the variables
+     *
+     * @return <tt>true</tt> if a variable has been modified
+     */
+    private boolean apply(boolean mirror) throws ContradictionException {
+        boolean change = false;
+        for (int i = 0; i < n; i++) {
+            if (nest[i] > est[i]) {
+                change |= mirror ? e[i].updateUpperBound(-nest[i], this) : s[i].updateLowerBound(nest[i], this);
+            }
+            if (nlct[i] < lct[i]) {
+                change |= mirror ? s[i].updateLowerBound(-nlct[i], this) : e[i].updateUpperBound(nlct[i], this);
+            }
+        }
+        return change;
+    }
+
+    @Override
+    public ESat isEntailed() {
+        // check start + duration = end
+        for (int i = 0; i < n; i++) {
+            if (s[i].getLB() + d[i].getLB() > e[i].getUB()
+                    || s[i].getUB() + d[i].getUB() < e[i].getLB()) {
+                return ESat.FALSE;
+            }
+        }
+        // check compulsory parts do not overlap
+        for (int i = 0; i < n; i++) {
+            if (d[i].getLB() > 0 && s[i].getUB() < e[i].getLB()) {
+                for (int j = i + 1; j < n; j++) {
+                    if (d[j].getLB() > 0 && s[j].getUB() < e[j].getLB()
+                            && s[i].getUB() < e[j].getLB() && s[j].getUB() < e[i].getLB()) {
+                        return ESat.FALSE;
+                    }
+                }
+            }
+        }
+        return isCompletelyInstantiated() ? ESat.TRUE : ESat.UNDEFINED;
+    }
+}
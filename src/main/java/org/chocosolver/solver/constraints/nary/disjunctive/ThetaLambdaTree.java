@@ -0,0 +1,188 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.disjunctive;
+
+/**
+ * Theta-Lambda tree, as described in:
+ * <br/>
+ * "Vilím, P.: O(n log n) Filtering Algorithms for Unary Resource Constraint, CPAIOR 2004".
+ * <br/>
+ * A balanced binary tree whose leaves are the tasks, sorted by increasing earliest starting time.
+ * A leaf is either empty, in the set &Theta; (white) or in the set &Lambda; (gray).
+ * Each node maintains the total duration and the earliest completion time of the white leaves of its subtree,
+ * and the same values when at most one gray leaf is added, together with the gray leaf responsible for it.
+ * Inserting or removing a leaf, and so computing ECT(&Theta;) or ECT(&Theta;, &Lambda;), is done in O(log n).
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class ThetaLambdaTree {
+
+    /**
+     * Earliest completion time of an empty set
+     */
+    private static final long NONE = Long.MIN_VALUE / 4;
+
+    /**
+     * Index of the first leaf
+     */
+    private final int leaves;
+    /**
+     * Sum of the durations of the white leaves
+     */
+    private final long[] sumP;
+    /**
+     * Earliest completion time of the white leaves
+     */
+    private final long[] ect;
+    /**
+     * Sum of the durations of the white leaves, plus at most one gray leaf
+     */
+    private final long[] sumPBar;
+    /**
+     * Earliest completion time of the white leaves, plus at most one gray leaf
+     */
+    private final long[] ectBar;
+    /**
+     * Gray leaf responsible for {@link #sumPBar}, -1 if none
+     */
+    private final int[] respP;
+    /**
+     * Gray leaf responsible for {@link #ectBar}, -1 if none
+     */
+    private final int[] respE;
+
+    /**
+     * Create an empty tree for at most <i>n</i> leaves
+     *
+     * @param n maximum number of leaves
+     */
+    public ThetaLambdaTree(int n) {
+        int l = 1;
+        while (l < n) {
+            l <<= 1;
+        }
+        this.leaves = l;
+        this.sumP = new long[2 * l];
+        this.ect = new long[2 * l];
+        this.sumPBar = new long[2 * l];
+        this.ectBar = new long[2 * l];
+        this.respP = new int[2 * l];
+        this.respE = new int[2 * l];
+        clear();
+    }
+
+    /**
+     * Remove all leaves from the tree
+     */
+    public void clear() {
+        for (int i = 1; i < sumP.length; i++) {
+            sumP[i] = 0;
+            ect[i] = NONE;
+            sumPBar[i] = 0;
+            ectBar[i] = NONE;
+            respP[i] = -1;
+            respE[i] = -1;
+        }
+    }
+
+    /**
+     * Put the leaf <i>l</i> in &Theta;
+     *
+     * @param l   rank of the task wrt increasing earliest starting time
+     * @param est earliest starting time of the task
+     * @param p   duration of the task
+     */
+    public void addToTheta(int l, int est, int p) {
+        int i = leaves + l;
+        sumP[i] = sumPBar[i] = p;
+        ect[i] = ectBar[i] = (long) est + p;
+        respP[i] = respE[i] = -1;
+        update(i >> 1);
+    }
+
+    /**
+     * Move the leaf <i>l</i> from &Theta; to &Lambda;
+     *
+     * @param l rank of the task wrt increasing earliest starting time
+     */
+    public void moveToLambda(int l) {
+        int i = leaves + l;
+        sumP[i] = 0;
+        ect[i] = NONE;
+        respP[i] = respE[i] = l;
+        update(i >> 1);
+    }
+
+    /**
+     * Remove the leaf <i>l</i> from the tree, whether it is in &Theta; or in &Lambda;
+     *
+     * @param l rank of the task wrt increasing earliest starting time
+     */
+    public void remove(int l) {
+        int i = leaves + l;
+        sumP[i] = sumPBar[i] = 0;
+        ect[i] = ectBar[i] = NONE;
+        respP[i] = respE[i] = -1;
+        update(i >> 1);
+    }
+
+    /**
+     * @return the earliest completion time of &Theta;
+     */
+    public long getEct() {
+        return ect[1];
+    }
+
+    /**
+     * @return the earliest completion time of &Theta; plus at most one leaf of &Lambda;
+     */
+    public long getEctBar() {
+        return ectBar[1];
+    }
+
+    /**
+     * @return the leaf of &Lambda; responsible for {@link #getEctBar()}, -1 if none
+     */
+    public int getResponsible() {
+        return respE[1];
+    }
+
+    private void update(int i) {
+        while (i > 0) {
+            int l = i << 1;
+            int r = l + 1;
+            sumP[i] = sumP[l] + sumP[r];
+            ect[i] = Math.max(ect[r], ect[l] + sumP[r]);
+            long lp = sumPBar[l] + sumP[r];
+            long rp = sumP[l] + sumPBar[r];
+            if (lp >= rp) {
+                sumPBar[i] = lp;
+                respP[i] = respP[l];
+            } else {
+                sumPBar[i] = rp;
+                respP[i] = respP[r];
+            }
+            long e0 = ectBar[r];
+            long e1 = ect[l] + sumPBar[r];
+            long e2 = ectBar[l] + sumP[r];
+            if (e0 >= e1 && e0 >= e2) {
+                ectBar[i] = e0;
+                respE[i] = respE[r];
+            } else if (e1 >= e2) {
+                ectBar[i] = e1;
+                respE[i] = respP[r];
+            } else {
+                ectBar[i] = e2;
+                respE[i] = respE[l];
+            }
+            i >>= 1;
+        }
+    }
+}
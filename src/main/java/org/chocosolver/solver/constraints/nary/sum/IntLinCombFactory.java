@@ -277,6 +277,12 @@ public class IntLinCombFactory {
 
                     }
                 }
+                if (model.getSettings().enableIncrementalityOnSum(tmpV.length)) {
+                    int[] tmpC = new int[tmpV.length];
+                    Arrays.fill(tmpC, 0, b, 1);
+                    Arrays.fill(tmpC, b, tmpC.length, -1);
+                    return new SumConstraint(new PropScalarIncr(tmpV, tmpC, b, OPERATOR, RESULT));
+                }
                 return new SumConstraint( new PropSum(tmpV, b, OPERATOR, RESULT));
         }
     }
@@ -333,6 +339,9 @@ public class IntLinCombFactory {
             OPERATOR = Operator.LE;
             RESULT--;
         }
+        if (s.getSettings().enableIncrementalityOnSum(tmpV.length)) {
+            return new SumConstraint(new PropScalarIncr(tmpV, tmpC, b, OPERATOR, RESULT));
+        }
         return new SumConstraint(new PropScalar(tmpV, tmpC, b, OPERATOR, RESULT));
     }
 
@@ -0,0 +1,347 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.sum;
+
+import org.chocosolver.memory.IStateIntArray;
+import org.chocosolver.memory.IStateLong;
+import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+
+/**
+ * A propagator for SUM(x_i*c_i) o b, maintained incrementally, dedicated to large sums.
+ * <br/>
+ * Contrary to {@link PropScalar}, the sums of lower bounds and upper bounds are not recomputed on each propagation
+ * but maintained, with <i>long</i> arithmetic, on each bound modification.
+ * An upper bound of the largest variability is also maintained,
+ * so that terms are only scanned when one of them can actually be filtered.
+ * <br/>
+ * Based on "Bounds Consistency Techniques for Long Linear Constraint" </br>
+ * W. Harvey and J. Schimpf
+ * <p>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class PropScalarIncr extends PropSum {
+
+    /**
+     * The coefficients
+     */
+    private final int[] c;
+
+    /**
+     * Sum of lower bounds maintained incrementally.
+     */
+    private final IStateLong bLB;
+
+    /**
+     * Sum of upper bounds maintained incrementally.
+     */
+    private final IStateLong bUB;
+
+    /**
+     * An upper bound of the maximal variability, refined on each scan.
+     */
+    private final IStateLong bMaxI;
+
+    /**
+     * Lower bounds of the variables, as they were when the sums were last updated.
+     */
+    private final IStateIntArray lbs;
+
+    /**
+     * Upper bounds of the variables, as they were when the sums were last updated.
+     */
+    private final IStateIntArray ubs;
+
+    /**
+     * Create a scalar product: SUM(x_i*c_i) o b, maintained incrementally.
+     * Variables and coefficients are excepted to be ordered wrt to coefficients: first positive ones then negative ones.
+     * @param variables list of integer variables
+     * @param coeffs list of coefficients
+     * @param pos position of the last positive coefficient
+     * @param o operator
+     * @param b bound to respect.
+     */
+    public PropScalarIncr(IntVar[] variables, int[] coeffs, int pos, Operator o, int b) {
+        super(variables, pos, o, b, PropagatorPriority.LINEAR, true);
+        this.c = coeffs;
+        this.bLB = model.getEnvironment().makeLong();
+        this.bUB = model.getEnvironment().makeLong();
+        this.bMaxI = model.getEnvironment().makeLong();
+        this.lbs = model.getEnvironment().makeIntArray(l, 0);
+        this.ubs = model.getEnvironment().makeIntArray(l, 0);
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            long lb = 0, ub = 0, m = 0;
+            for (int i = 0; i < l; i++) {
+                int vlb = vars[i].getLB();
+                int vub = vars[i].getUB();
+                lbs.set(i, vlb);
+                ubs.set(i, vub);
+                if (i < pos) {
+                    lb += (long) c[i] * vlb;
+                    ub += (long) c[i] * vub;
+                } else {
+                    lb += (long) c[i] * vub;
+                    ub += (long) c[i] * vlb;
+                }
+                m = Math.max(m, variability(i));
+            }
+            bLB.set(lb);
+            bUB.set(ub);
+            bMaxI.set(m);
+        }
+        filter();
+    }
+
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        refresh(idxVarInProp);
+        long F = b - bLB.get();
+        long E = bUB.get() - b;
+        long m = bMaxI.get();
+        boolean doFilter;
+        switch (o) {
+            case LE:
+                doFilter = m > F || E <= 0;
+                break;
+            case GE:
+                doFilter = m > E || F <= 0;
+                break;
+            case NQ:
+                doFilter = true;
+                break;
+            default:
+                doFilter = m > F || m > E;
+                break;
+        }
+        if (doFilter) {
+            forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+        }
+    }
+
+    /**
+     * Report the bound modifications of the variable in position <i>i</i> on the sums, if any.
+     * @param i position of a variable
+     * @return {@code true} if the sums have been modified
+     */
+    private boolean refresh(int i) {
+        int lb = vars[i].getLB();
+        int ub = vars[i].getUB();
+        int olb = lbs.get(i);
+        int oub = ubs.get(i);
+        if (lb != olb || ub != oub) {
+            long dl = (long) c[i] * ((long) lb - olb);
+            long du = (long) c[i] * ((long) ub - oub);
+            if (i < pos) {
+                bLB.set(bLB.get() + dl);
+                bUB.set(bUB.get() + du);
+            } else {
+                bLB.set(bLB.get() + du);
+                bUB.set(bUB.get() + dl);
+            }
+            lbs.set(i, lb);
+            ubs.set(i, ub);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param i position of a variable
+     * @return the current variability of the term in position <i>i</i>
+     */
+    private long variability(int i) {
+        return ((long) vars[i].getUB() - vars[i].getLB()) * Math.abs((long) c[i]);
+    }
+
+    @Override
+    protected void filter() throws ContradictionException {
+        if (o == Operator.NQ) {
+            filterOnNeq();
+            return;
+        }
+        boolean onF = o != Operator.GE;
+        boolean onE = o != Operator.LE;
+        boolean anychange;
+        long F, E;
+        do {
+            anychange = false;
+            F = b - bLB.get();
+            E = bUB.get() - b;
+            if ((onF && F < 0) || (onE && E < 0)) {
+                fails();
+            }
+            if ((onF && bMaxI.get() > F) || (onE && bMaxI.get() > E)) {
+                long m = 0;
+                for (int i = 0; i < l; i++) {
+                    if (refresh(i)) { // only when the variable appears more than once
+                        F = b - bLB.get();
+                        E = bUB.get() - b;
+                        if ((onF && F < 0) || (onE && E < 0)) {
+                            fails();
+                        }
+                    }
+                    long a = Math.abs((long) c[i]);
+                    if (onF && variability(i) > F) {
+                        // the term cannot be greater than its lower bound plus F
+                        if (i < pos) {
+                            anychange |= vars[i].updateUpperBound((int) (vars[i].getLB() + F / a), this);
+                        } else {
+                            anychange |= vars[i].updateLowerBound((int) (vars[i].getUB() - F / a), this);
+                        }
+                        refresh(i);
+                        F = b - bLB.get();
+                        E = bUB.get() - b;
+                        if ((onF && F < 0) || (onE && E < 0)) {
+                            fails();
+                        }
+                    }
+                    if (onE && variability(i) > E) {
+                        // the term cannot be less than its upper bound minus E
+                        if (i < pos) {
+                            anychange |= vars[i].updateLowerBound((int) (vars[i].getUB() - E / a), this);
+                        } else {
+                            anychange |= vars[i].updateUpperBound((int) (vars[i].getLB() + E / a), this);
+                        }
+                        refresh(i);
+                        F = b - bLB.get();
+                        E = bUB.get() - b;
+                        if ((onF && F < 0) || (onE && E < 0)) {
+                            fails();
+                        }
+                    }
+                    m = Math.max(m, variability(i));
+                }
+                bMaxI.set(m);
+            }
+        } while (anychange && onF && onE);
+        if ((!onE || F <= 0) && (!onF || E <= 0)) {
+            this.setPassive();
+        }
+    }
+
+    @Override
+    protected void filterOnNeq() throws ContradictionException {
+        long F = b - bLB.get();
+        long E = bUB.get() - b;
+        if (F < 0 || E < 0) {
+            setPassive();
+            return;
+        }
+        int w = -1;
+        long sum = 0;
+        for (int i = 0; i < l; i++) {
+            if (vars[i].isInstantiated()) {
+                sum += (long) vars[i].getValue() * c[i];
+            } else if (w == -1) {
+                w = i;
+            } else return;
+        }
+        if (w == -1) {
+            if (sum == b) {
+                this.fails();
+            }
+        } else if ((b - sum) % c[w] == 0) {
+            long v = (b - sum) / c[w];
+            if (v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE) {
+                vars[w].removeValue((int) v, this);
+            }
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        long sumUB = 0, sumLB = 0;
+        int i = 0;
+        for (; i < pos; i++) { // first the positive coefficients
+            sumLB += (long) vars[i].getLB() * c[i];
+            sumUB += (long) vars[i].getUB() * c[i];
+        }
+        for (; i < l; i++) { // then the negative ones
+            sumLB += (long) vars[i].getUB() * c[i];
+            sumUB += (long) vars[i].getLB() * c[i];
+        }
+        // compare the sums to b without losing precision
+        return checkSigns(Long.signum(sumLB - b), Long.signum(sumUB - b));
+    }
+
+    /**
+     * Whether the current state of the scalar product is entailed
+     * @param sLB sign of the difference between the sum of lower bounds and b
+     * @param sUB sign of the difference between the sum of upper bounds and b
+     * @return the entailment check
+     */
+    private ESat checkSigns(int sLB, int sUB) {
+        switch (o) {
+            case NQ:
+                if (sUB < 0 || sLB > 0) {
+                    return ESat.TRUE;
+                }
+                if (sUB == 0 && sLB == 0) {
+                    return ESat.FALSE;
+                }
+                return ESat.UNDEFINED;
+            case LE:
+                if (sUB <= 0) {
+                    return ESat.TRUE;
+                }
+                if (sLB > 0) {
+                    return ESat.FALSE;
+                }
+                return ESat.UNDEFINED;
+            case GE:
+                if (sLB >= 0) {
+                    return ESat.TRUE;
+                }
+                if (sUB < 0) {
+                    return ESat.FALSE;
+                }
+                return ESat.UNDEFINED;
+            default:
+                if (sLB == 0 && sUB == 0) {
+                    return ESat.TRUE;
+                }
+                if (sUB < 0 || sLB > 0) {
+                    return ESat.FALSE;
+                }
+                return ESat.UNDEFINED;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder linComb = new StringBuilder(20);
+        linComb.append(c[0]).append('.').append(vars[0].getName());
+        int i = 1;
+        for (; i < pos; i++) {
+            linComb.append(" + ").append(c[i]).append('.').append(vars[i].getName());
+        }
+        for (; i < l; i++) {
+            linComb.append(" - ").append(-c[i]).append('.').append(vars[i].getName());
+        }
+        linComb.append(" ").append(o).append(" ");
+        linComb.append(b);
+        return linComb.toString();
+    }
+
+    @Override
+    protected PropSum opposite() {
+        return new PropScalarIncr(vars, c, pos, nop(o), b + nb(o));
+    }
+
+}
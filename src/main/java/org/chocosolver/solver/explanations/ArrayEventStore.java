@@ -11,6 +11,7 @@ package org.chocosolver.solver.explanations;
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.explanations.store.IEventStore;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IEventType;
 
@@ -21,7 +22,7 @@ import org.chocosolver.solver.variables.events.IEventType;
  * @author Charles Prud'homme
  * @since 13/11/14
  */
-public class ArrayEventStore {
+public class ArrayEventStore implements IEventStore {
 
     /**
      * Default size of arrays
@@ -81,6 +82,7 @@ public class ArrayEventStore {
      * @param two an int
      * @param three an int
      */
+    @Override
     public void pushEvent(IntVar var, ICause cause, IEventType mask, int one, int two, int three) {
         //        assert cause != Cause.Null : "cause null";
         int idx = size.get();
@@ -99,6 +101,7 @@ public class ArrayEventStore {
     /**
      * Forget the last event pushed
      */
+    @Override
     public void forgetLast() {
         size.add(-1);
     }
@@ -135,6 +138,7 @@ public class ArrayEventStore {
     /**
      * @return number of events stored in this
      */
+    @Override
     public int getSize() {
         return size.get();
     }
@@ -143,6 +147,7 @@ public class ArrayEventStore {
      * @param evt event index
      * @return the variable associated to the event in position <i>evt</i>
      */
+    @Override
     public IntVar getVariable(int evt) {
         return varChunks[evt];
     }
@@ -151,6 +156,7 @@ public class ArrayEventStore {
      * @param evt event index
      * @return the event type associated to the event in position <i>evt</i>
      */
+    @Override
     public IEventType getEventType(int evt) {
         return masChunks[evt];
     }
@@ -159,6 +165,7 @@ public class ArrayEventStore {
      * @param evt event index
      * @return the cause associated to the event in position <i>evt</i>
      */
+    @Override
     public ICause getCause(int evt) {
         return cauChunks[evt];
     }
@@ -167,6 +174,7 @@ public class ArrayEventStore {
      * @param evt event index
      * @return the first integer associated to the event in position <i>evt</i>
      */
+    @Override
     public int getFirstValue(int evt) {
         return val1Chunks[evt];
     }
@@ -175,6 +183,7 @@ public class ArrayEventStore {
      * @param evt event index
      * @return the second associated to the event in position <i>evt</i>
      */
+    @Override
     public int getSecondValue(int evt) {
         return val2Chunks[evt];
     }
@@ -183,6 +192,7 @@ public class ArrayEventStore {
      * @param evt event index
      * @return the third associated to the event in position <i>evt</i>
      */
+    @Override
     public int getThirdValue(int evt) {
         return val3Chunks[evt];
     }
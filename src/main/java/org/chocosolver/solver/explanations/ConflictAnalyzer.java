@@ -0,0 +1,953 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.explanations;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TLongIntHashMap;
+import org.chocosolver.sat.PropNogoods;
+import org.chocosolver.sat.SatSolver;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.explanations.store.IEventStore;
+import org.chocosolver.solver.objective.IObjectiveManager;
+import org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch;
+import org.chocosolver.solver.search.loop.monitors.IMonitorInitialize;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * A conflict analyzer which learns clauses over integer literals, lazy clause generation-like [1].
+ * <p>
+ * Each event of the event store of an {@link ExplanationEngine} is read as an atom:
+ * <i>x &ge; a</i> (lower bound increased), <i>x &le; b</i> (upper bound decreased), <i>x = v</i> (instantiation)
+ * or <i>x &ne; w</i> (value removal).
+ * On a failure, the atoms in conflict are resolved, latest first, with their reason:
+ * the {@link ICause#why(RuleStore, IntVar, IEventType, int)} method of their cause is called, and the parts of the
+ * domains it refers to are mapped back to the atoms which established them at the time of the event.
+ * Modifications made by {@link PropNogoods} are explained by the clause which made them
+ * (see {@link PropNogoods#reason(IntVar, IEventType, int, IntPredicate)}).
+ * The resolution stops on the first unique implication point (1-UIP) of the conflict level,
+ * the atoms collected so far make the learnt clause, whose literals
+ * ({@code [x <= v]} and {@code [x = v]}) are created on demand in {@link PropNogoods}.
+ * <p>
+ * Since the search can only refute a decision, the resolution is then carried on to the decision of the conflict level,
+ * the other atoms explain its refutation, and the search backjumps to it.
+ * Refuted decisions are explained by the reason thus recorded.
+ * <p>
+ * The events are chained per variable, incrementally: only the events added since the last analysis are chained,
+ * the ones forgotten on backtrack are unchained.
+ * Events made at the root node, or by the objective manager, are facts and never appear in a clause.
+ * <p>
+ * [1]: O. Ohrimenko, P.J. Stuckey, M. Codish, Propagation via lazy clause generation, Constraints 14(3), 2009.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class ConflictAnalyzer implements IMonitorDownBranch, IMonitorInitialize, IMonitorRestart {
+
+    /**
+     * The model to explain
+     */
+    private final Model model;
+
+    /**
+     * The events to analyze
+     */
+    private final IEventStore store;
+
+    /**
+     * The store of learnt clauses, which also defines the literals
+     */
+    private final PropNogoods ngstore;
+
+    /**
+     * Collects the reasons given by the causes
+     */
+    private final Reasons reasons;
+
+    /**
+     * Previous event on the same variable, for each chained event
+     */
+    private int[] prev;
+
+    /**
+     * ID of the variable of each chained event, -1 for propagator activations
+     */
+    private int[] evVid;
+
+    /**
+     * Removed value of each chained removal, propagator ID of each chained activation
+     */
+    private int[] evVal;
+
+    /**
+     * Number of chained events
+     */
+    private int linked;
+
+    /**
+     * Events from this index have to be unchained, they may have been forgotten on backtrack
+     */
+    private int truncate;
+
+    /**
+     * Last chained event of each variable, indexed by ID
+     */
+    private int[] last;
+
+    /**
+     * Variables, indexed by ID
+     */
+    private IntVar[] vars;
+
+    /**
+     * Chained propagator activations, in chronological order
+     */
+    private final TIntArrayList activations;
+
+    /**
+     * Chained events made by a decision or by {@link Cause#Null}, in chronological order
+     */
+    private final TIntArrayList leaves;
+
+    /**
+     * Chained removal of each couple variable-value
+     */
+    private final TLongIntHashMap removals;
+
+    /**
+     * Position in the decision path of the first decision of each world opened since the root node
+     */
+    private int[] wPos;
+
+    /**
+     * Index of the first event of each world opened since the root node
+     */
+    private int[] wStart;
+
+    /**
+     * Number of worlds opened since the root node
+     */
+    private int nbWorlds;
+
+    /**
+     * Refuted decisions, indexed by position, and their reason, an array of events, <i>null</i> to refute
+     * a decision because the ones of its world are exhausted
+     */
+    private Decision[] refDecisions;
+    private int[][] refReasons;
+
+    /**
+     * Events before this index are made at the root node
+     */
+    private int rootEnd;
+
+    /**
+     * Stamp of the current analysis
+     */
+    private int stamp;
+
+    /**
+     * Per variable, stamp of the analysis when its bounds have been reconstructed,
+     * latest event not reverted, and bounds before this event
+     */
+    private int[] vstamp, cursor, lbAt, ubAt;
+
+    /**
+     * Atoms to resolve or to keep
+     */
+    private final BitSet seen;
+
+    /**
+     * Index of the first event of the conflict level
+     */
+    private int curStart;
+
+    /**
+     * Number of atoms of the conflict level
+     */
+    private int count;
+
+    /**
+     * Per variable, stamp of the last reason it appears in and rule mask
+     */
+    private int[] needStamp, needMask;
+
+    /**
+     * Stamp of the reason being collected
+     */
+    private int needTick;
+
+    /**
+     * Variables and values of the removal rules of the reason being collected
+     */
+    private final ArrayList<IntVar> needVars, remVars;
+    private final TIntArrayList remVals;
+
+    /**
+     * Propagator activation rules of the reason being collected
+     */
+    private final TIntArrayList needProps;
+
+    /**
+     * Time at which literals are evaluated, see {@link #falseAt}
+     */
+    private int evalTime;
+
+    /**
+     * Tells whether a literal was false at {@link #evalTime}
+     */
+    private final IntPredicate falseAt;
+
+    /**
+     * Per variable, stamp of the last clause it appears in, bounds and instantiation in this clause
+     */
+    private int[] clStamp, clLB, clUB;
+    private boolean[] clInst;
+
+    /**
+     * Stamp of the clause being built
+     */
+    private int clTick;
+
+    /**
+     * The last learnt clause
+     */
+    private int[] clause;
+
+    /**
+     * The last backjump
+     */
+    private int jump;
+
+    /**
+     * Create a conflict analyzer, which has to be plugged as a search monitor.
+     *
+     * @param model   the model to explain
+     * @param store   the events of the explanation engine
+     * @param ngstore the store of learnt clauses
+     */
+    public ConflictAnalyzer(Model model, IEventStore store, PropNogoods ngstore) {
+        this.model = model;
+        this.store = store;
+        this.ngstore = ngstore;
+        this.reasons = new Reasons();
+        this.prev = new int[64];
+        this.evVid = new int[64];
+        this.evVal = new int[64];
+        this.last = new int[0];
+        this.vars = new IntVar[0];
+        this.vstamp = new int[0];
+        this.cursor = new int[0];
+        this.lbAt = new int[0];
+        this.ubAt = new int[0];
+        this.needStamp = new int[0];
+        this.needMask = new int[0];
+        this.clStamp = new int[0];
+        this.clLB = new int[0];
+        this.clUB = new int[0];
+        this.clInst = new boolean[0];
+        this.activations = new TIntArrayList();
+        this.leaves = new TIntArrayList();
+        this.removals = new TLongIntHashMap(16, .5f, Long.MIN_VALUE, -1);
+        this.wPos = new int[16];
+        this.wStart = new int[16];
+        this.refDecisions = new Decision[16];
+        this.refReasons = new int[16][];
+        this.seen = new BitSet();
+        this.needVars = new ArrayList<>();
+        this.remVars = new ArrayList<>();
+        this.remVals = new TIntArrayList();
+        this.needProps = new TIntArrayList();
+        this.falseAt = this::isFalse;
+        this.truncate = Integer.MAX_VALUE;
+        this.clause = new int[0];
+    }
+
+    @Override
+    public void beforeInitialize() {
+        forgetWorlds();
+    }
+
+    @Override
+    public void afterRestart() {
+        forgetWorlds();
+    }
+
+    private void forgetWorlds() {
+        nbWorlds = 0;
+        truncate = 0;
+        Arrays.fill(refDecisions, null);
+        Arrays.fill(refReasons, null);
+    }
+
+    @Override
+    public void beforeDownBranch(boolean left) {
+        int p = model.getSolver().getDecisionPath().indexPreviousLevelLastLevel();
+        int s = store.getSize();
+        truncate = Math.min(truncate, s);
+        // worlds popped since, a refuted decision is at the same position as in its previous world
+        while (nbWorlds > 0 && wPos[nbWorlds - 1] >= p) {
+            int q = wPos[--nbWorlds];
+            if (q != p) {
+                refDecisions[q] = null;
+                refReasons[q] = null;
+            }
+        }
+        if (nbWorlds == wPos.length) {
+            wPos = Arrays.copyOf(wPos, nbWorlds * 3 / 2 + 1);
+            wStart = Arrays.copyOf(wStart, wPos.length);
+        }
+        wPos[nbWorlds] = p;
+        wStart[nbWorlds++] = s;
+    }
+
+    /**
+     * Analyze a failure: compute the learnt clause, see {@link #getClause()},
+     * and the backjump, see {@link #getJump()}.
+     *
+     * @param cex the contradiction to explain
+     */
+    public void analyze(ContradictionException cex) {
+        chain();
+        int n = store.getSize();
+        rootEnd = nbWorlds > 0 ? wStart[0] : n;
+        stamp++;
+        seen.clear();
+        curStart = Integer.MAX_VALUE;
+        count = 0;
+        start(cex, n);
+        resolve();
+    }
+
+    /**
+     * Prepare the refutation of the last refutable decision after a solution,
+     * it is explained by the decisions above it.
+     */
+    public void onSolution() {
+        DecisionPath path = model.getSolver().getDecisionPath();
+        for (int k = nbWorlds; k > 0; k--) {
+            Decision d = path.getDecision(wPos[k - 1]);
+            if (d.hasNext()) {
+                storeReason(d, null);
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return the literals of the last learnt clause, empty if the failure does not depend on the search
+     */
+    public int[] getClause() {
+        return clause;
+    }
+
+    /**
+     * @return the number of worlds to backtrack to refute the decision explained by the last failure,
+     * the size of the decision path if none can be refuted
+     * (see {@link org.chocosolver.solver.Solver#setJumpTo(int)})
+     */
+    public int getJump() {
+        return jump;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //////////////////////////////////////////////////// CHAINING //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Unchain the events forgotten since the last analysis and chain the new ones
+     */
+    private void chain() {
+        int n = store.getSize();
+        truncate = Math.min(truncate, n);
+        for (int e = linked - 1; e >= truncate; e--) {
+            unlink(e);
+        }
+        linked = Math.min(linked, truncate);
+        if (n > prev.length) {
+            int size = Math.max(n, prev.length * 3 / 2 + 1);
+            prev = Arrays.copyOf(prev, size);
+            evVid = Arrays.copyOf(evVid, size);
+            evVal = Arrays.copyOf(evVal, size);
+        }
+        for (int e = linked; e < n; e++) {
+            link(e);
+        }
+        linked = n;
+        truncate = Integer.MAX_VALUE;
+    }
+
+    private void link(int e) {
+        if (store.getEventType(e) == PropagatorEventType.FULL_PROPAGATION) {
+            evVid[e] = -1;
+            evVal[e] = store.getFirstValue(e);
+            activations.add(e);
+        } else {
+            IntVar var = store.getVariable(e);
+            int vid = var.getId();
+            ensureVariable(vid);
+            vars[vid] = var;
+            evVid[e] = vid;
+            prev[e] = last[vid];
+            last[vid] = e;
+            if (store.getEventType(e) == IntEventType.REMOVE) {
+                evVal[e] = store.getFirstValue(e);
+                removals.put(key(vid, evVal[e]), e);
+            } else {
+                evVal[e] = Integer.MIN_VALUE;
+            }
+            ICause cause = store.getCause(e);
+            if (cause instanceof Decision || cause == Cause.Null) {
+                leaves.add(e);
+            }
+        }
+    }
+
+    private void unlink(int e) {
+        int vid = evVid[e];
+        if (vid == -1) {
+            activations.removeAt(activations.size() - 1);
+        } else {
+            last[vid] = prev[e];
+            long k = key(vid, evVal[e]);
+            if (removals.get(k) == e) {
+                removals.remove(k);
+            }
+            if (leaves.size() > 0 && leaves.get(leaves.size() - 1) == e) {
+                leaves.removeAt(leaves.size() - 1);
+            }
+        }
+    }
+
+    private static long key(int vid, int value) {
+        return ((long) vid << 32) | (value & 0xFFFFFFFFL);
+    }
+
+    private void ensureVariable(int vid) {
+        if (vid >= last.length) {
+            int size = Math.max(vid + 1, last.length * 3 / 2 + 1);
+            int old = last.length;
+            last = Arrays.copyOf(last, size);
+            Arrays.fill(last, old, size, -1);
+            vars = Arrays.copyOf(vars, size);
+            vstamp = Arrays.copyOf(vstamp, size);
+            cursor = Arrays.copyOf(cursor, size);
+            lbAt = Arrays.copyOf(lbAt, size);
+            ubAt = Arrays.copyOf(ubAt, size);
+            needStamp = Arrays.copyOf(needStamp, size);
+            needMask = Arrays.copyOf(needMask, size);
+            clStamp = Arrays.copyOf(clStamp, size);
+            clLB = Arrays.copyOf(clLB, size);
+            clUB = Arrays.copyOf(clUB, size);
+            clInst = Arrays.copyOf(clInst, size);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////////////////// DOMAINS //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Reconstruct the bounds of <i>var</i> just before the event <i>t</i>, in {@link #lbAt} and {@link #ubAt}.
+     * During an analysis, the bounds of a variable are reconstructed at decreasing times.
+     *
+     * @param var a variable
+     * @param t   index of an event
+     */
+    private void boundsAt(IntVar var, int t) {
+        int vid = var.getId();
+        ensureVariable(vid);
+        if (vstamp[vid] != stamp) {
+            vstamp[vid] = stamp;
+            cursor[vid] = last[vid];
+            lbAt[vid] = var.getLB();
+            ubAt[vid] = var.getUB();
+        }
+        int e = cursor[vid];
+        while (e >= t) {
+            IEventType type = store.getEventType(e);
+            if (type == IntEventType.INCLOW) {
+                lbAt[vid] = store.getSecondValue(e);
+            } else if (type == IntEventType.DECUPP) {
+                ubAt[vid] = store.getSecondValue(e);
+            } else if (type == IntEventType.INSTANTIATE) {
+                lbAt[vid] = store.getSecondValue(e);
+                ubAt[vid] = store.getThirdValue(e);
+            } else {
+                int w = store.getFirstValue(e);
+                if (w < lbAt[vid]) {
+                    lbAt[vid] = w;
+                } else if (w > ubAt[vid]) {
+                    ubAt[vid] = w;
+                }
+            }
+            e = prev[e];
+        }
+        cursor[vid] = e;
+    }
+
+    /**
+     * @param lit a literal of {@link #ngstore}
+     * @return <tt>true</tt> if <i>lit</i> was false just before the event {@link #evalTime}
+     */
+    private boolean isFalse(int lit) {
+        IntVar var = ngstore.getIntVar(lit);
+        int value = ngstore.getValue(lit);
+        boundsAt(var, evalTime);
+        int lb = lbAt[var.getId()];
+        int ub = ubAt[var.getId()];
+        if (ngstore.isEqLiteral(lit)) {
+            if (SatSolver.sign(lit)) {
+                int r = removals.get(key(var.getId(), value));
+                return value < lb || value > ub || (r > -1 && r < evalTime);
+            }
+            return lb == value && ub == value;
+        }
+        return SatSolver.sign(lit) ? lb > value : ub <= value;
+    }
+
+    /**
+     * Mark the atoms which establish a part of the domain of <i>var</i> just before the event <i>t</i>.
+     *
+     * @param var  a variable
+     * @param mask the parts of the domain, as a rule mask of {@link RuleStore}
+     * @param t    index of an event
+     */
+    private void scan(IntVar var, int mask, int t) {
+        boundsAt(var, t);
+        int vid = var.getId();
+        int lb = lbAt[vid];
+        int ub = ubAt[vid];
+        boolean needLB = (mask & 2) != 0;
+        boolean needUB = (mask & 4) != 0;
+        boolean holes = (mask & 8) != 0;
+        // values of the latest atoms on the bounds
+        int a = Integer.MIN_VALUE;
+        int b = Integer.MAX_VALUE;
+        boolean lbFound = !needLB;
+        boolean ubFound = !needUB;
+        for (int e = cursor[vid]; e >= 0; e = prev[e]) {
+            if (lbFound && ubFound && !holes && (!needLB || a == lb) && (!needUB || b == ub)) {
+                break;
+            }
+            IEventType type = store.getEventType(e);
+            int v = store.getFirstValue(e);
+            if (type == IntEventType.INCLOW) {
+                if (!lbFound) {
+                    lbFound = true;
+                    a = v;
+                    mark(e);
+                }
+            } else if (type == IntEventType.DECUPP) {
+                if (!ubFound) {
+                    ubFound = true;
+                    b = v;
+                    mark(e);
+                }
+            } else if (type == IntEventType.INSTANTIATE) {
+                if (!lbFound || !ubFound) {
+                    mark(e);
+                    if (!lbFound) {
+                        lbFound = true;
+                        a = v;
+                    }
+                    if (!ubFound) {
+                        ubFound = true;
+                        b = v;
+                    }
+                }
+            } else if ((needLB && v < lb && v >= a) || (needUB && v > ub && v <= b) || (holes && v > lb && v < ub)) {
+                // a removal which moved a bound beyond a bound atom, or a hole
+                mark(e);
+            }
+        }
+    }
+
+    /**
+     * Mark the atoms which make the propagator <i>pid</i> active just before the event <i>t</i>
+     */
+    private void activation(int pid, int t) {
+        for (int k = activations.size() - 1; k >= 0; k--) {
+            int e = activations.get(k);
+            if (e < t && evVal[e] == pid) {
+                scan(store.getVariable(e), RuleStore.DM, t);
+                break;
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////////////////// REASONS //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void mark(int e) {
+        if (e >= rootEnd && !seen.get(e) && !(store.getCause(e) instanceof IObjectiveManager)) {
+            seen.set(e);
+            if (e >= curStart) {
+                count++;
+            }
+        }
+    }
+
+    private boolean isLeaf(int e) {
+        ICause cause = store.getCause(e);
+        if (cause instanceof Decision) {
+            Decision d = (Decision) cause;
+            return d.hasNext() || d.getArity() == 1;
+        }
+        return cause == Cause.Null;
+    }
+
+    private void need(IntVar var, int mask) {
+        int vid = var.getId();
+        ensureVariable(vid);
+        if (needStamp[vid] != needTick) {
+            needStamp[vid] = needTick;
+            needMask[vid] = 0;
+            needVars.add(var);
+        }
+        needMask[vid] |= mask;
+    }
+
+    /**
+     * Collect the reason of the event <i>e</i>, which is neither a leaf nor a fact.
+     * The reason of a refuted decision is marked at once, the other ones are collected to be applied at <i>e</i>.
+     */
+    private void explain(int e) {
+        ICause cause = store.getCause(e);
+        if (cause instanceof Decision) {
+            Decision d = (Decision) cause;
+            int p = d.getPosition();
+            int[] r = p < refDecisions.length && refDecisions[p] == d ? refReasons[p] : null;
+            if (r != null) {
+                for (int i = 0; i < r.length; i++) {
+                    mark(r[i]);
+                }
+            } else {
+                // the decisions of the worlds below are exhausted
+                int end = wStart[levelOf(e) - 1];
+                for (int k = 0; k < leaves.size() && leaves.get(k) < end; k++) {
+                    mark(leaves.get(k));
+                }
+            }
+            return;
+        }
+        IntVar var = store.getVariable(e);
+        IEventType type = store.getEventType(e);
+        int value = store.getFirstValue(e);
+        if (cause == ngstore) {
+            evalTime = e;
+            int[] others = ngstore.reason(var, type, value, falseAt);
+            if (others != null) {
+                for (int i = 0; i < others.length; i++) {
+                    need(others[i]);
+                }
+            } else {
+                for (int i = 0; i < ngstore.getNbVars(); i++) {
+                    need(ngstore.getVar(i), RuleStore.DM);
+                }
+            }
+        } else {
+            cause.why(reasons, var, type, value);
+            if (cause instanceof Propagator) {
+                // a propagator may rely on the domain of the variable it modifies
+                if (type == IntEventType.INCLOW) {
+                    need(var, RuleStore.LB);
+                } else if (type == IntEventType.DECUPP) {
+                    need(var, RuleStore.UB);
+                } else if (type == IntEventType.INSTANTIATE) {
+                    need(var, RuleStore.DM);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect the atom which makes the literal <i>lit</i> false
+     */
+    private void need(int lit) {
+        IntVar var = ngstore.getIntVar(lit);
+        if (ngstore.isEqLiteral(lit)) {
+            if (SatSolver.sign(lit)) {
+                remVars.add(var);
+                remVals.add(ngstore.getValue(lit));
+            } else {
+                need(var, RuleStore.BD);
+            }
+        } else {
+            need(var, SatSolver.sign(lit) ? RuleStore.LB : RuleStore.UB);
+        }
+    }
+
+    /**
+     * Mark the atoms of the reason collected, as they were just before the event <i>t</i>
+     */
+    private void apply(int t) {
+        // removed values within the bounds are explained by their removal, the other ones by a bound
+        for (int i = 0; i < remVars.size(); i++) {
+            IntVar var = remVars.get(i);
+            int w = remVals.get(i);
+            boundsAt(var, t);
+            if (w < lbAt[var.getId()]) {
+                need(var, RuleStore.LB);
+            } else if (w > ubAt[var.getId()]) {
+                need(var, RuleStore.UB);
+            } else {
+                int r = removals.get(key(var.getId(), w));
+                if (r > -1 && r < t) {
+                    mark(r);
+                }
+            }
+        }
+        for (int i = 0; i < needVars.size(); i++) {
+            IntVar var = needVars.get(i);
+            scan(var, needMask[var.getId()], t);
+        }
+        for (int i = 0; i < needProps.size(); i++) {
+            activation(needProps.get(i), t);
+        }
+        needVars.clear();
+        remVars.clear();
+        remVals.resetQuick();
+        needProps.resetQuick();
+        needTick++;
+    }
+
+    /**
+     * @return the world of the event <i>e</i>, 0 for the root node
+     */
+    private int levelOf(int e) {
+        int lo = 0, hi = nbWorlds;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (wStart[mid] <= e) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void storeReason(Decision d, int[] reason) {
+        int p = d.getPosition();
+        if (p >= refDecisions.length) {
+            refDecisions = Arrays.copyOf(refDecisions, Math.max(p + 1, refDecisions.length * 3 / 2 + 1));
+            refReasons = Arrays.copyOf(refReasons, refDecisions.length);
+        }
+        refDecisions[p] = d;
+        refReasons[p] = reason;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //////////////////////////////////////////////////// ANALYSIS //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Mark the atoms in conflict
+     */
+    private void start(ContradictionException cex, int n) {
+        needTick++;
+        if (cex.v instanceof IntVar) {
+            IntVar var = (IntVar) cex.v;
+            int vid = var.getId();
+            int f = vid < last.length ? last[vid] : -1;
+            if (f > -1 && store.getCause(f) == cex.c) {
+                // the event which failed, and the domain it empties
+                if (isLeaf(f)) {
+                    mark(f);
+                } else if (!(cex.c instanceof IObjectiveManager)) {
+                    explain(f);
+                }
+                need(var, RuleStore.DM);
+                apply(f);
+                return;
+            }
+            need(var, RuleStore.DM);
+        }
+        // the clauses only fail without modifying a variable when they are unsatisfiable at the root node
+        if (cex.c != null && cex.c != Cause.Null && cex.c != ngstore) {
+            cex.c.why(reasons, null, IntEventType.VOID, 0);
+        }
+        apply(n);
+    }
+
+    /**
+     * Resolve the atoms in conflict up to the first UIP, to get the learnt clause,
+     * then up to the decision of the conflict level, to get the backjump
+     */
+    private void resolve() {
+        DecisionPath path = model.getSolver().getDecisionPath();
+        int[] atoms = null;
+        int target = 0;
+        int i = seen.length() - 1;
+        int level = i >= 0 ? levelOf(i) : 0;
+        while (level > 0) {
+            curStart = wStart[level - 1];
+            count = seen.get(curStart, i + 1).cardinality();
+            boolean leaf = false;
+            boolean decided = true;
+            for (i = seen.previousSetBit(i); i >= curStart; i = seen.previousSetBit(i - 1)) {
+                if (atoms == null && count == 1) {
+                    atoms = seen.stream().toArray();
+                }
+                if (isLeaf(i)) {
+                    leaf = true;
+                    decided &= store.getCause(i) instanceof Decision;
+                } else {
+                    seen.clear(i);
+                    count--;
+                    explain(i);
+                    apply(i);
+                }
+            }
+            if (leaf) {
+                if (atoms == null) {
+                    atoms = seen.stream().toArray();
+                }
+                Decision d = path.getDecision(wPos[level - 1]);
+                if (decided && d.hasNext()) {
+                    target = level;
+                    storeReason(d, seen.get(0, curStart).stream().toArray());
+                } else {
+                    // the world cannot be refuted, the nearest refutable one is, as on a chronological backtrack
+                    target = level - 1;
+                    while (target > 0 && !path.getDecision(wPos[target - 1]).hasNext()) {
+                        target--;
+                    }
+                    if (target > 0) {
+                        storeReason(path.getDecision(wPos[target - 1]), null);
+                    }
+                }
+                break;
+            }
+            // all the atoms of the level have been resolved
+            level = i >= 0 ? levelOf(i) : 0;
+        }
+        if (atoms == null) {
+            atoms = seen.stream().toArray();
+        }
+        clause = toClause(atoms);
+        jump = target > 0 ? nbWorlds - target + 1 : path.size();
+        curStart = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Turn a conjunction of atoms into a clause, the atoms implied by another one on the same variable are skipped
+     */
+    private int[] toClause(int[] atoms) {
+        clTick++;
+        for (int e : atoms) {
+            int vid = evVid[e];
+            if (clStamp[vid] != clTick) {
+                clStamp[vid] = clTick;
+                clLB[vid] = Integer.MIN_VALUE;
+                clUB[vid] = Integer.MAX_VALUE;
+                clInst[vid] = false;
+            }
+            IEventType type = store.getEventType(e);
+            int v = store.getFirstValue(e);
+            if (type == IntEventType.INCLOW) {
+                clLB[vid] = Math.max(clLB[vid], v);
+            } else if (type == IntEventType.DECUPP) {
+                clUB[vid] = Math.min(clUB[vid], v);
+            } else if (type == IntEventType.INSTANTIATE) {
+                clInst[vid] = true;
+                clLB[vid] = clUB[vid] = v;
+            }
+        }
+        clTick++;
+        TIntArrayList lits = new TIntArrayList(atoms.length);
+        for (int e : atoms) {
+            int vid = evVid[e];
+            IntVar var = vars[vid];
+            if (store.getEventType(e) == IntEventType.REMOVE) {
+                int w = evVal[e];
+                if (!clInst[vid] && clLB[vid] <= w && w <= clUB[vid]) {
+                    lits.add(ngstore.Literal(var, w, true));
+                }
+            } else if (clStamp[vid] != clTick) {
+                clStamp[vid] = clTick;
+                if (clInst[vid]) {
+                    lits.add(SatSolver.negated(ngstore.Literal(var, clLB[vid], true)));
+                } else {
+                    if (clLB[vid] > Integer.MIN_VALUE) {
+                        lits.add(ngstore.Literal(var, clLB[vid] - 1, false));
+                    }
+                    if (clUB[vid] < Integer.MAX_VALUE) {
+                        lits.add(SatSolver.negated(ngstore.Literal(var, clUB[vid], false)));
+                    }
+                }
+            }
+        }
+        return lits.toArray();
+    }
+
+    /**
+     * Collects the rules given by the causes, instead of storing them
+     */
+    private final class Reasons extends RuleStore {
+
+        Reasons() {
+            super(false, false);
+        }
+
+        @Override
+        public boolean addRemovalRule(IntVar var, int value) {
+            remVars.add(var);
+            remVals.add(value);
+            return true;
+        }
+
+        @Override
+        public boolean addFullDomainRule(IntVar var) {
+            need(var, DM);
+            return true;
+        }
+
+        @Override
+        public boolean addLowerBoundRule(IntVar var) {
+            need(var, LB);
+            return true;
+        }
+
+        @Override
+        public boolean addUpperBoundRule(IntVar var) {
+            need(var, UB);
+            return true;
+        }
+
+        @Override
+        public boolean addBoundsRule(IntVar var) {
+            need(var, BD);
+            return true;
+        }
+
+        @Override
+        public boolean addPropagatorActivationRule(Propagator propagator) {
+            needProps.add(propagator.getId());
+            return false;
+        }
+    }
+}
@@ -12,14 +12,19 @@ import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.explanations.store.IEventStore;
 import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.solver.variables.view.IView;
 import org.chocosolver.util.PoolManager;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * An Asynchronous, Reverse, Low-Intrusive and Lazy explanation engine
  * Based on "A Lazy explanation engine for Choco3", C.Prud'homme.
@@ -32,7 +37,7 @@ public class ExplanationEngine implements IExplanationEngine{
     /**
      * Events generated during search
      */
-    private final ArrayEventStore eventStore;
+    private final IEventStore eventStore;
     /**
      * Active rules, to compute explanation backward
      */
@@ -49,6 +54,18 @@ public class ExplanationEngine implements IExplanationEngine{
      * To recycle explanations
      */
     private PoolManager<Explanation> explanationPool;
+    /**
+     * The model to explain
+     */
+    private final Model model;
+    /**
+     * Maximum number of events analysed to compute an explanation
+     */
+    private int maxNbEvents = Integer.MAX_VALUE;
+    /**
+     * Maximum time spent to compute an explanation, in nanoseconds
+     */
+    private long maxTime = Long.MAX_VALUE;
 
 
     /**
@@ -58,9 +75,12 @@ public class ExplanationEngine implements IExplanationEngine{
      * @param recordCauses set to <tt>true</tt> to record causes in explanations, <tt>false</tt> otherwise
      */
     public ExplanationEngine(Model model, boolean partialExplanationsOn, boolean recordCauses) {
+        this.model = model;
         this.saveCauses = recordCauses;
         this.enablePartialExplanation = partialExplanationsOn;
-        eventStore = new ArrayEventStore(model.getEnvironment());
+        eventStore = model.getSettings().enableCompactEventStore() ?
+                new PackedEventStore(model.getEnvironment()) :
+                new ArrayEventStore(model.getEnvironment());
         ruleStore = new RuleStore(saveCauses, enablePartialExplanation);
         model.getSolver().setExplainer(this);
         this.explanationPool = new PoolManager<>();
@@ -78,6 +98,9 @@ public class ExplanationEngine implements IExplanationEngine{
     /**
      * Compute the explanation of the last event from the event store (naturally, the one that leads to a conflict),
      * and return the explanation of the failure, that is, the (sub-)set of decisions and propagators explaining the conflict.
+     * <p>
+     * If the budget set with {@link #setExplanationBudget(int, long)} is exhausted before the analysis ends,
+     * the explanation is completed with all the decisions of the current decision path.
      *
      * @param cex    contradiction to explain
      * @return an explanation (set of decisions and propagators).
@@ -92,8 +115,15 @@ public class ExplanationEngine implements IExplanationEngine{
             explanation.addCause(cex.c); // otherwise, we could miss it ;)
             cex.c.why(ruleStore, null, IntEventType.VOID, 0);
         }
+        boolean timed = maxTime < Long.MAX_VALUE;
+        long start = timed ? System.nanoTime() : 0L;
+        int n = 0;
         int i = eventStore.getSize() - 1;
         while (i > -1 && !ruleStore.isPreemptedStop()) {
+            if (n++ == maxNbEvents || (timed && (n & 0x3FF) == 0 && System.nanoTime() - start > maxTime)) {
+                complete(explanation);
+                break;
+            }
             if (ruleStore.match(i, eventStore)) {
                 ruleStore.update(i, eventStore, explanation);
             }
@@ -105,6 +135,40 @@ public class ExplanationEngine implements IExplanationEngine{
         return explanation;
     }
 
+    /**
+     * Complete an explanation whose analysis has been interrupted:
+     * all the decisions of the current decision path are considered to be involved in the conflict.
+     * The explanation is thus correct but weaker, and leads to a chronological backtrack.
+     *
+     * @param explanation the explanation to complete
+     */
+    private void complete(Explanation explanation) {
+        DecisionPath path = model.getSolver().getDecisionPath();
+        for (int p = path.size() - 1; p > 0; p--) {
+            Decision decision = path.getDecision(p);
+            if (decision.hasNext() || decision.getArity() == 1) {
+                explanation.addDecision(decision);
+            } else {
+                Explanation drr = ruleStore.getDecisionRefutation(decision);
+                if (drr != null) {
+                    explanation.addCausesAndDecisions(drr);
+                }
+            }
+        }
+        explanation.getRules().clear();
+    }
+
+    @Override
+    public void setExplanationBudget(int maxNbEvents, long maxTimeInMs) {
+        this.maxNbEvents = maxNbEvents > 0 ? maxNbEvents : Integer.MAX_VALUE;
+        this.maxTime = maxTimeInMs > 0 ? TimeUnit.MILLISECONDS.toNanos(maxTimeInMs) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void setReasonMemoisation(boolean memoisationOn) {
+        ruleStore.setReasonMemoisation(memoisationOn);
+    }
+
     /**
      * @param saveCauses set to <tt>true</tt> if causes need to be stored
      * @return an empty explanation, ready to be filled up
@@ -127,7 +191,7 @@ public class ExplanationEngine implements IExplanationEngine{
     /**
      * @return the current store of events
      */
-    public ArrayEventStore getEventStore() {
+    public IEventStore getEventStore() {
         return eventStore;
     }
 
@@ -184,7 +248,7 @@ public class ExplanationEngine implements IExplanationEngine{
      * @param cause a cause
      */
     public void removeValue(IntVar var, int val, ICause cause) {
-        eventStore.pushEvent(var, cause, IntEventType.REMOVE, val, -1, -1);
+        pushEvent(var, cause, IntEventType.REMOVE, val, -1, -1);
         for(IView view : var.getViews()){
             if(view != cause){
                 view.justifyEvent(var, cause, IntEventType.REMOVE, val, -1, -1);
@@ -205,7 +269,7 @@ public class ExplanationEngine implements IExplanationEngine{
      * @value old previous LB
      */
     public void updateLowerBound(IntVar var, int value, int old, ICause cause) {
-        eventStore.pushEvent(var, cause, IntEventType.INCLOW, value, old, -1);
+        pushEvent(var, cause, IntEventType.INCLOW, value, old, -1);
         for(IView view : var.getViews()){
             if(view != cause){
                 view.justifyEvent(var, cause, IntEventType.INCLOW, value, old, -1);
@@ -226,7 +290,7 @@ public class ExplanationEngine implements IExplanationEngine{
      * @value old previous LB
      */
     public void updateUpperBound(IntVar var, int value, int old, ICause cause) {
-        eventStore.pushEvent(var, cause, IntEventType.DECUPP, value, old, -1);
+        pushEvent(var, cause, IntEventType.DECUPP, value, old, -1);
         for(IView view : var.getViews()){
             if(view != cause){
                 view.justifyEvent(var, cause, IntEventType.DECUPP, value, old, -1);
@@ -246,7 +310,7 @@ public class ExplanationEngine implements IExplanationEngine{
      * @param oldUB previous ub
      */
     public void instantiateTo(IntVar var, int val, ICause cause, int oldLB, int oldUB) {
-        eventStore.pushEvent(var, cause, IntEventType.INSTANTIATE, val, oldLB, oldUB);
+        pushEvent(var, cause, IntEventType.INSTANTIATE, val, oldLB, oldUB);
         for(IView view : var.getViews()){
             if(view != cause){
                 view.justifyEvent(var, cause, IntEventType.INSTANTIATE, val, oldLB, oldUB);
@@ -261,7 +325,12 @@ public class ExplanationEngine implements IExplanationEngine{
      * @param propagator the propagator to awake.
      */
     public void activePropagator(BoolVar var, Propagator propagator) {
-        eventStore.pushEvent(var, propagator, PropagatorEventType.FULL_PROPAGATION, propagator.getId(), 0, 0);
+        pushEvent(var, propagator, PropagatorEventType.FULL_PROPAGATION, propagator.getId(), 0, 0);
+    }
+
+    private void pushEvent(IntVar var, ICause cause, IEventType mask, int one, int two, int three) {
+        ruleStore.forgetReason(eventStore.getSize());
+        eventStore.pushEvent(var, cause, mask, one, two, three);
     }
 
     /**
@@ -11,6 +11,7 @@ package org.chocosolver.solver.explanations;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.explanations.store.IEventStore;
 import org.chocosolver.solver.search.strategy.decision.Decision;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
@@ -51,6 +52,27 @@ public interface IExplanationEngine {
         return null;
     }
 
+    /**
+     * Bound the effort spent to compute each explanation.
+     * When a bound is reached, the analysis is stopped and the explanation is completed
+     * with all the decisions of the current decision path, which is correct but weaker.
+     *
+     * @param maxNbEvents maximum number of events analysed per explanation, a value less than or equal to 0 means no limit
+     * @param maxTimeInMs maximum time spent per explanation, in milliseconds, a value less than or equal to 0 means no limit
+     */
+    default void setExplanationBudget(int maxNbEvents, long maxTimeInMs) {
+    }
+
+    /**
+     * Enable or disable the memoisation of the reasons of the events (enabled by default).
+     * When enabled, the reason of an event is computed once and replayed in later conflict analyses,
+     * as long as the event is in the event store.
+     *
+     * @param memoisationOn set to <tt>false</tt> to compute the reason of an event on each conflict analysis
+     */
+    default void setReasonMemoisation(boolean memoisationOn) {
+    }
+
     /**
      * @return the current rule store
      */
@@ -61,7 +83,7 @@ public interface IExplanationEngine {
     /**
      * @return the current store of events
      */
-    default ArrayEventStore getEventStore() {
+    default IEventStore getEventStore() {
         return null;
     }
 
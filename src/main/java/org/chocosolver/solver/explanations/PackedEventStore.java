@@ -0,0 +1,365 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.explanations;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.explanations.store.IEventStore;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.util.objects.IntMap;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * A compact data structure which stores events during search, for lazy explanation purpose.
+ * <p>
+ * Contrary to {@link ArrayEventStore}, which maintains six parallel arrays (24 bytes per event with compressed
+ * references), an event is packed in two <i>long</i> (16 bytes):
+ * <ol>
+ *     <li>the index of the variable (24 bits), the index of the cause (23 bits), the index of the event type (4 bits)
+ *     and the encoding of the third value (13 bits),</li>
+ *     <li>the first value (high bits) and the second value (low bits).</li>
+ * </ol>
+ * The third value is -1 or 0 for all events but instantiations, these ones store it in an array of the chunk,
+ * allocated on demand, at a position given by the number of such events before it in the chunk.
+ * Events are stored in fixed-size chunks, so that increasing the capacity never copies any event.
+ * <p>
+ * Variables, causes and event types are registered in dense tables, and referred to by their index.
+ * When a table is full and enough entries have been registered since the last time,
+ * the tables are compacted to the entries referred to by the stored events,
+ * so that the objects only referred to by events forgotten on backtrack are released.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class PackedEventStore implements IEventStore {
+
+    /**
+     * Number of events in a chunk, a power of two
+     */
+    private static final int CHUNK = 1 << 10;
+    /**
+     * Shift to get the chunk of an event
+     */
+    private static final int SHIFT = 10;
+    /**
+     * Mask to get the position of an event in a chunk
+     */
+    private static final int MASK = CHUNK - 1;
+    /**
+     * Number of long to store an event
+     */
+    private static final int WIDTH = 2;
+    /**
+     * Mask of the low bits of a long
+     */
+    private static final long LOW = 0xFFFFFFFFL;
+    /**
+     * Bits of the index of the variable, the cause, the event type and the number of stored third values
+     */
+    private static final int VBITS = 24, CBITS = 23, TBITS = 4, NBITS = 11;
+    /**
+     * Position of the index of the variable, the cause, the event type and the number of stored third values
+     */
+    private static final int VPOS = 40, CPOS = 17, TPOS = 13, NPOS = 2;
+    /**
+     * Encoding of the third value in the lowest bits: -1, 0 or stored in {@link #thirds}
+     */
+    private static final int MINUS_ONE = 0, ZERO = 1, STORED = 2;
+
+    /**
+     * Packed events, in chronological order
+     */
+    private long[][] chunks;
+    /**
+     * Third values of the events of each chunk which are neither -1 nor 0
+     */
+    private int[][] thirds;
+    /**
+     * Number of event stored
+     */
+    private IStateInt size;
+    /**
+     * Registered variables
+     */
+    private IntVar[] variables;
+    /**
+     * Mapping between variables' ID and their index in {@link #variables}
+     */
+    private final IntMap v2i;
+    /**
+     * Number of registered variables
+     */
+    private int nbVariables;
+    /**
+     * Registered causes
+     */
+    private ICause[] causes;
+    /**
+     * Mapping between causes and their index in {@link #causes}
+     */
+    private IdentityHashMap<ICause, Integer> c2i;
+    /**
+     * Number of registered causes
+     */
+    private int nbCauses;
+    /**
+     * Last cause registered or retrieved, consecutive events often share the same cause
+     */
+    private ICause lastCause;
+    /**
+     * Index of {@link #lastCause}
+     */
+    private int lastCauseIdx;
+    /**
+     * Registered event types, there are only a few of them
+     */
+    private IEventType[] masks;
+    /**
+     * Number of registered event types
+     */
+    private int nbMasks;
+    /**
+     * Number of variables and causes registered since the last compaction of the tables
+     */
+    private int nbRegistered;
+
+    /**
+     * Create a compact event store
+     * @param env backtracking environment
+     */
+    public PackedEventStore(IEnvironment env) {
+        size = env.makeInt(0);
+        size._set(0, 0); // to force history manually -- required when created during the search
+
+        chunks = new long[4][];
+        chunks[0] = new long[CHUNK * WIDTH];
+        thirds = new int[4][];
+        variables = new IntVar[16];
+        v2i = new IntMap(16, -1);
+        causes = new ICause[16];
+        c2i = new IdentityHashMap<>();
+        lastCauseIdx = -1;
+        masks = new IEventType[8];
+    }
+
+    @Override
+    public void pushEvent(IntVar var, ICause cause, IEventType mask, int one, int two, int three) {
+        if (nbVariables == variables.length || nbCauses == causes.length) {
+            // before getting any index, since a compaction renumbers them
+            makeRoom();
+        }
+        int v = variableIdx(var);
+        int c = causeIdx(cause);
+        int t = maskIdx(mask);
+        int idx = size.get();
+        int k = idx >>> SHIFT;
+        if (k >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            thirds = Arrays.copyOf(thirds, chunks.length);
+        }
+        long[] chunk = chunks[k];
+        if (chunk == null) {
+            chunk = chunks[k] = new long[CHUNK * WIDTH];
+        }
+        int p = (idx & MASK) * WIDTH;
+        // number of third values stored by the previous events of the chunk
+        int n = p > 0 ? (int) (chunk[p - WIDTH] >>> NPOS) & ((1 << NBITS) - 1) : 0;
+        int code;
+        if (three == -1) {
+            code = MINUS_ONE;
+        } else if (three == 0) {
+            code = ZERO;
+        } else {
+            int[] values = thirds[k];
+            if (values == null) {
+                values = thirds[k] = new int[16];
+            } else if (n == values.length) {
+                values = thirds[k] = Arrays.copyOf(values, Math.min(n * 2, CHUNK));
+            }
+            values[n++] = three;
+            code = STORED;
+        }
+        chunk[p] = ((long) v << VPOS) | ((long) c << CPOS) | ((long) t << TPOS) | ((long) n << NPOS) | code;
+        chunk[p + 1] = ((long) one << 32) | (two & LOW);
+        size.add(1);
+    }
+
+    @Override
+    public void forgetLast() {
+        size.add(-1);
+    }
+
+    private int variableIdx(IntVar var) {
+        int i = v2i.get(var.getId());
+        if (i == -1) {
+            if (nbVariables == variables.length) {
+                variables = Arrays.copyOf(variables, nbVariables * 3 / 2 + 1);
+            }
+            check(nbVariables, VBITS, "variables");
+            i = nbVariables++;
+            variables[i] = var;
+            v2i.put(var.getId(), i);
+            nbRegistered++;
+        }
+        return i;
+    }
+
+    private int causeIdx(ICause cause) {
+        if (cause != lastCause || lastCauseIdx == -1) {
+            Integer i = c2i.get(cause);
+            if (i == null) {
+                if (nbCauses == causes.length) {
+                    causes = Arrays.copyOf(causes, nbCauses * 3 / 2 + 1);
+                }
+                check(nbCauses, CBITS, "causes");
+                i = nbCauses++;
+                causes[i] = cause;
+                c2i.put(cause, i);
+                nbRegistered++;
+            }
+            lastCause = cause;
+            lastCauseIdx = i;
+        }
+        return lastCauseIdx;
+    }
+
+    private int maskIdx(IEventType mask) {
+        for (int i = 0; i < nbMasks; i++) {
+            if (masks[i] == mask) {
+                return i;
+            }
+        }
+        if (nbMasks == masks.length) {
+            masks = Arrays.copyOf(masks, nbMasks * 2);
+        }
+        check(nbMasks, TBITS, "event types");
+        masks[nbMasks] = mask;
+        return nbMasks++;
+    }
+
+    private static void check(int idx, int bits, String what) {
+        if (idx >= 1 << bits) {
+            throw new SolverException("PackedEventStore cannot refer to more than " + (1 << bits) + " " + what + ", " +
+                    "disable the compact event store (see Settings.setEnableCompactEventStore(boolean))");
+        }
+    }
+
+    /**
+     * Compact the tables of variables and causes to the entries referred to by the stored events,
+     * when enough entries have been registered since the last compaction to pay for the scan of the events.
+     */
+    private void makeRoom() {
+        int n = size.get();
+        if (nbRegistered * 8L < n) {
+            return;
+        }
+        nbRegistered = 0;
+        int[] vmap = new int[nbVariables];
+        int[] cmap = new int[nbCauses];
+        Arrays.fill(vmap, -1);
+        Arrays.fill(cmap, -1);
+        IntVar[] nvariables = new IntVar[variables.length];
+        ICause[] ncauses = new ICause[causes.length];
+        int nv = 0, nc = 0;
+        for (int evt = 0; evt < n; evt++) {
+            long[] chunk = chunks[evt >>> SHIFT];
+            int p = (evt & MASK) * WIDTH;
+            long w = chunk[p];
+            int v = (int) (w >>> VPOS);
+            int c = (int) (w >>> CPOS) & ((1 << CBITS) - 1);
+            if (vmap[v] == -1) {
+                nvariables[nv] = variables[v];
+                vmap[v] = nv++;
+            }
+            if (cmap[c] == -1) {
+                ncauses[nc] = causes[c];
+                cmap[c] = nc++;
+            }
+            w &= (1L << CPOS) - 1;
+            chunk[p] = w | ((long) vmap[v] << VPOS) | ((long) cmap[c] << CPOS);
+        }
+        for (int i = 0; i < nbVariables; i++) {
+            if (vmap[i] == -1) {
+                v2i.clear(variables[i].getId());
+            } else {
+                v2i.put(variables[i].getId(), vmap[i]);
+            }
+        }
+        c2i = new IdentityHashMap<>();
+        for (int i = 0; i < nc; i++) {
+            c2i.put(ncauses[i], i);
+        }
+        variables = nvariables;
+        nbVariables = nv;
+        causes = ncauses;
+        nbCauses = nc;
+        lastCause = null;
+        lastCauseIdx = -1;
+    }
+
+    private long word(int evt, int w) {
+        return chunks[evt >>> SHIFT][(evt & MASK) * WIDTH + w];
+    }
+
+    @Override
+    public int getSize() {
+        return size.get();
+    }
+
+    @Override
+    public IntVar getVariable(int evt) {
+        return variables[(int) (word(evt, 0) >>> VPOS)];
+    }
+
+    @Override
+    public IEventType getEventType(int evt) {
+        return masks[(int) (word(evt, 0) >>> TPOS) & ((1 << TBITS) - 1)];
+    }
+
+    @Override
+    public ICause getCause(int evt) {
+        return causes[(int) (word(evt, 0) >>> CPOS) & ((1 << CBITS) - 1)];
+    }
+
+    @Override
+    public int getFirstValue(int evt) {
+        return (int) (word(evt, 1) >> 32);
+    }
+
+    @Override
+    public int getSecondValue(int evt) {
+        return (int) word(evt, 1);
+    }
+
+    @Override
+    public int getThirdValue(int evt) {
+        long w = word(evt, 0);
+        switch ((int) w & 3) {
+            case MINUS_ONE:
+                return -1;
+            case ZERO:
+                return 0;
+            default:
+                return thirds[evt >>> SHIFT][((int) (w >>> NPOS) & ((1 << NBITS) - 1)) - 1];
+        }
+    }
+
+    /**
+     * @return the number of variables and causes registered, for testing purpose
+     */
+    int getNbRegistered() {
+        return nbVariables + nbCauses;
+    }
+}
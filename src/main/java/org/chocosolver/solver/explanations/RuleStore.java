@@ -12,12 +12,15 @@ import gnu.trove.set.TIntSet;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.explanations.store.IEventStore;
 import org.chocosolver.solver.search.strategy.decision.Decision;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.solver.variables.events.IntEventType;
 
+import java.util.Arrays;
+
 import static org.chocosolver.solver.variables.events.PropagatorEventType.FULL_PROPAGATION;
 
 /**
@@ -57,6 +60,18 @@ public class RuleStore {
      * Mask for integer variable value removal
      */
     protected static final int RM = 1;
+    /**
+     * Reason operation: put a mask on a variable
+     */
+    private static final int OP_MASK = 0;
+    /**
+     * Reason operation: add a removed value to a variable
+     */
+    private static final int OP_REMVAL = 1;
+    /**
+     * Reason operation: add a propagator activation rule
+     */
+    private static final int OP_PA = 2;
 
     /**
      * Set of modification rules
@@ -94,6 +109,28 @@ public class RuleStore {
      * Reference to the last value popped from the event store.
      */
     private int lastValue;
+    /**
+     * Memoised reasons of the events, indexed by event index.
+     * A reason is the sequence of operations (triplets) applied on the rules by {@link ICause#why(RuleStore, IntVar, IEventType, int)}.
+     * It is valid as long as the event is in the event store, see {@link #forgetReason(int)}.
+     */
+    private int[][] reasons;
+    /**
+     * Operations of the reason being recorded
+     */
+    private int[] reason;
+    /**
+     * Number of ints in {@link #reason}
+     */
+    private int rsize;
+    /**
+     * Set to <tt>true</tt> when the operations on the rules are recorded
+     */
+    private boolean recording;
+    /**
+     * Set to <tt>false</tt> to compute the reason of an event on each conflict analysis
+     */
+    private boolean memoisationOn = true;
 
     /**
      * Instantiate a rule store to compute explanations
@@ -104,6 +141,8 @@ public class RuleStore {
         this.saveCauses = saveCauses;
         this.enablePartialExplanation = enablePartialExplanation;
         decRefut = new Explanation[16];
+        reasons = new int[64][];
+        reason = new int[24];
     }
 
     /**
@@ -131,7 +170,7 @@ public class RuleStore {
      * @throws org.chocosolver.solver.exception.SolverException when the type of the variable is neither {@link Variable#BOOL} or {@link Variable#INT}.
      * @return <tt>true</tt> if the event in position {@code idx} in {@code eventStore} matches a rule
      */
-    public boolean match(final int idx, final ArrayEventStore eventStore) {
+    public boolean match(final int idx, final IEventStore eventStore) {
         lastVar = eventStore.getVariable(idx);
         lastValue = eventStore.getFirstValue(idx); // either the propagator ID, or a value related to the variable event (eg, instantiated value)
         lastEvt = eventStore.getEventType(idx);
@@ -227,7 +266,7 @@ public class RuleStore {
      * @param explanation the explanation to compute
      */
     @SuppressWarnings({"PointlessBooleanExpression", "ConstantConditions"})
-    public void update(final int idx, final ArrayEventStore eventStore, Explanation explanation) {
+    public void update(final int idx, final IEventStore eventStore, Explanation explanation) {
         assert lastVar == eventStore.getVariable(idx) : "Wrong variable loaded";
         assert lastEvt == eventStore.getEventType(idx) : "Wrong event loaded";
         if (!lastEvt.equals(FULL_PROPAGATION)) {
@@ -265,7 +304,7 @@ public class RuleStore {
                 // add the cause to the explanation
                 explanation.addCause(lastCause);
                 // then add new rules to the rule store to explain the cause application
-                lastCause.why(this, lastVar, lastEvt, lastValue);
+                why(idx, lastCause);
             }
         } else {
             // the event was a propagator activation
@@ -277,6 +316,89 @@ public class RuleStore {
     }
 
 
+    /**
+     * Ask <i>cause</i> to explain the event in position <i>idx</i>, unless its reason has already been computed
+     * during a previous conflict analysis, in which case the memoised reason is simply replayed.
+     *
+     * @param idx   index of the event
+     * @param cause cause of the event
+     */
+    private void why(int idx, ICause cause) {
+        if (!memoisationOn) {
+            cause.why(this, lastVar, lastEvt, lastValue);
+            return;
+        }
+        int[] r = idx < reasons.length ? reasons[idx] : null;
+        if (r != null) {
+            for (int k = 0; k < r.length; k += 3) {
+                switch (r[k]) {
+                    case OP_MASK:
+                        cRules.putMask(r[k + 1], r[k + 2]);
+                        break;
+                    case OP_REMVAL:
+                        cRules.getVmRemval(r[k + 1]).add(r[k + 2]);
+                        break;
+                    case OP_PA:
+                        cRules.addPaRules(r[k + 1]);
+                        break;
+                }
+            }
+        } else {
+            rsize = 0;
+            recording = true;
+            try {
+                cause.why(this, lastVar, lastEvt, lastValue);
+            } finally {
+                recording = false;
+            }
+            if (idx >= reasons.length) {
+                reasons = Arrays.copyOf(reasons, Math.max(idx + 1, reasons.length * 3 / 2 + 1));
+            }
+            reasons[idx] = Arrays.copyOf(reason, rsize);
+        }
+    }
+
+    /**
+     * Forget the memoised reason of the event in position <i>idx</i>.
+     * Must be called before a new event is stored in position <i>idx</i>.
+     *
+     * @param idx index of the event
+     */
+    public void forgetReason(int idx) {
+        if (idx < reasons.length) {
+            reasons[idx] = null;
+        }
+    }
+
+    /**
+     * Enable or disable the memoisation of the reasons of the events.
+     * Disabling it forgets all the memoised reasons.
+     *
+     * @param memoisationOn set to <tt>false</tt> to compute the reason of an event on each conflict analysis
+     */
+    public void setReasonMemoisation(boolean memoisationOn) {
+        this.memoisationOn = memoisationOn;
+        if (!memoisationOn) {
+            Arrays.fill(reasons, null);
+        }
+    }
+
+    private void record(int op, int id, int value) {
+        if (recording) {
+            if (rsize + 3 > reason.length) {
+                reason = Arrays.copyOf(reason, reason.length * 2);
+            }
+            reason[rsize++] = op;
+            reason[rsize++] = id;
+            reason[rsize++] = value;
+        }
+    }
+
+    private boolean putMask(int vid, int mask) {
+        record(OP_MASK, vid, mask);
+        return cRules.putMask(vid, mask);
+    }
+
     /**
      * Add a value removal rule, that is, the event which remove the value needs to be retained.
      *
@@ -288,7 +410,8 @@ public class RuleStore {
     public boolean addRemovalRule(IntVar var, int value) {
         if (var.hasEnumeratedDomain()) {
             int vid = var.getId();
-            cRules.putMask(vid, RM);
+            putMask(vid, RM);
+            record(OP_REMVAL, vid, value);
             TIntSet remvals = cRules.getVmRemval(vid);
             return remvals.add(value);
         } else {
@@ -313,7 +436,7 @@ public class RuleStore {
      * @return true if a new rule has been added (false = already existing rule)
      */
     public boolean addFullDomainRule(IntVar var) {
-        return cRules.putMask(var.getId(), DM);
+        return putMask(var.getId(), DM);
     }
 
     /**
@@ -323,7 +446,7 @@ public class RuleStore {
      * @return true if a new rule has been added (false = already existing rule)
      */
     public boolean addLowerBoundRule(IntVar var) {
-        return cRules.putMask(var.getId(), LB);
+        return putMask(var.getId(), LB);
     }
 
     /**
@@ -333,7 +456,7 @@ public class RuleStore {
      * @return true if a new rule has been added (false = already existing rule)
      */
     public boolean addUpperBoundRule(IntVar var) {
-        return cRules.putMask(var.getId(), UB);
+        return putMask(var.getId(), UB);
     }
 
     /**
@@ -343,7 +466,7 @@ public class RuleStore {
      * @return true if a new rule has been added (false = already existing rule)
      */
     public boolean addBoundsRule(IntVar var) {
-        return cRules.putMask(var.getId(), BD);
+        return putMask(var.getId(), BD);
     }
 
     /**
@@ -363,6 +486,7 @@ public class RuleStore {
      * @return true if a new rule has been adde
      */
     public boolean addPropagatorActivationRule(Propagator propagator) {
+        record(OP_PA, propagator.getId(), 0);
         cRules.addPaRules(propagator.getId());
         return false;
     }
@@ -13,25 +13,67 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IEventType;
 
 /**
+ * A data structure which stores events during search, for lazy explanation purpose.
  * Created by cprudhom on 13/11/14.
  * Project: choco.
  */
 public interface IEventStore {
 
+    /**
+     * Push an event on the top of this store
+     * @param var modified variable
+     * @param cause cause of the modification
+     * @param mask modification mask
+     * @param one an int
+     * @param two an int
+     * @param three an int
+     */
     void pushEvent(IntVar var, ICause cause, IEventType mask, int one, int two, int three);
 
+    /**
+     * Forget the last event pushed
+     */
+    void forgetLast();
+
+    /**
+     * @return number of events stored in this
+     */
     int getSize();
 
+    /**
+     * @param evt event index
+     * @return the variable associated to the event in position <i>evt</i>
+     */
     IntVar getVariable(int evt);
 
+    /**
+     * @param evt event index
+     * @return the event type associated to the event in position <i>evt</i>
+     */
     IEventType getEventType(int evt);
 
+    /**
+     * @param evt event index
+     * @return the cause associated to the event in position <i>evt</i>
+     */
     ICause getCause(int evt);
 
+    /**
+     * @param evt event index
+     * @return the first integer associated to the event in position <i>evt</i>
+     */
     int getFirstValue(int evt);
 
+    /**
+     * @param evt event index
+     * @return the second associated to the event in position <i>evt</i>
+     */
     int getSecondValue(int evt);
 
+    /**
+     * @param evt event index
+     * @return the third associated to the event in position <i>evt</i>
+     */
     int getThirdValue(int evt);
 
 }
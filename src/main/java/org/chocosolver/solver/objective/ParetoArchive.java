@@ -0,0 +1,225 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import org.chocosolver.solver.Solution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An index of mutually non-dominated points, each of them being associated with a solution.
+ * Points are expressed in maximization: a point <i>q</i> (weakly) dominates a point <i>p</i>
+ * when q<sub>i</sub> &ge; p<sub>i</sub> for each objective <i>i</i>.
+ * <p>
+ * Points are sorted wrt the first objective, which bounds the part of the front to scan on each query.
+ * With two objectives, the front is a staircase, the second objective being sorted in reverse order,
+ * and each query runs in logarithmic time.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class ParetoArchive {
+
+    /**
+     * Number of objectives
+     */
+    private final int k;
+    /**
+     * Points of the front, sorted wrt the first objective (increasing order)
+     */
+    private int[][] points;
+    /**
+     * Solution associated with each point
+     */
+    private Solution[] solutions;
+    /**
+     * Number of points in the front
+     */
+    private int size;
+
+    /**
+     * Create an empty Pareto archive
+     * @param k number of objectives
+     */
+    public ParetoArchive(int k) {
+        this.k = k;
+        this.points = new int[16][];
+        this.solutions = new Solution[16];
+    }
+
+    /**
+     * @return the number of points in the front
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the solutions associated with the points of the front
+     */
+    public List<Solution> getSolutions() {
+        return new ArrayList<>(Arrays.asList(solutions).subList(0, size));
+    }
+
+    /**
+     * @param v a value of the first objective
+     * @return the position of the first point whose first objective is greater than or equal to <i>v</i>
+     */
+    private int lowerBound(int v) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (points[mid][0] < v) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @param p a point
+     * @return {@code true} if a point of the front weakly dominates <i>p</i>
+     */
+    public boolean isDominated(int[] p) {
+        int i = lowerBound(p[0]);
+        if (k == 2) {
+            // the first point on the right has the greatest second objective
+            return i < size && points[i][1] >= p[1];
+        }
+        for (; i < size; i++) {
+            if (dominates(points[i], p)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean dominates(int[] q, int[] p) {
+        for (int j = 0; j < k; j++) {
+            if (q[j] < p[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add a point to the front, which is expected not to be dominated,
+     * and remove the points it weakly dominates.
+     * @param p a point, not dominated
+     * @param solution the solution associated with <i>p</i>
+     * @param onRemoval called on the solution of each removed point
+     */
+    public void add(int[] p, Solution solution, Consumer<Solution> onRemoval) {
+        // only points on the left of p may be dominated
+        int end = size;
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (points[mid][0] <= p[0]) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int w = lo;
+        if (k == 2) {
+            // dominated points are the rightmost ones of this part
+            while (w > 0 && points[w - 1][1] <= p[1]) {
+                onRemoval.accept(solutions[--w]);
+            }
+        } else {
+            int r = 0;
+            for (int i = 0; i < lo; i++) {
+                if (dominates(p, points[i])) {
+                    onRemoval.accept(solutions[i]);
+                } else {
+                    points[r] = points[i];
+                    solutions[r++] = solutions[i];
+                }
+            }
+            w = r;
+        }
+        int removed = lo - w;
+        if (removed == 0 && size == points.length) {
+            points = Arrays.copyOf(points, size * 3 / 2 + 1);
+            solutions = Arrays.copyOf(solutions, points.length);
+        }
+        // shift the right part to insert p in position w
+        System.arraycopy(points, lo, points, w + 1, end - lo);
+        System.arraycopy(solutions, lo, solutions, w + 1, end - lo);
+        points[w] = p.clone();
+        solutions[w] = solution;
+        size += 1 - removed;
+        for (int i = size; i < end; i++) {
+            points[i] = null;
+            solutions[i] = null;
+        }
+    }
+
+    /**
+     * Given the upper bounds <i>ub</i> of the objectives,
+     * return the greatest value of objective <i>i</i> among the points of the front
+     * which are greater than or equal to <i>ub</i> on any other objective.
+     * Objective <i>i</i> has to be strictly greater than this value not to be dominated.
+     * @param i index of an objective
+     * @param ub upper bounds of the objectives
+     * @return the tightest value of objective <i>i</i>, or {@link Integer#MIN_VALUE} if there is none
+     */
+    public int tightestValue(int i, int[] ub) {
+        if (i == 0) {
+            if (k == 2) {
+                // points whose second objective is great enough are on the left
+                int lo = 0, hi = size;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (points[mid][1] >= ub[1]) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                return lo > 0 ? points[lo - 1][0] : Integer.MIN_VALUE;
+            }
+            // the first matching point from the right is the greatest one
+            for (int j = size - 1; j >= 0; j--) {
+                if (dominatesBut(points[j], ub, 0)) {
+                    return points[j][0];
+                }
+            }
+            return Integer.MIN_VALUE;
+        }
+        int best = Integer.MIN_VALUE;
+        int j = lowerBound(ub[0]);
+        if (k == 2) {
+            return j < size ? points[j][1] : best;
+        }
+        for (; j < size; j++) {
+            if (points[j][i] > best && dominatesBut(points[j], ub, i)) {
+                best = points[j][i];
+            }
+        }
+        return best;
+    }
+
+    private boolean dominatesBut(int[] q, int[] p, int i) {
+        for (int j = 0; j < k; j++) {
+            if (j != i && q[j] < p[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
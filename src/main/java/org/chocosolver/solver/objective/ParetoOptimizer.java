@@ -8,10 +8,10 @@
  */
 package org.chocosolver.solver.objective;
 
-import org.chocosolver.sat.PropSat;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solution;
-import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.ConstraintsName;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.variables.IntVar;
 
@@ -21,6 +21,9 @@ import java.util.List;
 /**
  * Class to store the pareto front (multi-objective optimization).
  * Worse solutions are dynamically removed from the solution set.
+ * <p>
+ * The front is indexed in a {@link ParetoArchive} and a single {@link PropParetoOptimality}
+ * prevents search from computing dominated solutions, whatever the size of the front.
  *
  * @author Jean-Guillaume Fages
  */
@@ -31,7 +34,7 @@ public class ParetoOptimizer implements IMonitorSolution {
     //***********************************************************************************
 
     // Set of incomparable and Pareto-best solutions
-    private LinkedList<Solution> paretoFront;
+    private ParetoArchive paretoFront;
 
     private Model model;
 
@@ -43,9 +46,9 @@ public class ParetoOptimizer implements IMonitorSolution {
     private IntVar[] objectives;
     private int n;
 
-    // to post dynamical constraints
-    private int[] vals, lits;
-    private PropSat psat;
+    // to prevent search from computing dominated solutions
+    private int[] vals;
+    private PropParetoOptimality propagator;
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -54,7 +57,7 @@ public class ParetoOptimizer implements IMonitorSolution {
 	/**
      * Create an object to compute the Pareto front of a multi-objective problem.
      * Maintain the set of dominating solutions and
-     * posts constraints dynamically to prevent search from computing dominated ones.
+     * posts a constraint to prevent search from computing dominated ones.
      * This object must be used as follows:
      *
    	 *     model.getSolver().plugMonitor(paretoRecorder);
@@ -68,14 +71,14 @@ public class ParetoOptimizer implements IMonitorSolution {
      * @param objectives objective variables (must all be optimized in the same direction)
      */
     public ParetoOptimizer(final boolean maximize, final IntVar[] objectives) {
-        this.paretoFront = new LinkedList<>();
         this.objectives = objectives.clone();
         this.maximize = maximize;
         n = objectives.length;
         model = objectives[0].getModel();
-        psat = model.getMinisat().getPropSat();
+        paretoFront = new ParetoArchive(n);
         vals = new int[n];
-        lits = new int[n];
+        propagator = new PropParetoOptimality(this.objectives, paretoFront, maximize);
+        new Constraint(ConstraintsName.PARETO, propagator).post();
     }
 
     //***********************************************************************************
@@ -84,50 +87,22 @@ public class ParetoOptimizer implements IMonitorSolution {
 
     @Override
     public void onSolution() {
-        // get objective values
+        // get objective values, expressed in maximization
         for (int i = 0; i < n; i++) {
-            vals[i] = objectives[i].getValue();
+            vals[i] = maximize ? objectives[i].getValue() : -objectives[i].getValue();
         }
-        // remove dominated solutions
-        for (int i = paretoFront.size() - 1; i >= 0; i--) {
-            if (isDominated(paretoFront.get(i), vals)) {
-                pool.add(paretoFront.remove(i));
-            }
-        }
-        // store current solution
-        if(pool.isEmpty()){
-            paretoFront.add(new Solution(model).record());
-        }else{
-            Solution solution = pool.remove();
-
-            solution.record();
-            paretoFront.add(solution);
-        }
-        // post dynamical constraints to prevent search from computing dominated solutions
-        Operator symbol = Operator.GT;
-        if (!maximize) {
-            symbol = Operator.LT;
-        }
-        for (int i = 0; i < n; i++) {
-            lits[i] = psat.makeLiteral(model.arithm(objectives[i], symbol.toString(), vals[i]).reify(), true);
-        }
-        psat.addLearnt(lits);
+        // store current solution and remove dominated ones
+        Solution solution = pool.isEmpty() ? new Solution(model) : pool.remove();
+        solution.record();
+        paretoFront.add(vals, solution, pool::add);
+        // prevent search from computing dominated solutions
+        propagator.onFrontChange();
     }
 
 	/**
      * @return the set of Pareto-best (possibly optimal) solutions found so far
      */
     public List<Solution> getParetoFront() {
-   		return paretoFront;
+   		return paretoFront.getSolutions();
    	}
-
-    private boolean isDominated(Solution solution, int[] vals) {
-        for (int i = 0; i < n; i++) {
-            int delta = solution.getIntVal(objectives[i]) - vals[i];
-            if ((delta > 0 && maximize) || (delta < 0 && !maximize)) {
-                return false;
-            }
-        }
-        return true;
-    }
 }
@@ -0,0 +1,108 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.ESat;
+
+/**
+ * A propagator which forbids the objectives to be (weakly) dominated by any point of a Pareto front.
+ * <p>
+ * The objective bounds are filtered against the whole front, stored in a {@link ParetoArchive}:
+ * an objective has to be strictly better than any point of the front
+ * which is at least as good as the best reachable values of the other objectives.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class PropParetoOptimality extends Propagator<IntVar> {
+
+    /**
+     * The front to compare with
+     */
+    private final ParetoArchive front;
+
+    /**
+     * Whether to maximize or minimize the objectives
+     */
+    private final boolean maximize;
+
+    /**
+     * Best reachable values of the objectives, expressed in maximization
+     */
+    private final int[] ub;
+
+    /**
+     * Create a propagator which forbids the objectives to be dominated by any point of <i>front</i>.
+     * @param objectives objective variables (must all be optimized in the same direction)
+     * @param front points of the front, expressed in maximization
+     * @param maximize whether to maximize or minimize the objectives
+     */
+    public PropParetoOptimality(IntVar[] objectives, ParetoArchive front, boolean maximize) {
+        super(objectives, PropagatorPriority.LINEAR, false);
+        this.front = front;
+        this.maximize = maximize;
+        this.ub = new int[objectives.length];
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        return IntEventType.combine(IntEventType.INSTANTIATE, maximize ? IntEventType.DECUPP : IntEventType.INCLOW);
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (front.size() == 0) {
+            return;
+        }
+        for (int i = 0; i < vars.length; i++) {
+            ub[i] = maximize ? vars[i].getUB() : -vars[i].getLB();
+        }
+        if (front.isDominated(ub)) {
+            fails();
+        }
+        for (int i = 0; i < vars.length; i++) {
+            int t = front.tightestValue(i, ub);
+            if (t != Integer.MIN_VALUE) {
+                if (maximize) {
+                    vars[i].updateLowerBound(t + 1, this);
+                } else {
+                    vars[i].updateUpperBound(-t - 1, this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inform this propagator that the front has changed,
+     * so that it is executed on the next propagation.
+     */
+    void onFrontChange() {
+        forcePropagationOnBacktrack();
+    }
+
+    @Override
+    public ESat isEntailed() {
+        if (front.size() == 0) {
+            return ESat.TRUE;
+        }
+        for (int i = 0; i < vars.length; i++) {
+            ub[i] = maximize ? vars[i].getUB() : -vars[i].getLB();
+        }
+        if (front.isDominated(ub)) {
+            return ESat.FALSE;
+        }
+        return isCompletelyInstantiated() ? ESat.TRUE : ESat.UNDEFINED;
+    }
+}
@@ -172,4 +172,12 @@ public interface IPropagationEngine  {
      */
     default void dynamicDeletion(Propagator... ps) {
     }
+
+    /**
+     * @return the profiler recording propagators' statistics,
+     * or <tt>null</tt> if {@link org.chocosolver.solver.Settings#profilePropagation()} is disabled
+     */
+    default PropagatorProfiler getProfiler() {
+        return null;
+    }
 }
@@ -14,6 +14,7 @@ import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.objects.IntList;
+import org.chocosolver.util.objects.IntMap;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -42,6 +43,10 @@ public class PropagationTrigger  {
     private ArrayList<Propagator> perm_propagators = new ArrayList<>();
     // stores the world of the last propagation of the cuts
     private IntList perm_world = new IntList();
+    // maps the ID of a cut to its position in perm_propagators
+    private IntMap perm_pos = new IntMap(16, -1);
+    // upper bound of the values in perm_world, the cuts are not scanned when the current world is above it
+    private int perm_top = -1;
 
     private int size;
 
@@ -69,28 +74,22 @@ public class PropagationTrigger  {
 
     public void propagateOnBacktrack(Propagator propagator) {
         assert perm_propagators.size() == perm_world.size();
-        int pos = find(propagator);
+        int pos = perm_pos.get(propagator.getId());
         if(pos == -1){
             dynAdd(propagator, true);
         }else {
             perm_world.replaceQuick(pos, Integer.MAX_VALUE);
+            perm_top = Integer.MAX_VALUE;
         }
     }
 
-    private int find(Propagator p) {
-        int i = 0;
-        while (i < perm_propagators.size() && perm_propagators.get(i) != p) {
-            i++;
-        }
-        if (i == perm_propagators.size()) return -1;
-        else return i;
-    }
-
     public void dynAdd(Propagator propagator, boolean permanent) {
         if (permanent) {
             assert perm_propagators.size() == perm_world.size();
+            perm_pos.put(propagator.getId(), perm_propagators.size());
             perm_propagators.add(propagator);
             perm_world.add(Integer.MAX_VALUE);
+            perm_top = Integer.MAX_VALUE;
             size++;
         }
     }
@@ -104,11 +103,19 @@ public class PropagationTrigger  {
             sta_propagators.remove(idx);
             size--;
         }
-        // 2. then, if necessary look for permanent one
-        idx = perm_propagators.indexOf(propagator);
+        // 2. then, if necessary look for permanent one, and replace it by the last one
+        idx = perm_pos.get(propagator.getId());
         if (idx > -1) {
-            perm_propagators.remove(idx);
-            perm_world.removeAt(idx);
+            perm_pos.clear(propagator.getId());
+            int last = perm_propagators.size() - 1;
+            if (idx < last) {
+                Propagator moved = perm_propagators.get(last);
+                perm_propagators.set(idx, moved);
+                perm_world.replaceQuick(idx, perm_world.getQuick(last));
+                perm_pos.put(moved.getId(), idx);
+            }
+            perm_propagators.remove(last);
+            perm_world.removeAt(last);
             size--;
         }
     }
@@ -119,8 +126,13 @@ public class PropagationTrigger  {
 
     public void clear(){
         sta_propagators.clear();
+        // IntMap.clear() only resets the first keys, the ones of the propagators are cleared one by one
+        for (int i = 0; i < perm_propagators.size(); i++) {
+            perm_pos.clear(perm_propagators.get(i).getId());
+        }
         perm_propagators.clear();
         perm_world.clear();
+        perm_top = -1;
         size = 0;
     }
 
@@ -145,25 +157,35 @@ public class PropagationTrigger  {
                 sta_propagators.clear();
             }
         }
-        if (perm_propagators.size() > 0) {
-            int cw = environment.getWorldIndex(); // get current index
+        int cw = environment.getWorldIndex(); // get current index
+        if (perm_propagators.size() > 0 && perm_top >= cw) {
+            // on failure, perm_top is left unchanged, since some cuts may not have been propagated
             for(int p = 0; p < perm_propagators.size(); p++){
                 if (perm_world.getQuick(p) >= cw) {
                     execute(perm_propagators.get(p), engine);
                     perm_world.replaceQuick(p, cw);
                 }
             }
+            perm_top = cw;
         }
 	}
 
     public static void execute(Propagator toPropagate, IPropagationEngine engine) throws ContradictionException {
         if (toPropagate.isStateLess()) {
             toPropagate.setActive();
-            toPropagate.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            propagate(toPropagate, engine.getProfiler());
             engine.onPropagatorExecution(toPropagate);
         } else if (toPropagate.isActive()) { // deal with updated propagator
-            toPropagate.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            propagate(toPropagate, engine.getProfiler());
             engine.onPropagatorExecution(toPropagate);
         }
     }
+
+    private static void propagate(Propagator toPropagate, PropagatorProfiler profiler) throws ContradictionException {
+        if (profiler == null) {
+            toPropagate.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+        } else {
+            profiler.propagate(toPropagate, PropagatorEventType.FULL_PROPAGATION.getMask());
+        }
+    }
 }
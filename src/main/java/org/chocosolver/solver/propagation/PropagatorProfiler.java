@@ -0,0 +1,222 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.util.objects.IntMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A profiler which records, for each propagator executed by a propagation engine,
+ * the number of calls, the time spent in these calls, the number of failures
+ * and the number of domain modifications it has triggered.
+ * <p>
+ * A profiler is created by the propagation engine when
+ * {@link org.chocosolver.solver.Settings#profilePropagation()} returns <tt>true</tt>,
+ * and is accessible through {@link IPropagationEngine#getProfiler()}.
+ * Records can be aggregated per constraint type with {@link #getConstraintRecords()}.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class PropagatorProfiler {
+
+    /**
+     * Statistics of a propagator, or of a set of propagators
+     */
+    public static final class Record {
+        /**
+         * Name of the propagator or of the constraint type
+         */
+        public final String name;
+        /**
+         * Number of calls to the propagate methods
+         */
+        public long calls;
+        /**
+         * Time spent in the propagate methods, in nanoseconds
+         */
+        public long time;
+        /**
+         * Number of calls which ended with a failure
+         */
+        public long fails;
+        /**
+         * Number of domain modifications (removals, bound updates, instantiations) caused
+         */
+        public long modifications;
+
+        Record(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return the ratio of calls which ended with a failure
+         */
+        public double getFailRate() {
+            return calls == 0 ? 0d : (double) fails / calls;
+        }
+
+        private void add(Record r) {
+            calls += r.calls;
+            time += r.time;
+            fails += r.fails;
+            modifications += r.modifications;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d calls, %.3fs, %d fails (%.2f%%), %d modifications",
+                    name, calls, time / 1e9d, fails, getFailRate() * 100, modifications);
+        }
+    }
+
+    /**
+     * Mapping between propagators' ID and their index in {@link #records}
+     */
+    private final IntMap p2i;
+    /**
+     * Observed propagators
+     */
+    private Propagator[] propagators;
+    /**
+     * Statistics of each observed propagator
+     */
+    private Record[] records;
+    /**
+     * Number of observed propagators
+     */
+    private int size;
+
+    /**
+     * Create an empty profiler
+     */
+    public PropagatorProfiler() {
+        this.p2i = new IntMap(16, -1);
+        this.propagators = new Propagator[16];
+        this.records = new Record[16];
+    }
+
+    private Record get(Propagator p) {
+        int i = p2i.get(p.getId());
+        if (i == -1) {
+            if (size == records.length) {
+                int nsize = size * 3 / 2 + 1;
+                propagators = Arrays.copyOf(propagators, nsize);
+                records = Arrays.copyOf(records, nsize);
+            }
+            i = size++;
+            propagators[i] = p;
+            records[i] = new Record(p.getClass().getSimpleName() + "#" + p.getId());
+            p2i.put(p.getId(), i);
+        }
+        return records[i];
+    }
+
+    /**
+     * Execute {@link Propagator#propagate(int)} and record the call
+     * @param p the propagator to execute
+     * @param evtmask type of propagation event
+     * @throws ContradictionException if a failure occurs
+     */
+    public void propagate(Propagator p, int evtmask) throws ContradictionException {
+        Record r = get(p);
+        r.calls++;
+        long t = System.nanoTime();
+        try {
+            p.propagate(evtmask);
+        } catch (ContradictionException cex) {
+            r.fails++;
+            throw cex;
+        } finally {
+            r.time += System.nanoTime() - t;
+        }
+    }
+
+    /**
+     * Execute {@link Propagator#propagate(int, int)} and record the call
+     * @param p the propagator to execute
+     * @param idxVarInProp index of the modified variable in <i>p</i>
+     * @param mask type of event
+     * @throws ContradictionException if a failure occurs
+     */
+    public void propagate(Propagator p, int idxVarInProp, int mask) throws ContradictionException {
+        Record r = get(p);
+        r.calls++;
+        long t = System.nanoTime();
+        try {
+            p.propagate(idxVarInProp, mask);
+        } catch (ContradictionException cex) {
+            r.fails++;
+            throw cex;
+        } finally {
+            r.time += System.nanoTime() - t;
+        }
+    }
+
+    /**
+     * Record a domain modification
+     * @param cause origin of the modification, only propagators are recorded
+     */
+    public void onModification(ICause cause) {
+        if (cause instanceof Propagator) {
+            get((Propagator) cause).modifications++;
+        }
+    }
+
+    /**
+     * @param p a propagator
+     * @return the statistics of <i>p</i>, or <tt>null</tt> if <i>p</i> has never been executed
+     */
+    public Record getRecord(Propagator p) {
+        int i = p2i.get(p.getId());
+        return i == -1 ? null : records[i];
+    }
+
+    /**
+     * @return the statistics of each executed propagator, sorted by decreasing time
+     */
+    public List<Record> getPropagatorRecords() {
+        List<Record> list = new ArrayList<>(Arrays.asList(records).subList(0, size));
+        list.sort((r1, r2) -> Long.compare(r2.time, r1.time));
+        return list;
+    }
+
+    /**
+     * @return the statistics of executed propagators, aggregated per constraint type and sorted by decreasing time
+     */
+    public List<Record> getConstraintRecords() {
+        Map<String, Record> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String name = propagators[i].getConstraint() == null ? "undefined" : propagators[i].getConstraint().getName();
+            map.computeIfAbsent(name, Record::new).add(records[i]);
+        }
+        List<Record> list = new ArrayList<>(map.values());
+        list.sort((r1, r2) -> Long.compare(r2.time, r1.time));
+        return list;
+    }
+
+    /**
+     * Reset all statistics
+     */
+    public void clear() {
+        p2i.clear();
+        Arrays.fill(propagators, 0, size, null);
+        Arrays.fill(records, 0, size, null);
+        size = 0;
+    }
+}
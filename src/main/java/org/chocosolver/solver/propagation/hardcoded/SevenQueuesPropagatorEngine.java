@@ -16,12 +16,12 @@ import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.propagation.IPropagationEngine;
 import org.chocosolver.solver.propagation.PropagationTrigger;
+import org.chocosolver.solver.propagation.PropagatorProfiler;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.iterators.EvtScheduler;
 import org.chocosolver.util.objects.IntCircularQueue;
-import org.chocosolver.util.objects.IntMap;
 import org.chocosolver.util.objects.queues.CircularQueue;
 
 import java.util.ArrayList;
@@ -51,6 +51,10 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
      * For debugging purpose: set to <tt>true</tt> to output debugging information
      */
     private final boolean DEBUG;
+    /**
+     * Records statistics on propagators, <tt>null</tt> when profiling is disabled
+     */
+    private final PropagatorProfiler profiler;
     /**
      * The model declaring this engine
      */
@@ -72,10 +76,6 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
      * The last propagator executed
      */
     private Propagator lastProp;
-    /**
-     * Mapping between propagator ID and its absolute index
-     */
-    private IntMap p2i;
     /**
      * One bit per queue: true if the queue is not empty.
      */
@@ -121,6 +121,7 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
         //noinspection unchecked
         this.pro_queue = new CircularQueue[8];
         this.DEBUG = model.getSettings().debugPropagation();
+        this.profiler = model.getSettings().profilePropagation() ? new PropagatorProfiler() : null;
 
     }
 
@@ -135,16 +136,15 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
             }
             propagators = _propagators.toArray(new Propagator[_propagators.size()]);
             size = _propagators.size();
-            p2i = new IntMap(size);
             for (int j = 0; j < size; j++) {
-                if (p2i.containsKey(propagators[j].getId())) {
+                if (isDeclared(propagators[j], j)) {
                     throw new SolverException("The following propagator " +
                             "is declared more than once into the propagation engine " +
                             "(this happens when a constraint is posted twice " +
                             "or when a posted constraint is also reified.)\n" +
                             propagators[j] + " of " + propagators[j].getConstraint());
                 }
-                p2i.put(propagators[j].getId(), j);
+                propagators[j].setEngineIdx(j);
             }
             for (int i = 0; i < 8; i++) {
                 pro_queue[i] = new CircularQueue<>(16);
@@ -183,7 +183,7 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
             while (!pro_queue[i].isEmpty()) {
                 lastProp = pro_queue[i].pollFirst();
                 // revision of the variable
-                aid = p2i.get(lastProp.getId());
+                aid = lastProp.getEngineIdx();
                 scheduled[aid] = 0;
                 delayedPropagationType = 0;
                 if (lastProp.reactToFineEvent()) {
@@ -198,21 +198,33 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
                         mask = eventmasks[aid][v];
                         eventmasks[aid][v] = 0;
                         // run propagation on the specific event
-                        lastProp.propagate(v, mask);
+                        if (profiler == null) {
+                            lastProp.propagate(v, mask);
+                        } else {
+                            profiler.propagate(lastProp, v, mask);
+                        }
                     }
                     // now we can check whether a delayed propagation has been scheduled
                     if (delayedPropagationType > 0) {
                         if (DEBUG) {
                             IPropagationEngine.Trace.printPropagation(null, lastProp);
                         }
-                        lastProp.propagate(delayedPropagationType);
+                        if (profiler == null) {
+                            lastProp.propagate(delayedPropagationType);
+                        } else {
+                            profiler.propagate(lastProp, delayedPropagationType);
+                        }
                     }
                 } else if (lastProp.isActive()) { // need to be checked due to views
                     //assert lastProp.isAlreadyUsed() : "propagator is not active:" + lastProp;
                     if (DEBUG) {
                         IPropagationEngine.Trace.printPropagation(null, lastProp);
                     }
-                    lastProp.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+                    if (profiler == null) {
+                        lastProp.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+                    } else {
+                        profiler.propagate(lastProp, PropagatorEventType.FULL_PROPAGATION.getMask());
+                    }
                 }
             }
             notEmpty = notEmpty & ~(1 << i);
@@ -245,7 +257,7 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
 
     private void flush(Propagator prop) {
         IntCircularQueue evtset;
-        int aid = p2i.get(prop.getId());
+        int aid = prop.getEngineIdx();
         assert aid > -1: "cannot flush unknown propagator";
         if (prop.reactToFineEvent()) {
             evtset = eventsets[aid];
@@ -263,6 +275,9 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
         if (DEBUG) {
             IPropagationEngine.Trace.printModification(variable, type, cause);
         }
+        if (profiler != null) {
+            profiler.onModification(cause);
+        }
         if(CHECK_SCOPE && Propagator.class.isAssignableFrom(cause.getClass())){
             // make sure the variable appears in prop scope
             Propagator p = (Propagator)cause;
@@ -272,6 +287,10 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
             }
             assert found: variable + " not in scope of " + cause;
         }
+        int nbp = variable.getNbProps();
+        if (nbp == 0) {
+            return;
+        }
         Propagator[] vpropagators = variable.getPropagators();
         int[] vindices = variable.getPIndices();
         Propagator prop;
@@ -279,6 +298,20 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
         EvtScheduler si = variable._schedIter();
         //noinspection unchecked
         si.init(type);
+        if (nbp == 1) {
+            // fast path: the single propagator is notified iff one of the selected ranges is not empty
+            prop = vpropagators[0];
+            if (prop.isActive() && cause != prop) {
+                while (si.hasNext()) {
+                    int p = variable.getDindex(si.next());
+                    if (p < variable.getDindex(si.next())) {
+                        schedule(prop, vindices[0], mask);
+                        return;
+                    }
+                }
+            }
+            return;
+        }
         while (si.hasNext()) {
             int p = variable.getDindex(si.next());
             int t = variable.getDindex(si.next());
@@ -292,7 +325,7 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
     }
 
     private void schedule(Propagator prop, int pindice, int mask) {
-        int aid = p2i.get(prop.getId());
+        int aid = prop.getEngineIdx();
         if (prop.reactToFineEvent()) {
             if (eventmasks[aid][pindice] == 0) {
                 if (DEBUG) {
@@ -329,8 +362,7 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
     @Override
     public void desactivatePropagator(Propagator propagator) {
         if (propagator.reactToFineEvent()) {
-            int pid = propagator.getId();
-            int aid = p2i.get(pid);
+            int aid = propagator.getEngineIdx();
             if (aid > -1) {
                 assert aid > -1 : "try to desactivate an unknown constraint";
                 // we don't remove the element from its master to avoid costly operations
@@ -355,9 +387,11 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
 
     @Override
     public void clear() {
+        for (int i = 0; i < size; i++) {
+            propagators[i].setEngineIdx(-1);
+        }
         propagators = null;
         trigger.clear();
-        p2i = null;
         for (int i = 0; i < 8; i++) {
             pro_queue[i] = null;
         }
@@ -396,14 +430,14 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
         }
         System.arraycopy(ps, 0, propagators, osize, nbp);
         for (int i = osize; i < size; i++) {
-            if (p2i.containsKey(propagators[i].getId())) {
+            if (isDeclared(propagators[i], i)) {
                 throw new SolverException("The following propagator " +
                         "is declared more than once into the propagation engine " +
                         "(this happens when a constraint is posted twice " +
                         "or when a posted constraint is also reified.)\n" +
                         propagators[i] + " of " + propagators[i].getConstraint());
             }
-            p2i.put(propagators[i].getId(), i);
+            propagators[i].setEngineIdx(i);
             trigger.dynAdd(propagators[i], permanent);
             if (propagators[i].reactToFineEvent()) {
                 int nbv = propagators[i].getNbVars();
@@ -416,7 +450,7 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
     @Override
     public void updateInvolvedVariables(Propagator p) {
         if (p.reactToFineEvent()) {
-            int i = p2i.get(p.getId());
+            int i = p.getEngineIdx();
             assert scheduled[i] == 0 : "Try to update variable scope during propagation";
             int nbv = p.getNbVars();
             eventsets[i] = new IntCircularQueue(nbv);
@@ -430,6 +464,21 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
         trigger.propagateOnBacktrack(p);
     }
 
+    /**
+     * @param p a propagator
+     * @param i the index of <i>p</i> in {@link #propagators}
+     * @return <tt>true</tt> if <i>p</i> already occurs before index <i>i</i> in {@link #propagators}
+     */
+    private boolean isDeclared(Propagator p, int i) {
+        int idx = p.getEngineIdx();
+        return idx > -1 && idx < i && propagators[idx] == p;
+    }
+
+    @Override
+    public PropagatorProfiler getProfiler() {
+        return profiler;
+    }
+
     @Override
     public void dynamicDeletion(Propagator... ps) {
         for (Propagator toDelete : ps) {
@@ -440,15 +489,15 @@ public class SevenQueuesPropagatorEngine implements IPropagationEngine {
             // 1. delete toDelete
             Propagator toMove = propagators[size];
             propagators[size] = null;
-            int idtd = p2i.get(toDelete.getId());
-            int idtm = p2i.get(toMove.getId());
-            p2i.clear(toDelete.getId());
+            int idtd = toDelete.getEngineIdx();
+            int idtm = toMove.getEngineIdx();
+            toDelete.setEngineIdx(-1);
 
             assert idtd <= idtm : "wrong id for prop to delete";
             // 2. move toMove
             if (idtd < size) {
                 propagators[idtd] = toMove;
-                p2i.put(toMove.getId(), idtd);
+                toMove.setEngineIdx(idtd);
                 scheduled[idtd] = scheduled[idtm];
                 assert !toDelete.reactToFineEvent() || eventsets[idtd].isEmpty() : "try to delete a propagator which has events to propagate (fine)";
                 eventsets[idtd] = eventsets[idtm];
@@ -17,12 +17,12 @@ import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.propagation.IPropagationEngine;
 import org.chocosolver.solver.propagation.PropagationTrigger;
+import org.chocosolver.solver.propagation.PropagatorProfiler;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.iterators.EvtScheduler;
 import org.chocosolver.util.objects.IntCircularQueue;
-import org.chocosolver.util.objects.IntMap;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -76,6 +76,11 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
      */
     private final boolean DEBUG;
 
+    /**
+     * Records statistics on propagators, <tt>null</tt> when profiling is disabled.
+     */
+    private final PropagatorProfiler profiler;
+
     /**
      * Fine events priority binding.
      */
@@ -96,11 +101,6 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
      */
     private short max_c;
 
-    /**
-     * Mapping between propagators' ID and their index in the list of propagators.
-     */
-    private IntMap p2i;
-
     /**
      * Reference to the last propagator executed, for flushing purpose.
      */
@@ -168,6 +168,7 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
         this.trigger = new PropagationTrigger(this, model);
         this.model = model;
         this.DEBUG = model.getSettings().debugPropagation();
+        this.profiler = model.getSettings().profilePropagation() ? new PropagatorProfiler() : null;
     }
 
     @Override
@@ -181,16 +182,15 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
             }
             propagators = _propagators.toArray(new Propagator[_propagators.size()]);
             size = _propagators.size();
-            p2i = new IntMap(propagators.length);
             for (int j = 0; j < propagators.length; j++) {
-                if(p2i.containsKey(propagators[j].getId())){
+                if (isDeclared(propagators[j], j)) {
                     throw new SolverException("The following propagator " +
                             "is declared more than once into the propagation engine " +
                             "(this happens when a constraint is posted twice " +
                             "or when a posted constraint is also reified.)\n" +
                             propagators[j]+" of "+propagators[j].getConstraint());
                 }
-                p2i.put(propagators[j].getId(), j);
+                propagators[j].setEngineIdx(j);
             }
 
 
@@ -283,7 +283,7 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
     private void propagateFine(ArrayDeque<Propagator> pro_queue_f) throws ContradictionException {
         lastProp = pro_queue_f.pollFirst();
         // revision of the variable
-        int aid = p2i.get(lastProp.getId());
+        int aid = lastProp.getEngineIdx();
         //assert schedule_f[aid] : "try to propagate an unscheduled propagator";
         schedule_f[aid] = false;
         if (lastProp.reactToFineEvent()) {
@@ -298,21 +298,29 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
                 int mask = eventmasks[aid][v];
                 eventmasks[aid][v] = 0;
                 // run propagation on the specific event
-                lastProp.propagate(v, mask);
+                if (profiler == null) {
+                    lastProp.propagate(v, mask);
+                } else {
+                    profiler.propagate(lastProp, v, mask);
+                }
             }
         } else if (lastProp.isActive()) { // need to be checked due to views
             //assert lastProp.isAlreadyUsed() : "propagator is not active:" + lastProp;
             if (DEBUG) {
                 IPropagationEngine.Trace.printPropagation(null, lastProp);
             }
-            lastProp.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            if (profiler == null) {
+                lastProp.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            } else {
+                profiler.propagate(lastProp, PropagatorEventType.FULL_PROPAGATION.getMask());
+            }
         }
     }
 
     private void propagateCoarse(ArrayDeque<Propagator> pro_queue_c) throws ContradictionException {
         lastProp = pro_queue_c.pollFirst();
         // revision of the variable
-        int aid = p2i.get(lastProp.getId());
+        int aid = lastProp.getEngineIdx();
         assert schedule_c[aid] : "try to propagate an unscheduled propagator";
         schedule_c[aid] = false;
         PropagatorEventType evt = event_c[aid];
@@ -321,7 +329,11 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
         if (DEBUG) {
             IPropagationEngine.Trace.printPropagation(null, lastProp);
         }
-        lastProp.propagate(evt.getMask());
+        if (profiler == null) {
+            lastProp.propagate(evt.getMask());
+        } else {
+            profiler.propagate(lastProp, evt.getMask());
+        }
     }
 
 
@@ -347,7 +359,7 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
     }
 
     private void flushFine(Propagator prop) {
-        int aid = p2i.get(prop.getId());
+        int aid = prop.getEngineIdx();
         if (prop.reactToFineEvent()) {
             IntCircularQueue evtset = event_f[aid];
             while (!evtset.isEmpty()) {
@@ -359,7 +371,7 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
     }
 
     private void flushCoarse(Propagator prop) {
-        int aid = p2i.get(prop.getId());
+        int aid = prop.getEngineIdx();
         schedule_c[aid] = false;
         event_c[aid] = PropagatorEventType.VOID;
     }
@@ -369,6 +381,13 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
         if (DEBUG) {
             IPropagationEngine.Trace.printModification(variable, type, cause);
         }
+        if (profiler != null) {
+            profiler.onModification(cause);
+        }
+        int nbp = variable.getNbProps();
+        if (nbp == 0) {
+            return;
+        }
         Propagator[] vpropagators = variable.getPropagators();
         int[] vindices = variable.getPIndices();
         Propagator prop;
@@ -376,6 +395,20 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
         EvtScheduler si = variable._schedIter();
         //noinspection unchecked
         si.init(type);
+        if (nbp == 1) {
+            // fast path: the single propagator is notified iff one of the selected ranges is not empty
+            prop = vpropagators[0];
+            if (cause != prop && prop.isActive()) {
+                while (si.hasNext()) {
+                    int p = variable.getDindex(si.next());
+                    if (p < variable.getDindex(si.next())) {
+                        schedule(prop, vindices[0], mask);
+                        return;
+                    }
+                }
+            }
+            return;
+        }
         while (si.hasNext()) {
             int p = variable.getDindex(si.next());
             int t = variable.getDindex(si.next());
@@ -389,7 +422,7 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
     }
 
     private void schedule(Propagator prop, int pindice, int mask) {
-        int aid = p2i.get(prop.getId());
+        int aid = prop.getEngineIdx();
         if (prop.reactToFineEvent()) {
             if (eventmasks[aid][pindice] == 0) {
                 if (DEBUG) {
@@ -413,7 +446,7 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
 
     @Override
     public void delayedPropagation(Propagator propagator, PropagatorEventType type) throws ContradictionException {
-        int aid = p2i.get(propagator.getId());
+        int aid = propagator.getEngineIdx();
         if (!schedule_c[aid]) {
             PropagatorPriority prio = /*dynamic ? prop.dynPriority() :*/ propagator.getPriority();
             int q = match_c[prio.priority - 1];
@@ -447,8 +480,10 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
 
     @Override
     public void clear() {
+        for (int i = 0; i < size; i++) {
+            propagators[i].setEngineIdx(-1);
+        }
         propagators = null;
-        p2i = null;
         trigger.clear();
         max_f = 0;
         max_c = 0;
@@ -502,14 +537,14 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
         }
         System.arraycopy(ps, 0, propagators, osize, nbp);
         for (int i = osize; i < size; i++) {
-            if(p2i.containsKey(propagators[i].getId())){
+            if (isDeclared(propagators[i], i)) {
                 throw new SolverException("The following propagator " +
                         "is declared more than once into the propagation engine " +
                         "(this happens when a constraint is posted twice " +
                         "or when a posted constraint is also reified.)\n" +
                         propagators[i]+" of "+propagators[i].getConstraint());
             }
-            p2i.put(propagators[i].getId(), i);
+            propagators[i].setEngineIdx(i);
             trigger.dynAdd(propagators[i], permanent);
             if (propagators[i].reactToFineEvent()) {
                 eventmasks[i] = new int[propagators[i].getNbVars()];
@@ -521,7 +556,7 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
     @Override
     public void updateInvolvedVariables(Propagator p) {
         if (p.reactToFineEvent()) {
-            int i = p2i.get(p.getId());
+            int i = p.getEngineIdx();
             assert !schedule_f[i] && !schedule_c[i] : "Try to update variable scope during propagation";
             int nbv = p.getNbVars();
             eventmasks[i] = new int[nbv];
@@ -535,6 +570,21 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
         trigger.propagateOnBacktrack(p);
     }
 
+    /**
+     * @param p a propagator
+     * @param i the index of <i>p</i> in {@link #propagators}
+     * @return <tt>true</tt> if <i>p</i> already occurs before index <i>i</i> in {@link #propagators}
+     */
+    private boolean isDeclared(Propagator p, int i) {
+        int idx = p.getEngineIdx();
+        return idx > -1 && idx < i && propagators[idx] == p;
+    }
+
+    @Override
+    public PropagatorProfiler getProfiler() {
+        return profiler;
+    }
+
     @Override
     public void dynamicDeletion(Propagator... ps) {
         for (Propagator toDelete : ps) {
@@ -544,15 +594,15 @@ public class TwoBucketPropagationEngine implements IPropagationEngine {
             size--;
             // 1. delete toDelete
             Propagator toMove = propagators[size];
-            int idtd = p2i.get(toDelete.getId());
-            int idtm = p2i.get(toMove.getId());
-            p2i.clear(toDelete.getId());
+            int idtd = toDelete.getEngineIdx();
+            int idtm = toMove.getEngineIdx();
+            toDelete.setEngineIdx(-1);
 
             assert idtd <= idtm : "wrong id for prop to delete";
             // 6. move toMove
             if (idtd < size) {
                 propagators[idtd] = toMove;
-                p2i.put(toMove.getId(), idtd);
+                toMove.setEngineIdx(idtd);
                 schedule_f[idtd] = schedule_f[idtm];
                 schedule_c[idtd] = schedule_c[idtm];
                 event_f[idtd] = event_f[idtm];
@@ -10,11 +10,13 @@ package org.chocosolver.solver.search;
 
 import org.chocosolver.solver.ISelf;
 import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.SolutionPool;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.nary.lex.PropLexInt;
 import org.chocosolver.solver.objective.ParetoOptimizer;
 import org.chocosolver.solver.search.limits.ACounter;
+import org.chocosolver.solver.search.loop.monitors.SolutionWriter;
 import org.chocosolver.solver.search.measure.IMeasures;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.IntVar;
@@ -119,11 +121,7 @@ public interface IResolutionHelper extends ISelf<Solver> {
      * This method run the following instructions:
      * <pre>
      *     {@code
-     *     List<Solution> solutions = new ArrayList<>();
-     *     while (model.getSolver().solve()){
-     *          solutions.add(new Solution(model).record());
-     *     }
-     *     return solutions;
+     *     return findAllSolutions(SolutionPool.all(model), stop);
      *     }
      * </pre>
      *
@@ -135,14 +133,75 @@ public interface IResolutionHelper extends ISelf<Solver> {
      * @return a list that contained the found solutions.
      */
     default List<Solution> findAllSolutions(Criterion... stop) {
+        return findAllSolutions(SolutionPool.all(_me().getModel()), stop);
+    }
+
+    /**
+     * Attempts to find all solutions of the declared satisfaction problem and offers each of them to <i>pool</i>,
+     * which decides which solutions are kept.
+     * <p>
+     * This method run the following instructions:
+     * <pre>
+     *     {@code
+     *     while (model.getSolver().solve()){
+     *          pool.onSolution();
+     *     }
+     *     return new ArrayList<>(pool.getSolutions());
+     *     }
+     * </pre>
+     *
+     * Note that all variables will be recorded
+	 *
+	 * Note that it clears the current objective function, if any
+     *
+     * @param pool a pool of solutions
+     * @param stop optional criterion to stop the search before finding all solutions
+     * @return a list that contained the solutions kept by <i>pool</i>.
+     */
+    default List<Solution> findAllSolutions(SolutionPool pool, Criterion... stop) {
+		_me().getModel().clearObjective();
+        _me().addStopCriterion(stop);
+        while (_me().solve()) {
+            pool.onSolution();
+        }
+        _me().removeStopCriterion(stop);
+        return new ArrayList<>(pool.getSolutions());
+    }
+
+    /**
+     * Attempts to find all solutions of the declared satisfaction problem and writes each of them with <i>writer</i>,
+     * without creating any {@link Solution}.
+     * The search waits whenever <i>writer</i> is late.
+     * <p>
+     * This method run the following instructions:
+     * <pre>
+     *     {@code
+     *     while (model.getSolver().solve()){
+     *          writer.onSolution();
+     *     }
+     *     writer.flush();
+     *     }
+     * </pre>
+     *
+     * Note that only the variables declared in <i>writer</i> are written
+     * and that <i>writer</i> is not closed by this method.
+	 *
+	 * Note that it clears the current objective function, if any
+     *
+     * @param writer a solution writer
+     * @param stop optional criterion to stop the search before finding all solutions
+     * @return the number of solutions written by this method
+     */
+    default long exportAllSolutions(SolutionWriter writer, Criterion... stop) {
 		_me().getModel().clearObjective();
         _me().addStopCriterion(stop);
-        List<Solution> solutions = new ArrayList<>();
+        long nb = writer.getNbSolutions();
         while (_me().solve()) {
-            solutions.add(new Solution(_me().getModel()).record());
+            writer.onSolution();
         }
         _me().removeStopCriterion(stop);
-        return solutions;
+        writer.flush();
+        return writer.getNbSolutions() - nb;
     }
 
     /**
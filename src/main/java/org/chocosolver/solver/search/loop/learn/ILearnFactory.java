@@ -47,4 +47,16 @@ public interface ILearnFactory extends ISelf<Solver> {
     default void setDBTLearning(boolean nogoodsOn, boolean userFeedbackOn) {
         _me().setLearner(new LearnDBT(_me().getModel(), nogoodsOn, userFeedbackOn));
     }
+
+    /**
+     * Creates a learning object based on lazy clause generation, which also records the activity of the variables.
+     * On each failure, the conflict is analysed down to its first unique implication point, the learnt clause,
+     * over literals <i>[x &le; v]</i> and <i>[x = v]</i>, is added to the nogood store,
+     * and the activities of its variables are bumped, to be used with
+     * {@link org.chocosolver.solver.search.strategy.Search#vsidsSearch(org.chocosolver.solver.variables.IntVar...)}.
+     * @param decay decay factor of the variables' activities, in ]0,1] (0.95 is a common value)
+     */
+    default void setLCGLearning(double decay) {
+        _me().setLearner(new LearnLCG(_me().getModel(), decay));
+    }
 }
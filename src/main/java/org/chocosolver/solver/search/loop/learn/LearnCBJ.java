@@ -101,7 +101,7 @@ public class LearnCBJ extends LearnExplained {
      * If this explanation is not complete, it does nothing.
      */
     @SuppressWarnings("unchecked")
-    private void postNogood() {
+    protected void postNogood() {
         if (lastExplanation.isComplete()) {
             Model mModel = ngstore.getModel();
             DecisionPath dp = mModel.getSolver().getDecisionPath();
@@ -116,7 +116,7 @@ public class LearnCBJ extends LearnExplained {
                             (Integer) decision.getDecisionValue(), true)));
                 }
             }
-            ngstore.addLearnt(ps.toArray());
+            ngstore.addLearnt(true, ps.toArray());
         }
     }
 
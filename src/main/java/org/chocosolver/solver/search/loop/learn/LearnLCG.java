@@ -0,0 +1,195 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.learn;
+
+import org.chocosolver.sat.PropNogoods;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.explanations.ConflictAnalyzer;
+import org.chocosolver.solver.explanations.ExplanationEngine;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A learning strategy which records clauses over integer literals, lazy clause generation-like [1],
+ * and the activity of the variables.
+ * <p>
+ * On each failure, the conflict is analysed down to its first unique implication point by a {@link ConflictAnalyzer}:
+ * the learnt clause, over literals {@code [x <= v]} and {@code [x = v]} created on demand,
+ * is added to {@link PropNogoods}, and the search backjumps to the decision of the conflict level.
+ * <p>
+ * In addition, the activity of the variables of each learnt clause is bumped, VSIDS-like [2],
+ * and all activities decay geometrically on each conflict
+ * (actually, the bumping increment grows, which preserves the order of the variables).
+ * These activities are used by {@link org.chocosolver.solver.search.strategy.selectors.variables.VSIDS}
+ * to branch on the variables involved in the most recent conflicts.
+ * <p>
+ * [1]: O. Ohrimenko, P.J. Stuckey, M. Codish, Propagation via lazy clause generation, Constraints 14(3), 2009.
+ * <br/>
+ * [2]: M. W. Moskewicz, C. F. Madigan, Y. Zhao, L. Zhang, and S. Malik, Chaff: Engineering an Efficient SAT Solver, DAC-01.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class LearnLCG extends LearnExplained {
+
+    /**
+     * Informed of the changes of the activities
+     */
+    public interface ActivityListener {
+
+        /**
+         * Called when the activity of a variable has increased.
+         *
+         * @param var a variable
+         */
+        void onBump(Variable var);
+
+        /**
+         * Called when all the activities have been divided by the same factor.
+         * The order of the variables is preserved, except that distinct activities may become equal.
+         */
+        default void onRescale() {
+        }
+    }
+
+    /**
+     * Above this value, activities are rescaled
+     */
+    private static final double RESCALE = 1e100;
+
+    /**
+     * The store of learnt clauses
+     */
+    private final PropNogoods ngstore;
+
+    /**
+     * Computes the learnt clauses and the backjumps
+     */
+    private final ConflictAnalyzer analyzer;
+
+    /**
+     * Activity of each variable, indexed by ID, variables never bumped have an activity of 0
+     */
+    private double[] activities;
+
+    /**
+     * Inverse of the decay factor
+     */
+    private final double decay;
+
+    /**
+     * Current bumping increment
+     */
+    private double increment;
+
+    /**
+     * Informed of the changes of the activities
+     */
+    private final List<ActivityListener> listeners;
+
+    /**
+     * Variables already bumped for the current clause, a variable may appear in several literals
+     */
+    private final BitSet bumped;
+
+    /**
+     * Create a learning strategy which records clauses over integer literals and the activity of the variables.
+     * @param mModel the model to instrument
+     * @param decay decay factor of the activities, in ]0,1] (0.95 is a common value)
+     */
+    public LearnLCG(Model mModel, double decay) {
+        super(mModel, false, false);
+        if (decay <= 0 || decay > 1) {
+            throw new IllegalArgumentException("LearnLCG: decay factor should be in ]0,1]");
+        }
+        this.ngstore = mModel.getNogoodStore().getPropNogoods();
+        this.analyzer = new ConflictAnalyzer(mModel, ((ExplanationEngine) mExplainer).getEventStore(), ngstore);
+        mModel.getSolver().plugMonitor(analyzer);
+        this.activities = new double[mModel.getNbVars()];
+        this.decay = 1d / decay;
+        this.increment = 1d;
+        this.listeners = new ArrayList<>();
+        this.bumped = new BitSet();
+    }
+
+    /**
+     * Add a listener, informed of the changes of the activities
+     * @param listener a listener
+     */
+    public void addActivityListener(ActivityListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onFailure(Solver solver) {
+        analyzer.analyze(solver.getContradictionException());
+        int[] clause = analyzer.getClause();
+        if (clause.length > 0) {
+            ngstore.addLearnt(true, clause);
+            bumped.clear();
+            for (int i = 0; i < clause.length; i++) {
+                Variable var = ngstore.getIntVar(clause[i]);
+                if (!bumped.get(var.getId())) {
+                    bumped.set(var.getId());
+                    bump(var);
+                }
+            }
+        }
+        increment *= decay;
+        if (increment > RESCALE) {
+            rescale();
+        }
+        solver.setJumpTo(analyzer.getJump());
+    }
+
+    @Override
+    public void onSolution(Solver solver) {
+        analyzer.onSolution();
+        solver.setJumpTo(1);
+    }
+
+    private void bump(Variable var) {
+        int id = var.getId();
+        if (id >= activities.length) {
+            activities = Arrays.copyOf(activities, Math.max(id + 1, activities.length * 3 / 2));
+        }
+        activities[id] += increment;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onBump(var);
+        }
+        if (activities[id] > RESCALE) {
+            rescale();
+        }
+    }
+
+    private void rescale() {
+        for (int i = 0; i < activities.length; i++) {
+            activities[i] /= RESCALE;
+        }
+        increment /= RESCALE;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onRescale();
+        }
+    }
+
+    /**
+     * @param var a variable
+     * @return the activity of <i>var</i>, 0 if it has never been involved in a learnt clause
+     */
+    public double getActivity(Variable var) {
+        int id = var.getId();
+        return id < activities.length ? activities[id] : 0d;
+    }
+}
@@ -17,6 +17,7 @@ import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.explanations.*;
+import org.chocosolver.solver.explanations.store.IEventStore;
 import org.chocosolver.solver.objective.IObjectiveManager;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
@@ -224,7 +225,7 @@ public class ExplainingObjective extends ExplainingCut{
         RuleStore rs = mExplanationEngine.getRuleStore();
         rs.init(explanation);
         rs.addRemovalRule(objective, value);
-        ArrayEventStore es = mExplanationEngine.getEventStore();
+        IEventStore es = mExplanationEngine.getEventStore();
         int i = es.getSize() - 1;
 
         while (i > -1) {
@@ -256,7 +257,7 @@ public class ExplainingObjective extends ExplainingCut{
         boolean ismax = om.getPolicy() == ResolutionPolicy.MAXIMIZE;
         Explanation explanation = mExplanationEngine.makeExplanation(false);
         RuleStore rs = mExplanationEngine.getRuleStore();
-        ArrayEventStore es = mExplanationEngine.getEventStore();
+        IEventStore es = mExplanationEngine.getEventStore();
         rs.init(explanation);
         int i = 0;
         int far, near;
@@ -311,7 +312,7 @@ public class ExplainingObjective extends ExplainingCut{
     }
 
 
-    private void explainValueB(int value, ArrayEventStore es, int i) {
+    private void explainValueB(int value, IEventStore es, int i) {
 
         // mimic explanation computation
         Explanation explanation = mExplanationEngine.makeExplanation(false);
@@ -81,10 +81,10 @@ public class NogoodFromRestarts implements IMonitorRestart {
                     } else {
                         if (i == 0) {
                             // value can be removed permanently from var!
-                            png.addLearnt(SatSolver.negated(png.Literal(id.getDecisionVariable(), id.getDecisionValue(), true)));
+                            png.addLearnt(true, SatSolver.negated(png.Literal(id.getDecisionVariable(), id.getDecisionValue(), true)));
                         } else {
                             lits[i] = SatSolver.negated(png.Literal(id.getDecisionVariable(), id.getDecisionValue(), true));
-                            png.addLearnt(Arrays.copyOf(lits, i + 1));
+                            png.addLearnt(true, Arrays.copyOf(lits, i + 1));
                         }
                     }
                 } else if (id.getDecOp() == DecisionOperatorFactory.makeIntNeq()) {
@@ -93,10 +93,10 @@ public class NogoodFromRestarts implements IMonitorRestart {
                     } else {
                         if (i == 0) {
                             // value can be removed permanently from var!
-                            png.addLearnt(png.Literal(id.getDecisionVariable(), id.getDecisionValue(), true));
+                            png.addLearnt(true, png.Literal(id.getDecisionVariable(), id.getDecisionValue(), true));
                         } else {
                             lits[i] = png.Literal(id.getDecisionVariable(), id.getDecisionValue(), true);
-                            png.addLearnt(Arrays.copyOf(lits, i + 1));
+                            png.addLearnt(true, Arrays.copyOf(lits, i + 1));
                         }
                     }
                 } else {
@@ -0,0 +1,379 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.monitors;
+
+import com.github.cpprofiler.Connector;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An offline reader of the search trees recorded by {@link SearchTraceRecorder}.
+ * <p>
+ * The records are given, in order, to a {@link Visitor}.
+ * Built-in visitors rebuild the {@link Statistics} of the search,
+ * or send the search tree to <a href="https://github.com/cp-profiler/cp-profiler">cp-profiler</a>.
+ * <p>
+ * <pre> {@code
+ * SearchTraceReader reader = new SearchTraceReader(Paths.get("costas.trace"));
+ * System.out.println(reader.statistics());
+ * }</pre>
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class SearchTraceReader {
+
+    /**
+     * Receives the records of a trace, in order.
+     * Node ids are the ones of the trace, they start again from 0 in each trace of the file.
+     */
+    public interface Visitor {
+
+        /**
+         * Called at the beginning of each trace of the file.
+         *
+         * @param version version of the file format
+         */
+        default void onTrace(int version) {
+        }
+
+        /**
+         * Called on each node.
+         *
+         * @param id      id of the node
+         * @param parent  id of the parent node, -1 for a root node
+         * @param alt     position of the node among the children of its parent
+         * @param depth   depth of the node, 0 for a root node
+         * @param label   label of the decision applied, <i>ROOT</i> for a root node
+         * @param restart restart id
+         * @param time    time in nanoseconds
+         */
+        void onNode(int id, int parent, int alt, int depth, String label, int restart, long time);
+
+        /**
+         * Called when a node fails.
+         *
+         * @param id   id of the node, -1 if the failure is detected by the initial propagation
+         * @param time time in nanoseconds
+         */
+        default void onFailure(int id, long time) {
+        }
+
+        /**
+         * Called when a node is a solution.
+         *
+         * @param id   id of the node, -1 if the solution is found by the initial propagation
+         * @param time time in nanoseconds
+         */
+        default void onSolution(int id, long time) {
+        }
+
+        /**
+         * Called on each restart.
+         *
+         * @param restart restart id
+         * @param time    time in nanoseconds
+         */
+        default void onRestart(int restart, long time) {
+        }
+    }
+
+    /**
+     * Statistics of a search, rebuilt from its trace.
+     */
+    public static class Statistics implements Visitor {
+        /**
+         * Number of nodes, roots excluded
+         */
+        public long nodes;
+        /**
+         * Number of failures
+         */
+        public long failures;
+        /**
+         * Number of solutions
+         */
+        public long solutions;
+        /**
+         * Number of restarts
+         */
+        public long restarts;
+        /**
+         * Maximum depth
+         */
+        public int maxDepth;
+        /**
+         * Time of the last record, in nanoseconds
+         */
+        public long time;
+
+        @Override
+        public void onNode(int id, int parent, int alt, int depth, String label, int restart, long time) {
+            if (parent != -1) {
+                nodes++;
+            }
+            maxDepth = Math.max(maxDepth, depth);
+            this.time = Math.max(this.time, time);
+        }
+
+        @Override
+        public void onFailure(int id, long time) {
+            failures++;
+            this.time = Math.max(this.time, time);
+        }
+
+        @Override
+        public void onSolution(int id, long time) {
+            solutions++;
+            this.time = Math.max(this.time, time);
+        }
+
+        @Override
+        public void onRestart(int restart, long time) {
+            restarts++;
+            this.time = Math.max(this.time, time);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d nodes, %d failures, %d solutions, %d restarts, max depth %d, %.3fs",
+                    nodes, failures, solutions, restarts, maxDepth, time / 1e9);
+        }
+    }
+
+    /**
+     * The trace file
+     */
+    private final Path file;
+
+    /**
+     * Create a reader of a trace file.
+     *
+     * @param file a file written by a {@link SearchTraceRecorder}
+     */
+    public SearchTraceReader(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Read the trace file and give its records to <i>visitor</i>.
+     *
+     * @param visitor receives the records
+     * @throws IOException if the file cannot be read or is not a trace file
+     */
+    public void read(Visitor visitor) throws IOException {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+             DataInputStream in = new DataInputStream(is)) {
+            Map<Integer, String> variables = new HashMap<>();
+            Map<Integer, String> operators = new HashMap<>();
+            int kind;
+            while ((kind = in.read()) != -1) {
+                switch (kind) {
+                    case SearchTraceRecorder.NODE: {
+                        int id = in.readInt();
+                        int parent = in.readInt();
+                        int alt = in.readInt();
+                        int depth = in.readInt();
+                        int var = in.readInt();
+                        int op = in.readInt();
+                        int value = in.readInt();
+                        int restart = in.readInt();
+                        long time = in.readLong();
+                        String label;
+                        if (parent == -1) {
+                            label = "ROOT";
+                        } else {
+                            label = variables.getOrDefault(var, "?");
+                            if (op != -1) {
+                                label += operators.get(op) + value;
+                            }
+                        }
+                        visitor.onNode(id, parent, alt, depth, label, restart, time);
+                        break;
+                    }
+                    case SearchTraceRecorder.FAILURE:
+                        visitor.onFailure(in.readInt(), in.readLong());
+                        break;
+                    case SearchTraceRecorder.SOLUTION:
+                        visitor.onSolution(in.readInt(), in.readLong());
+                        break;
+                    case SearchTraceRecorder.RESTART:
+                        visitor.onRestart(in.readInt(), in.readLong());
+                        break;
+                    case SearchTraceRecorder.VARIABLE:
+                        variables.put(in.readInt(), readString(in));
+                        break;
+                    case SearchTraceRecorder.OPERATOR:
+                        operators.put(in.readInt(), readString(in));
+                        break;
+                    case SearchTraceRecorder.MAGIC >>> 24: {
+                        // a new trace: the first byte of the header has been read already
+                        int magic = (kind << 24) | (in.readUnsignedByte() << 16)
+                                | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+                        if (magic != SearchTraceRecorder.MAGIC) {
+                            throw new IOException("Not a search trace file: " + file);
+                        }
+                        variables.clear();
+                        operators.clear();
+                        visitor.onTrace(in.readInt());
+                        break;
+                    }
+                    default:
+                        throw new IOException("Unknown record " + kind + " in " + file);
+                }
+            }
+        } catch (EOFException e) {
+            // the last record is truncated, for instance when the recorder has not been closed
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Rebuild the statistics of the search from the trace file.
+     *
+     * @return the statistics of all the traces of the file
+     * @throws IOException if the file cannot be read or is not a trace file
+     */
+    public Statistics statistics() throws IOException {
+        Statistics statistics = new Statistics();
+        read(statistics);
+        return statistics;
+    }
+
+    /**
+     * Send the search trees of the trace file to <a href="https://github.com/cp-profiler/cp-profiler">cp-profiler</a>,
+     * which has to be launched before.
+     * Since the number of children of a node is needed when sending it, the file is read twice.
+     *
+     * @param name name of the tree
+     * @param port port used by cp-profiler, commonly 6565
+     * @throws IOException if the file cannot be read or the connection fails
+     */
+    public void exportToCPProfiler(String name, int port) throws IOException {
+        // first pass: count the children and store the outcome of each node, trace by trace
+        List<int[]> kids = new ArrayList<>();
+        List<byte[]> status = new ArrayList<>();
+        read(new Visitor() {
+            int[] k;
+            byte[] s;
+
+            @Override
+            public void onTrace(int version) {
+                k = new int[16];
+                s = new byte[16];
+                kids.add(k);
+                status.add(s);
+            }
+
+            @Override
+            public void onNode(int id, int parent, int alt, int depth, String label, int restart, long time) {
+                if (id >= k.length) {
+                    k = Arrays.copyOf(k, Math.max(id + 1, k.length * 3 / 2));
+                    s = Arrays.copyOf(s, k.length);
+                    kids.set(kids.size() - 1, k);
+                    status.set(status.size() - 1, s);
+                }
+                if (parent != -1) {
+                    k[parent]++;
+                }
+            }
+
+            @Override
+            public void onFailure(int id, long time) {
+                if (id >= 0) {
+                    s[id] = SearchTraceRecorder.FAILURE;
+                }
+            }
+
+            @Override
+            public void onSolution(int id, long time) {
+                if (id >= 0) {
+                    s[id] = SearchTraceRecorder.SOLUTION;
+                }
+            }
+        });
+        // second pass: send the nodes, ids and restart ids being shifted from one trace to the other
+        Connector connector = new Connector();
+        connector.connect(port);
+        try {
+            connector.restart(name, 0);
+            read(new Visitor() {
+                int trace = -1;
+                int offset, next;
+                int roffset, rid;
+
+                @Override
+                public void onTrace(int version) {
+                    trace++;
+                    offset = next;
+                    roffset = rid + (trace > 0 ? 1 : 0);
+                    if (trace > 0) {
+                        restart(roffset);
+                    }
+                }
+
+                @Override
+                public void onRestart(int restart, long time) {
+                    restart(roffset + restart);
+                }
+
+                private void restart(int r) {
+                    rid = r;
+                    try {
+                        connector.restart(rid);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void onNode(int id, int parent, int alt, int depth, String label, int restart, long time) {
+                    byte st = status.get(trace)[id];
+                    Connector.NodeStatus ns = st == SearchTraceRecorder.FAILURE ? Connector.NodeStatus.FAILED :
+                            st == SearchTraceRecorder.SOLUTION ? Connector.NodeStatus.SOLVED :
+                                    Connector.NodeStatus.BRANCH;
+                    next = Math.max(next, offset + id + 1);
+                    try {
+                        connector.createNode(offset + id, parent == -1 ? -1 : offset + parent, alt,
+                                kids.get(trace)[id], ns)
+                                .setRestartId(rid)
+                                .setLabel(label)
+                                .setInfo("")
+                                .send();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            connector.disconnect();
+        }
+    }
+}
@@ -0,0 +1,361 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.monitors;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.variables.Variable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+
+/**
+ * A search monitor which records the search tree in a local binary file, to be analysed offline,
+ * for instance with {@link SearchTraceReader}.
+ * <p>
+ * Contrary to {@link CPProfiler}, nothing is formatted nor sent during search:
+ * each node is written as a fixed-size record in a buffer, which is appended to the file when full.
+ * Variable names and decision operators are written once, the first time they appear.
+ * The file starts with {@link #MAGIC} and {@link #VERSION}, then comes a sequence of records,
+ * each starting with its kind:
+ * <ul>
+ *     <li>{@link #NODE}: id, parent id, alternative, depth, variable id, operator id, value, restart id and time,</li>
+ *     <li>{@link #FAILURE} and {@link #SOLUTION}: id of the node and time,</li>
+ *     <li>{@link #RESTART}: restart id and time,</li>
+ *     <li>{@link #VARIABLE} and {@link #OPERATOR}: id, length and UTF-8 bytes of the name.</li>
+ * </ul>
+ * All numbers are stored as <i>int</i>, but times which are stored as <i>long</i>,
+ * in nanoseconds since the creation of the recorder.
+ * A root node, with parent id -1 and depth 0, is created at the beginning of the search and after each restart.
+ * The id of an unknown decision operator or of a non-integer value is -1,
+ * and so is the node id of a failure detected by the initial propagation.
+ * Since the file is opened in append mode, it may contain several traces, each starting with its own header.
+ * <p>
+ * Note that SearchTraceRecorder is {@link Closeable} and can be used as follow:
+ * <p>
+ * <pre> {@code
+ * Model model = ProblemMaker.makeCostasArrays(7);
+ *  try (SearchTraceRecorder recorder = new SearchTraceRecorder(model, Paths.get("costas.trace"))) {
+ *      while (model.getSolver().solve()) ;
+ *  }
+ * }</pre>
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class SearchTraceRecorder implements IMonitorDownBranch, IMonitorSolution, IMonitorContradiction,
+        IMonitorRestart, Closeable {
+
+    /**
+     * First int of a trace file
+     */
+    public static final int MAGIC = 0x43485452;
+    /**
+     * Version of the file format
+     */
+    public static final int VERSION = 1;
+    /**
+     * Kind of record: a new node
+     */
+    public static final byte NODE = 0;
+    /**
+     * Kind of record: the last node failed
+     */
+    public static final byte FAILURE = 1;
+    /**
+     * Kind of record: the last node is a solution
+     */
+    public static final byte SOLUTION = 2;
+    /**
+     * Kind of record: a restart
+     */
+    public static final byte RESTART = 3;
+    /**
+     * Kind of record: the name of a variable
+     */
+    public static final byte VARIABLE = 4;
+    /**
+     * Kind of record: the name of a decision operator
+     */
+    public static final byte OPERATOR = 5;
+
+    /**
+     * Size of a {@link #NODE} record, in bytes
+     */
+    private static final int NODE_SIZE = 1 + 8 * 4 + 8;
+
+    /**
+     * Reference to the model
+     */
+    private final Model mModel;
+    /**
+     * Reference to the environment, whose world index gives the depth of a node
+     */
+    private final IEnvironment environment;
+    /**
+     * Channel to the file, opened in append mode
+     */
+    private final FileChannel channel;
+    /**
+     * Buffer of records, appended to the file when full
+     */
+    private final ByteBuffer buffer;
+    /**
+     * Reference time
+     */
+    private final long t0;
+    /**
+     * Id of the node created in each world
+     */
+    private int[] nodes;
+    /**
+     * Restart in which each node of {@link #nodes} has been created
+     */
+    private int[] stamps;
+    /**
+     * Number of nodes created
+     */
+    private int nc;
+    /**
+     * Current restart id
+     */
+    private int rid;
+    /**
+     * Id of the current node, -1 if none
+     */
+    private int current;
+    /**
+     * World index of the root node of the current restart
+     */
+    private int rootWorld;
+    /**
+     * Variables whose name has already been written
+     */
+    private final BitSet names;
+    /**
+     * Decision operators already written, and their id
+     */
+    private final IdentityHashMap<DecisionOperator, Integer> operators;
+    /**
+     * Is the file still opened
+     */
+    private boolean opened;
+
+    /**
+     * Record the search tree of <i>aModel</i> in <i>file</i>, with a buffer of 64kB.
+     *
+     * @param aModel model to observe resolution
+     * @param file   file to append the trace to, created if needed
+     * @throws IOException if the file cannot be opened
+     */
+    public SearchTraceRecorder(Model aModel, Path file) throws IOException {
+        this(aModel, file, 1 << 16);
+    }
+
+    /**
+     * Record the search tree of <i>aModel</i> in <i>file</i>.
+     *
+     * @param aModel     model to observe resolution
+     * @param file       file to append the trace to, created if needed
+     * @param bufferSize size of the buffer in bytes, the file is written each time it is full
+     * @throws IOException if the file cannot be opened
+     */
+    public SearchTraceRecorder(Model aModel, Path file, int bufferSize) throws IOException {
+        this.mModel = aModel;
+        this.environment = aModel.getEnvironment();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 64));
+        this.t0 = System.nanoTime();
+        this.nodes = new int[16];
+        this.stamps = new int[16];
+        Arrays.fill(stamps, -1);
+        this.names = new BitSet();
+        this.operators = new IdentityHashMap<>();
+        this.current = -1;
+        buffer.putInt(MAGIC).putInt(VERSION);
+        mModel.getSolver().plugMonitor(this);
+        opened = true;
+    }
+
+    /**
+     * Append the buffered records to the file and close it.
+     */
+    @Override
+    public void close() throws IOException {
+        if (opened) {
+            mModel.getSolver().unplugMonitor(this);
+            flush();
+            channel.close();
+        }
+        opened = false;
+    }
+
+    /**
+     * Append the buffered records to the file.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensure(int size) {
+        if (buffer.remaining() < size) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @param w a world index
+     * @return the id of the node created in world <i>w</i> during the current restart, -1 if none
+     */
+    private int nodeAt(int w) {
+        return w < nodes.length && stamps[w] == rid ? nodes[w] : -1;
+    }
+
+    private void setNodeAt(int w, int id) {
+        if (w >= nodes.length) {
+            int n = Math.max(w + 1, nodes.length * 3 / 2);
+            nodes = Arrays.copyOf(nodes, n);
+            int o = stamps.length;
+            stamps = Arrays.copyOf(stamps, n);
+            Arrays.fill(stamps, o, n, -1);
+        }
+        nodes[w] = id;
+        stamps[w] = rid;
+    }
+
+    @Override
+    public void beforeDownBranch(boolean left) {
+        if (!opened) {
+            return;
+        }
+        Decision dec = mModel.getSolver().getDecisionPath().getLastDecision();
+        int w = environment.getWorldIndex();
+        int parent = nodeAt(w - 1);
+        if (parent == -1) {
+            // root node of the current restart
+            rootWorld = w - 1;
+            parent = node(-1, 0, w - 1, -1, -1, -1);
+        }
+        int var = -1, op = -1, value = -1;
+        if (dec != null && dec.getDecisionVariable() != null) {
+            Variable v = dec.getDecisionVariable();
+            var = v.getId();
+            if (!names.get(var)) {
+                names.set(var);
+                string(VARIABLE, var, v.getName());
+            }
+            if (dec instanceof IntDecision) {
+                IntDecision idec = (IntDecision) dec;
+                // the decision is not applied yet
+                DecisionOperator dop = left ? idec.getDecOp() : idec.getDecOp().opposite();
+                op = operator(dop);
+                value = idec.getDecisionValue();
+            }
+        }
+        node(parent, left ? 0 : 1, w, var, op, value);
+    }
+
+    /**
+     * Write a node record and make it the current node.
+     */
+    private int node(int parent, int alt, int w, int var, int op, int value) {
+        int id = nc++;
+        ensure(NODE_SIZE);
+        buffer.put(NODE)
+                .putInt(id).putInt(parent).putInt(alt).putInt(w - rootWorld)
+                .putInt(var).putInt(op).putInt(value).putInt(rid)
+                .putLong(System.nanoTime() - t0);
+        setNodeAt(w, id);
+        current = id;
+        return id;
+    }
+
+    private int operator(DecisionOperator dop) {
+        Integer id = operators.get(dop);
+        if (id == null) {
+            id = operators.size();
+            operators.put(dop, id);
+            string(OPERATOR, id, dop.toString());
+        }
+        return id;
+    }
+
+    private void string(byte kind, int id, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        ensure(9 + bytes.length);
+        if (buffer.remaining() < 9 + bytes.length) {
+            // larger than the buffer itself
+            ByteBuffer large = ByteBuffer.allocate(9 + bytes.length);
+            large.put(kind).putInt(id).putInt(bytes.length).put(bytes);
+            large.flip();
+            try {
+                while (large.hasRemaining()) {
+                    channel.write(large);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            buffer.put(kind).putInt(id).putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private void outcome(byte kind) {
+        if (opened) {
+            ensure(13);
+            buffer.put(kind).putInt(current).putLong(System.nanoTime() - t0);
+        }
+    }
+
+    @Override
+    public void onContradiction(ContradictionException cex) {
+        outcome(FAILURE);
+    }
+
+    @Override
+    public void onSolution() {
+        outcome(SOLUTION);
+    }
+
+    @Override
+    public void afterRestart() {
+        if (opened) {
+            rid++;
+            // no node yet in the new restart
+            current = -1;
+            ensure(13);
+            buffer.put(RESTART).putInt(rid).putLong(System.nanoTime() - t0);
+        }
+    }
+}
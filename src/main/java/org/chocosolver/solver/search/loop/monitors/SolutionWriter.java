@@ -0,0 +1,367 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.monitors;
+
+import org.chocosolver.solver.variables.IntVar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A search monitor which writes the value of integer variables on each solution into a channel,
+ * without creating any {@link org.chocosolver.solver.Solution}.
+ * <p>
+ * Values are written into a fixed number of buffers, which are written to the channel by a dedicated thread.
+ * When all the buffers are waiting to be written, the search thread waits for one of them to be released,
+ * so that a slow channel slows down the search instead of exhausting the memory.
+ * <p>
+ * Two formats are available:
+ * <ul>
+ * <li>{@link Format#CSV}: a first line with the names of the variables, then one line per solution,</li>
+ * <li>{@link Format#BINARY}: a 4-byte integer, the number of variables, then for each solution,
+ * the value of each variable as a 4-byte integer, in big-endian order
+ * (readable with a {@link java.io.DataInputStream}).</li>
+ * </ul>
+ * Note that SolutionWriter is {@link Closeable} and can be used as follow:
+ * <pre> {@code
+ * try (SolutionWriter writer = new SolutionWriter(path, SolutionWriter.Format.CSV, true, vars)) {
+ *      model.getSolver().exportAllSolutions(writer);
+ * }
+ * }</pre>
+ * or plugged in a solver with {@link org.chocosolver.solver.Solver#plugMonitor(ISearchMonitor)}.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class SolutionWriter implements IMonitorSolution, Closeable {
+
+    /**
+     * Output formats
+     */
+    public enum Format {
+        /**
+         * One line per solution, values separated by commas
+         */
+        CSV,
+        /**
+         * One 4-byte integer per value
+         */
+        BINARY
+    }
+
+    /**
+     * Default size of a buffer, in bytes
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Default number of buffers
+     */
+    private static final int NB_BUFFERS = 4;
+
+    /**
+     * Sent to the writing thread on closing
+     */
+    private static final ByteBuffer EOF = ByteBuffer.allocate(0);
+
+    /**
+     * Variables to write
+     */
+    private final IntVar[] vars;
+
+    /**
+     * Output format
+     */
+    private final Format format;
+
+    /**
+     * Output channel
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * Buffers ready to be filled
+     */
+    private final BlockingQueue<ByteBuffer> free;
+
+    /**
+     * Buffers waiting to be written
+     */
+    private final BlockingQueue<ByteBuffer> full;
+
+    /**
+     * Thread which writes buffers into {@link #channel}
+     */
+    private final Thread writer;
+
+    /**
+     * Maximum number of bytes of a solution
+     */
+    private final int recordSize;
+
+    /**
+     * Buffer being filled
+     */
+    private ByteBuffer current;
+
+    /**
+     * Error raised by the writing thread, if any
+     */
+    private volatile IOException error;
+
+    /**
+     * Number of solutions written
+     */
+    private long nbSolutions;
+
+    /**
+     * Number of times the search had to wait for a buffer
+     */
+    private long nbStalls;
+
+    /**
+     * Set to <tt>true</tt> once closed
+     */
+    private boolean closed;
+
+    /**
+     * Create a writer into the file <i>path</i>, which is created or overwritten.
+     *
+     * @param path     path of the file
+     * @param format   output format
+     * @param compress set to <tt>true</tt> to compress the output with gzip
+     * @param vars     variables to write
+     * @throws IOException if the file cannot be opened
+     */
+    public SolutionWriter(Path path, Format format, boolean compress, IntVar... vars) throws IOException {
+        this(open(path, compress), format, BUFFER_SIZE, NB_BUFFERS, vars);
+    }
+
+    /**
+     * Create a writer into <i>channel</i>, which is closed with this writer.
+     *
+     * @param channel    output channel
+     * @param format     output format
+     * @param bufferSize size of a buffer, in bytes, increased if a solution does not fit in
+     * @param nbBuffers  number of buffers, at least 2
+     * @param vars       variables to write
+     * @throws IOException if the header cannot be written
+     */
+    public SolutionWriter(WritableByteChannel channel, Format format, int bufferSize, int nbBuffers, IntVar... vars)
+            throws IOException {
+        if (nbBuffers < 2) {
+            throw new IllegalArgumentException("At least 2 buffers are needed");
+        }
+        this.vars = vars.clone();
+        this.format = format;
+        this.channel = channel;
+        // "-2147483648," is 12 bytes long
+        this.recordSize = format == Format.CSV ? 12 * vars.length + 1 : 4 * vars.length;
+        int size = Math.max(bufferSize, recordSize);
+        this.free = new ArrayBlockingQueue<>(nbBuffers);
+        this.full = new ArrayBlockingQueue<>(nbBuffers + 1);
+        for (int i = 1; i < nbBuffers; i++) {
+            free.add(channel instanceof FileChannel ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size));
+        }
+        this.current = channel instanceof FileChannel ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        writeHeader();
+        this.writer = new Thread(this::write, "SolutionWriter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    private static WritableByteChannel open(Path path, boolean compress) throws IOException {
+        FileChannel fc = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        if (compress) {
+            return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(fc), BUFFER_SIZE));
+        }
+        return fc;
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header;
+        if (format == Format.CSV) {
+            StringBuilder st = new StringBuilder();
+            for (int i = 0; i < vars.length; i++) {
+                st.append(i > 0 ? "," : "").append(vars[i].getName());
+            }
+            header = ByteBuffer.wrap(st.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+        } else {
+            header = ByteBuffer.allocate(4);
+            header.putInt(vars.length).flip();
+        }
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * Loop of the writing thread
+     */
+    private void write() {
+        try {
+            ByteBuffer buffer;
+            while ((buffer = full.take()) != EOF) {
+                if (error == null) {
+                    try {
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                }
+                buffer.clear();
+                free.put(buffer);
+            }
+        } catch (InterruptedException e) {
+            error = new InterruptedIOException("Solution writer interrupted");
+        }
+    }
+
+    /**
+     * Write the current value of the variables.
+     *
+     * @throws UncheckedIOException if an error occurred while writing previous solutions
+     */
+    @Override
+    public void onSolution() {
+        if (current.remaining() < recordSize) {
+            send();
+        }
+        if (format == Format.CSV) {
+            for (int i = 0; i < vars.length; i++) {
+                if (i > 0) {
+                    current.put((byte) ',');
+                }
+                putAscii(current, vars[i].getValue());
+            }
+            current.put((byte) '\n');
+        } else {
+            for (int i = 0; i < vars.length; i++) {
+                current.putInt(vars[i].getValue());
+            }
+        }
+        nbSolutions++;
+    }
+
+    /**
+     * Put the decimal representation of <i>value</i> into <i>buffer</i>, without allocation
+     */
+    private static void putAscii(ByteBuffer buffer, int value) {
+        long v = value;
+        if (v < 0) {
+            buffer.put((byte) '-');
+            v = -v;
+        }
+        int start = buffer.position();
+        do {
+            buffer.put((byte) ('0' + v % 10));
+            v /= 10;
+        } while (v > 0);
+        // digits are in reverse order
+        for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+            byte b = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, b);
+        }
+    }
+
+    /**
+     * Hand the current buffer to the writing thread and take a free one, waiting if none is available
+     */
+    private void send() {
+        checkError();
+        current.flip();
+        try {
+            full.put(current);
+            ByteBuffer next = free.poll();
+            if (next == null) {
+                nbStalls++;
+                next = free.take();
+            }
+            current = next;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for the solution writer"));
+        }
+    }
+
+    private void checkError() {
+        if (error != null) {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    /**
+     * Hand the solutions written so far to the writing thread.
+     * Note that they may not be written into the channel when this method returns.
+     */
+    public void flush() {
+        if (current.position() > 0) {
+            send();
+        }
+    }
+
+    /**
+     * @return the number of solutions written
+     */
+    public long getNbSolutions() {
+        return nbSolutions;
+    }
+
+    /**
+     * @return the number of times the search waited for the channel
+     */
+    public long getNbStalls() {
+        return nbStalls;
+    }
+
+    /**
+     * Write the remaining solutions, then close the channel.
+     *
+     * @throws IOException if an error occurred while writing solutions or closing the channel
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (current.position() > 0) {
+                current.flip();
+                full.put(current);
+            }
+            full.put(EOF);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the solution writer");
+        } finally {
+            channel.close();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+}
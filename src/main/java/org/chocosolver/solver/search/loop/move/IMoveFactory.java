@@ -74,6 +74,24 @@ public interface IMoveFactory extends ISelf<Solver> {
         _me().setMove(new MoveBinaryHBFS(_me().getModel(), _me().getSearch(), a, b, N));
     }
 
+    /**
+     * Creates a move object based on:
+     * Hybrid Best-First Search[1] algorithms with binary decisions.
+     * Open right branches are reached back from domain snapshots, within the limit of <i>snapshotBudget</i>,
+     * instead of replaying their decisions from the root node.
+     * <p>
+     * [1]:D. Allouche, S. de Givry, G. Katsirelos, T. Schiex, M. Zytnicki,
+     * Anytime Hybrid Best-First Search with Tree Decomposition for Weighted CSP, CP-2015.
+     *
+     * @param a               lower bound to limit the rate of redundantly propagated decisions
+     * @param b               upper bound to limit the rate of redundantly propagated decisions.
+     * @param N               backtrack limit for each DFS try, should be large enough to limit redundancy
+     * @param snapshotBudget  maximum number of integers to store domain snapshots (4 bytes each)
+     */
+    default void setHBFS(double a, double b, long N, long snapshotBudget) {
+        _me().setMove(new MoveBinaryHBFS(_me().getModel(), _me().getSearch(), a, b, N, snapshotBudget));
+    }
+
     /**
      * Creates a Move object that encapsulates the current move within a restart move.
      * Every time the <code>restartCriterion</code> is met, a restart is done, the new restart limit is updated
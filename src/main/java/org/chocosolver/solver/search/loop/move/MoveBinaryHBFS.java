@@ -8,18 +8,23 @@
  */
 package org.chocosolver.solver.search.loop.move;
 
+import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.objective.IObjectiveManager;
 import org.chocosolver.solver.search.limits.BacktrackCounter;
 import org.chocosolver.solver.search.strategy.decision.Decision;
 import org.chocosolver.solver.search.strategy.decision.DecisionPath;
 import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.tools.ArrayUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.PriorityQueue;
@@ -32,6 +37,13 @@ import java.util.PriorityQueue;
  * <p>
  * It restarts anytime a backtrack limit is reached and a new open right branch needs to be selected.
  * <p>
+ * By default, an open right branch is reached back by replaying its decisions from the root node, one at a time.
+ * When a memory budget is given, the domains of the integer variables which have been modified since the root node
+ * are also stored, as ranges, with each open right branch (within the limit of the budget).
+ * Such a branch is then reached back in two steps: the domains of its parent node are restored and all its decisions
+ * but the last one are applied at once, then the last one is applied on its own, so that it can be refuted.
+ * The other branches are replayed, as well as the ones whose snapshot is no longer consistent with the root node.
+ * <p>
  * Created by cprudhom on 02/11/2015.
  * Project: choco.
  * @author Charles Prud'homme
@@ -107,6 +119,53 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
      */
     private Model mModel;
 
+    /**
+     * Maximum number of integers to store domain snapshots, 0 to always replay decisions.
+     */
+    private final long snapshotBudget;
+
+    /**
+     * Number of integers currently used by domain snapshots.
+     */
+    private long snapshotUsage;
+
+    /**
+     * Domain snapshot of the current open right branch, if any.
+     */
+    private int[] csnapshot;
+
+    /**
+     * Set to <tt>true</tt> when the current open right branch has been reached back from its snapshot.
+     */
+    private boolean jumped;
+
+    /**
+     * Copies of the decisions applied at once when the current open right branch has been reached back
+     * from its snapshot, in their state before application.
+     * Since they cannot be refuted, their refutations are replayed once the open right branch is exhausted.
+     */
+    private Decision[] jumpedDecisions;
+
+    /**
+     * Number of decisions in {@link #jumpedDecisions}
+     */
+    private int nbJumped;
+
+    /**
+     * Integer variables whose domains are stored in snapshots.
+     */
+    private IntVar[] svars;
+
+    /**
+     * Domain size of {@link #svars} in the root node.
+     */
+    private int[] rootSizes;
+
+    /**
+     * Buffer to build domain snapshots.
+     */
+    private int[] sbuffer;
+
     /**
      * Create a move dedicated to run an Hybrid Best-First Search[1] (HBFS) with binary decisions.
      * @param model a model
@@ -116,7 +175,23 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
      * @param N maximum number of backtracks to not exceed when updating node recomputation parameters.
      */
     public MoveBinaryHBFS(Model model, AbstractStrategy strategy, double a, double b, long N) {
+        this(model, strategy, a, b, N, 0);
+    }
+
+    /**
+     * Create a move dedicated to run an Hybrid Best-First Search[1] (HBFS) with binary decisions,
+     * which stores domain snapshots of open right branches to avoid replaying their decisions.
+     * @param model a model
+     * @param strategy the search strategy to use
+     * @param a lower bound to limit the rate of redundantly propagated decisions.
+     * @param b upper bound to limit the rate of redundantly propagated decisions.
+     * @param N maximum number of backtracks to not exceed when updating node recomputation parameters.
+     * @param snapshotBudget maximum number of integers to store domain snapshots (4 bytes each),
+     *                       0 to always replay decisions.
+     */
+    public MoveBinaryHBFS(Model model, AbstractStrategy strategy, double a, double b, long N, long snapshotBudget) {
         super(strategy);
+        this.snapshotBudget = snapshotBudget;
         this.mModel = model;
         this.dfslimit = new BacktrackCounter(model, N);
         this.opens = new PriorityQueue<>();
@@ -128,6 +203,7 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
         this.a = a;
         this.b = b;
         this._unkopen = new ArrayList<>();
+        this.jumpedDecisions = new Decision[0];
     }
 
     @Override
@@ -144,8 +220,35 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
     @Override
     public boolean extend(Solver solver) {
         boolean extend;
+        if (snapshotBudget > 0 && svars == null) {
+            initSnapshots();
+        }
         // as we observe the number of backtracks, no limit can be reached on extend()
-        if (current < copen.length) {
+        if (current < copen.length - 2 && csnapshot != null) {
+            int[] snapshot = csnapshot;
+            csnapshot = null;
+            solver.getEnvironment().worldPush();
+            if (restore(snapshot)) {
+                // all decisions but the last one belong to the same level and cannot be refuted,
+                // the last one is applied on the next call, to be refuted later
+                if (jumpedDecisions.length < copen.length) {
+                    jumpedDecisions = new Decision[copen.length];
+                }
+                nbJumped = 0;
+                while (current < copen.length - 1) {
+                    jumpedDecisions[nbJumped++] = copy(copen[current]);
+                    solver.getDecisionPath().pushDecision(copen[current++]);
+                }
+                jumped = true;
+            } else {
+                // the open right branch is replayed instead, its failure is then detected by propagation
+                solver.getEngine().flush();
+                solver.getEnvironment().worldPop();
+                solver.getDecisionPath().pushDecision(copen[current++]);
+                solver.getEnvironment().worldPush();
+            }
+            extend = true;
+        } else if (current < copen.length) {
             solver.getDecisionPath().pushDecision(copen[current++]);
             solver.getEnvironment().worldPush();
             extend = true;
@@ -161,6 +264,11 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
         if (!dfslimit.isMet(limit)) {
             current = copen.length;
             repair = super.repair(solver);
+            if (!repair && jumped) {
+                // the decisions applied at once have not been refuted, replay the deepest refutation, if any,
+                // otherwise the search stops as if the decisions had been replayed
+                repair = replayRefutation(solver);
+            }
         } else {
             extractOpenRightBranches(solver);
             repair = true;
@@ -189,24 +297,184 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
             extractOB(solver, i);
         }
         // finally, get the best ORB to keep up the search
-        Open next = opens.poll();
+        selectNextOpen(solver);
+    }
+
+    /**
+     * Select the best open right branch to keep up the search, and restart.
+     * @param solver reference to the solver
+     */
+    private void selectNextOpen(Solver solver) {
+        Open next = poll();
         while (next != null && !isValid(next.currentBound())) {
-            next = opens.poll();
+            next = poll();
+        }
+        jumped = false;
+        for (int i = 0; i < nbJumped; i++) {
+            jumpedDecisions[i].free();
         }
+        nbJumped = 0;
         if (next != null) {
             copen = next.toArray();
             // the decision in 0 is the last taken, then the array us reversed
             ArrayUtils.reverse(copen);
             current = 0;
-            nodesRecompute = solver.getNodeCount() + copen.length;
+            csnapshot = next.snapshot;
+            nodesRecompute = solver.getNodeCount() + (csnapshot != null && copen.length > 2 ? 2 : copen.length);
         } else{
             // to be sure not to use the previous path
             current = copen.length;
+            csnapshot = null;
         }
         // then do the restart
         solver.restart();
     }
 
+    /**
+     * @return a copy of <i>decision</i>, in the same state
+     */
+    private static Decision copy(Decision decision) {
+        Decision d = decision.duplicate();
+        while (d.triesLeft() != decision.triesLeft()) {
+            d.buildNext();
+        }
+        return d;
+    }
+
+    /**
+     * Once an open right branch reached back from its snapshot is exhausted, restart from the refutation
+     * of the deepest decision applied at once which could have been refuted, as if the decisions were replayed.
+     * The search then goes on with the refutations of the decisions above it.
+     * @param solver reference to the solver
+     * @return <tt>false</tt> if no decision applied at once could have been refuted
+     */
+    private boolean replayRefutation(Solver solver) {
+        jumped = false;
+        int j = nbJumped - 1;
+        // once applied, a decision in its creation state could have been refuted
+        while (j >= 0 && jumpedDecisions[j].triesLeft() < jumpedDecisions[j].getArity()) {
+            jumpedDecisions[j--].free();
+        }
+        nbJumped = 0;
+        if (j < 0) {
+            return false;
+        }
+        copen = Arrays.copyOf(jumpedDecisions, j + 1);
+        copen[j].buildNext();
+        current = 0;
+        csnapshot = null;
+        nodesRecompute = solver.getNodeCount() + copen.length;
+        solver.restart();
+        return true;
+    }
+
+    /**
+     * Retrieve and remove the best open right branch, and release its snapshot.
+     * @return the best open right branch, or <tt>null</tt> if there is none
+     */
+    private Open poll() {
+        Open next = opens.poll();
+        if (next != null && next.snapshot != null) {
+            snapshotUsage -= next.snapshot.length;
+        }
+        return next;
+    }
+
+    /**
+     * Store the integer variables whose domains are stored in snapshots, and their domain size in the root node.
+     */
+    private void initSnapshots() {
+        Variable[] vars = mModel.getVars();
+        svars = new IntVar[vars.length];
+        int k = 0;
+        for (Variable var : vars) {
+            if ((var.getTypeAndKind() & Variable.TYPE) == Variable.VAR
+                    && (var.getTypeAndKind() & Variable.INT) != 0) {
+                svars[k++] = (IntVar) var;
+            }
+        }
+        svars = Arrays.copyOf(svars, k);
+        rootSizes = new int[k];
+        for (int i = 0; i < k; i++) {
+            rootSizes[i] = svars[i].getDomainSize();
+        }
+        sbuffer = new int[16];
+    }
+
+    /**
+     * Capture the domains of the variables modified since the root node, as ranges.
+     * Each modified variable is stored as: its index, the number of ranges, then the bounds of each range.
+     * @return the snapshot, or <tt>null</tt> if it does not fit into the memory budget
+     */
+    private int[] capture() {
+        if (svars == null || snapshotUsage >= snapshotBudget) {
+            return null;
+        }
+        int size = 0;
+        for (int i = 0; i < svars.length; i++) {
+            IntVar var = svars[i];
+            if (var.getDomainSize() < rootSizes[i]) {
+                int at = size;
+                size = ensure(size + 2);
+                sbuffer[at] = i;
+                int n = 0;
+                int lb = var.getLB();
+                int ub = var.getUB();
+                while (lb <= ub) {
+                    int u = var.nextValueOut(lb) - 1;
+                    size = ensure(size + 2);
+                    sbuffer[size - 2] = lb;
+                    sbuffer[size - 1] = u;
+                    n++;
+                    lb = var.nextValue(u);
+                }
+                sbuffer[at + 1] = n;
+            }
+        }
+        if (snapshotUsage + size > snapshotBudget) {
+            return null;
+        }
+        snapshotUsage += size;
+        return Arrays.copyOf(sbuffer, size);
+    }
+
+    private int ensure(int size) {
+        if (size > sbuffer.length) {
+            sbuffer = Arrays.copyOf(sbuffer, Math.max(size, sbuffer.length * 3 / 2));
+        }
+        return size;
+    }
+
+    /**
+     * Restore the domains stored in a snapshot.
+     * The snapshot is implied by the decisions of the open right branch, so a failure means that the open right branch
+     * is no longer consistent with the root node (for instance, because of a better bound),
+     * the domains are then partially restored and must be rolled back.
+     * @param snapshot a domain snapshot
+     * @return <tt>false</tt> if restoring the snapshot fails
+     */
+    private boolean restore(int[] snapshot) {
+        try {
+            for (int i = 0; i < snapshot.length; ) {
+                IntVar var = svars[snapshot[i]];
+                int n = snapshot[i + 1];
+                i += 2;
+                var.updateBounds(snapshot[i], snapshot[i + 2 * n - 1], Cause.Null);
+                if (n > 1) {
+                    IntIterableRangeSet values = new IntIterableRangeSet();
+                    for (int j = 0; j < n; j++) {
+                        values.addBetween(snapshot[i + 2 * j], snapshot[i + 2 * j + 1]);
+                    }
+                    var.removeAllValuesBut(values, Cause.Null);
+                }
+                i += 2 * n;
+            }
+            return true;
+        } catch (ContradictionException cex) {
+            return false;
+        }
+    }
+
     /**
      * Copy the current decision path in _unkopen, for comparison with copen.
      * Then, it compares each decision, from the top to the bottom, to find the first difference.
@@ -251,7 +519,10 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
                     objectiveManager.getObjective().getLB() :
                     objectiveManager.getObjective().getUB();
             if (decision.hasNext() && isValid(bound)) {
-                opens.add(new Open(decision, dp, bound, isMinimization));
+                // the snapshot is the domains of the parent node, it is only worth it when two decisions at least
+                // can be applied at once
+                int[] snapshot = snapshotBudget > 0 && decision.getPosition() - topDecisionPosition > 2 ? capture() : null;
+                opens.add(new Open(decision, dp, bound, isMinimization, snapshot));
             }
             dp.synchronize();
             decision = dp.getLastDecision();
@@ -287,6 +558,10 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
          * 1 for minimization, -1 for maximization
          */
         private byte minimization;
+        /**
+         * domain snapshot of the node, may be <tt>null</tt>
+         */
+        private int[] snapshot;
 
         /**
          * Create an open right branch for HBFS
@@ -295,12 +570,15 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
          * @param decisionPath  the current decision path
          * @param currentBound current lower (resp. upper) bound of the objective value for mimimization (resp. maximization)
          * @param minimization set to <tt>true</tt> for minimization
+         * @param snapshot domain snapshot of the node, may be <tt>null</tt>
          */
-        public Open(Decision decision, DecisionPath decisionPath, int currentBound, boolean minimization) {
+        public Open(Decision decision, DecisionPath decisionPath, int currentBound, boolean minimization, int[] snapshot) {
             this.path = new ArrayList<>();
             while (decision.getPosition() != topDecisionPosition) {
                 Decision d = decision.duplicate();
-                while (decision.triesLeft() != d.triesLeft() - 1) {
+                // d has to be one branch behind decision, which may not be refutable when applied from a snapshot
+                int branch = decision.getArity() - decision.triesLeft();
+                while (d.getArity() - d.triesLeft() < branch - 1) {
                     d.buildNext();
                 }
                 path.add(d);
@@ -308,6 +586,7 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
             }
             this.currentBound = currentBound;
             this.minimization = (byte) (minimization ? 1 : -1);
+            this.snapshot = snapshot;
         }
 
         /**
@@ -81,6 +81,16 @@ public interface IMeasures extends Serializable {
      */
     long getRestartCount();
 
+    /**
+     * @return the number of clauses learnt by the SAT solvers embedded in propagators
+     */
+    long getLearntClauseCount();
+
+    /**
+     * @return the number of learnt clauses deleted to reduce the clause database
+     */
+    long getDeletedClauseCount();
+
     /**
      * @return the solution count of the measure
      */
@@ -81,6 +81,16 @@ public class Measures implements IMeasures, Cloneable {
      */
     protected long restartCount;
 
+    /**
+     * Counts the number of clauses learnt so far.
+     */
+    protected long learntClauseCount;
+
+    /**
+     * Counts the number of learnt clauses deleted so far.
+     */
+    protected long deletedClauseCount;
+
     /**
      * Stores the overall maximum depth
      */
@@ -123,6 +133,8 @@ public class Measures implements IMeasures, Cloneable {
         nodeCount = measures.getNodeCount();
         backtrackCount = measures.getBackTrackCount();
         restartCount = measures.getRestartCount();
+        learntClauseCount = measures.getLearntClauseCount();
+        deletedClauseCount = measures.getDeletedClauseCount();
         failCount = measures.getFailCount();
         depth = measures.getCurrentDepth();
         maxDepth = measures.getMaxDepth();
@@ -166,6 +178,16 @@ public class Measures implements IMeasures, Cloneable {
         return restartCount;
     }
 
+    @Override
+    public final long getLearntClauseCount() {
+        return learntClauseCount;
+    }
+
+    @Override
+    public final long getDeletedClauseCount() {
+        return deletedClauseCount;
+    }
+
     @Override
     public final long getMaxDepth() {
         return maxDepth;
@@ -103,6 +103,8 @@ public final class MeasuresRecorder extends Measures {
         backtrackCount = 0;
         failCount = 0;
         restartCount = 0;
+        learntClauseCount = 0;
+        deletedClauseCount = 0;
         depth = 0;
         maxDepth = 0;
     }
@@ -142,6 +144,21 @@ public final class MeasuresRecorder extends Measures {
         restartCount++;
     }
 
+    /**
+     * increment learnt clause counter
+     */
+    public final void incLearntClauseCount() {
+        learntClauseCount++;
+    }
+
+    /**
+     * increase deleted clause counter
+     * @param delta number of learnt clauses deleted
+     */
+    public final void incDeletedClauseCount(long delta) {
+        deletedClauseCount += delta;
+    }
+
     /**
      * increment solution counter
      */
@@ -32,8 +32,10 @@ import org.chocosolver.solver.search.strategy.selectors.variables.Cyclic;
 import org.chocosolver.solver.search.strategy.selectors.variables.DomOverWDeg;
 import org.chocosolver.solver.search.strategy.selectors.variables.FirstFail;
 import org.chocosolver.solver.search.strategy.selectors.variables.GeneralizedMinDomVarSelector;
+import org.chocosolver.solver.search.strategy.selectors.variables.IncrementalDomOverWDeg;
 import org.chocosolver.solver.search.strategy.selectors.variables.InputOrder;
 import org.chocosolver.solver.search.strategy.selectors.variables.Random;
+import org.chocosolver.solver.search.strategy.selectors.variables.VSIDS;
 import org.chocosolver.solver.search.strategy.selectors.variables.VariableSelector;
 import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
 import org.chocosolver.solver.search.strategy.strategy.ConflictOrderingSearch;
@@ -285,6 +287,28 @@ public class Search {
         return new DomOverWDeg(vars, 0, new IntDomainMin());
     }
 
+    /**
+     * Assignment strategy which selects a variable according to <code>IncrementalDomOverWDeg</code>
+     * and assign it to its lower bound.
+     * It is better suited than {@link #domOverWDegSearch(IntVar...)} for models with many variables.
+     * @param vars list of variables
+     * @return assignment strategy
+     */
+    public static AbstractStrategy<IntVar> incrementalDomOverWDegSearch(IntVar... vars) {
+        return new IncrementalDomOverWDeg(vars, 0, new IntDomainMin());
+    }
+
+    /**
+     * Assignment strategy which selects a variable according to <code>VSIDS</code> and assign it to its lower bound.
+     * It requires activities to be recorded, see {@link org.chocosolver.solver.Solver#setLCGLearning(double)},
+     * otherwise variables are selected in input order.
+     * @param vars list of variables
+     * @return assignment strategy
+     */
+    public static AbstractStrategy<IntVar> vsidsSearch(IntVar... vars) {
+        return new VSIDS(vars, new IntDomainMin());
+    }
+
     /**
      * Create an Activity based search strategy.
      * <p>
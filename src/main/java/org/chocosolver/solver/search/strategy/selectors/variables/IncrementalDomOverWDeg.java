@@ -0,0 +1,320 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.selectors.variables;
+
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IVariableMonitor;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.util.objects.IntMap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * An incremental implementation of DowOverWDeg[1], dedicated to models with many variables.
+ * <p>
+ * Unlike {@link DomOverWDeg}, which evaluates every variable and every attached propagator on each decision,
+ * the weights of the variables are maintained on failure and the variables are stored in a binary heap
+ * ordered by the ratio "domain size / weight".
+ * Only the variables modified since the previous decision, either by propagation or by backtrack,
+ * are moved in the heap, so that selecting a variable takes O(k.log(n)) where k is the number of modified variables.
+ * <p>
+ * On failure of a propagator, the weight of each of its variables is incremented by one.
+ * This differs slightly from the original definition, wherein the weight of a variable is computed on demand
+ * from the constraints with at least two not instantiated variables.
+ * Ties are broken by a random order, drawn once.
+ * <p>
+ * [1]: F. Boussemart, F. Hemery, C. Lecoutre, and L. Sais, Boosting Systematic Search by Weighting Constraints, ECAI-04.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class IncrementalDomOverWDeg extends AbstractStrategy<IntVar>
+        implements IVariableMonitor<IntVar>, IMonitorContradiction {
+
+    /**
+     * Maps variable ID to index in {@link #vars}
+     */
+    private final IntMap v2i;
+
+    /**
+     * Weight of each variable
+     */
+    private final int[] weights;
+
+    /**
+     * Domain size of each variable, as known by the heap
+     */
+    private final int[] sizes;
+
+    /**
+     * Tie-breaker of each variable
+     */
+    private final int[] ranks;
+
+    /**
+     * The heap, stores variable indices
+     */
+    private final int[] heap;
+
+    /**
+     * Position of each variable in {@link #heap}
+     */
+    private final int[] pos;
+
+    /**
+     * Variables modified since the last call to {@link #getDecision()}
+     */
+    private final int[] dirty;
+
+    /**
+     * Number of variables in {@link #dirty}
+     */
+    private int nbDirty;
+
+    /**
+     * Indicates whether or not a variable is in {@link #dirty}
+     */
+    private final boolean[] isDirty;
+
+    /**
+     * To avoid incrementing twice the weight of a variable on a failure
+     */
+    private final int[] stamps;
+
+    /**
+     * Current stamp
+     */
+    private int stamp;
+
+    /**
+     * Variables moved in the heap, in chronological order
+     */
+    private int[] log;
+
+    /**
+     * Size of {@link #log}, restored on backtrack
+     */
+    private final IStateInt logSize;
+
+    /**
+     * Size of {@link #log} on the last call to {@link #getDecision()}
+     */
+    private int lastLogSize;
+
+    /**
+     * Set to <i>true</i> once the heap is built
+     */
+    private boolean initialized;
+
+    /**
+     * The way value is selected for a given variable
+     */
+    private final IntValueSelector valueSelector;
+
+    /**
+     * Creates an incremental DomOverWDeg variable selector
+     *
+     * @param variables     decision variables
+     * @param seed          seed for breaking ties randomly
+     * @param valueSelector a value selector
+     */
+    public IncrementalDomOverWDeg(IntVar[] variables, long seed, IntValueSelector valueSelector) {
+        super(variables);
+        Model model = variables[0].getModel();
+        int n = vars.length;
+        this.log = new int[n];
+        this.logSize = model.getEnvironment().makeInt(0);
+        this.valueSelector = valueSelector;
+        this.v2i = new IntMap(n * 3 / 2 + 1, -1);
+        this.weights = new int[n];
+        this.sizes = new int[n];
+        this.ranks = new int[n];
+        this.heap = new int[n];
+        this.pos = new int[n];
+        this.dirty = new int[n];
+        this.isDirty = new boolean[n];
+        this.stamps = new int[n];
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++) {
+            v2i.put(vars[i].getId(), i);
+            vars[i].addMonitor(this);
+            weights[i] = 1;
+            // random permutation, for ties
+            int j = random.nextInt(i + 1);
+            ranks[i] = ranks[j];
+            ranks[j] = i;
+        }
+        model.getSolver().plugMonitor(this);
+    }
+
+    @Override
+    public boolean init() {
+        for (int i = 0; i < vars.length; i++) {
+            sizes[i] = vars[i].getDomainSize();
+            heap[i] = i;
+            pos[i] = i;
+            isDirty[i] = false;
+        }
+        nbDirty = 0;
+        lastLogSize = logSize.get();
+        for (int i = vars.length / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+        initialized = true;
+        return true;
+    }
+
+    @Override
+    public Decision<IntVar> computeDecision(IntVar variable) {
+        if (variable == null || variable.isInstantiated()) {
+            return null;
+        }
+        int currentVal = valueSelector.selectValue(variable);
+        return variable.getModel().getSolver().getDecisionPath().makeIntDecision(variable, DecisionOperatorFactory.makeIntEq(), currentVal);
+    }
+
+    @Override
+    public Decision<IntVar> getDecision() {
+        // variables moved in the heap in a world that has been popped since are checked again
+        int size = logSize.get();
+        for (int k = size; k < lastLogSize; k++) {
+            markDirty(log[k]);
+        }
+        while (nbDirty > 0) {
+            int i = dirty[--nbDirty];
+            isDirty[i] = false;
+            int dsize = vars[i].getDomainSize();
+            if (dsize != sizes[i]) {
+                sizes[i] = dsize;
+                update(i);
+                if (size == log.length) {
+                    log = Arrays.copyOf(log, size * 3 / 2 + 1);
+                }
+                log[size++] = i;
+            }
+        }
+        logSize.set(size);
+        lastLogSize = size;
+        if (vars.length == 0 || sizes[heap[0]] <= 1) {
+            return null;
+        }
+        return computeDecision(vars[heap[0]]);
+    }
+
+    @Override
+    public void onUpdate(IntVar var, IEventType evt) {
+        markDirty(v2i.get(var.getId()));
+    }
+
+    @Override
+    public void onContradiction(ContradictionException cex) {
+        if (cex.c instanceof Propagator) {
+            stamp++;
+            Variable[] pvars = ((Propagator) cex.c).getVars();
+            for (int k = 0; k < pvars.length; k++) {
+                int i = v2i.get(pvars[k].getId());
+                if (i > -1 && stamps[i] != stamp) {
+                    stamps[i] = stamp;
+                    weights[i]++;
+                    if (initialized) {
+                        // a greater weight can only improve the position in the heap
+                        siftUp(pos[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param var a decision variable
+     * @return the weight of <i>var</i>, 0 if it is not a decision variable
+     */
+    public int getWeight(IntVar var) {
+        int i = v2i.get(var.getId());
+        return i > -1 ? weights[i] : 0;
+    }
+
+    private void markDirty(int i) {
+        if (!isDirty[i]) {
+            isDirty[i] = true;
+            dirty[nbDirty++] = i;
+        }
+    }
+
+    /**
+     * @return <i>true</i> if the variable <i>i</i> is preferred to the variable <i>j</i>
+     */
+    private boolean better(int i, int j) {
+        // instantiated variables come last
+        if (sizes[i] <= 1 || sizes[j] <= 1) {
+            return sizes[j] <= 1 && (sizes[i] > 1 || ranks[i] < ranks[j]);
+        }
+        long c1 = (long) sizes[i] * weights[j];
+        long c2 = (long) sizes[j] * weights[i];
+        return c1 < c2 || c1 == c2 && ranks[i] < ranks[j];
+    }
+
+    private void update(int i) {
+        int p = pos[i];
+        if (p > 0 && better(i, heap[(p - 1) >> 1])) {
+            siftUp(p);
+        } else {
+            siftDown(p);
+        }
+    }
+
+    private void siftUp(int p) {
+        int i = heap[p];
+        while (p > 0) {
+            int q = (p - 1) >> 1;
+            if (!better(i, heap[q])) {
+                break;
+            }
+            heap[p] = heap[q];
+            pos[heap[p]] = p;
+            p = q;
+        }
+        heap[p] = i;
+        pos[i] = p;
+    }
+
+    private void siftDown(int p) {
+        int i = heap[p];
+        int n = heap.length;
+        while (true) {
+            int c = 2 * p + 1;
+            if (c >= n) {
+                break;
+            }
+            if (c + 1 < n && better(heap[c + 1], heap[c])) {
+                c++;
+            }
+            if (!better(heap[c], i)) {
+                break;
+            }
+            heap[p] = heap[c];
+            pos[heap[p]] = p;
+            p = c;
+        }
+        heap[p] = i;
+        pos[i] = p;
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.selectors.variables;
+
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.search.loop.learn.Learn;
+import org.chocosolver.solver.search.loop.learn.LearnLCG;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.objects.IntMap;
+
+import java.util.Arrays;
+
+/**
+ * <b>VSIDS</b> search strategy.
+ * It branches on the not instantiated variable with the largest activity, as maintained by {@link LearnLCG},
+ * that is, the variable most involved in recent nogoods. Ties are broken by input order.
+ * <p>
+ * As {@link IncrementalDomOverWDeg}, the variables are stored in a binary heap.
+ * A variable is moved up in the heap when its activity is bumped.
+ * Instantiated variables are removed lazily when they reach the top of the heap,
+ * they are logged and put back in the heap once the world wherein they have been removed is popped.
+ * So selecting a variable takes O((k+1).log(n)) where k is the number of variables removed or put back.
+ * <p>
+ * When the learner of the solver is not a {@link LearnLCG}, all activities are null
+ * and the first not instantiated variable is selected.
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class VSIDS extends AbstractStrategy<IntVar> implements LearnLCG.ActivityListener {
+
+    /**
+     * Maps variable ID to index in {@link #vars}
+     */
+    private final IntMap v2i;
+
+    /**
+     * The heap, stores variable indices, ties are broken by index
+     */
+    private final int[] heap;
+
+    /**
+     * Number of variables in {@link #heap}
+     */
+    private int size;
+
+    /**
+     * Position of each variable in {@link #heap}, -1 if it has been removed
+     */
+    private final int[] pos;
+
+    /**
+     * Variables removed from the heap, in chronological order
+     */
+    private int[] log;
+
+    /**
+     * Size of {@link #log}, restored on backtrack
+     */
+    private final IStateInt logSize;
+
+    /**
+     * Size of {@link #log} on the last call to {@link #getDecision()}
+     */
+    private int lastLogSize;
+
+    /**
+     * The activity learner, <i>null</i> if the learner of the solver does not maintain activities
+     */
+    private LearnLCG learner;
+
+    /**
+     * The way value is selected for a given variable
+     */
+    private final IntValueSelector valueSelector;
+
+    /**
+     * Creates a VSIDS search strategy
+     *
+     * @param variables     decision variables
+     * @param valueSelector a value selector
+     */
+    public VSIDS(IntVar[] variables, IntValueSelector valueSelector) {
+        super(variables);
+        int n = vars.length;
+        this.v2i = new IntMap(n * 3 / 2 + 1, -1);
+        this.heap = new int[n];
+        this.pos = new int[n];
+        this.log = new int[n];
+        this.logSize = variables[0].getModel().getEnvironment().makeInt(0);
+        this.valueSelector = valueSelector;
+        for (int i = 0; i < n; i++) {
+            v2i.put(vars[i].getId(), i);
+        }
+    }
+
+    @Override
+    public boolean init() {
+        Learn l = vars[0].getModel().getSolver().getLearner();
+        if (l != learner && l instanceof LearnLCG) {
+            learner = (LearnLCG) l;
+            learner.addActivityListener(this);
+        }
+        size = 0;
+        for (int i = 0; i < vars.length; i++) {
+            heap[size] = i;
+            pos[i] = size++;
+        }
+        lastLogSize = logSize.get();
+        heapify();
+        return true;
+    }
+
+    @Override
+    public Decision<IntVar> computeDecision(IntVar variable) {
+        if (variable == null || variable.isInstantiated()) {
+            return null;
+        }
+        int currentVal = valueSelector.selectValue(variable);
+        return variable.getModel().getSolver().getDecisionPath().makeIntDecision(variable, DecisionOperatorFactory.makeIntEq(), currentVal);
+    }
+
+    @Override
+    public Decision<IntVar> getDecision() {
+        // variables removed in a world that has been popped since are put back first, their entries are overwritten
+        int lsize = logSize.get();
+        for (int k = lsize; k < lastLogSize; k++) {
+            insert(log[k]);
+        }
+        while (size > 0 && vars[heap[0]].isInstantiated()) {
+            if (lsize == log.length) {
+                log = Arrays.copyOf(log, lsize * 3 / 2 + 1);
+            }
+            log[lsize++] = removeTop();
+        }
+        logSize.set(lsize);
+        lastLogSize = lsize;
+        if (size == 0) {
+            return null;
+        }
+        return computeDecision(vars[heap[0]]);
+    }
+
+    @Override
+    public void onBump(Variable var) {
+        int i = v2i.get(var.getId());
+        if (i > -1 && pos[i] > -1) {
+            // a greater activity can only improve the position in the heap
+            siftUp(pos[i]);
+        }
+    }
+
+    @Override
+    public void onRescale() {
+        // ties may appear, the heap is rebuilt to break them by index
+        heapify();
+    }
+
+    private double activity(int i) {
+        return learner == null ? 0d : learner.getActivity(vars[i]);
+    }
+
+    /**
+     * @return <i>true</i> if the variable <i>i</i> is preferred to the variable <i>j</i>
+     */
+    private boolean better(int i, int j) {
+        double ai = activity(i);
+        double aj = activity(j);
+        return ai > aj || ai == aj && i < j;
+    }
+
+    private void heapify() {
+        for (int p = size / 2 - 1; p >= 0; p--) {
+            siftDown(p);
+        }
+    }
+
+    private void insert(int i) {
+        if (pos[i] == -1) {
+            heap[size] = i;
+            pos[i] = size++;
+            siftUp(pos[i]);
+        }
+    }
+
+    private int removeTop() {
+        int i = heap[0];
+        pos[i] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return i;
+    }
+
+    private void siftUp(int p) {
+        int i = heap[p];
+        while (p > 0) {
+            int q = (p - 1) >> 1;
+            if (!better(i, heap[q])) {
+                break;
+            }
+            heap[p] = heap[q];
+            pos[heap[p]] = p;
+            p = q;
+        }
+        heap[p] = i;
+        pos[i] = p;
+    }
+
+    private void siftDown(int p) {
+        int i = heap[p];
+        while (true) {
+            int c = 2 * p + 1;
+            if (c >= size) {
+                break;
+            }
+            if (c + 1 < size && better(heap[c + 1], heap[c])) {
+                c++;
+            }
+            if (!better(heap[c], i)) {
+                break;
+            }
+            heap[p] = heap[c];
+            pos[heap[p]] = p;
+            p = c;
+        }
+        heap[p] = i;
+        pos[i] = p;
+    }
+}
@@ -10,6 +10,7 @@ package org.chocosolver.solver.trace;
 
 import org.chocosolver.solver.ISelf;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.propagation.PropagatorProfiler;
 import org.chocosolver.solver.search.loop.monitors.IMonitorClose;
 import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
 import org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch;
@@ -127,6 +128,29 @@ public interface IOutputFactory extends ISelf<Solver> {
         getOut().println(_me().getMeasures().toCSV());
     }
 
+    /**
+     * Output the statistics recorded on propagators, aggregated per constraint type, then per propagator,
+     * sorted by decreasing time.
+     * <p>
+     * Requires {@link org.chocosolver.solver.Settings#profilePropagation()} to be enabled before the resolution.
+     * Recommended usage: to be called after the resolution step.
+     */
+    default void printPropagatorProfile() {
+        PropagatorProfiler profiler = _me().getEngine().getProfiler();
+        if (profiler == null) {
+            getErr().println("Propagator profiling is disabled, see Settings.setProfilePropagation(boolean)");
+            return;
+        }
+        getOut().println("- Constraint types profile:");
+        for (PropagatorProfiler.Record r : profiler.getConstraintRecords()) {
+            getOut().printf("\t%s\n", r);
+        }
+        getOut().println("- Propagators profile:");
+        for (PropagatorProfiler.Record r : profiler.getPropagatorRecords()) {
+            getOut().printf("\t%s\n", r);
+        }
+    }
+
     /**
      * Plug a search monitor which calls {@link #printVersion()}
      * and {@link #printStatistics()} before closing the search.
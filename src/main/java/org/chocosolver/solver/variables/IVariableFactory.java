@@ -218,6 +218,8 @@ public interface IVariableFactory extends ISelf<Model> {
             return boolVar(name);
         } else  if(boundedDomain) {
             return new IntervalIntVarImpl(name, lb, ub, _me());
+        } else if (_me().getSettings().enableSparseSetDomain(ub - lb + 1)) {
+            return new SparseSetIntVarImpl(name, lb, ub, _me());
         } else {
             return new BitsetIntVarImpl(name, lb, ub, _me());
         }
@@ -254,6 +256,8 @@ public interface IVariableFactory extends ISelf<Model> {
             int gap = values[values.length - 1] - values[0];
             if (gap > 30 && gap / values.length > 5) {
                 return new BitsetArrayIntVarImpl(name, values, _me());
+            } else if (_me().getSettings().enableSparseSetDomain(values.length)) {
+                return new SparseSetIntVarImpl(name, values, _me());
             } else {
                 return new BitsetIntVarImpl(name, values, _me());
             }
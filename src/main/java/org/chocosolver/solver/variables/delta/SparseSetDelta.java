@@ -0,0 +1,154 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.delta;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.search.loop.TimeStampedObject;
+
+import java.util.Arrays;
+
+/**
+ * A class to store the removed values of an integer variable whose domain is a sparse set.
+ * <p/>
+ * In a sparse set, removed values are swapped beyond the size of the set, and stay where they are
+ * until the next backtrack. Thus, the values removed since the last reset are read directly in the sparse set:
+ * the <i>i</i>-th removed value is at position <i>start - 1 - i</i>, where <i>start</i> is the size of the set
+ * on reset.
+ * Only the causes are stored, by runs of consecutive removals with the same cause.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class SparseSetDelta extends TimeStampedObject implements IEnumDelta {
+
+    private static final int SIZE = 8;
+
+    /**
+     * The values of the sparse set, shared with the variable
+     */
+    private final int[] values;
+
+    /**
+     * Offset of the values stored in {@link #values}
+     */
+    private final int offset;
+
+    /**
+     * Size of the sparse set, shared with the variable
+     */
+    private final IStateInt size;
+
+    /**
+     * Size of the sparse set on reset
+     */
+    private int start;
+
+    /**
+     * Number of removed values
+     */
+    private int last;
+
+    /**
+     * Cause of each run of removals
+     */
+    private ICause[] causes;
+
+    /**
+     * Number of removals up to (and including) each run
+     */
+    private int[] ends;
+
+    /**
+     * Number of runs
+     */
+    private int runs;
+
+    /**
+     * Create a delta for a sparse set
+     *
+     * @param environment the environment
+     * @param values values of the sparse set, including the removed ones
+     * @param offset offset of the values
+     * @param size   size of the sparse set
+     */
+    public SparseSetDelta(IEnvironment environment, int[] values, int offset, IStateInt size) {
+        super(environment);
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+        this.causes = new ICause[SIZE];
+        this.ends = new int[SIZE];
+    }
+
+    @Override
+    public void lazyClear() {
+        if (needReset()) {
+            start = size.get();
+            last = 0;
+            runs = 0;
+            resetStamp();
+        }
+    }
+
+    /**
+     * Declares the removal of a value, <b>before</b> it is swapped beyond the size of the sparse set
+     *
+     * @param value value to add
+     * @param cause of the removal
+     */
+    @Override
+    public void add(int value, ICause cause) {
+        addAll(1, cause);
+    }
+
+    /**
+     * Declares the removal of <i>n</i> values, <b>before</b> they are put beyond the size of the sparse set.
+     *
+     * @param n     number of removed values
+     * @param cause of the removals
+     */
+    public void addAll(int n, ICause cause) {
+        lazyClear();
+        last += n;
+        if (runs > 0 && causes[runs - 1] == cause) {
+            ends[runs - 1] = last;
+        } else {
+            if (runs == causes.length) {
+                causes = Arrays.copyOf(causes, runs * 3 / 2 + 1);
+                ends = Arrays.copyOf(ends, runs * 3 / 2 + 1);
+            }
+            causes[runs] = cause;
+            ends[runs++] = last;
+        }
+    }
+
+    @Override
+    public int get(int idx) {
+        if (idx >= last) {
+            throw new IndexOutOfBoundsException();
+        }
+        return values[start - 1 - idx] + offset;
+    }
+
+    @Override
+    public ICause getCause(int idx) {
+        if (idx >= last) {
+            throw new IndexOutOfBoundsException();
+        }
+        int r = Arrays.binarySearch(ends, 0, runs, idx + 1);
+        return causes[r < 0 ? -r - 1 : r];
+    }
+
+    @Override
+    public int size() {
+        return last;
+    }
+}
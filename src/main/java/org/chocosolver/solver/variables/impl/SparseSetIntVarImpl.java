@@ -0,0 +1,879 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.IEnumDelta;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.solver.variables.delta.NoDelta;
+import org.chocosolver.solver.variables.delta.SparseSetDelta;
+import org.chocosolver.solver.variables.delta.monitor.EnumDeltaMonitor;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.iterators.IntVarValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * An enumerated IntVar based on a sparse set.
+ * <p>
+ * The values of the domain are permuted in an array, the ones in the domain first,
+ * and a second array gives the position of each value.
+ * Removing a value swaps it with the last value of the domain and decrements the size,
+ * so the size is the only stored information of the set: a removal adds at most one entry to the trail,
+ * and backtracking restores the domain at once.
+ * The bounds are stored as well, but only updated when a bound is removed.
+ * <p>
+ * Values removed since the last backtrack remain in the array, right after the domain,
+ * and are read from there by the delta (see {@link SparseSetDelta}).
+ * <p>
+ * Compared to {@link BitsetIntVarImpl}, looking for the next or previous value in the domain is slower,
+ * but removing values is cheaper; it is a good fit for medium-size domains with frequent value removals.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public final class SparseSetIntVarImpl extends AbstractVariable implements IntVar {
+
+    /**
+     * Set to <tt>true</tt> if this variable reacts is associated with at least one propagator which reacts
+     * on value removal
+     */
+    private boolean reactOnRemoval = false;
+    /**
+     * Values of the domain, permuted: the first {@link #SIZE} ones are in the domain -- includes offset
+     */
+    private final int[] VALUES;
+    /**
+     * Position of each value in {@link #VALUES}, {@link Integer#MAX_VALUE} if the value is not in the initial domain
+     * -- includes offset
+     */
+    private final int[] INDEX;
+    /**
+     * Current size of domain
+     */
+    private final IStateInt SIZE;
+    /**
+     * Lower bound of the current domain -- includes offset
+     */
+    private final IStateInt LB;
+    /**
+     * Upper bound of the current domain -- includes offset
+     */
+    private final IStateInt UB;
+    /**
+     * offset of the lower bound and the first value in the domain
+     */
+    private final int OFFSET;
+    /**
+     * number of values between the initial bounds
+     */
+    private final int LENGTH;
+    /**
+     * To iterate over removed values
+     */
+    private IEnumDelta delta = NoDelta.singleton;
+    /**
+     * To iterate over values in the domain
+     */
+    private DisposableValueIterator _viterator;
+    /**
+     * To iterate over ranges
+     */
+    private DisposableRangeIterator _riterator;
+
+    /**
+     * Value iterator allowing for(int i:this) loops
+     */
+    private IntVarValueIterator _javaIterator;
+
+    /**
+     * Create an enumerated IntVar based on a sparse set
+     * @param name name of the variable
+     * @param sortedValues original domain values
+     * @param model declaring model
+     */
+    public SparseSetIntVarImpl(String name, int[] sortedValues, Model model) {
+        super(name, model);
+        IEnvironment env = model.getEnvironment();
+        OFFSET = sortedValues[0];
+        LENGTH = sortedValues[sortedValues.length - 1] - OFFSET + 1;
+        VALUES = new int[sortedValues.length];
+        INDEX = new int[LENGTH];
+        Arrays.fill(INDEX, Integer.MAX_VALUE);
+        for (int i = 0; i < sortedValues.length; i++) {
+            VALUES[i] = sortedValues[i] - OFFSET;
+            INDEX[VALUES[i]] = i;
+        }
+        this.SIZE = env.makeInt(sortedValues.length);
+        this.LB = env.makeInt(0);
+        this.UB = env.makeInt(LENGTH - 1);
+    }
+
+    /**
+     * Create an enumerated IntVar based on a sparse set
+     * @param name name of the variable
+     * @param min lower bound
+     * @param max upper bound
+     * @param model declaring model
+     */
+    public SparseSetIntVarImpl(String name, int min, int max, Model model) {
+        super(name, model);
+        IEnvironment env = this.model.getEnvironment();
+        OFFSET = min;
+        LENGTH = max - min + 1;
+        VALUES = new int[LENGTH];
+        INDEX = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            VALUES[i] = INDEX[i] = i;
+        }
+        this.SIZE = env.makeInt(LENGTH);
+        this.LB = env.makeInt(0);
+        this.UB = env.makeInt(LENGTH - 1);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param a    a value -- includes offset, in [0, LENGTH[
+     * @param size size of the domain
+     * @return <tt>true</tt> if <i>a</i> is in the domain
+     */
+    private boolean present(int a, int size) {
+        return INDEX[a] < size;
+    }
+
+    /**
+     * Move <i>a</i> at position <i>last</i>, that is, out of the domain if <i>last</i> is its last position
+     */
+    private void swap(int a, int last) {
+        int p = INDEX[a];
+        int b = VALUES[last];
+        VALUES[p] = b;
+        INDEX[b] = p;
+        VALUES[last] = a;
+        INDEX[a] = last;
+    }
+
+    /**
+     * Remove <i>a</i> from the domain of size <i>size</i>, the size is not updated.
+     */
+    private void remove(int a, int size, ICause cause) {
+        if (reactOnRemoval) {
+            delta.add(a + OFFSET, cause);
+        }
+        swap(a, size - 1);
+    }
+
+    /**
+     * @return the smallest value in the domain greater than or equal to <i>a</i>, assuming <i>ub</i> is in the domain
+     * and is greater than or equal to <i>a</i> -- includes offset
+     */
+    private int nextPresent(int a, int ub, int size) {
+        if (ub - a < size) {
+            while (!present(a, size)) {
+                a++;
+            }
+            return a;
+        }
+        int next = ub;
+        for (int i = 0; i < size; i++) {
+            int v = VALUES[i];
+            if (v >= a && v < next) {
+                next = v;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @return the greatest value in the domain less than or equal to <i>a</i>, assuming <i>lb</i> is in the domain
+     * and is less than or equal to <i>a</i> -- includes offset
+     */
+    private int prevPresent(int a, int lb, int size) {
+        if (a - lb < size) {
+            while (!present(a, size)) {
+                a--;
+            }
+            return a;
+        }
+        int prev = lb;
+        for (int i = 0; i < size; i++) {
+            int v = VALUES[i];
+            if (v <= a && v > prev) {
+                prev = v;
+            }
+        }
+        return prev;
+    }
+
+    /**
+     * Remove the values in [<i>from</i>, <i>to</i>] from the domain of size <i>size</i>
+     * @param explain set to <tt>true</tt> to explain each removal
+     * @return the new size
+     */
+    private int removeBetween(int from, int to, int size, ICause cause, boolean explain) {
+        if (to - from < size) {
+            for (int a = from; a <= to; a++) {
+                if (present(a, size)) {
+                    if (explain) {
+                        model.getSolver().getExplainer().removeValue(this, a + OFFSET, cause);
+                    }
+                    remove(a, size--, cause);
+                }
+            }
+        } else {
+            // the values after position i have been checked
+            for (int i = size - 1; i >= 0; i--) {
+                int a = VALUES[i];
+                if (from <= a && a <= to) {
+                    if (explain) {
+                        model.getSolver().getExplainer().removeValue(this, a + OFFSET, cause);
+                    }
+                    remove(a, size--, cause);
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes {@code value}from the domain of {@code this}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is out of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if removing {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if removing {@code value} from the domain can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value value to remove from the domain (int)
+     * @param cause removal releaser
+     * @return true if the value has been removed, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean removeValue(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int aValue = value - OFFSET;
+        int size = SIZE.get();
+        boolean change = aValue >= 0 && aValue < LENGTH && present(aValue, size);
+        if (change) {
+            model.getSolver().getExplainer().removeValue(this, value, cause);
+            if (size == 1) {
+                this.contradiction(cause, MSG_REMOVE);
+            }
+            IntEventType e = IntEventType.REMOVE;
+            remove(aValue, size--, cause);
+            SIZE.set(size);
+            if (aValue == LB.get()) {
+                LB.set(nextPresent(aValue + 1, UB.get(), size));
+                e = IntEventType.INCLOW;
+            } else if (aValue == UB.get()) {
+                UB.set(prevPresent(aValue - 1, LB.get(), size));
+                e = IntEventType.DECUPP;
+            }
+            if (size == 1) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+        }
+        return change;
+    }
+
+    @Override
+    public boolean removeValues(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int olb = getLB();
+        int oub = getUB();
+        int size = SIZE.get();
+        int osize = size;
+        for (int value = values.nextValue(olb - 1); value <= oub; value = values.nextValue(value)) {
+            int aValue = value - OFFSET;
+            if (present(aValue, size)) {
+                model.getSolver().getExplainer().removeValue(this, value, cause);
+                if (size == 1) {
+                    this.contradiction(cause, MSG_REMOVE);
+                }
+                remove(aValue, size--, cause);
+            }
+        }
+        if (size < osize) {
+            notifyRemovals(olb - OFFSET, oub - OFFSET, size, cause);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeAllValuesBut(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int size = SIZE.get();
+        int osize = size;
+        // the values after position i have been checked
+        for (int i = size - 1; i >= 0; i--) {
+            int value = VALUES[i] + OFFSET;
+            if (!values.contains(value)) {
+                model.getSolver().getExplainer().removeValue(this, value, cause);
+                if (size == 1) {
+                    this.contradiction(cause, MSG_REMOVE);
+                }
+                remove(VALUES[i], size--, cause);
+            }
+        }
+        if (size < osize) {
+            notifyRemovals(LB.get(), UB.get(), size, cause);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Store the new size, update the bounds and notify propagators
+     *
+     * @param olb  the lower bound before removals -- includes offset
+     * @param oub  the upper bound before removals -- includes offset
+     * @param size the new size of the domain
+     */
+    private void notifyRemovals(int olb, int oub, int size, ICause cause) throws ContradictionException {
+        SIZE.set(size);
+        IntEventType e = IntEventType.REMOVE;
+        boolean lb = !present(olb, size), ub = !present(oub, size);
+        if (lb && ub) {
+            // both bounds are unknown, look for them among all values
+            olb = oub = VALUES[0];
+            for (int i = 1; i < size; i++) {
+                olb = Math.min(olb, VALUES[i]);
+                oub = Math.max(oub, VALUES[i]);
+            }
+            LB.set(olb);
+            UB.set(oub);
+            e = IntEventType.BOUND;
+        } else if (lb) {
+            LB.set(nextPresent(olb + 1, oub, size));
+            e = IntEventType.INCLOW;
+        } else if (ub) {
+            UB.set(prevPresent(oub - 1, olb, size));
+            e = IntEventType.DECUPP;
+        }
+        if (size == 1) {
+            e = IntEventType.INSTANTIATE;
+        }
+        this.notifyPropagators(e, cause);
+    }
+
+    @Override
+    public boolean removeInterval(int from, int to, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (from <= getLB())
+            return updateLowerBound(to + 1, cause);
+        else if (getUB() <= to)
+            return updateUpperBound(from - 1, cause);
+        else {
+            int size = SIZE.get();
+            int nsize = removeBetween(from - OFFSET, to - OFFSET, size, cause, true);
+            if (nsize < size) {
+                SIZE.set(nsize);
+                this.notifyPropagators(IntEventType.REMOVE, cause);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Instantiates the domain of {@code this} to {@code value}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If the domain of {@code this} is already instantiated to {@code value},
+     * nothing is done and the return value is {@code false},</li>
+     * <li>If the domain of {@code this} is already instantiated to another value,
+     * then a {@code ContradictionException} is thrown,</li>
+     * <li>Otherwise, the domain of {@code this} is restricted to {@code value} and the observers are notified
+     * and the return value is {@code true}.</li>
+     * </ul>
+     *
+     * @param value instantiation value (int)
+     * @param cause instantiation releaser
+     * @return true if the instantiation is done, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean instantiateTo(int value, ICause cause) throws ContradictionException {
+        // BEWARE: THIS CODE SHOULD NOT BE MOVED TO THE DOMAIN TO NOT DECREASE PERFORMANCES!
+        assert cause != null;
+        if (!contains(value)) {
+            model.getSolver().getExplainer().instantiateTo(this, value, cause, getLB(), getUB());
+            this.contradiction(cause, MSG_INST);
+        } else if (!isInstantiated()) {
+            model.getSolver().getExplainer().instantiateTo(this, value, cause, getLB(), getUB());
+            int aValue = value - OFFSET;
+            int size = SIZE.get();
+            // the other values are now beyond position 0, no need to iterate over them
+            swap(aValue, 0);
+            if (reactOnRemoval) {
+                ((SparseSetDelta) delta).addAll(size - 1, cause);
+            }
+            this.SIZE.set(1);
+            this.LB.set(aValue);
+            this.UB.set(aValue);
+            this.notifyPropagators(IntEventType.INSTANTIATE, cause);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Updates the lower bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is smaller than the lower bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the lower bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the lower bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new lower bound (included)
+     * @param cause updating releaser
+     * @return true if the lower bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateLowerBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int old = this.getLB();
+        if (old < value) {
+            int oub = this.getUB();
+            model.getSolver().getExplainer().updateLowerBound(this, value, old, cause);
+            if (oub < value) {
+                this.contradiction(cause, MSG_LOW);
+            } else {
+                IntEventType e = IntEventType.INCLOW;
+                int aValue = value - OFFSET;
+                int size = removeBetween(old - OFFSET, aValue - 1, SIZE.get(), cause, false);
+                SIZE.set(size);
+                LB.set(nextPresent(aValue, oub - OFFSET, size));
+                if (size == 1) {
+                    e = IntEventType.INSTANTIATE;
+                }
+                this.notifyPropagators(e, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the upper bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is greater than the upper bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the upper bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the upper bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new upper bound (included)
+     * @param cause update releaser
+     * @return true if the upper bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateUpperBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int oub = this.getUB();
+        if (oub > value) {
+            int olb = this.getLB();
+            model.getSolver().getExplainer().updateUpperBound(this, value, oub, cause);
+            if (olb > value) {
+                this.contradiction(cause, MSG_UPP);
+            } else {
+                IntEventType e = IntEventType.DECUPP;
+                int aValue = value - OFFSET;
+                int size = removeBetween(aValue + 1, oub - OFFSET, SIZE.get(), cause, false);
+                SIZE.set(size);
+                UB.set(prevPresent(aValue, olb - OFFSET, size));
+                if (size == 1) {
+                    e = IntEventType.INSTANTIATE;
+                }
+                this.notifyPropagators(e, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean updateBounds(int lb, int ub, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int olb = this.getLB();
+        int oub = this.getUB();
+        boolean update = false;
+        if (olb < lb || oub > ub) {
+            IntEventType e = null;
+            int size = SIZE.get();
+            if (oub < lb) {
+                model.getSolver().getExplainer().updateLowerBound(this, lb, olb, cause);
+                this.contradiction(cause, MSG_LOW);
+            } else if (olb < lb) {
+                model.getSolver().getExplainer().updateLowerBound(this, lb, olb, cause);
+                e = IntEventType.INCLOW;
+                int aLB = lb - OFFSET;
+                size = removeBetween(olb - OFFSET, aLB - 1, size, cause, false);
+                olb = nextPresent(aLB, oub - OFFSET, size); // olb is used as a temporary variable
+                LB.set(olb);
+                olb += OFFSET; // required because we will treat upper bound just after
+            }
+            if (olb > ub) {
+                SIZE.set(size);
+                model.getSolver().getExplainer().updateUpperBound(this, ub, oub, cause);
+                this.contradiction(cause, MSG_UPP);
+            } else if (oub > ub) {
+                model.getSolver().getExplainer().updateUpperBound(this, ub, oub, cause);
+                e = e == null ? IntEventType.DECUPP : IntEventType.BOUND;
+                int aUB = ub - OFFSET;
+                size = removeBetween(aUB + 1, oub - OFFSET, size, cause, false);
+                UB.set(prevPresent(aUB, olb - OFFSET, size));
+            }
+            SIZE.set(size);
+            if (isInstantiated()) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+            update = true;
+        }
+        return update;
+    }
+
+    @Override
+    public boolean isInstantiated() {
+        return SIZE.get() == 1;
+    }
+
+    @Override
+    public boolean isInstantiatedTo(int value) {
+        return isInstantiated() && contains(value);
+    }
+
+    @Override
+    public boolean contains(int aValue) {
+        aValue -= OFFSET;
+        return aValue >= 0 && aValue < LENGTH && present(aValue, SIZE.get());
+    }
+
+    /**
+     * Retrieves the current value of the variable if instantiated, otherwier the lower bound.
+     *
+     * @return the current value (or lower bound if not yet instantiated).
+     */
+    @Override
+    public int getValue() {
+        assert isInstantiated() : name + " not instantiated";
+        return getLB();
+    }
+
+    /**
+     * Retrieves the lower bound of the variable
+     *
+     * @return the lower bound
+     */
+    @Override
+    public int getLB() {
+        return this.LB.get() + OFFSET;
+    }
+
+    /**
+     * Retrieves the upper bound of the variable
+     *
+     * @return the upper bound
+     */
+    @Override
+    public int getUB() {
+        return this.UB.get() + OFFSET;
+    }
+
+    @Override
+    public int getDomainSize() {
+        return SIZE.get();
+    }
+
+    @Override
+    public int getRange() {
+        return getUB() - getLB() + 1;
+    }
+
+    @Override
+    public int nextValue(int aValue) {
+        aValue -= OFFSET;
+        int lb = LB.get();
+        if (aValue < lb) return lb + OFFSET;
+        int ub = UB.get();
+        if (aValue >= ub) return Integer.MAX_VALUE;
+        return nextPresent(aValue + 1, ub, SIZE.get()) + OFFSET;
+    }
+
+    @Override
+    public int nextValueOut(int aValue) {
+        int lb = getLB();
+        int ub = getUB();
+        if (lb - 1 <= aValue && aValue <= ub) {
+            int size = SIZE.get();
+            int a = aValue - OFFSET + 1;
+            while (a < LENGTH && present(a, size)) {
+                a++;
+            }
+            return a + OFFSET;
+        }
+        return aValue + 1;
+    }
+
+    @Override
+    public int previousValue(int aValue) {
+        aValue -= OFFSET;
+        int ub = UB.get();
+        if (aValue > ub) return ub + OFFSET;
+        int lb = LB.get();
+        if (aValue <= lb) return Integer.MIN_VALUE;
+        return prevPresent(aValue - 1, lb, SIZE.get()) + OFFSET;
+    }
+
+    @Override
+    public int previousValueOut(int aValue) {
+        int lb = getLB();
+        int ub = getUB();
+        if (lb <= aValue && aValue <= ub + 1) {
+            int size = SIZE.get();
+            int a = aValue - OFFSET - 1;
+            while (a >= 0 && present(a, size)) {
+                a--;
+            }
+            return a + OFFSET;
+        }
+        return aValue - 1;
+    }
+
+    @Override
+    public boolean hasEnumeratedDomain() {
+        return true;
+    }
+
+    @Override
+    public IEnumDelta getDelta() {
+        return delta;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder(20);
+        s.append(name).append(" = ");
+        if (SIZE.get() == 1) {
+            s.append(this.getLB());
+        } else {
+            int v = getLB(), w;
+            s.append('{').append(v);
+            w = nextValueOut(v);
+            if(v < w - 1)s.append("..").append(w - 1);
+            v = nextValue(w);
+            while(v < Integer.MAX_VALUE){
+                s.append(",").append(v);
+                w = nextValueOut(v);
+                if(v < w - 1)s.append("..").append(w - 1);
+                v = nextValue(w);
+            }
+            s.append('}');
+        }
+        return s.toString();
+    }
+
+    ////////////////////////////////////////////////////////////////
+    ///// methode liees au fait qu'une variable est observable /////
+    ////////////////////////////////////////////////////////////////
+
+
+    @Override
+    public void createDelta() {
+        if (!reactOnRemoval) {
+            delta = new SparseSetDelta(model.getEnvironment(), VALUES, OFFSET, SIZE);
+            reactOnRemoval = true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public IIntDeltaMonitor monitorDelta(ICause propagator) {
+        createDelta();
+        return new EnumDeltaMonitor(delta, propagator);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void notifyMonitors(IEventType event) throws ContradictionException {
+        for (int i = mIdx - 1; i >= 0; i--) {
+            monitors[i].onUpdate(this, event);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public int getTypeAndKind() {
+        return VAR | INT;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public DisposableValueIterator getValueIterator(boolean bottomUp) {
+        if (_viterator == null || _viterator.isNotReusable()) {
+            _viterator = new DisposableValueIterator() {
+
+                /**
+                 * Current value
+                 */
+                int value;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    this.value = getLB();
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    this.value = getUB();
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return this.value != Integer.MAX_VALUE;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return this.value != Integer.MIN_VALUE;
+                }
+
+                @Override
+                public int next() {
+                    int old = this.value;
+                    this.value = nextValue(old);
+                    return old;
+                }
+
+                @Override
+                public int previous() {
+                    int old = this.value;
+                    this.value = previousValue(old);
+                    return old;
+                }
+            };
+        }
+        if (bottomUp) {
+            _viterator.bottomUpInit();
+        } else {
+            _viterator.topDownInit();
+        }
+        return _viterator;
+    }
+
+    @Override
+    public DisposableRangeIterator getRangeIterator(boolean bottomUp) {
+        if (_riterator == null || _riterator.isNotReusable()) {
+            _riterator = new DisposableRangeIterator() {
+
+                /**
+                 * Lower bound of the current range
+                 */
+                int from;
+                /**
+                 * Upper bound of the current range
+                 */
+                int to;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    this.from = getLB();
+                    this.to = nextValueOut(from) - 1;
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    this.to = getUB();
+                    this.from = previousValueOut(to) + 1;
+                }
+
+                public boolean hasNext() {
+                    return this.from != Integer.MAX_VALUE;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return this.to != Integer.MIN_VALUE;
+                }
+
+                public void next() {
+                    this.from = nextValue(this.to);
+                    if (this.from != Integer.MAX_VALUE) {
+                        this.to = nextValueOut(this.from) - 1;
+                    }
+                }
+
+                @Override
+                public void previous() {
+                    this.to = previousValue(this.from);
+                    if (this.to != Integer.MIN_VALUE) {
+                        this.from = previousValueOut(this.to) + 1;
+                    }
+                }
+
+                @Override
+                public int min() {
+                    return from;
+                }
+
+                @Override
+                public int max() {
+                    return to;
+                }
+            };
+        }
+        if (bottomUp) {
+            _riterator.bottomUpInit();
+        } else {
+            _riterator.topDownInit();
+        }
+        return _riterator;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        if(_javaIterator == null){
+            _javaIterator =  new IntVarValueIterator(this);
+        }
+        _javaIterator.reset();
+        return _javaIterator;
+    }
+}
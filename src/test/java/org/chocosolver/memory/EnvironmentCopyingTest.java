@@ -0,0 +1,147 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+import org.chocosolver.memory.copying.EnvironmentCopying;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class EnvironmentCopyingTest {
+
+    @DataProvider(name = "ratio")
+    private Object[][] ratio() {
+        return new Object[][]{{0d}, {.1d}, {.5d}, {2d}};
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "ratio")
+    public void testRandom(double ratio) {
+        for (int seed = 0; seed < 20; seed++) {
+            Random rnd = new Random(seed);
+            IEnvironment trailing = new EnvironmentBuilder().setWorldSize(4).setWorldNumber(2).fromFlat().build();
+            IEnvironment copying = new EnvironmentBuilder().setWorldSize(4).setWorldNumber(2).setCopyRatio(ratio).buildCopying();
+            int n = 200;
+            IStateInt[] it = new IStateInt[n], ic = new IStateInt[n];
+            IStateLong[] lt = new IStateLong[n], lc = new IStateLong[n];
+            IStateIntArray at = trailing.makeIntArray(n, 0), ac = copying.makeIntArray(n, 0);
+            IStateDoubleVector dt = trailing.makeDoubleVector(n, 0d), dc = copying.makeDoubleVector(n, 0d);
+            for (int i = 0; i < n; i++) {
+                it[i] = trailing.makeInt(i);
+                ic[i] = copying.makeInt(i);
+                lt[i] = trailing.makeLong(-i);
+                lc[i] = copying.makeLong(-i);
+            }
+            for (int s = 0; s < 500; s++) {
+                int op = rnd.nextInt(10);
+                if (op < 2) {
+                    trailing.worldPush();
+                    copying.worldPush();
+                } else if (op < 4 && trailing.getWorldIndex() > 0) {
+                    trailing.worldPop();
+                    copying.worldPop();
+                } else if (op == 5 && trailing.getWorldIndex() > 0) {
+                    trailing.worldCommit();
+                    copying.worldCommit();
+                } else {
+                    int m = rnd.nextInt(op == 4 ? n : 5);
+                    for (int j = 0; j < m; j++) {
+                        int i = rnd.nextInt(n);
+                        int v = rnd.nextInt(1000);
+                        it[i].set(v);
+                        ic[i].set(v);
+                        lt[i].set(v * 10_000_000_000L);
+                        lc[i].set(v * 10_000_000_000L);
+                        at.set(i, v);
+                        ac.set(i, v);
+                        dt.quickSet(i, v / 8d);
+                        dc.quickSet(i, v / 8d);
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    Assert.assertEquals(ic[i].get(), it[i].get());
+                    Assert.assertEquals(lc[i].get(), lt[i].get());
+                    Assert.assertEquals(ac.get(i), at.get(i));
+                    Assert.assertEquals(dc.get(i), dt.get(i));
+                }
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDenseCopy() {
+        EnvironmentCopying environment = new EnvironmentBuilder().setCopyRatio(.5).buildCopying();
+        IStateInt[] si = new IStateInt[EnvironmentCopying.PAGE_SIZE];
+        for (int i = 0; i < si.length; i++) {
+            si[i] = environment.makeInt(i);
+        }
+        environment.worldPush();
+        for (int i = 0; i < si.length; i++) {
+            si[i].add(1);
+        }
+        Assert.assertEquals(environment.getIntStore().getSize(), si.length);
+        environment.worldPush();
+        // the page has been densely modified, it is now copied
+        Assert.assertEquals(environment.getIntStore().getNbCopiedPages(), 1);
+        for (int i = 0; i < si.length; i++) {
+            si[i].add(1);
+        }
+        Assert.assertEquals(environment.getIntStore().getSize(), si.length);
+        environment.worldPop();
+        for (int i = 0; i < si.length; i++) {
+            Assert.assertEquals(si[i].get(), i + 1);
+        }
+        environment.worldPop();
+        for (int i = 0; i < si.length; i++) {
+            Assert.assertEquals(si[i].get(), i);
+        }
+        Assert.assertEquals(environment.getIntStore().getNbCopiedPages(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDynamicAddition() {
+        IEnvironment environment = new EnvironmentBuilder().setCopyRatio(0).buildCopying();
+        environment.buildFakeHistoryOn(new Except_0());
+        IStateInt a = environment.makeInt(10);
+        a.set(11);
+        environment.worldPush();
+        IStateInt b = environment.makeInt(21);
+        a.set(12);
+        b.set(22);
+        environment.worldPush();
+        IStateInt c = environment.makeInt(32);
+        a.set(13);
+        b.set(23);
+        c.set(33);
+        environment.worldPush();
+        a.set(14);
+        b.set(24);
+        c.set(34);
+
+        environment.worldPop();
+        Assert.assertEquals(a.get(), 13);
+        Assert.assertEquals(b.get(), 23);
+        Assert.assertEquals(c.get(), 33);
+        environment.worldPop();
+        Assert.assertEquals(a.get(), 12);
+        Assert.assertEquals(b.get(), 22);
+        Assert.assertEquals(c.get(), 32);
+        environment.worldPop();
+        Assert.assertEquals(a.get(), 11);
+        Assert.assertEquals(b.get(), 21);
+        Assert.assertEquals(c.get(), 32);
+    }
+}
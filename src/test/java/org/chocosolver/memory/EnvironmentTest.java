@@ -24,7 +24,9 @@ public class EnvironmentTest {
     private Object[][] env() {
         return new IEnvironment[][]{
                 {new EnvironmentBuilder().fromFlat().build()},
-                {new EnvironmentBuilder().fromChunk().build()}
+                {new EnvironmentBuilder().fromChunk().build()},
+                {new EnvironmentBuilder().fromUnsafe().build()},
+                {new EnvironmentBuilder().buildCopying()}
         };
     }
 
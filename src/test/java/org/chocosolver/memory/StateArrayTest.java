@@ -0,0 +1,132 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class StateArrayTest {
+
+    @DataProvider(name = "env")
+    private Object[][] env() {
+        return new Object[][]{{false}, {true}};
+    }
+
+    private static IEnvironment make(boolean copying) {
+        EnvironmentBuilder builder = new EnvironmentBuilder().setWorldSize(4).setWorldNumber(2);
+        return copying ? builder.buildCopying() : builder.fromFlat().build();
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testRandom(boolean copying) {
+        for (int seed = 0; seed < 20; seed++) {
+            Random rnd = new Random(seed);
+            IEnvironment environment = make(copying);
+            int n = 100;
+            IStateIntArray ints = environment.makeIntArray(n, 3);
+            IStateLongArray longs = environment.makeLongArray(n, -1L);
+            int[] ei = new int[n];
+            long[] el = new long[n];
+            Arrays.fill(ei, 3);
+            Arrays.fill(el, -1L);
+            Deque<int[]> si = new ArrayDeque<>();
+            Deque<long[]> sl = new ArrayDeque<>();
+            for (int s = 0; s < 500; s++) {
+                int op = rnd.nextInt(10);
+                if (op < 2) {
+                    environment.worldPush();
+                    si.push(ei.clone());
+                    sl.push(el.clone());
+                } else if (op < 4 && environment.getWorldIndex() > 0) {
+                    environment.worldPop();
+                    ei = si.pop();
+                    el = sl.pop();
+                } else {
+                    int m = rnd.nextInt(op == 4 ? n : 5);
+                    for (int j = 0; j < m; j++) {
+                        int i = rnd.nextInt(n);
+                        int v = rnd.nextInt(1000);
+                        ints.set(i, v);
+                        longs.set(i, v * 10_000_000_000L);
+                        ei[i] = v;
+                        el[i] = v * 10_000_000_000L;
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    Assert.assertEquals(ints.get(i), ei[i]);
+                    Assert.assertEquals(longs.get(i), el[i]);
+                }
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testEnsureCapacity(boolean copying) {
+        IEnvironment environment = make(copying);
+        IStateLongArray longs = environment.makeLongArray(2, 7L);
+        environment.worldPush();
+        longs.set(1, 8L);
+        longs.ensureCapacity(10);
+        Assert.assertTrue(longs.length() >= 10);
+        Assert.assertEquals(longs.get(1), 8L);
+        Assert.assertEquals(longs.get(9), 7L);
+        longs.set(9, 9L);
+        environment.worldPush();
+        longs.set(9, 10L);
+        environment.worldPop();
+        Assert.assertEquals(longs.get(9), 9L);
+        environment.worldPop();
+        Assert.assertEquals(longs.get(1), 7L);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testBitSet(boolean copying) {
+        IEnvironment environment = make(copying);
+        IStateBitSet bs = environment.makeBitSet(1000);
+        bs.set(0, 1000);
+        environment.worldPush();
+        for (int i = 0; i < 1000; i += 3) {
+            bs.clear(i);
+        }
+        Assert.assertEquals(bs.cardinality(), 666);
+        environment.worldPush();
+        bs.clear(0, 1000);
+        Assert.assertTrue(bs.isEmpty());
+        environment.worldPop();
+        Assert.assertEquals(bs.cardinality(), 666);
+        Assert.assertEquals(bs.nextSetBit(0), 1);
+        environment.worldPop();
+        Assert.assertEquals(bs.cardinality(), 1000);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testIntVector(boolean copying) {
+        IEnvironment environment = make(copying);
+        IStateIntVector vector = environment.makeIntVector(3, 1);
+        environment.worldPush();
+        vector.set(0, 5);
+        vector.add(6);
+        Assert.assertEquals(vector.quickGet(0), 5);
+        Assert.assertEquals(vector.quickGet(3), 6);
+        environment.worldPop();
+        Assert.assertEquals(vector.quickGet(0), 1);
+    }
+}
@@ -158,6 +158,42 @@ public class PropNogoodsTest {
         }
     }
 
+    @Test(groups="1s", timeOut=60000)
+    public void testLiteral3() throws Exception {
+        Model model = vars[0].getModel();
+        // a small domain, indexed densely, and a large one, indexed sparsely
+        IntVar[] xs = {model.intVar("s", -5, 5, false), model.intVar("l", -100_000, 100_000, true)};
+        for (IntVar x : xs) {
+            for (int v = -20; v <= 20; v++) {
+                for (boolean eq : new boolean[]{true, false}) {
+                    int lit = PNG.Literal(x, v, eq);
+                    Assert.assertEquals(PNG.Literal(x, v, eq), lit);
+                    Assert.assertEquals(PNG.getIntVar(lit), x);
+                    Assert.assertEquals(PNG.getValue(lit), v);
+                    Assert.assertEquals(PNG.isEqLiteral(lit), eq);
+                }
+            }
+            int lit = PNG.Literal(x, Integer.MAX_VALUE, false);
+            Assert.assertEquals(PNG.Literal(x, Integer.MAX_VALUE, false), lit);
+            Assert.assertEquals(PNG.getValue(lit), Integer.MAX_VALUE);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testLiteral4() throws Exception {
+        Model model = vars[0].getModel();
+        // the first literals are indexed sparsely, then moved to the dense index
+        IntVar x = model.intVar("s", 0, 5, false);
+        int[] lits = {PNG.Literal(x, 3, true), PNG.Literal(x, 3, false), PNG.Literal(x, 8, true),
+                PNG.Literal(x, 0, true), PNG.Literal(x, 5, false)};
+        Assert.assertEquals(PNG.Literal(x, 3, true), lits[0]);
+        Assert.assertEquals(PNG.Literal(x, 3, false), lits[1]);
+        Assert.assertEquals(PNG.Literal(x, 8, true), lits[2]);
+        Assert.assertEquals(PNG.Literal(x, 0, true), lits[3]);
+        Assert.assertEquals(PNG.Literal(x, 5, false), lits[4]);
+        Assert.assertEquals(PNG.getValue(lits[2]), 8);
+    }
+
     @Test(groups="1s", timeOut=60000)
     public void testVariableBound1(){
         try {
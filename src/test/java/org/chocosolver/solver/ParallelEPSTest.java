@@ -0,0 +1,127 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.chocosolver.solver.ModelTest.knapsack;
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+import static org.chocosolver.solver.search.strategy.Search.inputOrderUBSearch;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class ParallelEPSTest {
+
+    private static Model queens(int n, boolean split) {
+        Model model = new Model();
+        IntVar[] vars = model.intVarArray("Q", n, 1, n, false);
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int k = j - i;
+                model.arithm(vars[i], "!=", vars[j]).post();
+                model.arithm(vars[i], "!=", vars[j], "+", -k).post();
+                model.arithm(vars[i], "!=", vars[j], "+", k).post();
+            }
+        }
+        model.getSolver().setSearch(split ? inputOrderUBSearch(vars) : inputOrderLBSearch(vars));
+        return model;
+    }
+
+    @DataProvider(name = "workers")
+    public Object[][] workers() {
+        return new Object[][]{{1, 1}, {2, 1}, {4, 2}, {4, 10}, {8, 3}};
+    }
+
+    @Test(groups="1s", timeOut=60000, dataProvider = "workers")
+    public void testQueensAll(int n, int threshold) {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < n; i++) {
+            eps.addModel(queens(8, i % 2 == 0));
+        }
+        eps.setSplitThreshold(threshold);
+        List<Solution> solutions = eps.findAllSolutions();
+        Assert.assertEquals(solutions.size(), 92);
+        Assert.assertEquals(eps.getSolutionCount(), 92);
+        Set<String> distinct = new HashSet<>();
+        for (Solution s : solutions) {
+            distinct.add(s.toString());
+        }
+        Assert.assertEquals(distinct.size(), 92);
+        if (n > 1) {
+            Assert.assertTrue(eps.getNbSubproblems() > 1);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testQueensStream() {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(queens(10, false));
+        }
+        Assert.assertEquals(eps.streamSolutions().count(), 724);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testQueensOne() {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(queens(12, false));
+        }
+        Assert.assertTrue(eps.solve());
+        Assert.assertNotNull(eps.getBestModel());
+        Assert.assertNotNull(eps.getBestSolution());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testKnapsack() {
+        for (int iter = 0; iter < 10; iter++) {
+            ParallelEPS eps = new ParallelEPS();
+            for (int i = 0; i < 4; i++) {
+                eps.addModel(knapsack());
+            }
+            Assert.assertTrue(eps.solve());
+            IntVar power = (IntVar) eps.getBestModel().getObjective();
+            Assert.assertEquals(eps.getBestSolution().getIntVal(power), 51);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testNoSolution() {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(queens(3, false));
+        }
+        Assert.assertFalse(eps.solve());
+        Assert.assertNull(eps.getBestSolution());
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    public void testRestarts() {
+        ParallelEPS eps = new ParallelEPS();
+        for (int i = 0; i < 2; i++) {
+            Model model = queens(4, false);
+            model.getSolver().setLubyRestart(2, new FailCounter(model, 2), 10);
+            eps.addModel(model);
+        }
+        eps.solve();
+    }
+}
@@ -8,12 +8,14 @@
  */
 package org.chocosolver.solver;
 
+import org.chocosolver.solver.search.limits.FailCounter;
 import org.chocosolver.solver.search.restart.MonotonicRestartStrategy;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import static org.chocosolver.solver.ModelTest.knapsack;
 import static org.chocosolver.solver.search.strategy.Search.*;
+import static org.chocosolver.util.ProblemMaker.makeGolombRuler;
 
 /**
  * <br/>
@@ -59,6 +61,28 @@ public class PortFolioTest {
         }
     }
 
+    @Test(groups="1s", timeOut=60000)
+    public void testCooperative() {
+        for (int iter = 0; iter < 10; iter++) {
+            ParallelPortfolio pares = new ParallelPortfolio(false);
+            for (int i = 0; i < 4; i++) {
+                Model model = makeGolombRuler(7);
+                Solver solver = model.getSolver();
+                solver.setSearch(randomSearch(model.retrieveIntVars(false), i));
+                solver.setLubyRestart(10, new FailCounter(model, 0), 1000);
+                solver.setNoGoodRecordingFromRestarts();
+                pares.addModel(model);
+            }
+            pares.setCooperative(32, 10, 64);
+            while (pares.solve()) ;
+            Model finder = pares.getBestModel();
+            Assert.assertNotNull(finder);
+            Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 25);
+            Assert.assertTrue(pares.getNbSharedNogoods() > 0);
+            Assert.assertTrue(pares.getNbSharedBounds() > 0);
+        }
+    }
+
     @Test(groups="1s", timeOut=60000)
     public void testParWait() {
         ParallelPortfolio pares = new ParallelPortfolio();
@@ -0,0 +1,151 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.SetVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class SolutionPoolTest {
+
+    private static IntVar[] vars(Model model, int n) {
+        IntVar[] x = model.intVarArray("x", n, 0, 2);
+        model.sum(x, "=", n).post();
+        return x;
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAll() {
+        Model model = new Model();
+        IntVar[] x = vars(model, 8);
+        List<Solution> solutions = model.getSolver().findAllSolutions();
+        Assert.assertEquals(solutions.size(), 1107);
+        Set<String> distinct = new HashSet<>();
+        for (Solution s : solutions) {
+            int sum = 0;
+            for (IntVar v : x) {
+                sum += s.getIntVal(v);
+            }
+            Assert.assertEquals(sum, 8);
+            distinct.add(s.toString());
+        }
+        Assert.assertEquals(distinct.size(), 1107);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testBest() {
+        Model model = new Model();
+        IntVar[] x = vars(model, 6);
+        IntVar obj = model.intVar("o", 0, 100);
+        model.scalar(x, new int[]{1, 2, 3, 4, 5, 6}, "=", obj).post();
+        SolutionPool pool = SolutionPool.best(model, 5, obj, true);
+        List<Solution> solutions = model.getSolver().findAllSolutions(pool);
+        Assert.assertEquals(solutions.size(), 5);
+        Assert.assertEquals(pool.getNbOffered(), model.getSolver().getSolutionCount());
+        int[] expected = {30, 29, 28, 28, 28};
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(solutions.get(i).getIntVal(obj), expected[i]);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testDiverse() {
+        Model model = new Model();
+        IntVar[] x = vars(model, 6);
+        SolutionPool pool = SolutionPool.diverse(model, 3, x);
+        List<Solution> solutions = model.getSolver().findAllSolutions(pool);
+        Assert.assertEquals(solutions.size(), 3);
+        // the first three solutions are close to each other, the diverse ones are not
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            for (int j = i + 1; j < 3; j++) {
+                min = Math.min(min, solutions.get(i).distance(x, solutions.get(j)));
+            }
+        }
+        Assert.assertTrue(min >= 5, "min distance " + min);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testVariablesAddedAfterCreation() {
+        Model model = new Model();
+        SolutionPool pool = SolutionPool.all(model);
+        IntVar[] x = vars(model, 4);
+        IntVar y = model.intVar("y", 0, 8);
+        model.sum(x, "=", y).post();
+        List<Solution> solutions = model.getSolver().findAllSolutions(pool);
+        Assert.assertEquals(solutions.size(), 19);
+        for (Solution s : solutions) {
+            Assert.assertEquals(s.getIntVal(y), 4);
+        }
+        // a variable added between two resolutions is stored in the next solutions
+        model.getSolver().reset();
+        pool.clear();
+        IntVar z = model.intVar("z", 1, 2);
+        model.arithm(z, "=", x[0], "+", 1).post();
+        solutions = model.getSolver().findAllSolutions(pool);
+        Assert.assertEquals(solutions.size(), 13);
+        for (Solution s : solutions) {
+            Assert.assertEquals(s.getIntVal(z), s.getIntVal(x[0]) + 1);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    public void testCapacity() {
+        SolutionPool.best(new Model(), 0, null, true);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testSetAndCopy() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        SetVar s = model.setVar("s", new int[]{}, new int[]{1, 2, 3});
+        model.arithm(x, "<", y).post();
+        Solution sol = model.getSolver().findSolution();
+        Assert.assertNotNull(sol);
+        Solution copy = sol.copySolution();
+        copy.setIntVal(x, 3);
+        copy.setIntVal(y, 4);
+        copy.setSetVal(s, new int[]{2});
+        Assert.assertEquals(sol.getIntVal(x), 0);
+        Assert.assertEquals(copy.getIntVal(x), 3);
+        Assert.assertEquals(copy.getSetVal(s), new int[]{2});
+        model.getSolver().reset();
+        model.getEnvironment().worldPush();
+        copy.restore();
+        Assert.assertEquals(x.getValue(), 3);
+        Assert.assertEquals(y.getValue(), 4);
+        model.getEnvironment().worldPop();
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    public void testNotStored() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        Solution sol = new Solution(model, x);
+        model.getSolver().solve();
+        sol.record();
+        Assert.assertEquals(sol.getIntVal(x), x.getValue());
+        sol.getIntVal(y);
+    }
+}
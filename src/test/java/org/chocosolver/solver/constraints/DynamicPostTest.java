@@ -11,6 +11,7 @@ package org.chocosolver.solver.constraints;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.reification.PropConditionnal;
+import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.propagation.PropagationEngineFactory;
 import org.chocosolver.solver.propagation.hardcoded.SevenQueuesPropagatorEngine;
 import org.chocosolver.solver.propagation.hardcoded.TwoBucketPropagationEngine;
@@ -29,6 +30,7 @@ import static org.chocosolver.solver.search.strategy.Search.domOverWDegSearch;
 import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
 import static org.chocosolver.util.ESat.*;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
 
 /**
  * <br/>
@@ -299,4 +301,63 @@ public class DynamicPostTest {
         }
         return model;
     }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testPostTemp() throws ContradictionException {
+        final Model model = new Model();
+        final IntVar X = model.intVar("X", 1, 3, false);
+        final IntVar Y = model.intVar("Y", 1, 3, false);
+        model.getSolver().setEngine(engine.make(model));
+        model.getSolver().propagate();
+        for (int i = 0; i < 1000; i++) {
+            model.getEnvironment().worldPush();
+            model.postTemp(model.arithm(X, "<", Y));
+            assertEquals(model.getNbCstrs(), 1);
+            assertEquals(X.getUB(), 2);
+            assertEquals(Y.getLB(), 2);
+            model.getEnvironment().worldPop();
+            assertEquals(model.getNbCstrs(), 0);
+            assertEquals(X.getUB(), 3);
+            assertEquals(X.getNbProps(), 0);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testPostTempUnpostedTwice() throws ContradictionException {
+        final Model model = new Model();
+        final IntVar X = model.intVar("X", 1, 3, false);
+        final IntVar Y = model.intVar("Y", 1, 3, false);
+        model.post(model.arithm(X, "!=", Y));
+        model.getSolver().setEngine(engine.make(model));
+        model.getSolver().propagate();
+        model.getEnvironment().worldPush();
+        Constraint c = model.arithm(X, "<", Y);
+        model.postTemp(c);
+        // as callers did before postTemp saved the unposting itself
+        model.getEnvironment().save(() -> model.unpost(c));
+        assertEquals(model.getNbCstrs(), 2);
+        model.getEnvironment().worldPop();
+        assertEquals(model.getNbCstrs(), 1);
+        assertEquals(X.getNbProps(), 1);
+        assertEquals(X.getUB(), 3);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testPostTempFail() throws ContradictionException {
+        final Model model = new Model();
+        final IntVar X = model.intVar("X", 1, 3, false);
+        model.getSolver().setEngine(engine.make(model));
+        model.getSolver().propagate();
+        model.getEnvironment().worldPush();
+        try {
+            model.postTemp(model.arithm(X, ">", 3));
+            fail();
+        } catch (ContradictionException ignored) {
+            model.getSolver().getEngine().flush();
+        }
+        model.getEnvironment().worldPop();
+        assertEquals(model.getNbCstrs(), 0);
+        assertEquals(X.getNbProps(), 0);
+        assertEquals(X.getUB(), 3);
+    }
 }
@@ -11,10 +11,15 @@ package org.chocosolver.solver.constraints.nary;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Task;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Random;
+
 import static org.chocosolver.solver.search.strategy.Search.lastConflict;
 import static org.chocosolver.solver.search.strategy.Search.randomSearch;
 
@@ -115,6 +120,67 @@ public class CumulativeTest {
 			}
 	}
 
+	@Test(groups="1s", timeOut=60000)
+	public void testTTEF1() throws ContradictionException {
+		Model model = new Model();
+		Task[] t = new Task[3];
+		int[][] tasks = {{0, 10, 4}, {0, 10, 4}, {0, 30, 3}};
+		for (int i = 0; i < 3; i++) {
+			IntVar s = model.intVar(tasks[i][0], tasks[i][1] - tasks[i][2]);
+			IntVar e = model.intVar(tasks[i][0] + tasks[i][2], tasks[i][1]);
+			t[i] = new Task(s, model.intVar(tasks[i][2]), e);
+		}
+		IntVar[] h = model.intVarArray("h", 3, 1, 1);
+		model.cumulative(t, h, model.intVar(1), false, Cumulative.Filter.TIMETABLE_EDGE_FINDING).post();
+		model.getSolver().propagate();
+		// the last task cannot be processed before or between the first two ones
+		Assert.assertEquals(t[2].getStart().getLB(), 8);
+	}
+
+	@DataProvider(name = "ttef")
+	public Object[][] ttef() {
+		return new Object[][]{{5}, {6}, {8}};
+	}
+
+	@Test(groups="1s", timeOut=60000, dataProvider = "ttef")
+	public void testTTEF2(int n) {
+		for (long seed = 0; seed < 50; seed++) {
+			long ref = solve(n, seed, false, Cumulative.Filter.TIME);
+			for (boolean g : new boolean[]{true, false}) {
+				Assert.assertEquals(solve(n, seed, g, Cumulative.Filter.TIMETABLE_EDGE_FINDING), ref);
+			}
+		}
+	}
+
+	private static long solve(int n, long seed, boolean graph, Cumulative.Filter filter) {
+		Random rnd = new Random(seed);
+		Model model = new Model();
+		int capa = 2 + rnd.nextInt(2);
+		int[] p = new int[n];
+		int[] h = new int[n];
+		int energy = 0;
+		for (int i = 0; i < n; i++) {
+			p[i] = 1 + rnd.nextInt(4);
+			h[i] = 1 + rnd.nextInt(capa);
+			energy += p[i] * h[i];
+		}
+		int horizon = energy / capa + 1 + rnd.nextInt(3);
+		Task[] t = new Task[n];
+		IntVar[] heights = new IntVar[n];
+		for (int i = 0; i < n; i++) {
+			int est = rnd.nextInt(Math.max(1, horizon - p[i] + 1));
+			int lct = Math.max(est + p[i], Math.min(horizon, est + p[i] + rnd.nextInt(horizon)));
+			IntVar s = model.intVar("s" + i, est, lct - p[i], false);
+			IntVar e = model.intVar("e" + i, est + p[i], lct, false);
+			t[i] = new Task(s, model.intVar(p[i]), e);
+			heights[i] = model.intVar(h[i]);
+		}
+		model.cumulative(t, heights, model.intVar(capa), graph, filter).post();
+		Solver r = model.getSolver();
+		while (r.solve()) ;
+		return r.getSolutionCount();
+	}
+
 	public static long solve(int n, int capamax, int dmin, int hmax, long seed,
 							 boolean graph, int mode) {
 		final Model model = new Model();
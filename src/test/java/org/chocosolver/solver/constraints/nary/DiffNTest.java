@@ -0,0 +1,150 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * Tests the sweep-based, k-dimensional, diffN constraint
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class DiffNTest {
+
+    @DataProvider(name = "seeds")
+    public Object[][] seeds() {
+        return new Object[][]{{0L}, {1L}, {2L}, {3L}, {4L}};
+    }
+
+    /**
+     * @param mode 0: graph-based diffN, 1: sweep-based diffN, 2: decomposition
+     */
+    private static long solve(int n, int k, int size, long seed, int mode) {
+        Random rnd = new Random(seed);
+        Model model = new Model();
+        IntVar[][] o = new IntVar[k][n];
+        IntVar[][] l = new IntVar[k][n];
+        for (int d = 0; d < k; d++) {
+            for (int i = 0; i < n; i++) {
+                int lmin = 1 + rnd.nextInt(2);
+                l[d][i] = model.intVar("l" + d + "_" + i, lmin, lmin + rnd.nextInt(2), false);
+                o[d][i] = model.intVar("o" + d + "_" + i, 0, size - lmin, false);
+                model.arithm(o[d][i], "+", l[d][i], "<=", size).post();
+            }
+        }
+        switch (mode) {
+            case 0:
+                model.diffN(o[0], o[1], l[0], l[1], false).post();
+                break;
+            case 1:
+                model.diffN(o, l).post();
+                break;
+            default:
+                for (int i = 0; i < n; i++) {
+                    for (int j = i + 1; j < n; j++) {
+                        Constraint[] sep = new Constraint[2 * k];
+                        for (int d = 0; d < k; d++) {
+                            sep[2 * d] = model.arithm(o[d][i], "+", l[d][i], "<=", o[d][j]);
+                            sep[2 * d + 1] = model.arithm(o[d][j], "+", l[d][j], "<=", o[d][i]);
+                        }
+                        model.or(sep).post();
+                    }
+                }
+        }
+        Solver solver = model.getSolver();
+        solver.setSearch(randomSearch(model.retrieveIntVars(true), seed));
+        while (solver.solve()) ;
+        return solver.getSolutionCount();
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "seeds")
+    public void test2D(long seed) {
+        long ref = solve(4, 2, 4, seed, 0);
+        Assert.assertEquals(solve(4, 2, 4, seed, 1), ref);
+        Assert.assertEquals(solve(4, 2, 4, seed, 2), ref);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "seeds")
+    public void test3D(long seed) {
+        Assert.assertEquals(solve(3, 3, 3, seed, 1), solve(3, 3, 3, seed, 2));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFill() {
+        // 2500 unit squares filling a 50x50 square
+        int w = 50;
+        int n = w * w;
+        Model model = new Model();
+        IntVar[][] o = new IntVar[2][];
+        IntVar[][] l = new IntVar[2][n];
+        o[0] = model.intVarArray("x", n, 0, w - 1, true);
+        o[1] = model.intVarArray("y", n, 0, w - 1, true);
+        for (int i = 0; i < n; i++) {
+            l[0][i] = l[1][i] = model.intVar(1);
+        }
+        model.diffN(o, l).post();
+        Solver solver = model.getSolver();
+        IntVar[] vars = new IntVar[2 * n];
+        for (int i = 0; i < n; i++) {
+            vars[2 * i] = o[0][i];
+            vars[2 * i + 1] = o[1][i];
+        }
+        solver.setSearch(inputOrderLBSearch(vars));
+        Assert.assertTrue(solver.solve());
+        boolean[][] used = new boolean[w][w];
+        for (int i = 0; i < n; i++) {
+            Assert.assertFalse(used[o[0][i].getValue()][o[1][i].getValue()]);
+            used[o[0][i].getValue()][o[1][i].getValue()] = true;
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testWideBox() {
+        // a w x 1 box and w.(w-1) unit squares filling a w x w square,
+        // the wide box overlaps all the other ones in the first dimension
+        int w = 20;
+        int n = w * (w - 1) + 1;
+        Model model = new Model();
+        IntVar[][] o = new IntVar[2][];
+        IntVar[][] l = new IntVar[2][n];
+        o[0] = model.intVarArray("x", n, 0, w - 1, true);
+        o[1] = model.intVarArray("y", n, 0, w - 1, true);
+        for (int i = 0; i < n; i++) {
+            l[0][i] = l[1][i] = model.intVar(1);
+        }
+        l[0][n - 1] = model.intVar(w);
+        model.diffN(o, l).post();
+        Solver solver = model.getSolver();
+        IntVar[] vars = new IntVar[2 * n];
+        for (int i = 0; i < n; i++) {
+            vars[2 * i] = o[0][n - 1 - i];
+            vars[2 * i + 1] = o[1][n - 1 - i];
+        }
+        solver.setSearch(inputOrderLBSearch(vars));
+        Assert.assertTrue(solver.solve());
+        boolean[][] used = new boolean[w][w];
+        for (int i = 0; i < n; i++) {
+            for (int x = 0; x < l[0][i].getValue(); x++) {
+                Assert.assertFalse(used[o[0][i].getValue() + x][o[1][i].getValue()]);
+                used[o[0][i].getValue() + x][o[1][i].getValue()] = true;
+            }
+        }
+    }
+}
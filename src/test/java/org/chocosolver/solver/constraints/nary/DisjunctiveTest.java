@@ -0,0 +1,118 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * Tests the disjunctive constraint
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class DisjunctiveTest {
+
+    private static Task task(Model model, int est, int lct, int p) {
+        IntVar s = model.intVar(est, lct - p, true);
+        IntVar d = model.intVar(p);
+        IntVar e = model.intVar(est + p, lct, true);
+        return new Task(s, d, e);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = ContradictionException.class)
+    public void testOverload() throws ContradictionException {
+        Model model = new Model();
+        Task[] tasks = {task(model, 0, 8, 3), task(model, 1, 8, 3), task(model, 0, 7, 3)};
+        model.disjunctive(tasks).post();
+        model.getSolver().propagate();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEdgeFinding() throws ContradictionException {
+        Model model = new Model();
+        Task[] tasks = {task(model, 0, 10, 4), task(model, 0, 10, 4), task(model, 0, 20, 3)};
+        model.disjunctive(tasks).post();
+        model.getSolver().propagate();
+        // the third task cannot be processed before or between the first two ones
+        Assert.assertEquals(tasks[2].getStart().getLB(), 8);
+        Assert.assertEquals(tasks[2].getEnd().getLB(), 11);
+        // mirrored
+        model = new Model();
+        tasks = new Task[]{task(model, 10, 20, 4), task(model, 10, 20, 4), task(model, 0, 20, 3)};
+        model.disjunctive(tasks).post();
+        model.getSolver().propagate();
+        Assert.assertEquals(tasks[2].getEnd().getUB(), 12);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDetectablePrecedences() throws ContradictionException {
+        Model model = new Model();
+        Task[] tasks = {task(model, 0, 5, 3), task(model, 1, 20, 3)};
+        model.disjunctive(tasks).post();
+        model.getSolver().propagate();
+        Assert.assertEquals(tasks[1].getStart().getLB(), 3);
+        Assert.assertEquals(tasks[0].getStart().getUB(), 2);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testZeroDuration() {
+        Model model = new Model();
+        Task[] tasks = {task(model, 0, 4, 4), task(model, 0, 4, 0), task(model, 0, 4, 0)};
+        model.disjunctive(tasks).post();
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 25);
+    }
+
+    @DataProvider(name = "params")
+    public Object[][] params() {
+        return new Object[][]{
+                {3, 0, 0L}, {3, 1, 1L}, {3, 2, 2L}, {4, 0, 2L}, {4, 2, 4L}, {4, 4, 6L}
+        };
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "params")
+    public void testAgainstCumulative(int n, int dmin, long seed) {
+        long[] nbSol = new long[2];
+        for (int k = 0; k < 2; k++) {
+            Random rnd = new Random(seed);
+            Model model = new Model();
+            int horizon = n * (dmin + 1) + 2;
+            Task[] tasks = new Task[n];
+            IntVar[] heights = new IntVar[n];
+            for (int i = 0; i < n; i++) {
+                int est = rnd.nextInt(3);
+                IntVar s = model.intVar("s" + i, est, horizon, false);
+                IntVar d = model.intVar("d" + i, dmin, dmin + rnd.nextInt(3), false);
+                IntVar e = model.intVar("e" + i, 0, horizon, false);
+                tasks[i] = new Task(s, d, e);
+                heights[i] = model.intVar(1);
+            }
+            if (k == 0) {
+                model.cumulative(tasks, heights, model.intVar(1)).post();
+            } else {
+                model.disjunctive(tasks).post();
+            }
+            Solver solver = model.getSolver();
+            solver.setSearch(randomSearch(model.retrieveIntVars(true), seed));
+            while (solver.solve()) ;
+            nbSol[k] = solver.getSolutionCount();
+        }
+        Assert.assertTrue(nbSol[0] > 0);
+        Assert.assertEquals(nbSol[1], nbSol[0]);
+    }
+}
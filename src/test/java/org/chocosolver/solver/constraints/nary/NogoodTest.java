@@ -13,6 +13,7 @@ import gnu.trove.list.array.TIntArrayList;
 
 import org.chocosolver.sat.PropNogoods;
 import org.chocosolver.sat.SatSolver;
+import org.chocosolver.solver.DefaultSettings;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
@@ -113,4 +114,27 @@ public class NogoodTest {
         Assert.assertEquals(chocoModel.getSolver().getSolutionCount(), 4);
     }
 
+    @Test(groups="1s", timeOut=60000)
+    public void testReduceLearnts() {
+        Model model = new Model("queens", new DefaultSettings().setMaxLearntClauses(10));
+        int n = 8;
+        IntVar[] q = model.intVarArray("q", n, 1, n, false);
+        model.allDifferent(q, "NEQS").post();
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                model.arithm(q[i], "!=", q[j], "+", j - i).post();
+                model.arithm(q[i], "!=", q[j], "-", j - i).post();
+            }
+        }
+        Solver solver = model.getSolver();
+        solver.setSearch(randomSearch(q, 0L));
+        solver.setNoGoodRecordingFromSolutions(q);
+        solver.setNoGoodRecordingFromRestarts();
+        solver.setGeometricalRestart(10, 1.2, new BacktrackCounter(model, 10), 1000);
+        while (solver.solve()) ;
+        assertEquals(solver.getSolutionCount(), 92);
+        Assert.assertTrue(solver.getLearntClauseCount() > 0);
+        Assert.assertTrue(solver.getDeletedClauseCount() > 0);
+    }
+
 }
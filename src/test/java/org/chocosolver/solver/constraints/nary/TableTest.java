@@ -20,6 +20,7 @@ import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.constraints.extension.TuplesFactory;
+import org.chocosolver.solver.constraints.extension.nary.CompactSupports;
 import org.chocosolver.solver.constraints.extension.nary.TuplesLargeTable;
 import org.chocosolver.solver.constraints.extension.nary.TuplesTable;
 import org.chocosolver.solver.constraints.extension.nary.TuplesVeryLargeTable;
@@ -585,4 +586,61 @@ public class TableTest {
 			Assert.assertEquals(model.getSolver().findAllSolutions().size(), 18);
 		}
 	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testCompactSupportsShared(){
+		Tuples tuples = new Tuples(true);
+		tuples.add(1, 2);
+		tuples.add(2, 3);
+		Model m1 = new Model();
+		Model m2 = new Model();
+		IntVar[] x1 = m1.intVarArray("x", 2, 0, 4);
+		IntVar[] x2 = m2.intVarArray("x", 2, 0, 4);
+		CompactSupports s1 = CompactSupports.of(x1, tuples, false);
+		Assert.assertSame(CompactSupports.of(x2, tuples, false), s1);
+		Assert.assertNotSame(CompactSupports.of(x2, tuples, true), s1);
+		Assert.assertNotSame(CompactSupports.of(new IntVar[]{x2[0], m2.intVar(0, 5)}, tuples, false), s1);
+		tuples.add(3, 4);
+		Assert.assertNotSame(CompactSupports.of(x2, tuples, false), s1);
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testCompactSupportsSparse(){
+		Random rnd = new Random(0);
+		for (boolean star : new boolean[]{false, true}) {
+			// the reference table is an expanded version of the tested one, without universal value
+			Tuples tuples = new Tuples(true);
+			Tuples expanded = new Tuples(true);
+			if (star) {
+				tuples.setUniversalValue(-1);
+			}
+			for (int t = 0; t < 3000; t++) {
+				int a = rnd.nextInt(200), b = rnd.nextInt(200);
+				if (star && rnd.nextInt(10) == 0) {
+					tuples.add(a, b, -1);
+					for (int c = 0; c < 200; c++) {
+						expanded.add(a, b, c);
+					}
+				} else {
+					int c = rnd.nextInt(200);
+					tuples.add(a, b, c);
+					expanded.add(a, b, c);
+				}
+			}
+			long[] counts = new long[2];
+			for (int k = 0; k < 2; k++) {
+				Model model = new Model();
+				IntVar[] vars = model.intVarArray("x", 3, 0, 199);
+				model.table(vars, k == 0 ? tuples : expanded, k == 0 ? "CT+" : "STR2+").post();
+				model.sum(vars, "<=", 40).post();
+				if (k == 0) {
+					CompactSupports supports = CompactSupports.of(vars, tuples, star);
+					Assert.assertFalse(supports.isDense(0, 0));
+					Assert.assertTrue(supports.getNbStoredWords() < 3 * 200 * (3000 / 64 + 1));
+				}
+				counts[k] = model.getSolver().findAllSolutions().size();
+			}
+			Assert.assertEquals(counts[0], counts[1]);
+		}
+	}
 }
\ No newline at end of file
@@ -1078,4 +1078,68 @@ public class IntLinCombTest {
         model.getSolver().findAllSolutions();
         Assert.assertEquals(model.getSolver().getSolutionCount(), 772);
     }
+
+    private static long countScalar(boolean incr, int seed, String op, boolean reify) {
+        Random rnd = new Random(seed);
+        Model model = new Model(new DefaultSettings().setEnableIncrementalityOnSum(i -> incr));
+        int n = 3 + rnd.nextInt(3);
+        IntVar[] vars = new IntVar[n];
+        int[] coeffs = new int[n];
+        for (int i = 0; i < n; i++) {
+            int lb = rnd.nextInt(5) - 2;
+            vars[i] = model.intVar("x" + i, lb, lb + rnd.nextInt(4), rnd.nextBoolean());
+            coeffs[i] = rnd.nextBoolean() ? 1 + rnd.nextInt(4) : -1 - rnd.nextInt(4);
+        }
+        int b = rnd.nextInt(7) - 3;
+        Constraint c = model.scalar(vars, coeffs, op, b);
+        if (reify) {
+            model.arithm(c.reify(), "=", 0).post();
+        } else {
+            c.post();
+        }
+        model.getSolver().setSearch(inputOrderLBSearch(vars));
+        model.getSolver().findAllSolutions();
+        return model.getSolver().getSolutionCount();
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIncrScalar() {
+        for (String op : new String[]{"=", "!=", "<=", ">=", "<", ">"}) {
+            for (int seed = 0; seed < 50; seed++) {
+                Assert.assertEquals(countScalar(true, seed, op, false), countScalar(false, seed, op, false), op + " " + seed);
+                Assert.assertEquals(countScalar(true, seed, op, true), countScalar(false, seed, op, true), op + " " + seed);
+            }
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIncrSum() {
+        long[] counts = new long[2];
+        for (int k = 0; k < 2; k++) {
+            boolean incr = k == 0;
+            Model model = new Model(new DefaultSettings().setEnableIncrementalityOnSum(i -> incr));
+            IntVar[] vars = model.intVarArray("x", 6, 0, 4, false);
+            model.sum(vars, "=", 12).post();
+            model.sum(new IntVar[]{vars[0], vars[1], vars[2]}, ">=", vars[3]).post();
+            model.getSolver().findAllSolutions();
+            counts[k] = model.getSolver().getSolutionCount();
+        }
+        Assert.assertEquals(counts[0], counts[1]);
+        Assert.assertTrue(counts[0] > 0);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIncrScalarLargeCoeffs() {
+        Model model = new Model(new DefaultSettings().setEnableIncrementalityOnSum(i -> true));
+        IntVar[] vars = model.intVarArray("x", 3, 0, 1_000, true);
+        // products do not fit into an int
+        int[] coeffs = {10_000_000, 10_000_000, -10_000_000};
+        model.scalar(vars, coeffs, ">=", 0).post();
+        model.arithm(vars[2], "=", 1_000).post();
+        model.arithm(vars[0], "=", vars[1]).post();
+        Solver solver = model.getSolver();
+        solver.setSearch(inputOrderLBSearch(vars));
+        Assert.assertTrue(solver.solve());
+        Assert.assertEquals(vars[0].getValue(), 500);
+    }
 }
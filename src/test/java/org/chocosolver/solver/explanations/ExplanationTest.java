@@ -10,9 +10,11 @@ package org.chocosolver.solver.explanations;
 
 import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.search.loop.learn.LearnCBJ;
 import org.chocosolver.solver.search.loop.learn.LearnExplained;
+import org.chocosolver.solver.search.loop.learn.LearnLCG;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
 import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
@@ -20,6 +22,7 @@ import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMiddle;
 import org.chocosolver.solver.search.strategy.selectors.variables.InputOrder;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -31,6 +34,7 @@ import static java.util.Arrays.copyOfRange;
 import static java.util.Arrays.fill;
 import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
 import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+import static org.chocosolver.util.ProblemMaker.makeNQueenWithBinaryConstraints;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 
@@ -380,4 +384,197 @@ public class ExplanationTest {
             Assert.assertEquals(lex.getLastExplanation().getDecisions().cardinality(), 1, "fails on "+i);
         }
     }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testLCGLearning() {
+        for (int n = 4; n < 9; n++) {
+            long[] counts = new long[2];
+            for (int e = 0; e < 2; e++) {
+                Model model = makeNQueenWithBinaryConstraints(n);
+                IntVar[] vars = (IntVar[]) model.getHook("vars");
+                if (e == 1) {
+                    model.getSolver().setLCGLearning(.95);
+                    model.getSolver().setSearch(Search.vsidsSearch(vars));
+                } else {
+                    model.getSolver().setSearch(inputOrderLBSearch(vars));
+                }
+                while (model.getSolver().solve()) ;
+                counts[e] = model.getSolver().getSolutionCount();
+            }
+            assertEquals(counts[1], counts[0], "n = " + n);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testLCGActivity() {
+        Model model = new Model();
+        IntVar[] vars = model.intVarArray("p", 6, 0, 4, true);
+        model.arithm(vars[4], "=", vars[5]).post();
+        model.arithm(vars[4], "!=", vars[5]).post();
+        model.getSolver().setLCGLearning(.95);
+        model.getSolver().setSearch(Search.vsidsSearch(vars));
+        assertFalse(model.getSolver().solve());
+        LearnLCG learner = (LearnLCG) model.getSolver().getLearner();
+        for (int i = 0; i < 4; i++) {
+            assertEquals(learner.getActivity(vars[i]), 0d);
+        }
+        Assert.assertTrue(learner.getActivity(vars[4]) > 0d);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testCompactEventStore() {
+        for (int a = 0; a < 2; a++) {
+            long[][] stats = new long[2][];
+            for (int c = 0; c < 2; c++) {
+                Model model = new Model(new DefaultSettings().setEnableCompactEventStore(c == 1));
+                IntVar[] pigeons = model.intVarArray("p", 6, 0, 4, false);
+                model.allDifferent(pigeons, "NEQS").post();
+                if (a == 0) {
+                    model.getSolver().setCBJLearning(false, false);
+                } else {
+                    model.getSolver().setDBTLearning(false, false);
+                }
+                model.getSolver().setSearch(inputOrderLBSearch(pigeons));
+                assertFalse(model.getSolver().solve());
+                stats[c] = new long[]{model.getSolver().getNodeCount(), model.getSolver().getFailCount()};
+            }
+            Assert.assertEquals(stats[1], stats[0]);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testPackedEventStore() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", -5, 5);
+        IntVar y = model.intVar("y", -5, 5);
+        PackedEventStore store = new PackedEventStore(model.getEnvironment());
+        int n = 5000;
+        for (int i = 0; i < n; i++) {
+            store.pushEvent(i % 2 == 0 ? x : y, i % 3 == 0 ? Cause.Null : null,
+                    i % 2 == 0 ? IntEventType.REMOVE : IntEventType.INCLOW, -i, i, Integer.MIN_VALUE + i);
+        }
+        model.getEnvironment().worldPush();
+        store.pushEvent(x, Cause.Null, IntEventType.DECUPP, 1, 2, 3);
+        assertEquals(store.getSize(), n + 1);
+        model.getEnvironment().worldPop();
+        assertEquals(store.getSize(), n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(store.getVariable(i), i % 2 == 0 ? x : y);
+            assertEquals(store.getCause(i), i % 3 == 0 ? Cause.Null : null);
+            assertEquals(store.getEventType(i), i % 2 == 0 ? IntEventType.REMOVE : IntEventType.INCLOW);
+            assertEquals(store.getFirstValue(i), -i);
+            assertEquals(store.getSecondValue(i), i);
+            assertEquals(store.getThirdValue(i), Integer.MIN_VALUE + i);
+        }
+        store.forgetLast();
+        assertEquals(store.getSize(), n - 1);
+        // third values are stored apart, and retrieved after a backtrack
+        model.getEnvironment().worldPush();
+        for (int i = 0; i < n; i++) {
+            store.pushEvent(x, Cause.Null, IntEventType.INSTANTIATE, i, i - 1, i % 4 == 0 ? 0 : i % 4 == 1 ? -1 : i + 1);
+        }
+        model.getEnvironment().worldPop();
+        for (int i = 0; i < 3 * n; i++) {
+            store.pushEvent(y, Cause.Null, IntEventType.INSTANTIATE, i, i - 1, i % 4 == 0 ? 0 : i % 4 == 1 ? -1 : i + 1);
+        }
+        for (int i = 0; i < 3 * n; i++) {
+            int evt = n - 1 + i;
+            assertEquals(store.getVariable(evt), y);
+            assertEquals(store.getFirstValue(evt), i);
+            assertEquals(store.getSecondValue(evt), i - 1);
+            assertEquals(store.getThirdValue(evt), i % 4 == 0 ? 0 : i % 4 == 1 ? -1 : i + 1);
+        }
+        assertEquals(store.getThirdValue(n - 2), Integer.MIN_VALUE + n - 2);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testPackedEventStoreReleasesCauses() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", -5, 5);
+        PackedEventStore store = new PackedEventStore(model.getEnvironment());
+        ICause kept = new ICause() {
+        };
+        store.pushEvent(x, kept, IntEventType.REMOVE, 1, -1, -1);
+        for (int i = 0; i < 10_000; i++) {
+            // a new cause on each node, forgotten on backtrack
+            model.getEnvironment().worldPush();
+            store.pushEvent(x, new ICause() {
+            }, IntEventType.INCLOW, i, i - 1, -1);
+            model.getEnvironment().worldPop();
+        }
+        Assert.assertTrue(store.getNbRegistered() < 100, "registered: " + store.getNbRegistered());
+        assertEquals(store.getSize(), 1);
+        assertEquals(store.getVariable(0), x);
+        assertEquals(store.getCause(0), kept);
+        assertEquals(store.getFirstValue(0), 1);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testExplanationBudget() {
+        for (int n = 4; n < 9; n++) {
+            long[] counts = new long[4];
+            for (int e = 0; e < 4; e++) {
+                Model model = makeNQueenWithBinaryConstraints(n);
+                IntVar[] vars = (IntVar[]) model.getHook("vars");
+                if (e > 0) {
+                    model.getSolver().setCBJLearning(e > 1, false);
+                    if (e == 3) {
+                        model.getSolver().getExplainer().setExplanationBudget(3, 0);
+                    }
+                }
+                model.getSolver().setSearch(inputOrderLBSearch(vars));
+                while (model.getSolver().solve()) ;
+                counts[e] = model.getSolver().getSolutionCount();
+            }
+            for (int e = 1; e < 4; e++) {
+                assertEquals(counts[e], counts[0], "n = " + n + ", e = " + e);
+            }
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testVSIDSInputOrder() {
+        // without activities, VSIDS explores the same tree as input order
+        long[] nodes = new long[2];
+        for (int e = 0; e < 2; e++) {
+            Model model = makeNQueenWithBinaryConstraints(8);
+            IntVar[] vars = (IntVar[]) model.getHook("vars");
+            model.getSolver().setSearch(e == 0 ? inputOrderLBSearch(vars) : Search.vsidsSearch(vars));
+            while (model.getSolver().solve()) ;
+            assertEquals(model.getSolver().getSolutionCount(), 92);
+            nodes[e] = model.getSolver().getNodeCount();
+        }
+        assertEquals(nodes[1], nodes[0]);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testReasonMemoisation() {
+        // event indices are reused after each backtrack, a stale reason would change the explanations
+        for (int seed = 0; seed < 5; seed++) {
+            List<List<Object>> explanations = new ArrayList<>();
+            for (int m = 0; m < 2; m++) {
+                Model model = makeNQueenWithBinaryConstraints(8);
+                IntVar[] vars = (IntVar[]) model.getHook("vars");
+                model.sum(vars, "=", 36).post();
+                List<Object> xps = new ArrayList<>();
+                LearnCBJ lex = new LearnCBJ(model, false, true) {
+                    @Override
+                    protected void identifyRefutedDecision(int nworld) {
+                        // called once the explanation of the conflict is computed
+                        xps.add(getLastExplanation().getDecisions().clone());
+                        xps.add(getLastExplanation().getCauses().size());
+                        super.identifyRefutedDecision(nworld);
+                    }
+                };
+                model.getSolver().setLearner(lex);
+                model.getSolver().getExplainer().setReasonMemoisation(m == 0);
+                model.getSolver().setSearch(randomSearch(vars, seed));
+                while (model.getSolver().solve()) ;
+                assertEquals(model.getSolver().getSolutionCount(), 92);
+                explanations.add(xps);
+            }
+            Assert.assertTrue(explanations.get(0).size() > 0);
+            assertEquals(explanations.get(0), explanations.get(1), "seed = " + seed);
+        }
+    }
 }
@@ -245,4 +245,58 @@ public class PropEngineTest {
         solver.getEngine().clear();
         solver.reset(); // error (null)
     }
+
+    @Test(groups="1s", timeOut=60000, dataProvider = "env")
+    public void testProfiler(PropagationEngineFactory ef){
+        Model model = new Model(new DefaultSettings().setProfilePropagation(true));
+        Solver solver = model.getSolver();
+        IntVar[] x = model.intVarArray("x", 5, 0, 4);
+        model.allDifferent(x).post();
+        model.arithm(x[0], "<", x[1]).post();
+        solver.setEngine(ef.make(model));
+        solver.findAllSolutions();
+        PropagatorProfiler profiler = solver.getEngine().getProfiler();
+        Assert.assertNotNull(profiler);
+        long calls = 0;
+        for (PropagatorProfiler.Record r : profiler.getPropagatorRecords()) {
+            calls += r.calls;
+            Assert.assertTrue(r.fails <= r.calls);
+        }
+        Assert.assertTrue(calls > 0);
+        Assert.assertEquals(profiler.getConstraintRecords().size(), 2);
+        Assert.assertTrue(profiler.getRecord(model.getCstrs()[1].getPropagator(0)).modifications > 0);
+    }
+
+    @Test(groups="1s", timeOut=60000, dataProvider = "env")
+    public void testNoProfiler(PropagationEngineFactory ef){
+        Model model = new Model();
+        model.getSolver().setEngine(ef.make(model));
+        Assert.assertNull(model.getSolver().getEngine().getProfiler());
+    }
+
+    @Test(groups="1s", timeOut=60000, dataProvider = "env")
+    public void testEngineIdx(PropagationEngineFactory ef){
+        Model model = new Model();
+        Solver solver = model.getSolver();
+        IntVar[] x = model.intVarArray("x", 4, 0, 3);
+        Constraint c1 = model.arithm(x[0], "!=", x[1]);
+        Constraint c2 = model.arithm(x[1], "!=", x[2]);
+        Constraint c3 = model.allDifferent(x);
+        model.post(c1, c2, c3);
+        solver.setEngine(ef.make(model));
+        solver.findAllSolutions();
+        Propagator[] ps = {c1.getPropagator(0), c2.getPropagator(0), c3.getPropagator(0)};
+        for (int i = 0; i < ps.length; i++) {
+            Assert.assertTrue(ps[i].getEngineIdx() > -1);
+            for (int j = i + 1; j < ps.length; j++) {
+                Assert.assertNotEquals(ps[i].getEngineIdx(), ps[j].getEngineIdx());
+            }
+        }
+        model.unpost(c1);
+        Assert.assertEquals(c1.getPropagator(0).getEngineIdx(), -1);
+        solver.reset();
+        Assert.assertEquals(solver.findAllSolutions().size(), 24);
+        solver.getEngine().clear();
+        Assert.assertEquals(c2.getPropagator(0).getEngineIdx(), -1);
+    }
 }
@@ -0,0 +1,93 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMin;
+import org.chocosolver.solver.search.strategy.selectors.variables.IncrementalDomOverWDeg;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.chocosolver.solver.search.strategy.Search.domOverWDegSearch;
+import static org.chocosolver.solver.search.strategy.Search.incrementalDomOverWDegSearch;
+
+/**
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class IncrementalDomOverWDegTest {
+
+    @DataProvider(name = "seeds")
+    public Object[][] seeds() {
+        return new Object[][]{{0L}, {1L}, {29L}, {1984L}};
+    }
+
+    @Test(groups="1s", timeOut=60000, dataProvider = "seeds")
+    public void testQueensAll(long seed) {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+        IntVar[] vars = (IntVar[]) model.getHook("vars");
+        model.getSolver().setSearch(new IncrementalDomOverWDeg(vars, seed, new IntDomainMin()));
+        while (model.getSolver().solve()) ;
+        Assert.assertEquals(model.getSolver().getSolutionCount(), 92);
+    }
+
+    @Test(groups="10s", timeOut=60000)
+    public void testCostas() {
+        Model s1 = costasArray(7, false);
+        Model s2 = costasArray(7, true);
+        while (s1.getSolver().solve()) ;
+        while (s2.getSolver().solve()) ;
+        Assert.assertEquals(s2.getSolver().getSolutionCount(), s1.getSolver().getSolutionCount());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testGolomb() {
+        Model s1 = golomb(false);
+        Model s2 = golomb(true);
+        while (s1.getSolver().solve()) ;
+        while (s2.getSolver().solve()) ;
+        Assert.assertEquals(s2.getSolver().getBestSolutionValue(), s1.getSolver().getBestSolutionValue());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testWeights() {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(12);
+        IntVar[] vars = (IntVar[]) model.getHook("vars");
+        IncrementalDomOverWDeg dwd = new IncrementalDomOverWDeg(vars, 0, new IntDomainMin());
+        model.getSolver().setSearch(dwd);
+        model.getSolver().solve();
+        int sum = 0;
+        for (IntVar v : vars) {
+            Assert.assertTrue(dwd.getWeight(v) >= 1);
+            sum += dwd.getWeight(v);
+        }
+        Assert.assertTrue(model.getSolver().getFailCount() == 0 || sum > vars.length);
+        Assert.assertEquals(dwd.getWeight(model.intVar(3)), 0);
+    }
+
+    private static Model costasArray(int n, boolean incremental) {
+        Model model = ProblemMaker.makeCostasArrays(n);
+        IntVar[] vectors = (IntVar[]) model.getHook("vectors");
+        Solver r = model.getSolver();
+        r.setSearch(incremental ? incrementalDomOverWDegSearch(vectors) : domOverWDegSearch(vectors));
+        return model;
+    }
+
+    private static Model golomb(boolean incremental) {
+        Model model = ProblemMaker.makeGolombRuler(7);
+        IntVar[] ticks = (IntVar[]) model.getHook("ticks");
+        Solver r = model.getSolver();
+        r.setSearch(incremental ? incrementalDomOverWDegSearch(ticks) : domOverWDegSearch(ticks));
+        return model;
+    }
+}
@@ -10,6 +10,7 @@ package org.chocosolver.solver.search;
 
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.objective.ParetoArchive;
 import org.chocosolver.solver.objective.ParetoOptimizer;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.strategy.Search;
@@ -17,6 +18,10 @@ import org.chocosolver.solver.variables.IntVar;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static java.lang.Integer.parseInt;
 import static java.lang.Math.max;
 
@@ -84,4 +89,84 @@ public class ParetoTest {
             System.out.println(sol.getIntVal(totalProfit_1)+" // "+sol.getIntVal(totalProfit_2));
         }
     }
+
+    private static boolean dominates(int[] q, int[] p) {
+        for (int j = 0; j < p.length; j++) {
+            if (q[j] < p[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testArchive() {
+        for (int k = 1; k < 5; k++) {
+            Random rnd = new Random(k);
+            ParetoArchive archive = new ParetoArchive(k);
+            List<int[]> front = new ArrayList<>();
+            for (int s = 0; s < 2000; s++) {
+                int[] p = new int[k];
+                for (int j = 0; j < k; j++) {
+                    p[j] = rnd.nextInt(50);
+                }
+                boolean dominated = front.stream().anyMatch(q -> dominates(q, p));
+                Assert.assertEquals(archive.isDominated(p), dominated);
+                for (int i = 0; i < k; i++) {
+                    final int fi = i;
+                    int expected = front.stream()
+                            .filter(q -> {
+                                for (int j = 0; j < p.length; j++) {
+                                    if (j != fi && q[j] < p[j]) return false;
+                                }
+                                return true;
+                            })
+                            .mapToInt(q -> q[fi]).max().orElse(Integer.MIN_VALUE);
+                    Assert.assertEquals(archive.tightestValue(i, p), expected);
+                }
+                if (!dominated) {
+                    int[] removed = new int[1];
+                    archive.add(p, null, sol -> removed[0]++);
+                    int before = front.size();
+                    front.removeIf(q -> dominates(p, q));
+                    Assert.assertEquals(removed[0], before - front.size());
+                    front.add(p);
+                }
+                Assert.assertEquals(archive.size(), front.size());
+            }
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testFront3() {
+        for (boolean maximize : new boolean[]{true, false}) {
+            Model model = new Model();
+            IntVar[] x = model.intVarArray("x", 5, 0, 3, false);
+            IntVar[] objectives = new IntVar[3];
+            for (int i = 0; i < 3; i++) {
+                objectives[i] = model.intVar("o" + i, 0, 20, true);
+            }
+            model.scalar(x, new int[]{1, 2, 0, 1, 3}, "=", objectives[0]).post();
+            model.scalar(x, new int[]{3, 0, 1, 2, 1}, "=", objectives[1]).post();
+            model.scalar(x, new int[]{0, 1, 3, 1, 1}, "=", objectives[2]).post();
+            model.sum(x, "<=", 6).post();
+            // brute force: enumerate all the solutions first
+            List<int[]> all = new ArrayList<>();
+            model.getSolver().plugMonitor((IMonitorSolution) () -> {
+                int[] p = new int[3];
+                for (int i = 0; i < 3; i++) {
+                    p[i] = maximize ? objectives[i].getValue() : -objectives[i].getValue();
+                }
+                all.add(p);
+            });
+            while (model.getSolver().solve()) ;
+            long expected = all.stream()
+                    .filter(p -> all.stream().noneMatch(q -> dominates(q, p) && !dominates(p, q)))
+                    .map(java.util.Arrays::toString).distinct().count();
+            model.getSolver().reset();
+            model.getSolver().unplugAllSearchMonitors();
+            List<Solution> front = model.getSolver().findParetoFront(objectives, maximize);
+            Assert.assertEquals(front.size(), expected);
+        }
+    }
 }
@@ -25,6 +25,7 @@ import static org.chocosolver.solver.search.strategy.Search.*;
 import static org.chocosolver.util.ProblemMaker.makeGolombRuler;
 import static org.chocosolver.util.ProblemMaker.makeNQueenWithOneAlldifferent;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Created by cprudhom on 02/09/15.
@@ -107,6 +108,24 @@ public class SolverTest {
         assertEquals(model.getSolver().getNodeCount(), 5881);
     }
 
+    @Test(groups="10s", timeOut=60000)
+    public void test1HBFSSnapshots() {
+        // 0: decisions are always replayed, 1000: some open nodes are replayed, 1000000: none
+        long[] budgets = {0, 1_000, 1_000_000};
+        long[] nodes = new long[budgets.length];
+        for (int i = 0; i < budgets.length; i++) {
+            Model model = makeGolombRuler(8);
+            Solver r = model.getSolver();
+            r.setSearch(inputOrderLBSearch(model.retrieveIntVars(false)));
+            r.setHBFS(.05, .1, 32, budgets[i]);
+            while (model.getSolver().solve()) ;
+            assertEquals(r.getBestSolutionValue().intValue(), 34);
+            nodes[i] = r.getNodeCount();
+        }
+        assertTrue(nodes[2] < nodes[0], nodes[2] + " vs. " + nodes[0]);
+        assertTrue(nodes[1] > nodes[2], nodes[1] + " vs. " + nodes[2]);
+    }
+
     @Test(groups="1s", timeOut=60000)
     public void test2DFS() {
         Model model = makeNQueenWithOneAlldifferent(8);
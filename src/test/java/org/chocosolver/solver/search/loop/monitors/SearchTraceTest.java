@@ -0,0 +1,173 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.monitors;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class SearchTraceTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testStatistics() throws IOException {
+        Path file = Files.createTempFile("choco", ".trace");
+        try {
+            Model model = ProblemMaker.makeCostasArrays(7);
+            Solver solver = model.getSolver();
+            try (SearchTraceRecorder recorder = new SearchTraceRecorder(model, file, 256)) {
+                while (solver.solve()) ;
+            }
+            SearchTraceReader.Statistics statistics = new SearchTraceReader(file).statistics();
+            Assert.assertEquals(statistics.solutions, solver.getSolutionCount());
+            Assert.assertEquals(statistics.failures, solver.getFailCount());
+            Assert.assertEquals(statistics.restarts, 0);
+            Assert.assertTrue(statistics.nodes > 0);
+            Assert.assertTrue(statistics.maxDepth > 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTree() throws IOException {
+        Path file = Files.createTempFile("choco", ".trace");
+        try {
+            Model model = ProblemMaker.makeNQueenWithOneAlldifferent(6);
+            Solver solver = model.getSolver();
+            solver.setNoGoodRecordingFromSolutions(model.retrieveIntVars(true));
+            solver.setRestartOnSolutions();
+            try (SearchTraceRecorder recorder = new SearchTraceRecorder(model, file)) {
+                while (solver.solve()) ;
+            }
+            List<int[]> nodes = new ArrayList<>();
+            int[] outcomes = new int[2];
+            new SearchTraceReader(file).read(new SearchTraceReader.Visitor() {
+                @Override
+                public void onNode(int id, int parent, int alt, int depth, String label, int restart, long time) {
+                    Assert.assertEquals(id, nodes.size());
+                    if (parent == -1) {
+                        Assert.assertEquals(depth, 0);
+                        Assert.assertEquals(label, "ROOT");
+                    } else {
+                        int[] p = nodes.get(parent);
+                        Assert.assertEquals(depth, p[1] + 1);
+                        Assert.assertEquals(restart, p[2]);
+                        Assert.assertTrue(label.startsWith("Q_"), label);
+                    }
+                    nodes.add(new int[]{parent, depth, restart});
+                }
+
+                @Override
+                public void onFailure(int id, long time) {
+                    outcomes[0]++;
+                }
+
+                @Override
+                public void onSolution(int id, long time) {
+                    Assert.assertTrue(id >= 0 && id < nodes.size());
+                    outcomes[1]++;
+                }
+            });
+            Assert.assertEquals(outcomes[0], solver.getFailCount());
+            Assert.assertEquals(outcomes[1], solver.getSolutionCount());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAppend() throws IOException {
+        Path file = Files.createTempFile("choco", ".trace");
+        try {
+            long solutions = 0;
+            for (int i = 0; i < 2; i++) {
+                Model model = ProblemMaker.makeCostasArrays(5);
+                try (SearchTraceRecorder recorder = new SearchTraceRecorder(model, file)) {
+                    while (model.getSolver().solve()) ;
+                }
+                solutions += model.getSolver().getSolutionCount();
+            }
+            int[] traces = new int[1];
+            SearchTraceReader.Statistics statistics = new SearchTraceReader.Statistics() {
+                @Override
+                public void onTrace(int version) {
+                    Assert.assertEquals(version, SearchTraceRecorder.VERSION);
+                    traces[0]++;
+                }
+            };
+            new SearchTraceReader(file).read(statistics);
+            Assert.assertEquals(traces[0], 2);
+            Assert.assertEquals(statistics.solutions, solutions);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRootSolution() throws IOException {
+        Path file = Files.createTempFile("choco", ".trace");
+        try {
+            Model model = new Model();
+            IntVar x = model.intVar("x", 0, 3);
+            model.arithm(x, "=", 2).post();
+            try (SearchTraceRecorder recorder = new SearchTraceRecorder(model, file)) {
+                while (model.getSolver().solve()) ;
+            }
+            Assert.assertEquals(model.getSolver().getSolutionCount(), 1);
+            SearchTraceReader reader = new SearchTraceReader(file);
+            SearchTraceReader.Statistics statistics = reader.statistics();
+            Assert.assertEquals(statistics.solutions, 1);
+            Assert.assertEquals(statistics.nodes, 0);
+            reader.read(new SearchTraceReader.Visitor() {
+                @Override
+                public void onNode(int id, int parent, int alt, int depth, String label, int restart, long time) {
+                    Assert.fail("no node expected");
+                }
+
+                @Override
+                public void onSolution(int id, long time) {
+                    Assert.assertEquals(id, -1);
+                }
+            });
+            // a fake cp-profiler, which ignores what it receives
+            try (ServerSocket server = new ServerSocket(0)) {
+                Thread sink = new Thread(() -> {
+                    try (Socket socket = server.accept(); InputStream in = socket.getInputStream()) {
+                        byte[] bytes = new byte[1024];
+                        while (in.read(bytes) != -1) ;
+                    } catch (IOException ignored) {
+                    }
+                });
+                sink.setDaemon(true);
+                sink.start();
+                reader.exportToCPProfiler("root", server.getLocalPort());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.monitors;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class SolutionWriterTest {
+
+    private static IntVar[] vars(Model model) {
+        IntVar[] x = model.intVarArray("x", 5, -3, 3);
+        model.sum(x, "=", 0).post();
+        model.allDifferent(x).post();
+        return x;
+    }
+
+    private static List<String> expected() {
+        Model model = new Model();
+        IntVar[] x = vars(model);
+        List<String> lines = new ArrayList<>();
+        for (Solution s : model.getSolver().findAllSolutions()) {
+            StringBuilder st = new StringBuilder();
+            for (int i = 0; i < x.length; i++) {
+                st.append(i > 0 ? "," : "").append(s.getIntVal(x[i]));
+            }
+            lines.add(st.toString());
+        }
+        return lines;
+    }
+
+    @DataProvider(name = "compress")
+    public Object[][] compress() {
+        return new Object[][]{{false}, {true}};
+    }
+
+    @Test(groups="1s", timeOut=60000, dataProvider = "compress")
+    public void testCSV(boolean compress) throws IOException {
+        Path path = Files.createTempFile("solutions", ".csv");
+        try {
+            Model model = new Model();
+            IntVar[] x = vars(model);
+            long nb;
+            try (SolutionWriter writer = new SolutionWriter(path, SolutionWriter.Format.CSV, compress, x)) {
+                nb = model.getSolver().exportAllSolutions(writer);
+            }
+            List<String> expected = expected();
+            Assert.assertEquals(nb, expected.size());
+            InputStream in = Files.newInputStream(path);
+            if (compress) {
+                in = new GZIPInputStream(in);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                Assert.assertEquals(reader.readLine(), "x[0],x[1],x[2],x[3],x[4]");
+                for (String line : expected) {
+                    Assert.assertEquals(reader.readLine(), line);
+                }
+                Assert.assertNull(reader.readLine());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000, dataProvider = "compress")
+    public void testBinary(boolean compress) throws IOException {
+        Path path = Files.createTempFile("solutions", ".bin");
+        try {
+            Model model = new Model();
+            IntVar[] x = vars(model);
+            try (SolutionWriter writer = new SolutionWriter(path, SolutionWriter.Format.BINARY, compress, x)) {
+                model.getSolver().plugMonitor(writer);
+                while (model.getSolver().solve()) ;
+            }
+            List<String> expected = expected();
+            InputStream in = Files.newInputStream(path);
+            if (compress) {
+                in = new GZIPInputStream(in);
+            }
+            try (DataInputStream data = new DataInputStream(in)) {
+                Assert.assertEquals(data.readInt(), 5);
+                for (String line : expected) {
+                    StringBuilder st = new StringBuilder();
+                    for (int i = 0; i < 5; i++) {
+                        st.append(i > 0 ? "," : "").append(data.readInt());
+                    }
+                    Assert.assertEquals(st.toString(), line);
+                }
+                Assert.assertEquals(data.read(), -1);
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testBackPressure() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel out = Channels.newChannel(bytes);
+        // a slow channel
+        WritableByteChannel slow = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return out.write(src);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return out.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        };
+        Model model = new Model();
+        IntVar[] x = vars(model);
+        SolutionWriter writer = new SolutionWriter(slow, SolutionWriter.Format.CSV, 64, 2, x);
+        long nb = model.getSolver().exportAllSolutions(writer);
+        writer.close();
+        Assert.assertTrue(writer.getNbStalls() > 0);
+        List<String> expected = expected();
+        Assert.assertEquals(nb, expected.size());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(bytes.toByteArray()), StandardCharsets.UTF_8));
+        reader.readLine();
+        for (String line : expected) {
+            Assert.assertEquals(reader.readLine(), line);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2017, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.chocosolver.util.procedure.SafeIntProcedure;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * @author Charles Prud'homme
+ * @since 17/10/2026
+ */
+public class SparseSetIntVarTest extends EnumIntVarTest {
+
+    @BeforeMethod(alwaysRun = true)
+    @Override
+    public void setup() {
+        Model model = new Model(new DefaultSettings().setEnableSparseSetDomain(i -> true));
+        this.var = model.intVar(1, 4, false);
+        Assert.assertTrue(var instanceof SparseSetIntVarImpl);
+    }
+
+    private static String domain(IntVar v) {
+        StringBuilder st = new StringBuilder();
+        for (int i = v.getLB(); i <= v.getUB(); i = v.nextValue(i)) {
+            st.append(i).append(',');
+        }
+        st.append('|');
+        for (int i = v.getUB(); i >= v.getLB(); i = v.previousValue(i)) {
+            st.append(i).append(',');
+        }
+        return st.append('|').append(v.getDomainSize()).toString();
+    }
+
+    @DataProvider(name = "seeds")
+    public Object[][] seeds() {
+        return new Object[][]{{0}, {1}, {2}, {3}, {4}};
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "seeds")
+    public void testAgainstBitset(int seed) {
+        Random rnd = new Random(seed);
+        Model model = new Model(new DefaultSettings().setEnableSparseSetDomain(i -> i > 0));
+        int[] values = {-7, -5, -4, -3, 0, 1, 2, 5, 6, 8, 9, 12};
+        IntVar[] x = {new BitsetIntVarImpl("b", values, model), new SparseSetIntVarImpl("s", values, model)};
+        model.getEnvironment().worldPush();
+        for (int k = 0; k < 2000; k++) {
+            if (rnd.nextInt(10) == 0) {
+                model.getEnvironment().worldPop();
+                model.getEnvironment().worldPush();
+            }
+            int a = rnd.nextInt(24) - 10;
+            int b = a + rnd.nextInt(5);
+            int op = rnd.nextInt(6);
+            boolean[] fail = new boolean[2];
+            boolean[] change = new boolean[2];
+            for (int i = 0; i < 2; i++) {
+                model.getEnvironment().worldPush();
+                try {
+                    switch (op) {
+                        case 0:
+                            change[i] = x[i].removeValue(a, Cause.Null);
+                            break;
+                        case 1:
+                            change[i] = x[i].updateLowerBound(a, Cause.Null);
+                            break;
+                        case 2:
+                            change[i] = x[i].updateUpperBound(b, Cause.Null);
+                            break;
+                        case 3:
+                            change[i] = x[i].updateBounds(a, b + 4, Cause.Null);
+                            break;
+                        case 4:
+                            change[i] = x[i].removeValues(new IntIterableRangeSet(a, b), Cause.Null);
+                            break;
+                        default:
+                            change[i] = x[i].removeAllValuesBut(new IntIterableRangeSet(a, b + 6), Cause.Null);
+                            break;
+                    }
+                } catch (ContradictionException e) {
+                    fail[i] = true;
+                }
+            }
+            Assert.assertEquals(fail[1], fail[0]);
+            if (fail[0]) {
+                model.getEnvironment().worldPop();
+                model.getEnvironment().worldPop();
+            } else {
+                Assert.assertEquals(change[1], change[0]);
+                Assert.assertEquals(domain(x[1]), domain(x[0]));
+                Assert.assertEquals(x[1].toString().substring(1), x[0].toString().substring(1));
+            }
+            Assert.assertEquals(domain(x[1]), domain(x[0]));
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDelta() throws ContradictionException {
+        Model model = new Model(new DefaultSettings().setEnableSparseSetDomain(i -> true));
+        IntVar x = model.intVar("x", 0, 9, false);
+        IntVar y = model.intVar("y", 0, 9, false);
+        TIntArrayList removed = new TIntArrayList();
+        Propagator<IntVar> prop = new Propagator<IntVar>(new IntVar[]{x, y}) {
+            @Override
+            public void propagate(int evtmask) {
+            }
+
+            @Override
+            public ESat isEntailed() {
+                return ESat.TRUE;
+            }
+        };
+        IIntDeltaMonitor monitor = x.monitorDelta(prop);
+        model.getEnvironment().worldPush();
+        monitor.unfreeze();
+        x.removeValue(5, Cause.Null);
+        x.updateLowerBound(2, Cause.Null);
+        x.removeValue(7, prop); // ignored, caused by the monitoring propagator
+        x.updateUpperBound(8, Cause.Null);
+        monitor.freeze();
+        monitor.forEachRemVal((SafeIntProcedure) removed::add);
+        removed.sort();
+        Assert.assertEquals(removed.toArray(), new int[]{0, 1, 5, 9});
+        monitor.unfreeze();
+        removed.clear();
+        x.instantiateTo(4, Cause.Null);
+        monitor.freeze();
+        monitor.forEachRemVal((SafeIntProcedure) removed::add);
+        removed.sort();
+        Assert.assertEquals(removed.toArray(), new int[]{2, 3, 6, 8});
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(x.getDomainSize(), 10);
+        Assert.assertEquals(domain(x), "0,1,2,3,4,5,6,7,8,9,|9,8,7,6,5,4,3,2,1,0,|10");
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSolve() {
+        long[][] stats = new long[2][];
+        for (int k = 0; k < 2; k++) {
+            boolean sparse = k == 1;
+            Model model = new Model(new DefaultSettings().setEnableSparseSetDomain(i -> sparse));
+            int n = 8;
+            IntVar[] q = model.intVarArray("q", n, 1, n, false);
+            model.allDifferent(q, "AC").post();
+            for (int i = 0; i < n - 1; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    model.arithm(q[i], "!=", q[j], "+", j - i).post();
+                    model.arithm(q[i], "!=", q[j], "-", j - i).post();
+                }
+            }
+            Assert.assertEquals(q[0] instanceof SparseSetIntVarImpl, sparse);
+            Solver solver = model.getSolver();
+            solver.setSearch(randomSearch(q, 0L));
+            while (solver.solve()) ;
+            stats[k] = new long[]{solver.getSolutionCount(), solver.getNodeCount(), solver.getFailCount()};
+        }
+        Assert.assertEquals(stats[0][0], 92);
+        Assert.assertEquals(stats[1], stats[0]);
+    }
+}